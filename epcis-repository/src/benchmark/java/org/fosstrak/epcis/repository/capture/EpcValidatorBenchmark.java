@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.regex.Pattern;
+
+import org.fosstrak.epcis.repository.InvalidFormatException;
+
+/**
+ * Measures the time needed to validate the EPCs of an ObjectEvent with 1,000
+ * SGTINs, using the EpcValidator and using the regular expression for SGTINs
+ * as it used to be compiled for every EPC. This is a manual tool, not a unit
+ * test; it lives outside the test sources and is only compiled and run by the
+ * benchmark profile:
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java
+ * </pre>
+ */
+public class EpcValidatorBenchmark {
+
+    private static final int EPCS = 1000;
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int ROUNDS = 5000;
+
+    private static final String SGTIN_REGEX = "([0-9]+\\.){2}([0-9]|[A-Z]|[a-z]|[\\!\\(\\)\\*\\+\\-',:;=_]|(%(([0-9]|[A-F])|[a-f]){2}))+";
+
+    public static void main(String[] args) throws InvalidFormatException {
+        String[] epcs = new String[EPCS];
+        for (int i = 0; i < EPCS; i++) {
+            epcs[i] = "urn:epc:id:sgtin:0614141.107346." + (2017 + i);
+        }
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            validate(epcs);
+            validateRegex(epcs);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            validate(epcs);
+        }
+        long validator = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            validateRegex(epcs);
+        }
+        long regex = System.nanoTime() - start;
+        System.out.println("EpcValidator: " + validator / ROUNDS / 1000 + " us per " + EPCS + " EPCs");
+        System.out.println("regex:        " + regex / ROUNDS / 1000 + " us per " + EPCS + " EPCs");
+    }
+
+    private static void validate(String[] epcs) throws InvalidFormatException {
+        for (String epc : epcs) {
+            EpcValidator.checkEpc(epc);
+        }
+    }
+
+    private static void validateRegex(String[] epcs) {
+        for (String epc : epcs) {
+            String uri = epc.substring("urn:epc:id:".length());
+            String epcType = uri.substring(0, uri.indexOf(":"));
+            uri = uri.substring(epcType.length() + 1);
+            if (!Pattern.compile(SGTIN_REGEX).matcher(uri).matches()) {
+                throw new IllegalStateException(epc);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the commits which changed the events of a given event type or the
+ * master data of a given vocabulary type. The CaptureOperationsModule
+ * increments the high-water marks after it has committed a capture request,
+ * the QueryOperationsModule uses them to tell whether a cached poll result is
+ * still up to date.
+ * <p>
+ * The capture and query modules are set up independently of each other, thus
+ * they share the instance returned by {@link #getInstance()}. Changes made to
+ * the database by other means, e.g. by another repository instance, are not
+ * noticed.
+ */
+public class HighWaterMarks {
+
+    private static final HighWaterMarks INSTANCE = new HighWaterMarks();
+
+    private final ConcurrentMap<String, AtomicLong> marks = new ConcurrentHashMap<String, AtomicLong>();
+
+    /**
+     * @return The high-water marks shared by the capture and query modules.
+     */
+    public static HighWaterMarks getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param key
+     *            An event type or vocabulary type.
+     * @return The number of commits which changed the events or master data of
+     *         the given type.
+     */
+    public long get(String key) {
+        AtomicLong mark = marks.get(key);
+        return mark == null ? 0 : mark.get();
+    }
+
+    /**
+     * Increments the high-water marks of the given event types or vocabulary
+     * types. Must be called after the changes have been committed.
+     * 
+     * @param keys
+     *            The event types or vocabulary types changed.
+     */
+    public void increment(Collection<String> keys) {
+        for (String key : keys) {
+            AtomicLong mark = marks.get(key);
+            if (mark == null) {
+                AtomicLong newMark = new AtomicLong();
+                mark = marks.putIfAbsent(key, newMark);
+                if (mark == null) {
+                    mark = newMark;
+                }
+            }
+            mark.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.fosstrak.epcis.repository.InternalBusinessException;
+import org.fosstrak.epcis.repository.model.AggregationEvent;
+import org.fosstrak.epcis.repository.model.BaseEvent;
+import org.fosstrak.epcis.repository.model.ObjectEvent;
+import org.fosstrak.epcis.repository.model.TransactionEvent;
+
+/**
+ * The CaptureCoordinator stores the events of concurrent capture requests in
+ * shared transactions (group commit). A capture request hands its events over
+ * to {@link #store(List)} and waits. A writer thread collects the events of
+ * all requests arriving within the linger time, or until the batch size is
+ * reached, stores them in a single transaction and then releases the waiting
+ * requests. While a group is being written, the next one builds up, so the
+ * number of transactions grows with the number of groups rather than with the
+ * number of capture requests.
+ * <p>
+ * If a group cannot be stored, e.g. as one of its events violates a
+ * constraint, its requests are stored one by one in transactions of their own,
+ * so only the requests which fail on their own fail. Before that, the IDs and
+ * collections the failed transaction has assigned to their events are reset.
+ * If the writer thread dies, e.g. on an OutOfMemoryError, the pending and all
+ * further requests fail right away.
+ */
+class CaptureCoordinator implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(CaptureCoordinator.class);
+
+    private static final long POLL_INTERVAL = 1000;
+
+    private final CaptureOperationsModule module;
+
+    private final long lingerTime;
+
+    private final int batchSize;
+
+    private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<Submission>();
+
+    private Thread thread;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * The error the writer thread died of, or <code>null</code>.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * @param module
+     *            The module used to store the events.
+     * @param lingerTime
+     *            The maximum time in milliseconds to wait for further capture
+     *            requests once the first request of a group has arrived.
+     * @param batchSize
+     *            The number of events after which a group is written without
+     *            waiting any longer.
+     */
+    public CaptureCoordinator(CaptureOperationsModule module, long lingerTime, int batchSize) {
+        this.module = module;
+        this.lingerTime = lingerTime;
+        this.batchSize = batchSize;
+    }
+
+    public synchronized void start() {
+        thread = new Thread(this, "CaptureCoordinator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread once the pending capture requests have been
+     * stored.
+     */
+    public void stop() {
+        stopped = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores the given events together with those of concurrent capture
+     * requests and returns once they have been committed.
+     *
+     * @param events
+     *            The events of a capture request.
+     * @throws InternalBusinessException
+     *             If the events could not be stored.
+     */
+    public void store(List<BaseEvent> events) throws InternalBusinessException {
+        if (events.isEmpty()) {
+            return;
+        }
+        Submission submission = new Submission(events);
+        synchronized (queue) {
+            if (failure != null) {
+                throw new InternalBusinessException("The capture coordinator has died: " + failure, failure);
+            }
+            if (stopped) {
+                throw new InternalBusinessException("The capture coordinator has been stopped");
+            }
+            queue.add(submission);
+        }
+        try {
+            submission.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InternalBusinessException("Interrupted while waiting for the events to be stored", e);
+        }
+        if (submission.error != null) {
+            throw new InternalBusinessException(submission.error.toString(), submission.error);
+        }
+    }
+
+    public void run() {
+        LOG.info("Capture coordinator started (linger time " + lingerTime + " ms, batch size " + batchSize + ")");
+        try {
+            while (!stopped || !queue.isEmpty()) {
+                try {
+                    Submission first = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        write(collect(first));
+                    }
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        } catch (Throwable e) {
+            LOG.error("Capture coordinator died", e);
+            failure = e;
+        } finally {
+            // fail whatever arrived too late, and anything arriving later
+            synchronized (queue) {
+                stopped = true;
+                Submission submission;
+                while ((submission = queue.poll()) != null) {
+                    submission.complete(failure != null ? failure : new InternalBusinessException(
+                            "The capture coordinator has been stopped"));
+                }
+            }
+        }
+        LOG.info("Capture coordinator stopped");
+    }
+
+    /**
+     * Collects further capture requests to be written together with the given
+     * one.
+     */
+    private List<Submission> collect(Submission first) throws InterruptedException {
+        List<Submission> group = new ArrayList<Submission>();
+        group.add(first);
+        int eventCount = first.events.size();
+        long deadline = System.currentTimeMillis() + lingerTime;
+        while (eventCount < batchSize) {
+            long wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) {
+                break;
+            }
+            Submission next = queue.poll(wait, TimeUnit.MILLISECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+            eventCount += next.events.size();
+        }
+        return group;
+    }
+
+    /**
+     * Stores the events of the given group in a single transaction, or, if
+     * that fails, those of each request in a transaction of its own. Every
+     * request of the group is completed, even if an Error is thrown.
+     */
+    private void write(List<Submission> group) {
+        List<BaseEvent> events = new ArrayList<BaseEvent>();
+        for (Submission submission : group) {
+            events.addAll(submission.events);
+        }
+        Throwable error = null;
+        try {
+            try {
+                long start = System.currentTimeMillis();
+                module.storeEvents(events);
+                LOG.debug("Stored " + events.size() + " events of " + group.size() + " capture requests in "
+                        + (System.currentTimeMillis() - start) + " ms");
+                for (Submission submission : group) {
+                    submission.complete(null);
+                }
+            } catch (Exception e) {
+                LOG.warn("Unable to store the events of " + group.size() + " capture requests: " + e.toString());
+                if (group.size() == 1) {
+                    group.get(0).complete(e);
+                } else {
+                    for (Submission submission : group) {
+                        writeAlone(submission);
+                    }
+                }
+            }
+        } catch (Error e) {
+            error = e;
+            throw e;
+        } finally {
+            for (Submission submission : group) {
+                if (!submission.isComplete()) {
+                    submission.complete(error != null ? error : new InternalBusinessException(
+                            "The capture coordinator failed"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the events of the given request in a transaction of its own,
+     * after a transaction storing them together with others failed.
+     */
+    private void writeAlone(Submission submission) {
+        reset(submission.events);
+        try {
+            module.storeEvents(submission.events);
+            submission.complete(null);
+        } catch (Exception e) {
+            LOG.warn("Unable to store the events of a capture request: " + e.toString());
+            submission.complete(e);
+        }
+    }
+
+    /**
+     * Resets the IDs a failed transaction has assigned to the given events,
+     * and replaces the collections it has bound to its session by copies, so
+     * the events can be saved by another session.
+     */
+    private static void reset(List<BaseEvent> events) {
+        for (BaseEvent event : events) {
+            event.setId(null);
+            event.setBizTransList(copy(event.getBizTransList()));
+            event.setExtensions(copy(event.getExtensions()));
+            if (event instanceof ObjectEvent) {
+                ObjectEvent objectEvent = (ObjectEvent) event;
+                objectEvent.setEpcList(copy(objectEvent.getEpcList()));
+            } else if (event instanceof AggregationEvent) {
+                AggregationEvent aggregationEvent = (AggregationEvent) event;
+                aggregationEvent.setChildEpcs(copy(aggregationEvent.getChildEpcs()));
+            } else if (event instanceof TransactionEvent) {
+                TransactionEvent transactionEvent = (TransactionEvent) event;
+                transactionEvent.setEpcList(copy(transactionEvent.getEpcList()));
+            }
+        }
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return list == null ? null : new ArrayList<T>(list);
+    }
+
+    /**
+     * The events of a capture request which waits for them to be stored.
+     */
+    private static class Submission {
+        private final List<BaseEvent> events;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Throwable error;
+
+        Submission(List<BaseEvent> events) {
+            this.events = events;
+        }
+
+        void complete(Throwable error) {
+            this.error = error;
+            done.countDown();
+        }
+
+        boolean isComplete() {
+            return done.getCount() == 0;
+        }
+    }
+}
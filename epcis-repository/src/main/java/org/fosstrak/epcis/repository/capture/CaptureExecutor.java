@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The CaptureExecutor runs capture requests on a fixed number of worker
+ * threads, which bounds the number of database connections used for capturing
+ * independently of the number of servlet container threads. Requests which
+ * find all workers busy wait in a bounded queue; if the queue is full, they
+ * are rejected right away so that the caller can shed load.
+ * <p>
+ * The executor keeps track of the current queue depth and of the time the
+ * requests spend waiting in the queue.
+ */
+public class CaptureExecutor {
+
+    private static final Log LOG = LogFactory.getLog(CaptureExecutor.class);
+
+    private static final int MAX_RETRY_AFTER = 60;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int workers;
+
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+    private final AtomicLong totalRunTime = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+
+    /**
+     * @param workers
+     *            The number of worker threads.
+     * @param queueSize
+     *            The number of capture requests which may wait for a worker.
+     */
+    public CaptureExecutor(int workers, int queueSize) {
+        this.workers = workers;
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(queueSize, 1)), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "CaptureExecutor-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        LOG.info("Capture executor started with " + workers + " workers and a queue of " + queueSize);
+    }
+
+    /**
+     * Runs the given capture request on a worker thread and waits for it to
+     * complete.
+     *
+     * @param task
+     *            The capture request.
+     * @return The result of the capture request.
+     * @throws CaptureRejectedException
+     *             If the queue is full.
+     * @throws Exception
+     *             Any exception thrown by the capture request.
+     */
+    public <T> T execute(final Callable<T> task) throws Exception {
+        final long submitTime = System.currentTimeMillis();
+        Future<T> future;
+        try {
+            future = executor.submit(new Callable<T>() {
+                public T call() throws Exception {
+                    long startTime = System.currentTimeMillis();
+                    recordWaitTime(startTime - submitTime);
+                    try {
+                        return task.call();
+                    } finally {
+                        totalRunTime.addAndGet(System.currentTimeMillis() - startTime);
+                        completedCount.incrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new CaptureRejectedException(getRetryAfter());
+        }
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private void recordWaitTime(long waitTime) {
+        executedCount.incrementAndGet();
+        totalWaitTime.addAndGet(waitTime);
+        long max;
+        do {
+            max = maxWaitTime.get();
+        } while (waitTime > max && !maxWaitTime.compareAndSet(max, waitTime));
+    }
+
+    /**
+     * Stops the worker threads once the queued capture requests have been
+     * processed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return The number of capture requests waiting for a worker.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of capture requests being processed.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return The average time in milliseconds capture requests have waited
+     *         for a worker.
+     */
+    public long getAverageWaitTime() {
+        long count = executedCount.get();
+        return count == 0 ? 0 : totalWaitTime.get() / count;
+    }
+
+    /**
+     * @return The longest time in milliseconds a capture request has waited
+     *         for a worker.
+     */
+    public long getMaxWaitTime() {
+        return maxWaitTime.get();
+    }
+
+    /**
+     * Estimates when a rejected capture request should be retried, i.e. how
+     * long it takes the workers to drain the current queue.
+     *
+     * @return The number of seconds to wait, between 1 and 60.
+     */
+    public int getRetryAfter() {
+        // requests still running have not added their run time yet
+        long count = completedCount.get();
+        long averageRunTime = count == 0 ? 1000 : totalRunTime.get() / count;
+        long seconds = (getQueueDepth() + 1) * averageRunTime / workers / 1000;
+        return (int) Math.min(Math.max(seconds, 1), MAX_RETRY_AFTER);
+    }
+}
@@ -0,0 +1,568 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The CaptureJournal is an append-only file of capture requests which have been
+ * accepted but not yet stored in the database. Each record holds the length
+ * and the CRC32 checksum of a document, followed by the document itself. The
+ * document is copied to the journal in chunks and its checksum is written
+ * last, so a record whose append did not return never looks intact; it is
+ * forced to disk before {@link #append(InputStream, long)} returns.
+ * <p>
+ * The position of the first record which has not been stored yet is kept in a
+ * second file next to the journal (<code>&lt;journal&gt;.pos</code>) and is
+ * also forced to disk whenever a record has been processed. Once all records
+ * have been processed, the journal is truncated. If it never runs empty, the
+ * journal is compacted instead once the processed records take up more than
+ * the compaction threshold and the pending ones do not: these are copied to
+ * <code>&lt;journal&gt;.compact</code>, which then replaces the journal.
+ * After a crash, the records behind the stored position are handed out again,
+ * and an incomplete record at the end of the journal, i.e. one whose append
+ * had not returned, is discarded. A record may thus be handed out twice if the
+ * crash happened after it had been stored but before its position was
+ * updated. A damaged record followed by further data is not discarded, but
+ * makes opening the journal fail, so the journal can be repaired manually.
+ * <p>
+ * A record which cannot be stored at all is moved to a file of its own next
+ * to the journal (<code>&lt;journal&gt;.&lt;time&gt;.failed</code>) by
+ * {@link #reject(Record)}, from where it may be captured again manually.
+ * <p>
+ * Any number of threads may append records, while a single consumer is
+ * expected to call {@link #take(long)} and {@link #remove(Record)}.
+ */
+public class CaptureJournal {
+
+    private static final Log LOG = LogFactory.getLog(CaptureJournal.class);
+
+    private static final int HEADER_SIZE = 12;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The default number of processed bytes after which the journal is
+     * compacted.
+     */
+    private static final long COMPACT_THRESHOLD = 64L * 1024 * 1024;
+
+    private final File file;
+
+    private final File compactFile;
+
+    private final long compactThreshold;
+
+    private FileChannel journal;
+
+    private FileChannel position;
+
+    /**
+     * The position of the first record which has not been removed.
+     */
+    private long readPosition;
+
+    /**
+     * The position after the last appended record.
+     */
+    private long writePosition;
+
+    private boolean closed = false;
+
+    /**
+     * Opens the given journal file, creating it if necessary, and recovers its
+     * state after a crash.
+     *
+     * @param file
+     *            The journal file.
+     * @throws IOException
+     *             If the journal could not be opened or holds a damaged
+     *             record which is not the last one.
+     */
+    public CaptureJournal(File file) throws IOException {
+        this(file, COMPACT_THRESHOLD);
+    }
+
+    /**
+     * @param compactThreshold
+     *            The number of processed bytes after which the journal is
+     *            compacted.
+     */
+    CaptureJournal(File file, long compactThreshold) throws IOException {
+        this.file = file;
+        this.compactThreshold = compactThreshold;
+        compactFile = new File(file.getPath() + ".compact");
+        position = new RandomAccessFile(new File(file.getPath() + ".pos"), "rw").getChannel();
+        try {
+            recover();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void recover() throws IOException {
+        readPosition = 0;
+        boolean compacting = false;
+        if (position.size() >= 8) {
+            ByteBuffer buf = ByteBuffer.allocate(16);
+            position.read(buf, 0);
+            buf.flip();
+            readPosition = buf.getLong();
+            compacting = buf.remaining() >= 8 && buf.getLong() != 0;
+        }
+        if (compacting) {
+            // the compacted journal is complete, but may not have replaced
+            // the journal yet
+            if (compactFile.exists()) {
+                replaceByCompactFile();
+            }
+            writePosition(0, false);
+        } else if (compactFile.exists() && !compactFile.delete()) {
+            throw new IOException("Unable to delete the incomplete compacted journal " + compactFile);
+        }
+        journal = new RandomAccessFile(file, "rw").getChannel();
+        long size = journal.size();
+        if (readPosition > size) {
+            // the journal has been truncated but the position not yet reset
+            readPosition = size;
+        }
+
+        int pending = 0;
+        writePosition = readPosition;
+        while (writePosition < size) {
+            Record record = read(writePosition);
+            if (record == null) {
+                break;
+            }
+            writePosition = record.next;
+            pending++;
+        }
+        if (writePosition < size) {
+            LOG.warn("Discarding " + (size - writePosition)
+                    + " bytes of an incomplete record at the end of the capture journal " + file);
+            journal.truncate(writePosition);
+            journal.force(true);
+        }
+        if (pending > 0) {
+            LOG.info("Found " + pending + " pending capture requests in the capture journal " + file);
+        }
+    }
+
+    /**
+     * Appends the given capture request to the journal and forces it to disk.
+     *
+     * @param document
+     *            The capture request.
+     * @throws IOException
+     *             If the request could not be written to the journal.
+     */
+    public void append(byte[] document) throws IOException {
+        append(new ByteArrayInputStream(document), document.length);
+    }
+
+    /**
+     * Appends the given capture request to the journal, copying it in chunks,
+     * and forces it to disk.
+     *
+     * @param document
+     *            The capture request, which is read up to its end but not
+     *            closed.
+     * @param length
+     *            The length of the capture request in bytes.
+     * @throws IOException
+     *             If the request could not be read or written to the journal,
+     *             or its length differs from the given one.
+     */
+    public synchronized void append(InputStream document, long length) throws IOException {
+        if (closed) {
+            throw new IOException("The capture journal " + file + " is closed");
+        }
+        if (length <= 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Unable to journal a capture request of " + length + " bytes");
+        }
+        long pos = writePosition;
+        try {
+            // the checksum is filled in once the document has been written
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt((int) length);
+            header.putLong(0);
+            header.flip();
+            pos = write(header, pos);
+            CRC32 crc = new CRC32();
+            byte[] buf = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = document.read(buf)) != -1) {
+                if (pos + n > writePosition + HEADER_SIZE + length) {
+                    throw new IOException("The capture request is longer than " + length + " bytes");
+                }
+                crc.update(buf, 0, n);
+                pos = write(ByteBuffer.wrap(buf, 0, n), pos);
+            }
+            if (pos != writePosition + HEADER_SIZE + length) {
+                throw new IOException("The capture request is shorter than " + length + " bytes");
+            }
+            ByteBuffer checksum = ByteBuffer.allocate(8);
+            checksum.putLong(crc.getValue());
+            checksum.flip();
+            write(checksum, writePosition + 4);
+            journal.force(false);
+        } catch (IOException e) {
+            // don't leave a partial record behind for the next append
+            journal.truncate(writePosition);
+            throw e;
+        }
+        writePosition = pos;
+        notifyAll();
+    }
+
+    /**
+     * Waits for the next record which has not been removed from the journal.
+     * The same record is returned until it has been removed.
+     *
+     * @param timeout
+     *            The maximum time to wait in milliseconds.
+     * @return The record, or <code>null</code> if the journal is empty or has
+     *         been closed.
+     * @throws IOException
+     *             If the record could not be read.
+     * @throws InterruptedException
+     *             If the calling thread has been interrupted while waiting.
+     */
+    public synchronized Record take(long timeout) throws IOException, InterruptedException {
+        if (!closed && readPosition >= writePosition) {
+            wait(timeout);
+        }
+        if (closed || readPosition >= writePosition) {
+            return null;
+        }
+        Record record = read(readPosition);
+        if (record == null) {
+            throw new IOException("Corrupt record at position " + readPosition + " of the capture journal " + file);
+        }
+        return record;
+    }
+
+    /**
+     * Removes the given record, which must have been returned by
+     * {@link #take(long)}, from the journal once it has been processed.
+     *
+     * @param record
+     *            The processed record.
+     * @throws IOException
+     *             If the journal could not be updated.
+     */
+    public synchronized void remove(Record record) throws IOException {
+        if (record.position != readPosition) {
+            throw new IllegalArgumentException("Not the first record of the capture journal " + file);
+        }
+        readPosition = record.next;
+        if (readPosition == writePosition) {
+            // everything processed, start over (truncate first, so a crash
+            // in between never replays processed records)
+            journal.truncate(0);
+            journal.force(true);
+            readPosition = 0;
+            writePosition = 0;
+        } else if (readPosition >= compactThreshold && writePosition - readPosition <= readPosition) {
+            compact();
+            return;
+        }
+        writePosition(readPosition, false);
+    }
+
+    /**
+     * Copies the pending records to the compacted journal, which then replaces
+     * the journal. The position file tells whether the compacted journal is
+     * complete, such that recovery can finish or discard it after a crash.
+     */
+    private void compact() throws IOException {
+        long pending = writePosition - readPosition;
+        LOG.info("Compacting the capture journal " + file + ": dropping " + readPosition
+                + " processed bytes, keeping " + pending);
+        FileChannel compacted = new RandomAccessFile(compactFile, "rw").getChannel();
+        try {
+            compacted.truncate(0);
+            long pos = 0;
+            while (pos < pending) {
+                pos += journal.transferTo(readPosition + pos, pending - pos, compacted.position(pos));
+            }
+            compacted.force(true);
+        } finally {
+            compacted.close();
+        }
+        writePosition(0, true);
+        journal.close();
+        try {
+            replaceByCompactFile();
+            journal = new RandomAccessFile(file, "rw").getChannel();
+        } catch (IOException e) {
+            // reopening the journal finishes the compaction
+            journal = null;
+            close();
+            throw e;
+        }
+        readPosition = 0;
+        writePosition = pending;
+        writePosition(0, false);
+    }
+
+    private void replaceByCompactFile() throws IOException {
+        // renaming onto an existing file fails on some platforms
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Unable to replace the capture journal " + file);
+        }
+        if (!compactFile.renameTo(file)) {
+            throw new IOException("Unable to rename the compacted journal " + compactFile + " to " + file);
+        }
+    }
+
+    /**
+     * Writes the given read position to the position file, together with
+     * whether the compacted journal is complete, and forces it to disk.
+     */
+    private void writePosition(long pos, boolean compacting) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        buf.putLong(pos);
+        buf.putLong(compacting ? 1 : 0);
+        buf.flip();
+        position.write(buf, 0);
+        position.force(false);
+    }
+
+    /**
+     * Writes the document of the given record, which must have been returned
+     * by {@link #take(long)}, to a file of its own and removes it from the
+     * journal.
+     *
+     * @param record
+     *            The record which cannot be stored.
+     * @return The file holding the document of the record.
+     * @throws IOException
+     *             If the file could not be written or the journal could not be
+     *             updated.
+     */
+    public synchronized File reject(Record record) throws IOException {
+        File failed = new File(file.getPath() + "." + System.currentTimeMillis() + ".failed");
+        for (int i = 1; failed.exists(); i++) {
+            failed = new File(file.getPath() + "." + System.currentTimeMillis() + "-" + i + ".failed");
+        }
+        FileOutputStream out = new FileOutputStream(failed);
+        try {
+            copy(record.openDocument(), out);
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        remove(record);
+        return failed;
+    }
+
+    /**
+     * @return The number of bytes in the journal which have not been processed
+     *         yet.
+     */
+    public synchronized long getPendingBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * @return The size of the journal file in bytes.
+     */
+    synchronized long getSize() throws IOException {
+        return journal.size();
+    }
+
+    /**
+     * Closes the journal. Threads waiting in {@link #take(long)} return
+     * <code>null</code>.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+            position.close();
+        } catch (IOException e) {
+            LOG.warn("Unable to close the capture journal " + file + ": " + e.toString());
+        }
+    }
+
+    /**
+     * Reads the record at the given position and verifies its checksum.
+     *
+     * @return The record or <code>null</code> if the record at the given
+     *         position is incomplete and reaches the end of the journal.
+     * @throws IOException
+     *             If the record is damaged but followed by further data.
+     */
+    private Record read(long pos) throws IOException {
+        long size = journal.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (!readFully(header, pos)) {
+            return null;
+        }
+        header.flip();
+        int length = header.getInt();
+        long checksum = header.getLong();
+        long next = pos + HEADER_SIZE + length;
+        if (length > 0 && next > size) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        if (length > 0) {
+            ByteBuffer data = ByteBuffer.allocate((int) Math.min(length, BUFFER_SIZE));
+            for (long p = pos + HEADER_SIZE; p < next; p += data.limit()) {
+                data.clear();
+                data.limit((int) Math.min(data.capacity(), next - p));
+                if (!readFully(data, p)) {
+                    return null;
+                }
+                crc.update(data.array(), 0, data.limit());
+            }
+        }
+        if (length <= 0 || crc.getValue() != checksum) {
+            if (length > 0 ? next == size : isZero(pos, size)) {
+                // the append did not finish writing the checksum, or the
+                // file has grown before the header reached the disk
+                return null;
+            }
+            throw new IOException("Damaged record at position " + pos + " of the capture journal " + file
+                    + ", followed by " + (size - pos) + " bytes which may hold further records");
+        }
+        return new Record(journal, pos, next);
+    }
+
+    private boolean isZero(long pos, long end) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        for (; pos < end; pos += buf.limit()) {
+            buf.clear();
+            buf.limit((int) Math.min(BUFFER_SIZE, end - pos));
+            if (!readFully(buf, pos)) {
+                return true;
+            }
+            for (int i = 0; i < buf.limit(); i++) {
+                if (buf.get(i) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean readFully(ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = journal.read(buf, pos);
+            if (n < 0) {
+                return false;
+            }
+            pos += n;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the given buffer at the given position of the journal.
+     *
+     * @return The position after the buffer.
+     */
+    private long write(ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            pos += journal.write(buf, pos);
+        }
+        return pos;
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buf = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            out.write(buf, 0, n);
+        }
+    }
+
+    /**
+     * A capture request stored in the journal.
+     */
+    public static class Record {
+
+        private final FileChannel journal;
+
+        private final long position;
+
+        private final long next;
+
+        private Record(FileChannel journal, long position, long next) {
+            this.journal = journal;
+            this.position = position;
+            this.next = next;
+        }
+
+        /**
+         * @return A stream reading the document of the record from the
+         *         journal, valid until the record has been removed.
+         */
+        public InputStream openDocument() {
+            return new InputStream() {
+                private long pos = position + HEADER_SIZE;
+
+                public int read() throws IOException {
+                    byte[] b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+                }
+
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (pos >= next) {
+                        return -1;
+                    }
+                    ByteBuffer buf = ByteBuffer.wrap(b, off, (int) Math.min(len, next - pos));
+                    while (buf.hasRemaining()) {
+                        int n = journal.read(buf, pos + buf.position() - off);
+                        if (n < 0) {
+                            throw new IOException("Unexpected end of the capture journal");
+                        }
+                    }
+                    int n = buf.position() - off;
+                    pos += n;
+                    return n;
+                }
+
+                public int available() {
+                    return (int) (next - pos);
+                }
+            };
+        }
+    }
+}
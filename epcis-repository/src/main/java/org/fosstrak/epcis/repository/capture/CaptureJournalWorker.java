@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.fosstrak.epcis.repository.InvalidFormatException;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * The CaptureJournalWorker drains the {@link CaptureJournal} into the database
+ * by passing one capture request after the other to
+ * {@link CaptureOperationsModule#doCapture(java.io.InputStream, java.security.Principal)}.
+ * The requests are stored in the order in which they have been accepted.
+ * <p>
+ * A request which is rejected by the capture operations module, e.g. due to an
+ * invalid EPC or a schema error, is logged and removed from the journal, as it
+ * would be rejected again. On any other error, including a SAXException
+ * reporting an I/O error, e.g. if the database is not available, the
+ * request remains in the journal and is retried after a delay, which doubles
+ * with every attempt. If it still cannot be stored after the configured number
+ * of retries, it is moved out of the journal, see
+ * {@link CaptureJournal#reject(CaptureJournal.Record)}, so that the following
+ * requests are not held up forever. A request, or the part of each shard, is
+ * stored in a single transaction; if some shards have stored their part of
+ * the request before the error, the retries skip these shards.
+ */
+class CaptureJournalWorker implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(CaptureJournalWorker.class);
+
+    private static final long RETRY_DELAY = 10000;
+
+    private static final long MAX_RETRY_DELAY = 600000;
+
+    private static final long POLL_INTERVAL = 1000;
+
+    private final CaptureJournal journal;
+
+    private final CaptureOperationsModule module;
+
+    private final int maxRetries;
+
+    private final long retryDelay;
+
+    /**
+     * The number of failed attempts to store the current record.
+     */
+    private int failures = 0;
+
+    /**
+     * The first shard which has not stored its part of the current record.
+     */
+    private int firstShard = 0;
+
+    private Thread thread;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param journal
+     *            The journal to drain.
+     * @param module
+     *            The module storing the capture requests.
+     * @param maxRetries
+     *            The number of times a capture request which could not be
+     *            stored is retried before it is moved out of the journal.
+     */
+    public CaptureJournalWorker(CaptureJournal journal, CaptureOperationsModule module, int maxRetries) {
+        this(journal, module, maxRetries, RETRY_DELAY);
+    }
+
+    CaptureJournalWorker(CaptureJournal journal, CaptureOperationsModule module, int maxRetries, long retryDelay) {
+        this.journal = journal;
+        this.module = module;
+        this.maxRetries = maxRetries;
+        this.retryDelay = retryDelay;
+    }
+
+    public synchronized void start() {
+        thread = new Thread(this, "CaptureJournalWorker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the worker once the current capture request has been processed,
+     * and closes the journal.
+     */
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    public void run() {
+        LOG.info("Capture journal worker started");
+        while (!stopped) {
+            CaptureJournal.Record record;
+            try {
+                record = journal.take(POLL_INTERVAL);
+            } catch (IOException e) {
+                LOG.error("Unable to read from the capture journal, no more capture requests will be stored", e);
+                return;
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (record == null) {
+                continue;
+            }
+            boolean done = capture(record);
+            try {
+                if (done) {
+                    journal.remove(record);
+                } else if (failures > maxRetries) {
+                    File failed = journal.reject(record);
+                    LOG.error("Giving up on journaled capture request after " + failures
+                            + " attempts, moved it to " + failed);
+                    done = true;
+                }
+            } catch (IOException e) {
+                LOG.error("Unable to update the capture journal, no more capture requests will be stored", e);
+                return;
+            }
+            if (done) {
+                failures = 0;
+                firstShard = 0;
+            } else {
+                synchronized (this) {
+                    if (!stopped) {
+                        try {
+                            wait(Math.min(retryDelay << Math.min(failures - 1, 16), MAX_RETRY_DELAY));
+                        } catch (InterruptedException e) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        LOG.info("Capture journal worker stopped");
+    }
+
+    /**
+     * @return <code>true</code> if the given capture request has been
+     *         processed and can be removed from the journal,
+     *         <code>false</code> if it should be retried.
+     */
+    private boolean capture(CaptureJournal.Record record) {
+        InputStream document = record.openDocument();
+        try {
+            module.doCapture(document, null, firstShard);
+            return true;
+        } catch (SAXException e) {
+            if (!isInvalidDocument(e)) {
+                failures++;
+                LOG.warn("Unable to read journaled capture request, will retry: " + e.toString());
+                return false;
+            }
+            LOG.error("Dropping journaled capture request: " + e.getMessage());
+            return true;
+        } catch (InvalidFormatException e) {
+            LOG.error("Dropping journaled capture request: " + e.getMessage());
+            return true;
+        } catch (PartialCaptureException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SAXException && isInvalidDocument((SAXException) cause)
+                    || cause instanceof InvalidFormatException) {
+                LOG.error("Dropping journaled capture request after " + e.getCommittedEventCount()
+                        + " events had been committed: " + cause.getMessage());
+                return true;
+            }
+            // the shards which have stored their part are skipped, the
+            // failed one has not stored any of its events
+            failures++;
+            firstShard = e.getCommittedShardCount();
+            LOG.warn("Unable to store journaled capture request after " + e.getCommittedEventCount()
+                    + " events had been committed, will retry: " + cause);
+            return false;
+        } catch (Exception e) {
+            failures++;
+            LOG.warn("Unable to store journaled capture request, will retry: " + e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the given exception reports a malformed or
+     *         invalid document, <code>false</code> if it wraps another error,
+     *         e.g. an IOException while reading the document.
+     */
+    private static boolean isInvalidDocument(SAXException e) {
+        Exception cause = e.getException();
+        if (cause instanceof XMLStreamException) {
+            // the parser wraps I/O errors as well
+            Throwable nested = ((XMLStreamException) cause).getNestedException();
+            return !(nested instanceof IOException);
+        }
+        return cause == null || cause instanceof SAXParseException;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.List;
 import javax.sql.DataSource;
 
 import org.fosstrak.epcis.model.BusinessTransactionType;
+import org.fosstrak.epcis.repository.model.BaseEvent;
 import org.fosstrak.epcis.repository.model.EventFieldExtension;
 
 /**
@@ -272,10 +273,72 @@ public interface CaptureOperationsBackend {
     public Long insertBusinessTransaction(final CaptureOperationsSession session, final String bizTrans,
             final String bizTransType) throws SQLException;
 
+    /**
+     * Inserts the vocabulary element of the given type and URI unless it is
+     * already stored, and returns its ID in either case. Relies on the unique
+     * key on the vocabulary table's <code>uriHash</code> column, the SHA-1
+     * hash of the URI: concurrent callers inserting the same URI do not fail
+     * but all end up with the ID of the one row that was inserted, waiting for
+     * the transaction which inserted it to commit if needed.
+     * 
+     * @param session
+     *            The database session.
+     * @param vocabularyType
+     *            The type of the vocabulary to insert. The type determines to
+     *            which database table name the vocabulary will be inserted.
+     * @param vocabularyElement
+     *            The URI string of the vocabulary element to insert.
+     * @return The ID (primary key) of the vocabulary element.
+     * @throws SQLException
+     *             If an SQL error occurred.
+     */
+    public Long upsertVocabularyElement(final CaptureOperationsSession session, final String vocabularyType,
+            final String vocabularyElement) throws SQLException;
+
+    /**
+     * Inserts the business transaction with the given ID and type unless it is
+     * already stored, and returns its ID in either case. Like
+     * {@link #upsertVocabularyElement(CaptureOperationsSession, String, String)}
+     * this relies on the unique key of the BusinessTransaction-Table.
+     * 
+     * @param session
+     *            The database session.
+     * @param bizTransId
+     *            The ID (primary key) of the BusinessTransactionID vocabulary
+     *            element.
+     * @param bizTransTypeId
+     *            The ID (primary key) of the BusinessTransactionType
+     *            vocabulary element, or <code>null</code> if the business
+     *            transaction has no type.
+     * @return The ID from the BusinessTransaction-table.
+     * @throws SQLException
+     *             If an SQL problem with the database occurred.
+     */
+    public Long upsertBusinessTransaction(final CaptureOperationsSession session, final Long bizTransId,
+            final Long bizTransTypeId) throws SQLException;
+
     public void insertBusinessTransactionsForEvent(final CaptureOperationsSession session, final long eventId,
             final String eventType, final List<BusinessTransactionType> btts) throws SQLException;
 
     public void insertExtensionFieldsForEvent(final CaptureOperationsSession session, final long eventId,
             final String eventType, final List<EventFieldExtension> exts) throws SQLException;
 
+    /**
+     * Inserts the given EPCIS events into the database. The event rows of each
+     * event type are written as a single JDBC batch, their EPCs, business
+     * transactions and extension fields with multi-row inserts. The vocabulary
+     * elements and business transactions referenced by the events must
+     * already be stored in the database. The generated primary keys are set on
+     * the given events.
+     * 
+     * @param session
+     *            The database session.
+     * @param events
+     *            The EPCIS events to insert.
+     * @throws SQLException
+     *             If an SQL error occurred.
+     */
+    public void insertEvents(final CaptureOperationsSession session, final List<BaseEvent> events)
+            throws SQLException;
+
 }
\ No newline at end of file
@@ -29,8 +29,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,7 +40,14 @@ import javax.sql.DataSource;
 
 import org.fosstrak.epcis.model.BusinessTransactionType;
 import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.model.AggregationEvent;
+import org.fosstrak.epcis.repository.model.BaseEvent;
+import org.fosstrak.epcis.repository.model.BusinessTransaction;
 import org.fosstrak.epcis.repository.model.EventFieldExtension;
+import org.fosstrak.epcis.repository.model.ObjectEvent;
+import org.fosstrak.epcis.repository.model.QuantityEvent;
+import org.fosstrak.epcis.repository.model.TransactionEvent;
+import org.fosstrak.epcis.repository.model.VocabularyElement;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -55,10 +64,27 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
 
     private static final Log LOG = LogFactory.getLog(CaptureOperationsBackendSQL.class);
 
-    private static final String SQL_INSERT_AGGREGATIONEVENT = "INSERT INTO event_AggregationEvent (eventTime, recordTime, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action, parentID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String SQL_INSERT_OBJECTEVENT = "INSERT INTO event_ObjectEvent (eventTime, recordTime, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String SQL_INSERT_QUANTITYEVENT = "INSERT INTO event_QuantityEvent (eventTime, recordTime, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, epcClass, quantity) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String SQL_INSERT_TRANSACTIONEVENT = "INSERT INTO event_TransactionEvent (eventTime, recordTime, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action, parentID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_AGGREGATIONEVENT = "INSERT INTO event_AggregationEvent (eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action, parentID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_OBJECTEVENT = "INSERT INTO event_ObjectEvent (eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_QUANTITYEVENT = "INSERT INTO event_QuantityEvent (eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, epcClass, quantity) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_TRANSACTIONEVENT = "INSERT INTO event_TransactionEvent (eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, bizStep, disposition, readPoint, bizLocation, action, parentID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * The maximum number of rows written by a single multi-row insert
+     * statement. Smaller row counts are written with statements for 64, 32,
+     * ..., 1 rows, so that at most 8 different statements per table need to be
+     * prepared.
+     */
+    private static final int MAX_ROWS_PER_INSERT = 128;
+
+    /**
+     * The SQL types of the columns of the event child tables, as written by
+     * {@link #insertRows(CaptureOperationsSession, String, String, int[], List)}.
+     */
+    private static final int[] EPC_COLUMN_TYPES = { Types.BIGINT, Types.VARCHAR, Types.INTEGER };
+    private static final int[] BIZTRANS_COLUMN_TYPES = { Types.BIGINT, Types.BIGINT, Types.INTEGER };
+    private static final int[] EXTENSION_COLUMN_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.INTEGER, Types.FLOAT, Types.TIMESTAMP };
 
     private static Map<String, String> VOCABTYPE_TABLENAME_MAP;
 
@@ -191,74 +217,242 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
             final String parentId, final Long epcClassId, final Long quantity, final String eventName)
             throws SQLException {
 
-        PreparedStatement ps;
+        PreparedStatement ps = session.getInsert(getEventInsert(eventName));
+        setEventParameters(ps, eventTime, recordTime, eventTimeZoneOffset, bizStepId, dispositionId, readPointId,
+                bizLocationId, action, parentId, epcClassId, quantity, eventName);
+        ps.executeUpdate();
+
+        return getLastAutoIncrementedId(session, "event_" + eventName);
+    }
+
+    /**
+     * @return The SQL insert statement for events of the given type.
+     * @throws SQLException
+     *             If the given event type is unknown.
+     */
+    private String getEventInsert(final String eventName) throws SQLException {
         if (eventName.equals(EpcisConstants.AGGREGATION_EVENT)) {
-            ps = session.getInsert(SQL_INSERT_AGGREGATIONEVENT);
+            return SQL_INSERT_AGGREGATIONEVENT;
         } else if (eventName.equals(EpcisConstants.OBJECT_EVENT)) {
-            ps = session.getInsert(SQL_INSERT_OBJECTEVENT);
+            return SQL_INSERT_OBJECTEVENT;
         } else if (eventName.equals(EpcisConstants.QUANTITY_EVENT)) {
-            ps = session.getInsert(SQL_INSERT_QUANTITYEVENT);
+            return SQL_INSERT_QUANTITYEVENT;
         } else if (eventName.equals(EpcisConstants.TRANSACTION_EVENT)) {
-            ps = session.getInsert(SQL_INSERT_TRANSACTIONEVENT);
+            return SQL_INSERT_TRANSACTIONEVENT;
         } else {
             throw new SQLException("Encountered unknown event element '" + eventName + "'.");
         }
+    }
 
-        // parameters 1-7 of the sql query are shared by all events
+    /**
+     * Supplies the given PreparedStatement, created from
+     * {@link #getEventInsert(String)}, with the given event parameters.
+     */
+    private void setEventParameters(final PreparedStatement ps, final Timestamp eventTime,
+            final Timestamp recordTime, final String eventTimeZoneOffset, final Long bizStepId,
+            final Long dispositionId, final Long readPointId, final Long bizLocationId, final String action,
+            final String parentId, final Long epcClassId, final Long quantity, final String eventName)
+            throws SQLException {
+        // parameters 1-9 of the sql query are shared by all events
 
         ps.setTimestamp(1, eventTime);
+        ps.setLong(2, eventTime.getTime());
         // according to the specification: recordTime is the time of capture
-        ps.setTimestamp(2, recordTime != null ? recordTime : new Timestamp(System.currentTimeMillis()));
+        Timestamp capturedAt = recordTime != null ? recordTime : new Timestamp(System.currentTimeMillis());
+        ps.setTimestamp(3, capturedAt);
+        ps.setLong(4, capturedAt.getTime());
         // note: for testing it is handy to set recordTime=eventTime
-        // ps.setTimestamp(2, eventTime);
-        ps.setString(3, eventTimeZoneOffset);
-        if (bizStepId != null) {
-            ps.setLong(4, bizStepId.longValue());
-        } else {
-            ps.setNull(4, java.sql.Types.BIGINT);
-        }
-        if (dispositionId != null) {
-            ps.setLong(5, dispositionId.longValue());
-        } else {
-            ps.setNull(5, java.sql.Types.BIGINT);
-        }
-        if (readPointId != null) {
-            ps.setLong(6, readPointId.longValue());
-        } else {
-            ps.setNull(6, java.sql.Types.BIGINT);
-        }
-        if (bizLocationId != null) {
-            ps.setLong(7, bizLocationId.longValue());
-        } else {
-            ps.setNull(7, java.sql.Types.BIGINT);
-        }
+        // ps.setTimestamp(3, eventTime);
+        ps.setString(5, eventTimeZoneOffset);
+        setLongOrNull(ps, 6, bizStepId);
+        setLongOrNull(ps, 7, dispositionId);
+        setLongOrNull(ps, 8, readPointId);
+        setLongOrNull(ps, 9, bizLocationId);
 
         // special handling for QuantityEvent
         if (eventName.equals("QuantityEvent")) {
-            if (epcClassId != null) {
-                ps.setLong(8, epcClassId.longValue());
-            } else {
-                ps.setNull(8, java.sql.Types.BIGINT);
-            }
-            if (quantity != null) {
-                ps.setLong(9, quantity.longValue());
-            } else {
-                ps.setNull(9, java.sql.Types.BIGINT);
-            }
+            setLongOrNull(ps, 10, epcClassId);
+            setLongOrNull(ps, 11, quantity);
         } else {
             // all other events have action
-            ps.setString(8, action);
+            ps.setString(10, action);
 
             // AggregationEvent and TransactionEvent have a parentID field
             if (eventName.equals("AggregationEvent") || eventName.equals("TransactionEvent")) {
-                ps.setString(9, parentId);
+                ps.setString(11, parentId);
             }
         }
+    }
 
-        ps.executeUpdate();
-        session.commit();
+    private static void setLongOrNull(final PreparedStatement ps, final int index, final Long value)
+            throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value.longValue());
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
 
-        return getLastAutoIncrementedId(session, "event_" + eventName);
+    private static Long getId(final VocabularyElement vocabularyElement) {
+        return vocabularyElement != null ? vocabularyElement.getId() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void insertEvents(final CaptureOperationsSession session, final List<BaseEvent> events)
+            throws SQLException {
+        // group the events by type, keeping their order
+        Map<String, List<BaseEvent>> eventsByType = new LinkedHashMap<String, List<BaseEvent>>();
+        for (BaseEvent event : events) {
+            String eventName = event.getClass().getSimpleName();
+            List<BaseEvent> list = eventsByType.get(eventName);
+            if (list == null) {
+                list = new ArrayList<BaseEvent>();
+                eventsByType.put(eventName, list);
+            }
+            list.add(event);
+        }
+
+        for (Map.Entry<String, List<BaseEvent>> entry : eventsByType.entrySet()) {
+            String eventName = entry.getKey();
+            List<BaseEvent> list = entry.getValue();
+
+            // insert the event rows with a single batch
+            PreparedStatement ps = session.getGeneratedKeysInsert(getEventInsert(eventName));
+            for (BaseEvent event : list) {
+                String action = null;
+                String parentId = null;
+                Long epcClassId = null;
+                Long quantity = null;
+                if (event instanceof ObjectEvent) {
+                    action = ((ObjectEvent) event).getAction().name();
+                } else if (event instanceof AggregationEvent) {
+                    action = ((AggregationEvent) event).getAction().name();
+                    parentId = ((AggregationEvent) event).getParentId();
+                } else if (event instanceof TransactionEvent) {
+                    action = ((TransactionEvent) event).getAction().name();
+                    parentId = ((TransactionEvent) event).getParentId();
+                } else if (event instanceof QuantityEvent) {
+                    epcClassId = getId(((QuantityEvent) event).getEpcClass());
+                    quantity = Long.valueOf(((QuantityEvent) event).getQuantity());
+                }
+                setEventParameters(ps, event.getEventTime(), event.getRecordTime(), event.getEventTimeZoneOffset(),
+                        getId(event.getBizStep()), getId(event.getDisposition()), getId(event.getReadPoint()),
+                        getId(event.getBizLocation()), action, parentId, epcClassId, quantity, eventName);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            ResultSet rs = ps.getGeneratedKeys();
+            try {
+                for (BaseEvent event : list) {
+                    if (!rs.next()) {
+                        throw new SQLException("Unable to retrieve the generated keys of the inserted " + eventName
+                                + " rows.");
+                    }
+                    event.setId(Long.valueOf(rs.getLong(1)));
+                }
+            } finally {
+                rs.close();
+            }
+            LOG.debug("inserted " + list.size() + " " + eventName + " rows");
+
+            // collect the rows of the child tables
+            List<Object[]> epcRows = new ArrayList<Object[]>();
+            List<Object[]> bizTransRows = new ArrayList<Object[]>();
+            List<Object[]> extensionRows = new ArrayList<Object[]>();
+            for (BaseEvent event : list) {
+                List<String> epcs = null;
+                if (event instanceof ObjectEvent) {
+                    epcs = ((ObjectEvent) event).getEpcList();
+                } else if (event instanceof AggregationEvent) {
+                    epcs = ((AggregationEvent) event).getChildEpcs();
+                } else if (event instanceof TransactionEvent) {
+                    epcs = ((TransactionEvent) event).getEpcList();
+                }
+                if (epcs != null) {
+                    for (int i = 0; i < epcs.size(); i++) {
+                        epcRows.add(new Object[] { event.getId(), epcs.get(i), Integer.valueOf(i) });
+                    }
+                }
+                if (event.getBizTransList() != null) {
+                    for (int i = 0; i < event.getBizTransList().size(); i++) {
+                        BusinessTransaction bt = event.getBizTransList().get(i);
+                        bizTransRows.add(new Object[] { event.getId(), bt.getId(), Integer.valueOf(i) });
+                    }
+                }
+                if (event.getExtensions() != null) {
+                    for (EventFieldExtension ext : event.getExtensions()) {
+                        extensionRows.add(new Object[] { event.getId(), ext.getFieldname(), ext.getPrefix(),
+                                ext.getStrValue(), ext.getIntValue(), ext.getFloatValue(), ext.getDateValue() });
+                    }
+                }
+            }
+            insertRows(session, "event_" + eventName + "_EPCs", "event_id, epc, idx", EPC_COLUMN_TYPES, epcRows);
+            insertRows(session, "event_" + eventName + "_bizTrans", "event_id, bizTrans_id, idx",
+                    BIZTRANS_COLUMN_TYPES, bizTransRows);
+            insertRows(session, "event_" + eventName + "_extensions",
+                    "event_id, fieldname, prefix, strValue, intValue, floatValue, dateValue", EXTENSION_COLUMN_TYPES,
+                    extensionRows);
+        }
+    }
+
+    /**
+     * Inserts the given rows into the given table using multi-row insert
+     * statements of at most {@link #MAX_ROWS_PER_INSERT} rows each.
+     * 
+     * @param session
+     *            The database session.
+     * @param tableName
+     *            The name of the table to insert into.
+     * @param columns
+     *            The comma-separated column names.
+     * @param columnTypes
+     *            The SQL types of the columns, see {@link Types}, used for
+     *            null values.
+     * @param rows
+     *            The rows to insert, one value per column.
+     * @throws SQLException
+     *             If an SQL error occurred.
+     */
+    private void insertRows(final CaptureOperationsSession session, final String tableName, final String columns,
+            final int[] columnTypes, final List<Object[]> rows) throws SQLException {
+        int offset = 0;
+        int rowCount = MAX_ROWS_PER_INSERT;
+        while (offset < rows.size()) {
+            while (rows.size() - offset < rowCount) {
+                rowCount /= 2;
+            }
+            PreparedStatement ps = session.getInsert(getMultiRowInsert(tableName, columns, columnTypes.length,
+                    rowCount));
+            int index = 1;
+            for (int i = offset; i < offset + rowCount; i++) {
+                Object[] row = rows.get(i);
+                for (int j = 0; j < row.length; j++) {
+                    if (row[j] == null) {
+                        ps.setNull(index++, columnTypes[j]);
+                    } else {
+                        ps.setObject(index++, row[j]);
+                    }
+                }
+            }
+            ps.executeUpdate();
+            offset += rowCount;
+        }
+    }
+
+    private static String getMultiRowInsert(final String tableName, final String columns, final int columnCount,
+            final int rowCount) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName);
+        sql.append(" (").append(columns).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            sql.append(i == 0 ? "(" : ", (");
+            for (int j = 0; j < columnCount; j++) {
+                sql.append(j == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+        }
+        return sql.toString();
     }
 
     /**
@@ -296,11 +490,12 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
     public void insertEpcsForEvent(final CaptureOperationsSession session, final long eventId, final String eventType,
             final List<String> epcs) throws SQLException {
         // preparing statement for insertion of associated EPCs
-        String insert = "INSERT INTO event_" + eventType + "_EPCs (event_id, epc) VALUES (?, ?)";
+        String insert = "INSERT INTO event_" + eventType + "_EPCs (event_id, epc, idx) VALUES (?, ?, ?)";
         PreparedStatement ps = session.getBatchInsert(insert);
         LOG.debug("INSERT: " + insert);
 
         // insert all EPCs in the EPCs array
+        int idx = 0;
         for (String epc : epcs) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("       insert param 1: " + eventId);
@@ -308,6 +503,7 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
             }
             ps.setLong(1, eventId);
             ps.setString(2, epc.toString());
+            ps.setInt(3, idx++);
             ps.addBatch();
         }
     }
@@ -356,6 +552,80 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
         return getLastAutoIncrementedId(session, tableName);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Long upsertVocabularyElement(final CaptureOperationsSession session, final String vocabularyType,
+            final String vocabularyElement) throws SQLException {
+        String stmt = "INSERT IGNORE INTO " + VOCABTYPE_TABLENAME_MAP.get(vocabularyType) + " (uri) VALUES (?)";
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("INSERT: " + stmt);
+            LOG.debug("       insert param 1: " + vocabularyElement);
+        }
+
+        PreparedStatement ps = session.getInsert(stmt);
+        ps.setString(1, vocabularyElement);
+        ps.executeUpdate();
+
+        // whether we or a concurrent writer inserted it, the row exists now;
+        // a locking read sees it even if it was committed after our snapshot
+        stmt = "SELECT id FROM " + VOCABTYPE_TABLENAME_MAP.get(vocabularyType)
+                + " WHERE uriHash=UNHEX(SHA1(?)) LOCK IN SHARE MODE";
+        ps = session.getSelect(stmt);
+        ps.setString(1, vocabularyElement);
+        ResultSet rs = null;
+        try {
+            rs = ps.executeQuery();
+            if (rs.next()) {
+                return Long.valueOf(rs.getLong("id"));
+            }
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+        }
+        throw new SQLException("Vocabulary element '" + vocabularyElement + "' not found after insert into "
+                + VOCABTYPE_TABLENAME_MAP.get(vocabularyType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long upsertBusinessTransaction(final CaptureOperationsSession session, final Long bizTransId,
+            final Long bizTransTypeId) throws SQLException {
+        String stmt = "INSERT IGNORE INTO BizTransaction (bizTrans, type) VALUES (?, ?)";
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("INSERT: " + stmt);
+            LOG.debug("       insert param 1: " + bizTransId);
+            LOG.debug("       insert param 2: " + bizTransTypeId);
+        }
+
+        PreparedStatement ps = session.getInsert(stmt);
+        ps.setLong(1, bizTransId.longValue());
+        setLongOrNull(ps, 2, bizTransTypeId);
+        ps.executeUpdate();
+
+        // the unique key is on typeKey, which is 0 for untyped business
+        // transactions
+        stmt = "SELECT id FROM BizTransaction WHERE bizTrans=? AND typeKey=? LOCK IN SHARE MODE";
+        ps = session.getSelect(stmt);
+        ps.setLong(1, bizTransId.longValue());
+        ps.setLong(2, bizTransTypeId != null ? bizTransTypeId.longValue() : 0);
+        ResultSet rs = null;
+        try {
+            rs = ps.executeQuery();
+            if (rs.next()) {
+                return Long.valueOf(rs.getLong("id"));
+            }
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+        }
+        throw new SQLException("Business transaction (" + bizTransId + ", " + bizTransTypeId
+                + ") not found after insert into BizTransaction");
+    }
+
     /**
      * Retrieves the business transaction with the given type and the given URI
      * from the database.
@@ -365,7 +635,8 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
      * @param bizTrans
      *            The business transaction URI to insert.
      * @param bizTransType
-     *            The type of the business transaction to insert.
+     *            The type of the business transaction to insert, or
+     *            <code>null</code> if it has none.
      * @return The ID (primary key) of the matching business transaction, or
      *         <code>null</code> if none was found.
      * @throws SQLException
@@ -373,10 +644,17 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
      */
     private Long getBusinessTransaction(final CaptureOperationsSession session, final String bizTrans,
             final String bizTransType) throws SQLException {
-        String stmt = "select id from BizTransaction where bizTrans = (select id from voc_BizTrans where uri = ?) and type = (select id from voc_BizTransType where uri = ?);";
-        PreparedStatement ps = session.getSelect(stmt);
-        ps.setString(1, bizTrans.toString());
-        ps.setString(2, bizTransType.toString());
+        PreparedStatement ps;
+        if (bizTransType == null) {
+            String stmt = "select id from BizTransaction where bizTrans = (select id from voc_BizTrans where uri = ?) and type is null;";
+            ps = session.getSelect(stmt);
+            ps.setString(1, bizTrans.toString());
+        } else {
+            String stmt = "select id from BizTransaction where bizTrans = (select id from voc_BizTrans where uri = ?) and type = (select id from voc_BizTransType where uri = ?);";
+            ps = session.getSelect(stmt);
+            ps.setString(1, bizTrans.toString());
+            ps.setString(2, bizTransType.toString());
+        }
 
         ResultSet rs = null;
         try {
@@ -401,8 +679,8 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
             final String bizTransType) throws SQLException {
 
         final Long id = getOrInsertVocabularyElement(session, EpcisConstants.BUSINESS_TRANSACTION_ID, bizTrans);
-        final Long type = getOrInsertVocabularyElement(session, EpcisConstants.BUSINESS_TRANSACTION_TYPE_ID,
-                bizTransType);
+        final Long type = bizTransType != null ? getOrInsertVocabularyElement(session,
+                EpcisConstants.BUSINESS_TRANSACTION_TYPE_ID, bizTransType) : null;
 
         String stmt = "INSERT INTO BizTransaction (bizTrans, type) VALUES (?, ?)";
         if (LOG.isDebugEnabled()) {
@@ -413,7 +691,7 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
 
         PreparedStatement ps = session.getInsert(stmt);
         ps.setLong(1, id.longValue());
-        ps.setLong(2, type.longValue());
+        setLongOrNull(ps, 2, type);
         ps.executeUpdate();
 
         return getLastAutoIncrementedId(session, "BizTransaction");
@@ -441,13 +719,14 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
             btIds.add(getOrInsertBizTransaction(session, btt.getValue(), btt.getType()));
         }
 
-        String insert = "INSERT INTO event_" + eventType + "_bizTrans (event_id, bizTrans_id) VALUES (?, ?)";
+        String insert = "INSERT INTO event_" + eventType + "_bizTrans (event_id, bizTrans_id, idx) VALUES (?, ?, ?)";
         if (LOG.isDebugEnabled()) {
             LOG.debug("INSERT: " + insert);
         }
         PreparedStatement ps = session.getBatchInsert(insert);
         // insert all BizTransactions into the BusinessTransaction-Table
         // and connect it with the "event_<event-name>_bizTrans"-Table
+        int idx = 0;
         for (long btId : btIds) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("       insert param 1: " + eventId);
@@ -455,6 +734,7 @@ public class CaptureOperationsBackendSQL implements CaptureOperationsBackend {
             }
             ps.setLong(1, eventId);
             ps.setLong(2, btId);
+            ps.setInt(3, idx++);
             ps.addBatch();
         }
     }
@@ -21,7 +21,9 @@
 package org.fosstrak.epcis.repository.capture;
 
 import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,36 +32,38 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.Principal;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.sql.DataSource;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.HighWaterMarks;
 import org.fosstrak.epcis.repository.InternalBusinessException;
 import org.fosstrak.epcis.repository.InvalidFormatException;
 import org.fosstrak.epcis.repository.model.Action;
@@ -89,19 +93,14 @@ import org.fosstrak.epcis.repository.model.VocabularyAttributeElement;
 import org.fosstrak.epcis.repository.model.VocabularyElement;
 import org.fosstrak.epcis.utils.TimeParser;
 import org.hibernate.Criteria;
+import org.hibernate.JDBCException;
 import org.hibernate.ObjectNotFoundException;
+import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.criterion.Restrictions;
-import org.w3c.dom.DOMException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXParseException;
 
 /**
  * CaptureOperationsModule implements the core capture operations. Converts XML
@@ -121,6 +120,33 @@ public class CaptureOperationsModule {
 
     private static final Log LOG = LogFactory.getLog(CaptureOperationsModule.class);
 
+    static final String EPCIS_DOCUMENT = "EPCISDocument";
+    static final String EPCIS_MASTER_DATA_DOCUMENT = "EPCISMasterDataDocument";
+
+    /**
+     * The capture engine which stores events as Hibernate entities.
+     */
+    public static final String CAPTURE_ENGINE_HIBERNATE = "hibernate";
+
+    /**
+     * The capture engine which stores events with batched JDBC inserts via the
+     * CaptureOperationsBackend.
+     */
+    public static final String CAPTURE_ENGINE_JDBC = "jdbc";
+
+    /**
+     * The number of events after which the session is flushed and the pending
+     * JDBC batch is written.
+     */
+    private static final int FLUSH_INTERVAL = 50;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+    }
+
     private static final Map<String, Class<?>> vocClassMap = new HashMap<String, Class<?>>();
 
     static {
@@ -180,6 +206,116 @@ public class CaptureOperationsModule {
      */
     private boolean insertMissingVoc = true;
 
+    /**
+     * The number of events after which a capture request is committed to the
+     * database. If 0 or less, each capture request is stored in a single
+     * transaction. Otherwise the whole request is validated before its first
+     * chunk is committed. Journaled requests and the parts of sharded requests
+     * are always stored in a single transaction, as they are retried as a
+     * whole.
+     */
+    private int commitInterval = 0;
+
+    /**
+     * The engine used to store the captured events, either
+     * {@link #CAPTURE_ENGINE_HIBERNATE} or {@link #CAPTURE_ENGINE_JDBC}.
+     */
+    private String captureEngine = CAPTURE_ENGINE_HIBERNATE;
+
+    /**
+     * The backend used by the JDBC capture engine.
+     */
+    private CaptureOperationsBackend backend = new CaptureOperationsBackendSQL();
+
+    /**
+     * Maps vocabulary URIs to their IDs, shared by all capture requests.
+     */
+    private VocabularyCache vocabularyCache = new VocabularyCache(10000);
+
+    /**
+     * Counts the commits per event type and vocabulary type, used to
+     * invalidate cached poll results.
+     */
+    private HighWaterMarks highWaterMarks = HighWaterMarks.getInstance();
+
+    /**
+     * The file of the capture journal used by asynchronous captures, or
+     * <code>null</code> if capture requests are stored synchronously.
+     */
+    private String captureJournalFile;
+
+    /**
+     * The number of times a journaled capture request which could not be
+     * stored is retried before it is moved out of the capture journal.
+     */
+    private int captureJournalRetries = 10;
+
+    private CaptureJournal captureJournal;
+
+    private CaptureJournalWorker captureJournalWorker;
+
+    /**
+     * The time in milliseconds the events of a capture request wait for
+     * concurrent requests to be stored together with; if 0 or less, each
+     * capture request is stored in a transaction of its own.
+     */
+    private long groupCommitLinger = 0;
+
+    /**
+     * The number of events after which a group commit is written without
+     * waiting any longer.
+     */
+    private int groupCommitBatchSize = 1000;
+
+    private CaptureCoordinator captureCoordinator;
+
+    /**
+     * The number of worker threads capture requests are run on; if 0 or less,
+     * they are run on the servlet container's threads.
+     */
+    private int captureWorkers = 0;
+
+    /**
+     * The number of capture requests which may wait for a worker thread.
+     */
+    private int captureQueueSize = 100;
+
+    private CaptureExecutor captureExecutor;
+
+    /**
+     * The number of months after the current one for which the partitions of
+     * partitioned event tables are created in advance; if 0 or less, the
+     * partitions are not maintained.
+     */
+    private int partitionMonthsAhead = 0;
+
+    private PartitionMaintenance partitionMaintenance;
+
+    /**
+     * The retention policy of the events; if empty, events are never purged.
+     */
+    private RetentionPolicy retentionPolicy = RetentionPolicy.parse(null);
+
+    /**
+     * The maximum number of expired events deleted per transaction.
+     */
+    private int purgeBatchSize = 500;
+
+    /**
+     * The pause (in milliseconds) after each batch of expired events deleted.
+     */
+    private long purgeBatchDelay = 200;
+
+    private EventPurger eventPurger;
+
+    /**
+     * The modules storing the events of the shards, or <code>null</code> if
+     * events are stored by this module.
+     */
+    private List<CaptureOperationsModule> shards;
+
+    private ShardedCapture shardedCapture;
+
     /**
      * Whether the dbReset operation is allowed or not.
      */
@@ -195,6 +331,13 @@ public class CaptureOperationsModule {
      */
     private SessionFactory sessionFactory;
 
+    /**
+     * The pool of connections on which new vocabulary elements and business
+     * transactions are inserted, or <code>null</code> to take these
+     * connections from the session factory's pool.
+     */
+    private DataSource upsertDataSource;
+
     /**
      * Initializes the EPCIS schema used for validating incoming capture
      * requests. Loads the WSDL and XSD files from the classpath (the schema is
@@ -233,7 +376,11 @@ public class CaptureOperationsModule {
      *             If database resets are not allowed.
      */
     public void doDbReset() throws SQLException, IOException, UnsupportedOperationException {
-        if (dbResetAllowed) {
+        if (dbResetAllowed && shards != null) {
+            for (CaptureOperationsModule shard : shards) {
+                shard.doDbReset();
+            }
+        } else if (dbResetAllowed) {
             if (dbResetScripts == null || dbResetScripts.isEmpty()) {
                 LOG.warn("dbReset operation invoked but no dbReset script is configured!");
             } else {
@@ -273,6 +420,9 @@ public class CaptureOperationsModule {
                         }
                     }
                 } finally {
+                    vocabularyCache.clear();
+                    highWaterMarks.increment(EpcisConstants.EVENT_TYPES);
+                    highWaterMarks.increment(EpcisConstants.VOCABULARY_TYPES);
                     if (session != null) {
                         session.close();
                     }
@@ -284,224 +434,694 @@ public class CaptureOperationsModule {
     }
 
     /**
-     * Implements the EPCIS capture operation. Takes an input stream, extracts
-     * the payload into an XML document, validates the document against the
-     * EPCIS schema, and captures the EPCIS events given in the document.
+     * Initializes the vocabulary cache and, if configured, starts the capture
+     * executor, the capture coordinator, the partition maintenance and the
+     * event purger, and opens the capture journal.
+     * 
+     * @throws IOException
+     *             If the capture journal could not be opened.
+     */
+    public void init() throws IOException {
+        initVocabularyCache();
+        if (captureWorkers > 0 && captureExecutor == null) {
+            captureExecutor = new CaptureExecutor(captureWorkers, captureQueueSize);
+        }
+        if (groupCommitLinger > 0 && captureCoordinator == null) {
+            captureCoordinator = new CaptureCoordinator(this, groupCommitLinger, groupCommitBatchSize);
+            captureCoordinator.start();
+        }
+        if (partitionMonthsAhead > 0 && partitionMaintenance == null) {
+            partitionMaintenance = new PartitionMaintenance(sessionFactory, partitionMonthsAhead);
+            partitionMaintenance.start();
+        }
+        if (!retentionPolicy.isEmpty() && eventPurger == null) {
+            eventPurger = new EventPurger(sessionFactory, retentionPolicy, purgeBatchSize, purgeBatchDelay);
+            eventPurger.start();
+        }
+        initCaptureJournal();
+    }
+
+    /**
+     * Stops draining the capture journal, if any. Pending capture requests
+     * remain in the journal until the next start.
+     */
+    public void destroy() {
+        if (captureJournalWorker != null) {
+            captureJournalWorker.stop();
+            captureJournalWorker = null;
+            captureJournal = null;
+        }
+        if (captureExecutor != null) {
+            captureExecutor.shutdown();
+            captureExecutor = null;
+        }
+        if (captureCoordinator != null) {
+            captureCoordinator.stop();
+            captureCoordinator = null;
+        }
+        if (partitionMaintenance != null) {
+            partitionMaintenance.stop();
+            partitionMaintenance = null;
+        }
+        if (eventPurger != null) {
+            eventPurger.stop();
+            eventPurger = null;
+        }
+    }
+
+    /**
+     * Opens the capture journal, if configured, and starts the worker which
+     * stores the capture requests in the journal, including those left over
+     * from a previous run.
+     * 
+     * @throws IOException
+     *             If the capture journal could not be opened.
+     */
+    public void initCaptureJournal() throws IOException {
+        if (captureJournalFile == null || captureJournal != null) {
+            return;
+        }
+        captureJournal = new CaptureJournal(new File(captureJournalFile));
+        captureJournalWorker = new CaptureJournalWorker(captureJournal, this, captureJournalRetries);
+        captureJournalWorker.start();
+        LOG.info("Capture requests are stored asynchronously via the capture journal " + captureJournalFile);
+    }
+
+    /**
+     * @return <code>true</code> if capture requests are to be handled by
+     *         {@link #doAsyncCapture(InputStream)}.
+     */
+    public boolean isCaptureAsync() {
+        return captureJournal != null;
+    }
+
+    /**
+     * Implements the EPCIS capture operation asynchronously: validates the
+     * payload against the EPCIS schema and appends it to the capture journal,
+     * from where it is stored by a background worker. This method returns as
+     * soon as the payload has been written to disk; errors occurring while
+     * the events are stored can only be logged. The payload is spooled to a
+     * temporary file for validation and copied from there to the journal, so
+     * it is never held in memory as a whole.
      * 
+     * @throws SAXException
+     *             If the XML document is malformed or invalid.
      * @throws IOException
-     *             If an error occurred while validating the request or writing
-     *             the response.
-     * @throws ParserConfigurationException
+     *             If the payload could not be read or journaled.
+     */
+    public void doAsyncCapture(InputStream in) throws SAXException, IOException {
+        if (captureJournal == null) {
+            throw new IllegalStateException("No capture journal configured");
+        }
+        File document = ShardedCapture.spool(in);
+        try {
+            InputStream spooled = new BufferedInputStream(new FileInputStream(document));
+            try {
+                validate(spooled);
+            } finally {
+                ShardedCapture.close(spooled);
+            }
+            spooled = new FileInputStream(document);
+            try {
+                captureJournal.append(spooled, document.length());
+            } finally {
+                ShardedCapture.close(spooled);
+            }
+        } finally {
+            document.delete();
+        }
+        LOG.info("EPCIS Capture Interface request journaled");
+    }
+
+    /**
+     * Validates the given document against the EPCIS (master data) schema
+     * without storing anything.
+     */
+    void validate(InputStream in) throws SAXException {
+        XMLStreamReader reader = null;
+        try {
+            reader = createReader(in);
+            String documentType = moveToRootElement(reader);
+            boolean known = true;
+            Schema schema = null;
+            if (EPCIS_DOCUMENT.equals(documentType)) {
+                schema = getSchema();
+            } else if (EPCIS_MASTER_DATA_DOCUMENT.equals(documentType)) {
+                schema = getMasterDataSchema();
+            } else {
+                known = false;
+            }
+            if (schema != null) {
+                reader = new ValidatingStreamReader(reader, schema);
+            } else if (known) {
+                LOG.warn("Schema validator unavailable. Unable to validate EPCIS capture event against schema!");
+            }
+            while (reader.hasNext()) {
+                reader.next();
+            }
+        } catch (XMLStreamException e) {
+            if (e.getNestedException() instanceof SAXException) {
+                throw (SAXException) e.getNestedException();
+            }
+            throw new SAXException(e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    LOG.warn("unable to close XML input: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the vocabulary cache with the vocabulary elements stored in the
+     * database, up to the configured cache size per vocabulary type. Failing
+     * to do so is not fatal as the cache is also filled lazily.
+     */
+    public void initVocabularyCache() {
+        if (vocabularyCache.getMaxSize() <= 0 || sessionFactory == null) {
+            return;
+        }
+        Session session = null;
+        try {
+            session = sessionFactory.openSession();
+            for (Map.Entry<String, Class<?>> entry : vocClassMap.entrySet()) {
+                Query query = session.createQuery("select v.uri, v.id from " + entry.getValue().getName() + " v");
+                query.setMaxResults(vocabularyCache.getMaxSize());
+                for (Object row : query.list()) {
+                    Object[] columns = (Object[]) row;
+                    vocabularyCache.put(entry.getKey(), (String) columns[0], (Long) columns[1]);
+                }
+                LOG.debug("Cached " + vocabularyCache.size(entry.getKey()) + " vocabulary elements of type "
+                        + entry.getKey());
+            }
+            LOG.info("Vocabulary cache initialized");
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to initialize the vocabulary cache: " + e.toString());
+        } finally {
+            if (session != null) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Implements the EPCIS capture operation. Takes an input stream, validates
+     * the payload against the EPCIS schema, and captures the EPCIS events given
+     * in the document.
+     * <p>
+     * The payload is read exactly once: a StAX pull-parser, chained behind a
+     * {@link ValidatingStreamReader}, validates the document while it is being
+     * read and persists one event after the other. The database session is
+     * only opened once the header of the document has been validated, and an
+     * event (or vocabulary element) is only stored after its whole XML element
+     * has passed validation; the first schema error aborts the request and
+     * rolls back the transaction.
+     * <p>
+     * If a commit interval is configured, the events are committed in chunks
+     * of that size and the Hibernate session is cleared in between. So that a
+     * schema error in a later chunk cannot leave the earlier ones committed,
+     * the request is then spooled to a temporary file and validated as a whole
+     * first, like a sharded request. A failure while storing the events, e.g.
+     * an invalid EPC or a database error, only rolls back the current chunk
+     * and is reported as a {@link PartialCaptureException} holding the number
+     * of events which have already been committed.
+     * <p>
+     * If group commit is enabled, the events of an EPCIS document are not
+     * stored right away. Once the whole document has been read, they are
+     * handed over to the {@link CaptureCoordinator}, which stores them together
+     * with the events of concurrent capture requests; the commit interval does
+     * not apply then. A document with at least as many events as a group
+     * commit batch holds is stored in a transaction of its own instead, as if
+     * group commit were disabled.
+     * <p>
+     * If shards are configured, the request is validated and its events are
+     * stored by the modules of the shards, see {@link ShardedCapture}.
+     * 
      * @throws SAXException
      *             If the XML document is malformed or invalid
      * @throws InvalidFormatException
+     * @throws PartialCaptureException
+     *             If the request failed after some of its events have already
+     *             been committed.
      */
     public void doCapture(InputStream in, Principal principal) throws SAXException, InternalBusinessException,
-            InvalidFormatException {
-        Document document = null;
+            InvalidFormatException, PartialCaptureException {
+        if (shardedCapture != null) {
+            shardedCapture.doCapture(in, principal);
+            return;
+        }
+        if (commitInterval <= 0) {
+            capture(in, true, false);
+            return;
+        }
+        File document = null;
         try {
-            // parse the input into a DOM
-            document = parseInput(in, null);
-
-            // validate incoming document against its schema
-            if (isEPCISDocument(document)) {
-                validateDocument(document, getSchema());
-            } else if (isEPCISMasterDataDocument(document)) {
-                validateDocument(document, getMasterDataSchema());
+            try {
+                document = ShardedCapture.spool(in);
+            } catch (IOException e) {
+                throw new SAXException("Unable to read the capture request: " + e.getMessage(), e);
+            }
+            InputStream spooled = ShardedCapture.open(document);
+            try {
+                validate(spooled);
+            } finally {
+                ShardedCapture.close(spooled);
+            }
+            spooled = ShardedCapture.open(document);
+            try {
+                capture(spooled, false, true);
+            } finally {
+                ShardedCapture.close(spooled);
+            }
+        } finally {
+            if (document != null && !document.delete()) {
+                LOG.warn("Unable to delete the temporary file " + document);
             }
-        } catch (IOException e) {
-            throw new InternalBusinessException("unable to read from input: " + e.getMessage(), e);
         }
+    }
 
-        // start the capture operation
+    /**
+     * Captures the EPCIS events or master data of the given document, see
+     * {@link #doCapture(InputStream, Principal)}.
+     * 
+     * @param validate
+     *            Whether to validate the document while it is read, or if it
+     *            has been validated before.
+     * @param chunked
+     *            Whether to commit the events every {@link #commitInterval}
+     *            events, or in a single transaction.
+     */
+    private void capture(InputStream in, boolean validate, boolean chunked) throws SAXException,
+            InternalBusinessException, InvalidFormatException, PartialCaptureException {
+        CaptureStatistics stats = new CaptureStatistics();
+        XMLStreamReader reader = null;
         Session session = null;
+        EventBatch batch = null;
         try {
-            session = sessionFactory.openSession();
-            Transaction tx = null;
             try {
-                tx = session.beginTransaction();
-                LOG.debug("DB connection opened.");
-                if (isEPCISDocument(document)) {
-                    processEvents(session, document);
-                } else if (isEPCISMasterDataDocument(document)) {
-                    processMasterData(session, document);
+                reader = createReader(in);
+                String documentType = moveToRootElement(reader);
+                String listElement = null;
+                Schema schema = null;
+                if (EPCIS_DOCUMENT.equals(documentType)) {
+                    listElement = "EventList";
+                    schema = getSchema();
+                } else if (EPCIS_MASTER_DATA_DOCUMENT.equals(documentType)) {
+                    listElement = "VocabularyList";
+                    schema = getMasterDataSchema();
+                }
+                if (schema != null && validate) {
+                    reader = new ValidatingStreamReader(reader, schema);
+                } else if (schema == null && listElement != null) {
+                    LOG.warn("Schema validator unavailable. Unable to validate EPCIS capture event against schema!");
+                }
+
+                // the document header is validated before the db is touched
+                if (listElement != null && moveToElement(reader, listElement)) {
+                    session = sessionFactory.openSession();
+                    session.beginTransaction();
+                    LOG.debug("DB connection opened.");
+                    if (EPCIS_DOCUMENT.equals(documentType)) {
+                        if (captureCoordinator != null) {
+                            batch = new EventBatch();
+                        } else if (CAPTURE_ENGINE_JDBC.equals(captureEngine)) {
+                            batch = new EventBatch(session);
+                        }
+                        processEvents(session, reader, stats, batch, chunked);
+                    } else {
+                        processMasterData(session, reader, stats);
+                    }
+                }
+
+                // validate the remainder of the document before committing
+                while (reader.hasNext()) {
+                    reader.next();
+                }
+                if (schema != null) {
+                    LOG.info("Incoming capture request was successfully validated against the " + documentType
+                            + " schema");
+                }
+                if (session != null) {
+                    long start = System.nanoTime();
+                    session.getTransaction().commit();
+                    if (batch != null && batch.isDeferred()) {
+                        // no need to keep the connection while waiting
+                        session.close();
+                        session = null;
+                        captureCoordinator.store(batch.events);
+                    }
+                    highWaterMarks.increment(stats.changedTypes);
+                    stats.persistTime += System.nanoTime() - start;
                 }
-                tx.commit();
                 // return OK
                 LOG.info("EPCIS Capture Interface request succeeded");
-            } catch (SAXException e) {
+                logStatistics(stats, reader);
+            } catch (XMLStreamException e) {
                 LOG.error("EPCIS Capture Interface request failed: " + e.toString());
-                if (tx != null) {
-                    tx.rollback();
+                rollback(session);
+                SAXException cause;
+                if (e.getNestedException() instanceof SAXException) {
+                    cause = (SAXException) e.getNestedException();
+                } else {
+                    cause = new SAXException(e.getMessage(), e);
                 }
+                checkPartialCapture(stats, cause);
+                throw cause;
+            } catch (SAXException e) {
+                LOG.error("EPCIS Capture Interface request failed: " + e.toString());
+                rollback(session);
+                checkPartialCapture(stats, e);
                 throw e;
             } catch (InvalidFormatException e) {
                 LOG.error("EPCIS Capture Interface request failed: " + e.toString());
-                if (tx != null) {
-                    tx.rollback();
-                }
+                rollback(session);
+                checkPartialCapture(stats, e);
                 throw e;
             } catch (Exception e) {
                 // Hibernate throws RuntimeExceptions, so don't let them
                 // (or anything else) escape without clean up
                 LOG.error("EPCIS Capture Interface request failed: " + e.toString(), e);
-                if (tx != null) {
-                    tx.rollback();
-                }
-                throw new InternalBusinessException(e.toString());
+                rollback(session);
+                InternalBusinessException cause = new InternalBusinessException(e.toString());
+                checkPartialCapture(stats, cause);
+                throw cause;
             }
         } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    LOG.warn("unable to close XML input: " + e.getMessage());
+                }
+            }
+            if (batch != null) {
+                batch.close();
+            }
             if (session != null) {
                 session.close();
+                // sessionFactory.getStatistics().logSummary();
+                LOG.debug("DB connection closed");
             }
-            // sessionFactory.getStatistics().logSummary();
-            LOG.debug("DB connection closed");
         }
     }
 
     /**
-     * Validates the given document against the given schema.
+     * Implements the EPCIS capture operation for a journaled request, which
+     * may have been stored partially before: the shards before the given one
+     * have already stored their part of it, see
+     * {@link PartialCaptureException#getCommittedShardCount()}. The request,
+     * or the part of each shard, is stored in a single transaction whatever
+     * the commit interval, so that a retry does not store any events twice.
      */
-    private void validateDocument(Document document, Schema schema) throws SAXException, IOException {
-        if (schema != null) {
-            Validator validator = schema.newValidator();
-            validator.validate(new DOMSource(document));
-            LOG.info("Incoming capture request was successfully validated against the EPCISDocument schema");
+    void doCapture(InputStream in, Principal principal, int firstShard) throws SAXException,
+            InternalBusinessException, InvalidFormatException, PartialCaptureException {
+        if (shardedCapture != null) {
+            shardedCapture.doCapture(in, principal, firstShard);
         } else {
-            LOG.warn("Schema validator unavailable. Unable to validate EPCIS capture event against schema!");
+            doCaptureInOneTransaction(in, principal);
         }
     }
 
     /**
-     * Parses the input into a DOM. If a schema is given, the input is also
-     * validated against this schema. The schema may be null.
+     * Implements the EPCIS capture operation like
+     * {@link #doCapture(InputStream, Principal)}, but stores the request in a
+     * single transaction whatever the commit interval: if it fails, none of
+     * its events have been stored. Used for the parts of sharded requests.
      */
-    private Document parseInput(InputStream in, Schema schema) throws InternalBusinessException, SAXException,
-            IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(true);
-        factory.setIgnoringComments(true);
-        factory.setIgnoringElementContentWhitespace(true);
-        factory.setSchema(schema);
+    void doCaptureInOneTransaction(InputStream in, Principal principal) throws SAXException,
+            InternalBusinessException, InvalidFormatException {
         try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            builder.setErrorHandler(new ErrorHandler() {
-                public void warning(SAXParseException e) throws SAXException {
-                    LOG.warn("warning while parsing XML input: " + e.getMessage());
-                }
+            capture(in, true, false);
+        } catch (PartialCaptureException e) {
+            // not thrown, nothing is committed before the end of the request
+            throw new InternalBusinessException(e.getMessage(), e);
+        }
+    }
 
-                public void fatalError(SAXParseException e) throws SAXException {
-                    LOG.error("non-recovarable error while parsing XML input: " + e.getMessage());
-                    throw e;
+    /**
+     * Stores the given events, which may stem from several capture requests, in
+     * a transaction of its own. Used by the {@link CaptureCoordinator}.
+     * 
+     * @throws SQLException
+     *             If an SQL error occurred.
+     */
+    void storeEvents(List<BaseEvent> events) throws SQLException {
+        Session session = sessionFactory.openSession();
+        EventBatch batch = null;
+        try {
+            session.beginTransaction();
+            if (CAPTURE_ENGINE_JDBC.equals(captureEngine)) {
+                batch = new EventBatch(session);
+                for (BaseEvent event : events) {
+                    batch.add(event);
                 }
-
-                public void error(SAXParseException e) throws SAXException {
-                    LOG.error("error while parsing XML input: " + e.getMessage());
-                    throw e;
+                batch.flush();
+            } else {
+                int eventCount = 0;
+                for (BaseEvent event : events) {
+                    session.save(event);
+                    if (++eventCount % FLUSH_INTERVAL == 0) {
+                        session.flush();
+                        session.clear();
+                    }
                 }
-            });
-            Document document = builder.parse(in);
-            LOG.debug("payload successfully parsed as XML document");
-            if (LOG.isDebugEnabled()) {
-                logDocument(document);
             }
-            return document;
-        } catch (ParserConfigurationException e) {
-            throw new InternalBusinessException("unable to configure document builder to parse XML input", e);
+            session.getTransaction().commit();
+        } finally {
+            rollback(session);
+            if (batch != null) {
+                batch.close();
+            }
+            session.close();
         }
     }
 
     /**
-     * prints the given Document to the log file if it does not exceed a
-     * specified size.
+     * Rolls back the current transaction of the given session, if any.
      */
-    private void logDocument(Document document) {
-        try {
-            TransformerFactory tfFactory = TransformerFactory.newInstance();
-            Transformer transformer = tfFactory.newTransformer();
-            StringWriter writer = new StringWriter();
-            transformer.transform(new DOMSource(document), new StreamResult(writer));
-            String xml = writer.toString();
-            if (xml.length() > 100 * 1024) {
-                // too large, do not log
-                xml = null;
-            } else {
-                LOG.debug("Incoming contents:\n\n" + writer.toString() + "\n");
+    private void rollback(Session session) {
+        if (session != null && session.getTransaction().isActive()) {
+            session.getTransaction().rollback();
+        }
+    }
+
+    /**
+     * Throws a PartialCaptureException with the given cause if some events of
+     * the current request have already been committed.
+     */
+    private void checkPartialCapture(CaptureStatistics stats, Exception cause) throws PartialCaptureException {
+        if (stats.committedEventCount > 0) {
+            LOG.warn(stats.committedEventCount + " events of the failed capture request have been committed");
+            throw new PartialCaptureException(stats.committedEventCount, cause);
+        }
+    }
+
+    /**
+     * Logs how long the given capture request spent in schema validation and
+     * in the database, respectively.
+     */
+    private void logStatistics(CaptureStatistics stats, XMLStreamReader reader) {
+        long total = System.nanoTime() - stats.startTime;
+        long validation = 0;
+        if (reader instanceof ValidatingStreamReader) {
+            validation = ((ValidatingStreamReader) reader).getValidationTime();
+        }
+        LOG.info("Captured " + stats.eventCount + " events and " + stats.vocabularyCount
+                + " vocabulary elements in " + total / 1000000 + "ms (validation: " + validation / 1000000
+                + "ms, persistence: " + stats.persistTime / 1000000 + "ms)");
+    }
+
+    /**
+     * Creates a namespace aware StAX reader for the given input.
+     */
+    private XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+        return XML_INPUT_FACTORY.createXMLStreamReader(in);
+    }
+
+    /**
+     * Advances the given reader to the root element of the document.
+     * 
+     * @return The local name of the root element.
+     */
+    private String moveToRootElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return reader.getLocalName();
             }
-        } catch (Throwable t) {
-            // never mind ... do not log
         }
+        throw new XMLStreamException("Premature end of file.");
     }
 
     /**
-     * @return <code>true</code> if the given Document is an
-     *         <i>EPCISDocument</i>.
+     * @return The name of the element the given reader is positioned on,
+     *         including its prefix (if any).
      */
-    private boolean isEPCISDocument(Document document) {
-        return document.getDocumentElement().getLocalName().equals("EPCISDocument");
+    private static String getNodeName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        if (prefix == null || prefix.length() == 0) {
+            return reader.getLocalName();
+        }
+        return prefix + ":" + reader.getLocalName();
     }
 
     /**
-     * @return <code>true</code> if the given Document is an
-     *         <i>EPCISMasterDataDocument</i>.
+     * Advances the given reader to the next start tag with the given name.
+     * 
+     * @return <code>false</code> if the end of the document was reached
+     *         without finding the element.
      */
-    private boolean isEPCISMasterDataDocument(Document document) {
-        return document.getDocumentElement().getLocalName().equals("EPCISMasterDataDocument");
+    private static boolean moveToElement(XMLStreamReader reader, String nodeName) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && getNodeName(reader).equals(nodeName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Processes the given document and stores the events to db.
+     * Advances the given reader to the next child element of the current
+     * element, skipping text and comments. The reader must be positioned on
+     * the start tag of the parent or on the end tag of the previous child.
+     * 
+     * @return <code>false</code> if the end tag of the parent was reached.
      */
-    private void processEvents(Session session, Document document) throws DOMException, SAXException,
-            InvalidFormatException {
-        NodeList eventList = document.getElementsByTagName("EventList");
-        NodeList events = eventList.item(0).getChildNodes();
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the text content of the current element and all its descendants
+     * (like DOM's <code>getTextContent()</code>) and leaves the reader
+     * positioned on the corresponding end tag.
+     */
+    private static String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (type == XMLStreamConstants.CHARACTERS || type == XMLStreamConstants.CDATA
+                    || type == XMLStreamConstants.SPACE || type == XMLStreamConstants.ENTITY_REFERENCE) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Skips the current element including all its descendants and leaves the
+     * reader positioned on the corresponding end tag.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
 
+    /**
+     * Reads the EventList of an EPCISDocument and stores the events to db one
+     * at a time. The reader must be positioned on the start tag of the
+     * EventList.
+     * 
+     * @param batch
+     *            The batch collecting the events for the JDBC capture engine,
+     *            or <code>null</code> if the events are stored via Hibernate.
+     * @return The number of events processed.
+     */
+    private int processEvents(Session session, XMLStreamReader reader, CaptureStatistics stats, EventBatch batch,
+            boolean chunked) throws XMLStreamException, SAXException, InvalidFormatException, SQLException {
         // walk through all supplied events
         int eventCount = 0;
-        for (int i = 0; i < events.getLength(); i++) {
-            Node eventNode = events.item(i);
-            String nodeName = eventNode.getNodeName();
+        while (nextChildElement(reader)) {
+            String nodeName = getNodeName(reader);
 
             if (nodeName.equals(EpcisConstants.OBJECT_EVENT) || nodeName.equals(EpcisConstants.AGGREGATION_EVENT)
                     || nodeName.equals(EpcisConstants.QUANTITY_EVENT)
                     || nodeName.equals(EpcisConstants.TRANSACTION_EVENT)) {
-                LOG.debug("processing event " + i + ": '" + nodeName + "'.");
-                handleEvent(session, eventNode, nodeName);
+                LOG.debug("processing event " + eventCount + ": '" + nodeName + "'.");
+                handleEvent(session, reader, nodeName, stats, batch);
                 eventCount++;
-                if (eventCount % 50 == 0) {
+                stats.eventCount++;
+                stats.changedTypes.add(nodeName);
+                if (batch != null && batch.isDeferred() && batch.events.size() >= groupCommitBatchSize) {
+                    // the request fills a group of its own - rather than
+                    // holding all its events until the end of the document,
+                    // store them in its own transaction
+                    LOG.debug("storing the events without group commit");
+                    batch.undefer(session);
+                }
+                boolean deferred = batch != null && batch.isDeferred();
+                if (chunked && commitInterval > 0 && eventCount % commitInterval == 0 && !deferred) {
+                    // commit this chunk and start over with an empty session
+                    long start = System.nanoTime();
+                    if (batch != null) {
+                        batch.flush();
+                    }
+                    session.getTransaction().commit();
+                    highWaterMarks.increment(stats.changedTypes);
+                    session.clear();
+                    session.beginTransaction();
+                    stats.committedEventCount = eventCount;
+                    stats.persistTime += System.nanoTime() - start;
+                    LOG.debug("committed " + eventCount + " events");
+                } else if (eventCount % FLUSH_INTERVAL == 0) {
+                    long start = System.nanoTime();
+                    if (batch != null) {
+                        batch.flush();
+                    }
                     session.flush();
                     session.clear();
+                    stats.persistTime += System.nanoTime() - start;
                 }
-            } else if (!nodeName.equals("#text") && !nodeName.equals("#comment")) {
+            } else {
                 throw new SAXException("Encountered unknown event '" + nodeName + "'.");
             }
         }
+        if (batch != null) {
+            long start = System.nanoTime();
+            batch.flush();
+            stats.persistTime += System.nanoTime() - start;
+        }
+        return eventCount;
     }
 
     /**
-     * Takes an XML document node, parses it as EPCIS event and inserts the data
-     * into the database. The parse routine is generic for all event types; the
-     * query generation part has some if/elses to take care of different event
-     * parameters.
+     * Reads an EPCIS event from the given reader and inserts the data into the
+     * database. The parse routine is generic for all event types; the query
+     * generation part has some if/elses to take care of different event
+     * parameters. When this method returns, the reader is positioned on the
+     * end tag of the event. Nothing is written to the database before the
+     * whole event has been read (and thus validated).
      * 
-     * @param eventNode
-     *            The current event node.
+     * @param reader
+     *            The reader, positioned on the start tag of the event.
      * @param eventType
      *            The current event type.
-     * @throws Exception
-     * @throws DOMException
      */
-    private void handleEvent(Session session, final Node eventNode, final String eventType) throws DOMException,
-            SAXException, InvalidFormatException {
-        if (eventNode == null) {
-            // nothing to do
-            return;
-        } else if (eventNode.getChildNodes().getLength() == 0) {
-            throw new SAXException("Event element '" + eventNode.getNodeName() + "' has no children elements.");
-        }
-        Node curEventNode = null;
-
+    private void handleEvent(Session session, final XMLStreamReader reader, final String eventType,
+            CaptureStatistics stats, EventBatch batch) throws XMLStreamException, SAXException,
+            InvalidFormatException {
         // A lot of the initialized variables have type URI. This type isn't to
         // compare with the URI-Type of the standard. In fact, most of the
         // variables having type URI are declared as Vocabularies in the
@@ -520,22 +1140,21 @@ public class CaptureOperationsModule {
         String epcClassUri = null;
 
         List<String> epcs = null;
-        List<BusinessTransaction> bizTransList = null;
+        List<String[]> bizTransUris = null;
         List<EventFieldExtension> fieldNameExtList = new ArrayList<EventFieldExtension>();
 
-        for (int i = 0; i < eventNode.getChildNodes().getLength(); i++) {
-            curEventNode = eventNode.getChildNodes().item(i);
-            String nodeName = curEventNode.getNodeName();
-
-            if (nodeName.equals("#text") || nodeName.equals("#comment")) {
+        boolean hasChildren = false;
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            hasChildren = true;
+            if (!reader.isStartElement()) {
                 // ignore text or comments
-                LOG.debug("  ignoring text or comment: '" + curEventNode.getTextContent().trim() + "'");
                 continue;
             }
+            String nodeName = getNodeName(reader);
 
             LOG.debug("  handling event field: '" + nodeName + "'");
             if (nodeName.equals("eventTime")) {
-                String xmlTime = curEventNode.getTextContent();
+                String xmlTime = readTextContent(reader);
                 LOG.debug("    eventTime in xml is '" + xmlTime + "'");
                 try {
                     eventTime = TimeParser.parseAsCalendar(xmlTime);
@@ -545,47 +1164,41 @@ public class CaptureOperationsModule {
                 LOG.debug("    eventTime parsed as '" + eventTime.getTime() + "'");
             } else if (nodeName.equals("recordTime")) {
                 // ignore recordTime
+                skipElement(reader);
             } else if (nodeName.equals("eventTimeZoneOffset")) {
-                eventTimeZoneOffset = checkEventTimeZoneOffset(curEventNode.getTextContent());
+                eventTimeZoneOffset = checkEventTimeZoneOffset(readTextContent(reader));
             } else if (nodeName.equals("epcList") || nodeName.equals("childEPCs")) {
-                epcs = handleEpcs(eventType, curEventNode);
+                epcs = handleEpcs(eventType, reader);
             } else if (nodeName.equals("bizTransactionList")) {
-                bizTransList = handleBizTransactions(session, curEventNode);
+                bizTransUris = handleBizTransactions(reader);
             } else if (nodeName.equals("action")) {
-                action = curEventNode.getTextContent();
+                action = readTextContent(reader);
                 if (!action.equals("ADD") && !action.equals("OBSERVE") && !action.equals("DELETE")) {
                     throw new SAXException("Encountered illegal 'action' value: " + action);
                 }
             } else if (nodeName.equals("bizStep")) {
-                bizStepUri = curEventNode.getTextContent();
+                bizStepUri = readTextContent(reader);
             } else if (nodeName.equals("disposition")) {
-                dispositionUri = curEventNode.getTextContent();
+                dispositionUri = readTextContent(reader);
             } else if (nodeName.equals("readPoint")) {
-                Element attrElem = (Element) curEventNode;
-                Node id = attrElem.getElementsByTagName("id").item(0);
-                readPointUri = id.getTextContent();
+                readPointUri = readIdContent(reader);
             } else if (nodeName.equals("bizLocation")) {
-                Element attrElem = (Element) curEventNode;
-                Node id = attrElem.getElementsByTagName("id").item(0);
-                bizLocationUri = id.getTextContent();
+                bizLocationUri = readIdContent(reader);
             } else if (nodeName.equals("epcClass")) {
-                epcClassUri = curEventNode.getTextContent();
+                epcClassUri = readTextContent(reader);
             } else if (nodeName.equals("quantity")) {
-                quantity = Long.valueOf(curEventNode.getTextContent());
+                quantity = Long.valueOf(readTextContent(reader));
             } else if (nodeName.equals("parentID")) {
-                checkEpcOrUri(curEventNode.getTextContent(), false);
-                parentId = curEventNode.getTextContent();
+                parentId = readTextContent(reader);
+                checkEpcOrUri(parentId, false);
             } else {
                 String[] parts = nodeName.split(":");
                 if (parts.length == 2) {
                     LOG.debug("    treating unknown event field as extension.");
                     String prefix = parts[0];
                     String localname = parts[1];
-                    // String namespace =
-                    // document.getDocumentElement().getAttribute("xmlns:" +
-                    // prefix);
-                    String namespace = curEventNode.lookupNamespaceURI(prefix);
-                    String value = curEventNode.getTextContent();
+                    String namespace = reader.getNamespaceURI();
+                    String value = readTextContent(reader);
                     EventFieldExtension evf = new EventFieldExtension(prefix, namespace, localname, value);
                     fieldNameExtList.add(evf);
                 } else {
@@ -594,6 +1207,9 @@ public class CaptureOperationsModule {
                 }
             }
         }
+        if (!hasChildren) {
+            throw new SAXException("Event element '" + eventType + "' has no children elements.");
+        }
         if (eventType.equals(EpcisConstants.AGGREGATION_EVENT)) {
             // for AggregationEvents, the parentID is only optional for
             // action=OBSERVE
@@ -602,9 +1218,15 @@ public class CaptureOperationsModule {
             }
         }
 
+        long start = System.nanoTime();
+        List<BusinessTransaction> bizTransList = null;
+        if (bizTransUris != null) {
+            bizTransList = getOrInsertBizTransactions(session, bizTransUris);
+        }
+
         // Changed by nkef (use "getOrEditVocabularyElement" instead of
         // "getOrInsertVocabularyElement")
-        String nodeName = eventNode.getNodeName();
+        String nodeName = eventType;
         VocabularyElement bizStep = bizStepUri != null ? getOrEditVocabularyElement(session,
                 EpcisConstants.BUSINESS_STEP_ID, String.valueOf(bizStepUri), "1") : null;
         VocabularyElement disposition = dispositionUri != null ? getOrEditVocabularyElement(session,
@@ -661,138 +1283,153 @@ public class CaptureOperationsModule {
             be.setExtensions(fieldNameExtList);
         }
 
-        session.save(be);
+        if (batch != null) {
+            batch.add(be);
+        } else {
+            session.save(be);
+        }
+        stats.persistTime += System.nanoTime() - start;
     }
 
     /**
-     * Processes the given document and stores the masterdata to db.
+     * Reads the text of the <code>id</code> child element of a readPoint or
+     * bizLocation element and leaves the reader positioned on the end tag of
+     * the given element.
      */
-    private void processMasterData(Session session, Document document) throws DOMException, SAXException,
-            InvalidFormatException {
-
-        // Handle Vocabulary List
-        NodeList vocabularyList = document.getElementsByTagName("VocabularyList");
-        if (vocabularyList.item(0).hasChildNodes()) {
-            NodeList vocabularys = vocabularyList.item(0).getChildNodes();
-
-            // walk through all supplied vocabularies
-            int vocabularyCount = 0;
-            for (int i = 0; i < vocabularys.getLength(); i++) {
-                Node vocabularyNode = vocabularys.item(i);
-                String nodeName = vocabularyNode.getNodeName();
-                if (nodeName.equals("Vocabulary")) {
-
-                    String vocabularyType = vocabularyNode.getAttributes().getNamedItem("type").getNodeValue();
-
-                    if (EpcisConstants.VOCABULARY_TYPES.contains(vocabularyType)) {
+    private String readIdContent(XMLStreamReader reader) throws XMLStreamException {
+        String id = null;
+        int depth = 1;
+        while (depth > 0) {
+            int type = reader.next();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                if (id == null && getNodeName(reader).equals("id")) {
+                    id = readTextContent(reader);
+                } else {
+                    depth++;
+                }
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return id;
+    }
 
-                        LOG.debug("processing " + i + ": '" + nodeName + "':" + vocabularyType + ".");
-                        handleVocabulary(session, vocabularyNode, vocabularyType);
-                        vocabularyCount++;
-                        if (vocabularyCount % 50 == 0) {
-                            session.flush();
-                            session.clear();
-                        }
+    /**
+     * Reads the VocabularyList of an EPCISMasterDataDocument and stores the
+     * masterdata to db. The reader must be positioned on the start tag of the
+     * VocabularyList.
+     */
+    private void processMasterData(Session session, XMLStreamReader reader, CaptureStatistics stats)
+            throws XMLStreamException, SAXException, InvalidFormatException {
+        // walk through all supplied vocabularies
+        int vocabularyCount = 0;
+        while (nextChildElement(reader)) {
+            String nodeName = getNodeName(reader);
+            if (nodeName.equals("Vocabulary")) {
+
+                String vocabularyType = reader.getAttributeValue(null, "type");
+
+                if (EpcisConstants.VOCABULARY_TYPES.contains(vocabularyType)) {
+
+                    LOG.debug("processing " + vocabularyCount + ": '" + nodeName + "':" + vocabularyType + ".");
+                    handleVocabulary(session, reader, vocabularyType, stats);
+                    vocabularyCount++;
+                    stats.changedTypes.add(vocabularyType);
+                    if (vocabularyCount % FLUSH_INTERVAL == 0) {
+                        long start = System.nanoTime();
+                        session.flush();
+                        session.clear();
+                        stats.persistTime += System.nanoTime() - start;
                     }
-                } else if (!nodeName.equals("#text") && !nodeName.equals("#comment")) {
-                    throw new SAXException("Encountered unknown vocabulary '" + nodeName + "'.");
+                } else {
+                    skipElement(reader);
                 }
+            } else {
+                throw new SAXException("Encountered unknown vocabulary '" + nodeName + "'.");
             }
         }
-
     }
 
     /**
-     * (nkef) Takes an XML document node, parses it as EPCIS Master Data and
+     * (nkef) Reads an EPCIS Master Data vocabulary from the given reader and
      * inserts the data into the database. The parse routine is generic for all
-     * Vocabulary types;
+     * Vocabulary types; When this method returns, the reader is positioned on
+     * the end tag of the vocabulary. A VocabularyElement is only written to
+     * the database after it has been read (and thus validated) completely.
      * 
-     * @param vocNode
-     *            The current vocabulary node.
+     * @param reader
+     *            The reader, positioned on the start tag of the vocabulary.
      * @param vocType
      *            The current vocabulary type.
-     * @throws Exception
-     * @throws DOMException
      */
-    private void handleVocabulary(Session session, final Node vocNode, final String vocType) throws DOMException,
-            SAXException, InvalidFormatException {
-        if (vocNode == null) {
-            // nothing to do
-            return;
-        } else if (vocNode.getChildNodes().getLength() == 0) {
-            throw new SAXException("Vocabulary element '" + vocNode.getNodeName() + "' has no children elements.");
-        }
-
-        for (int i = 0; i < vocNode.getChildNodes().getLength(); i++) {
-            Node curVocNode = vocNode.getChildNodes().item(i);
-            if (isTextOrComment(curVocNode)) {
+    private void handleVocabulary(Session session, final XMLStreamReader reader, final String vocType,
+            CaptureStatistics stats) throws XMLStreamException, SAXException, InvalidFormatException {
+        String vocNodeName = getNodeName(reader);
+        boolean hasChildren = false;
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            hasChildren = true;
+            if (!reader.isStartElement()) {
                 continue;
             }
-            for (int j = 0; j < curVocNode.getChildNodes().getLength(); j++) {
-                Node curVocElemNode = curVocNode.getChildNodes().item(j);
-                if (isTextOrComment(curVocElemNode)) {
-                    continue;
-                }
-                LOG.debug("  processing vocabulary '" + curVocElemNode.getNodeName() + "'");
-                String curVocElemId = curVocElemNode.getAttributes().getNamedItem("id").getNodeValue();
+            while (nextChildElement(reader)) {
+                LOG.debug("  processing vocabulary '" + getNodeName(reader) + "'");
+                String curVocElemId = reader.getAttributeValue(null, "id");
                 /*
                  * vocabularyElementEditMode 1: insert((it can be anything
                  * except 2,3,4)) 2: alterURI 3: singleDelete 4: Delete element
                  * with it's direct or indirect descendants
                  */
-                String vocElemEditMode = "";
-
-                if (!(curVocElemNode.getAttributes().getNamedItem("mode") == null)) {
-                    vocElemEditMode = curVocElemNode.getAttributes().getNamedItem("mode").getNodeValue();
-                } else {
+                String vocElemEditMode = reader.getAttributeValue(null, "mode");
+                if (vocElemEditMode == null) {
                     vocElemEditMode = "1";
                 }
 
+                // collect the attributes, each given as {id, value, mode}
+                List<String[]> vocAttrs = new ArrayList<String[]>();
+                while (nextChildElement(reader)) {
+                    LOG.debug("  processing vocabulary attribute '" + getNodeName(reader) + "'");
+                    String curVocAttrId = reader.getAttributeValue(null, "id");
+
+                    /*
+                     * vocabularyAttributeEditMode 1: Insert (it can be anything
+                     * except 3)) 2: Alter Attribute Value (it can be anything
+                     * except 3) 3: Delete Attribute (required)
+                     */
+                    String vocabularyAttributeEditMode = reader.getAttributeValue(null, "mode");
+                    if (vocabularyAttributeEditMode == null) {
+                        vocabularyAttributeEditMode = "add/alter";
+                    }
+                    String curVocAttrValue = parseVocAttributeValue(reader);
+                    vocAttrs.add(new String[] { curVocAttrId, curVocAttrValue, vocabularyAttributeEditMode });
+                }
+
+                long start = System.nanoTime();
                 VocabularyElement curVocElem = getOrEditVocabularyElement(session, vocType, curVocElemId,
                         vocElemEditMode);
 
                 // *****************************************
                 if (curVocElem != null) {
-                    for (int k = 0; k < curVocElemNode.getChildNodes().getLength(); k++) {
-                        Node curVocAttrNode = curVocElemNode.getChildNodes().item(k);
-                        if (isTextOrComment(curVocAttrNode)) {
-                            continue;
-                        }
-
-                        LOG.debug("  processing vocabulary attribute '" + curVocAttrNode.getNodeName() + "'");
-                        String curVocAttrId = curVocAttrNode.getAttributes().getNamedItem("id").getNodeValue();
-                        String curVocAttrValue = parseVocAttributeValue(curVocAttrNode);
-
-                        /*
-                         * vocabularyAttributeEditMode 1: Insert (it can be
-                         * anything except 3)) 2: Alter Attribute Value (it can
-                         * be anything except 3) 3: Delete Attribute (required)
-                         */
-                        String vocabularyAttributeEditMode = "";
-                        if (!(curVocAttrNode.getAttributes().getNamedItem("mode") == null)) {
-                            vocabularyAttributeEditMode = curVocAttrNode.getAttributes().getNamedItem("mode").getNodeValue();
-                        } else {
-                            vocabularyAttributeEditMode = "add/alter";
-                        }
-
-                        getOrEditVocabularyAttributeElement(session, vocType, curVocElem.getId(), curVocAttrId,
-                                curVocAttrValue, vocabularyAttributeEditMode);
+                    for (String[] vocAttr : vocAttrs) {
+                        getOrEditVocabularyAttributeElement(session, vocType, curVocElem.getId(), vocAttr[0],
+                                vocAttr[1], vocAttr[2]);
                     }
                 }
                 // *****************************************
+                stats.persistTime += System.nanoTime() - start;
+                stats.vocabularyCount++;
             }
         }
-    }
-
-    private boolean isTextOrComment(Node node) {
-        return node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.COMMENT_NODE;
+        if (!hasChildren) {
+            throw new SAXException("Vocabulary element '" + vocNodeName + "' has no children elements.");
+        }
     }
 
     /**
      * Parses the attribute <b>value</b> of a VocabularyElement. The value can
      * be null in which case an empty String is returned. Otherwise, the value
      * is either given as XML attribute named 'value' or as inline text, see the
-     * sample below. <br>
+     * sample below. When this method returns, the reader is positioned on the
+     * end tag of the attribute. <br>
      * 
      * <pre>
      * {@code
@@ -812,58 +1449,119 @@ public class CaptureOperationsModule {
      * 
      * @return the attribute value as String.
      */
-    private String parseVocAttributeValue(Node vocAttrNode) {
-        String vocAttrValue;
-        if (vocAttrNode.getAttributes().getNamedItem("value") != null) {
+    private String parseVocAttributeValue(XMLStreamReader reader) throws XMLStreamException {
+        String vocAttrValue = reader.getAttributeValue(null, "value");
+        if (vocAttrValue != null) {
             // the value is given as attribute 'value'
-            vocAttrValue = vocAttrNode.getAttributes().getNamedItem("value").getNodeValue();
-        } else if (vocAttrNode.getChildNodes().getLength() > 1) {
-            // the value is given as DOM-tree
-            TransformerFactory transFactory = TransformerFactory.newInstance();
-            StringWriter buffer = new StringWriter();
-            try {
-                Transformer transformer = transFactory.newTransformer();
-                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-                transformer.setOutputProperty(OutputKeys.INDENT, "no");
-                transformer.transform(new DOMSource(vocAttrNode.getChildNodes().item(1)), new StreamResult(buffer));
-                vocAttrValue = buffer.toString();
-            } catch (Throwable t) {
-                LOG.warn("unable to transform vocabulary attribute value (XML) into a string", t);
-                vocAttrValue = vocAttrNode.getTextContent();
+            skipElement(reader);
+            return vocAttrValue;
+        }
+        StringBuilder text = new StringBuilder();
+        String xml = null;
+        int type;
+        while ((type = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                if (xml == null) {
+                    // the value is given as XML tree
+                    xml = serializeElement(reader);
+                } else {
+                    skipElement(reader);
+                }
+            } else if (type == XMLStreamConstants.CHARACTERS || type == XMLStreamConstants.CDATA
+                    || type == XMLStreamConstants.SPACE || type == XMLStreamConstants.ENTITY_REFERENCE) {
+                // the value is given as text
+                text.append(reader.getText());
+            }
+        }
+        return xml != null ? xml : text.toString();
+    }
+
+    /**
+     * Serializes the current element including all its descendants into a
+     * String and leaves the reader positioned on the corresponding end tag.
+     */
+    private String serializeElement(XMLStreamReader reader) throws XMLStreamException {
+        StringWriter buffer = new StringWriter();
+        XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(buffer);
+        int depth = 0;
+        while (true) {
+            int type = reader.getEventType();
+            if (type == XMLStreamConstants.START_ELEMENT) {
+                String prefix = StringUtils.defaultString(reader.getPrefix());
+                String ns = StringUtils.defaultString(reader.getNamespaceURI());
+                writer.writeStartElement(prefix, reader.getLocalName(), ns);
+                boolean nsDeclared = ns.length() == 0;
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    String nsPrefix = StringUtils.defaultString(reader.getNamespacePrefix(i));
+                    writeNamespace(writer, nsPrefix, reader.getNamespaceURI(i));
+                    nsDeclared |= nsPrefix.equals(prefix);
+                }
+                if (depth == 0 && !nsDeclared) {
+                    // declared on an ancestor which is not serialized
+                    writeNamespace(writer, prefix, ns);
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    String attrNs = reader.getAttributeNamespace(i);
+                    if (attrNs == null || attrNs.length() == 0) {
+                        writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    } else {
+                        writer.writeAttribute(StringUtils.defaultString(reader.getAttributePrefix(i)), attrNs,
+                                reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                }
+                depth++;
+            } else if (type == XMLStreamConstants.END_ELEMENT) {
+                writer.writeEndElement();
+                depth--;
+                if (depth == 0) {
+                    break;
+                }
+            } else if (type == XMLStreamConstants.CHARACTERS || type == XMLStreamConstants.CDATA
+                    || type == XMLStreamConstants.SPACE) {
+                writer.writeCharacters(reader.getText());
             }
-        } else if (vocAttrNode.getFirstChild() != null) {
-            // the value is given as text
-            vocAttrValue = vocAttrNode.getFirstChild().getNodeValue();
+            reader.next();
+        }
+        writer.flush();
+        writer.close();
+        return buffer.toString();
+    }
+
+    private static void writeNamespace(XMLStreamWriter writer, String prefix, String ns) throws XMLStreamException {
+        if (prefix.length() == 0) {
+            writer.writeDefaultNamespace(ns);
         } else {
-            vocAttrValue = "";
+            writer.writeNamespace(prefix, ns);
         }
-        return vocAttrValue;
     }
 
     /**
-     * Parses the xml tree for epc nodes and returns a list of EPC URIs.
+     * Parses the epc elements of an epcList or childEPCs element and returns a
+     * list of EPC URIs. When this method returns, the reader is positioned on
+     * the end tag of the given element.
      * 
      * @param eventType
-     * @param epcNode
-     *            The parent Node from which EPC URIs should be extracted.
+     * @param reader
+     *            The reader, positioned on the element from which EPC URIs
+     *            should be extracted.
      * @return An array of vocabularies containing all the URIs found in the
      *         given node.
      * @throws SAXException
      *             If an unknown tag (no &lt;epc&gt;) is encountered.
      * @throws InvalidFormatException
-     * @throws DOMException
      */
-    private List<String> handleEpcs(final String eventType, final Node epcNode) throws SAXException, DOMException,
-            InvalidFormatException {
+    private List<String> handleEpcs(final String eventType, final XMLStreamReader reader) throws XMLStreamException,
+            SAXException, InvalidFormatException {
         List<String> epcList = new ArrayList<String>();
 
         boolean isEpc = false;
         boolean epcRequired = false;
         boolean atLeastOneNonEpc = false;
-        for (int i = 0; i < epcNode.getChildNodes().getLength(); i++) {
-            Node curNode = epcNode.getChildNodes().item(i);
-            if (curNode.getNodeName().equals("epc")) {
-                isEpc = checkEpcOrUri(curNode.getTextContent(), epcRequired);
+        while (nextChildElement(reader)) {
+            String nodeName = getNodeName(reader);
+            if (nodeName.equals("epc")) {
+                String epc = readTextContent(reader);
+                isEpc = checkEpcOrUri(epc, epcRequired);
                 if (isEpc) {
                     // if one of the values is an EPC, then all of them must be
                     // valid EPCs
@@ -871,11 +1569,9 @@ public class CaptureOperationsModule {
                 } else {
                     atLeastOneNonEpc = true;
                 }
-                epcList.add(curNode.getTextContent());
+                epcList.add(epc);
             } else {
-                if (curNode.getNodeName() != "#text" && curNode.getNodeName() != "#comment") {
-                    throw new SAXException("Unknown XML tag: " + curNode.getNodeName(), null);
-                }
+                throw new SAXException("Unknown XML tag: " + nodeName, null);
             }
         }
         if (atLeastOneNonEpc && isEpc) {
@@ -884,7 +1580,6 @@ public class CaptureOperationsModule {
         }
         return epcList;
     }
-
     /**
      * @param epcOrUri
      *            The EPC or URI to check.
@@ -916,51 +1611,64 @@ public class CaptureOperationsModule {
     }
 
     /**
-     * Parses the xml tree for epc nodes and returns a List of BizTransaction
-     * URIs with their corresponding type.
+     * Parses the bizTransaction elements of a bizTransactionList element and
+     * returns a List of BizTransaction URIs with their corresponding type. When
+     * this method returns, the reader is positioned on the end tag of the
+     * given element.
      * 
-     * @param bizNode
-     *            The parent Node from which BizTransaction URIs should be
-     *            extracted.
-     * @return A List of BizTransaction.
+     * @param reader
+     *            The reader, positioned on the element from which
+     *            BizTransaction URIs should be extracted.
+     * @return A List of {uri, type} pairs.
      * @throws SAXException
      *             If an unknown tag (no &lt;epc&gt;) is encountered.
      */
-    private List<BusinessTransaction> handleBizTransactions(Session session, Node bizNode) throws SAXException {
-        List<BusinessTransaction> bizTransactionList = new ArrayList<BusinessTransaction>();
+    private List<String[]> handleBizTransactions(XMLStreamReader reader) throws XMLStreamException, SAXException {
+        List<String[]> bizTransactionList = new ArrayList<String[]>();
+
+        while (nextChildElement(reader)) {
+            String nodeName = getNodeName(reader);
+            if (nodeName.equals("bizTransaction")) {
+                String bizTransTypeUri = reader.getAttributeValue(null, "type");
+                String bizTransUri = readTextContent(reader);
+                bizTransactionList.add(new String[] { bizTransUri, bizTransTypeUri });
+            } else {
+                throw new SAXException("Unknown XML tag: " + nodeName, null);
+            }
+        }
+        return bizTransactionList;
+    }
 
-        for (int i = 0; i < bizNode.getChildNodes().getLength(); i++) {
-            Node curNode = bizNode.getChildNodes().item(i);
-            if (curNode.getNodeName().equals("bizTransaction")) {
-
-                // Changed by nkef (use "getOrEditVocabularyElement" instead of
-                // "getOrInsertVocabularyElement")
-                String bizTransTypeUri = curNode.getAttributes().item(0).getTextContent();
-                String bizTransUri = curNode.getTextContent();
-                BusinessTransactionId bizTrans = (BusinessTransactionId) getOrEditVocabularyElement(session,
-                        EpcisConstants.BUSINESS_TRANSACTION_ID, bizTransUri.toString(), "1");
-                BusinessTransactionTypeId type = (BusinessTransactionTypeId) getOrEditVocabularyElement(session,
-                        EpcisConstants.BUSINESS_TRANSACTION_TYPE_ID, bizTransTypeUri.toString(), "1");
-
-                Criteria c0 = session.createCriteria(BusinessTransaction.class);
-                c0.add(Restrictions.eq("bizTransaction", bizTrans));
-                c0.add(Restrictions.eq("type", type));
-                BusinessTransaction bizTransaction = (BusinessTransaction) c0.uniqueResult();
-
-                if (bizTransaction == null) {
-                    bizTransaction = new BusinessTransaction();
-                    bizTransaction.setBizTransaction(bizTrans);
-                    bizTransaction.setType(type);
-                    session.save(bizTransaction);
-                }
+    /**
+     * Looks up (or inserts) the BusinessTransactions for the given {uri, type}
+     * pairs as returned by {@link #handleBizTransactions(XMLStreamReader)}.
+     */
+    private List<BusinessTransaction> getOrInsertBizTransactions(Session session, List<String[]> bizTransUris)
+            throws SAXException {
+        List<BusinessTransaction> bizTransactionList = new ArrayList<BusinessTransaction>();
+        for (String[] bizTransUri : bizTransUris) {
+            // Changed by nkef (use "getOrEditVocabularyElement" instead of
+            // "getOrInsertVocabularyElement")
+            BusinessTransactionId bizTrans = (BusinessTransactionId) getOrEditVocabularyElement(session,
+                    EpcisConstants.BUSINESS_TRANSACTION_ID, bizTransUri[0], "1");
+            // the type attribute is optional
+            BusinessTransactionTypeId type = null;
+            if (bizTransUri[1] != null) {
+                type = (BusinessTransactionTypeId) getOrEditVocabularyElement(session,
+                        EpcisConstants.BUSINESS_TRANSACTION_TYPE_ID, bizTransUri[1], "1");
+            }
 
-                bizTransactionList.add(bizTransaction);
+            Criteria c0 = session.createCriteria(BusinessTransaction.class);
+            c0.add(Restrictions.eq("bizTransaction", bizTrans));
+            c0.add(type != null ? Restrictions.eq("type", type) : Restrictions.isNull("type"));
+            BusinessTransaction bizTransaction = (BusinessTransaction) c0.uniqueResult();
 
-            } else {
-                if (!curNode.getNodeName().equals("#text") && !curNode.getNodeName().equals("#comment")) {
-                    throw new SAXException("Unknown XML tag: " + curNode.getNodeName(), null);
-                }
+            if (bizTransaction == null) {
+                Long id = upsertBusinessTransaction(bizTrans.getId(), type != null ? type.getId() : null);
+                bizTransaction = (BusinessTransaction) session.load(BusinessTransaction.class, id);
             }
+
+            bizTransactionList.add(bizTransaction);
         }
         return bizTransactionList;
     }
@@ -1051,6 +1759,13 @@ public class CaptureOperationsModule {
         }
 
         Class<?> c = vocClassMap.get(vocabularyType);
+        if (!alterURI && !singleDelete && !wdDelete) {
+            Long cachedId = vocabularyCache.get(vocabularyType, vocabularyElementURI);
+            if (cachedId != null) {
+                // no need to hit the db, a proxy will do
+                return (VocabularyElement) session.load(c, cachedId);
+            }
+        }
         Criteria c0 = session.createCriteria(c);
         c0.setCacheable(true);
         c0.add(Restrictions.eq("uri", alterURI ? vocabularyElementURI.split("#")[0] : vocabularyElementURI));
@@ -1063,6 +1778,7 @@ public class CaptureOperationsModule {
         if (ve != null) {
             vocabularyElementID = ve.getId();
         }
+        Transaction tx = session.getTransaction();
 
         if (ve == null || ((singleDelete || alterURI || wdDelete) && ve != null)) {
             // the uri does not yet exist: insert it if allowed. According to
@@ -1078,6 +1794,8 @@ public class CaptureOperationsModule {
                     ve.setUri(vocabularyElementURI.split("#")[1]);
                     session.update(ve);
                     session.flush();
+                    vocabularyCache.remove(tx, vocabularyType, vocabularyElementURI.split("#")[0], false);
+                    vocabularyCache.put(tx, vocabularyType, ve.getUri(), ve.getId());
                     return ve;
 
                 } else if (singleDelete) {
@@ -1085,6 +1803,7 @@ public class CaptureOperationsModule {
                     if (vocabularyElementObject != null) session.delete(vocabularyElementObject);
                     deleteVocabularyElementAttributes(session, vocabularyType, vocabularyElementID);
                     session.flush();
+                    vocabularyCache.remove(tx, vocabularyType, vocabularyElementURI, false);
                     return null;
                 } else if (wdDelete) {
                     Object vocabularyElementObject = session.get(c, vocabularyElementID);
@@ -1092,26 +1811,133 @@ public class CaptureOperationsModule {
                     deleteVocabularyElementAttributes(session, vocabularyType, vocabularyElementID);
                     deleteVocabularyElementDescendants(session, vocabularyType, vocabularyElementURI);
                     session.flush();
+                    vocabularyCache.remove(tx, vocabularyType, vocabularyElementURI, true);
                     return null;
 
+                } else if (vocabularyCache.isRemoved(tx, vocabularyType, vocabularyElementURI)) {
+                    // re-inserted by the master data request which altered or
+                    // deleted it: our transaction holds the lock on its row
+                    Long id = upsertVocabularyElement(session, vocabularyType, vocabularyElementURI);
+                    vocabularyCache.put(tx, vocabularyType, vocabularyElementURI, id);
+                    return (VocabularyElement) session.load(c, id);
                 } else {
+                    // the new element is committed right away, thus it goes
+                    // straight to the cache, independent of our transaction
+                    Long id = upsertVocabularyElement(vocabularyType, vocabularyElementURI);
+                    vocabularyCache.put(vocabularyType, vocabularyElementURI, id);
+                    return (VocabularyElement) session.load(c, id);
+                }
+            }
+        }
+        vocabularyCache.put(tx, vocabularyType, ve.getUri(), ve.getId());
+        return ve;
+    }
 
-                    try {
-                        ve = (VocabularyElement) c.newInstance();
-                    } catch (InstantiationException e) {
-                        throw new RuntimeException(e);
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException(e);
-                    }
+    /**
+     * Inserts the given vocabulary element, unless a concurrent capture request
+     * did so already, and returns its ID. This runs in a short transaction of
+     * its own which commits immediately, so capture requests introducing the
+     * same new vocabulary element do not wait for each other's transaction to
+     * finish and cannot run into a duplicate key error either.
+     */
+    private Long upsertVocabularyElement(final String vocabularyType, final String vocabularyElementURI) {
+        try {
+            return upsert(new Upsert() {
+                public Long run(CaptureOperationsSession cos) throws SQLException {
+                    return backend.upsertVocabularyElement(cos, vocabularyType, vocabularyElementURI);
+                }
+            });
+        } catch (SQLException e) {
+            throw new JDBCException("Unable to insert vocabulary element " + vocabularyElementURI, e);
+        }
+    }
+
+    /**
+     * Inserts the given vocabulary element, which has been altered or deleted
+     * earlier in the transaction of the given session, and returns its ID. The
+     * insert runs on the connection and in the transaction of the session,
+     * after flushing it, since a transaction of its own would wait for the
+     * lock held by the session's transaction on the element's row.
+     */
+    private Long upsertVocabularyElement(Session session, String vocabularyType, String vocabularyElementURI) {
+        session.flush();
+        CaptureOperationsSession cos = new CaptureOperationsSession(session.connection());
+        try {
+            return backend.upsertVocabularyElement(cos, vocabularyType, vocabularyElementURI);
+        } catch (SQLException e) {
+            throw new JDBCException("Unable to insert vocabulary element " + vocabularyElementURI, e);
+        } finally {
+            cos.closeStatements();
+        }
+    }
 
-                    ve.setUri(vocabularyElementURI);
-                    session.save(ve);
+    /**
+     * Inserts the given business transaction, unless a concurrent capture
+     * request did so already, and returns its ID. Just like
+     * {@link #upsertVocabularyElement(String, String)} this runs in a short
+     * transaction of its own; master data requests never alter business
+     * transactions.
+     */
+    private Long upsertBusinessTransaction(final Long bizTransId, final Long bizTransTypeId) {
+        try {
+            return upsert(new Upsert() {
+                public Long run(CaptureOperationsSession cos) throws SQLException {
+                    return backend.upsertBusinessTransaction(cos, bizTransId, bizTransTypeId);
                 }
+            });
+        } catch (SQLException e) {
+            throw new JDBCException("Unable to insert business transaction " + bizTransId, e);
+        }
+    }
 
-                session.flush();
+    /**
+     * Runs the given upsert in a short transaction of its own. The capture
+     * request keeps its own connection meanwhile, thus the connection is taken
+     * from the upsert data source if one is configured: if all connections of
+     * a single pool were held by capture requests, each of them would wait
+     * for a second one forever.
+     */
+    private Long upsert(Upsert upsert) throws SQLException {
+        if (upsertDataSource == null) {
+            Session upsertSession = sessionFactory.openSession();
+            CaptureOperationsSession cos = new CaptureOperationsSession(upsertSession.connection());
+            try {
+                Transaction tx = upsertSession.beginTransaction();
+                Long id = upsert.run(cos);
+                tx.commit();
+                return id;
+            } finally {
+                cos.closeStatements();
+                rollback(upsertSession);
+                upsertSession.close();
             }
         }
-        return ve;
+        Connection connection = upsertDataSource.getConnection();
+        CaptureOperationsSession cos = new CaptureOperationsSession(connection);
+        boolean committed = false;
+        try {
+            connection.setAutoCommit(false);
+            Long id = upsert.run(cos);
+            connection.commit();
+            committed = true;
+            return id;
+        } finally {
+            cos.closeStatements();
+            try {
+                if (!committed) {
+                    connection.rollback();
+                }
+            } finally {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * An insert run by {@link CaptureOperationsModule#upsert(Upsert)}.
+     */
+    private interface Upsert {
+        Long run(CaptureOperationsSession cos) throws SQLException;
     }
 
     /**
@@ -1289,80 +2115,42 @@ public class CaptureOperationsModule {
      * @throws InvalidFormatException
      */
     protected void checkEpc(String textContent) throws InvalidFormatException {
-        String uri = textContent;
-        if (!uri.startsWith("urn:epc:id:")) {
-            throw new InvalidFormatException("Invalid 'pure identity' EPC format: must start with \"urn:epc:id:\"");
-        }
-        uri = uri.substring("urn:epc:id:".length());
-
-        // check the patterns for the different EPC types
-        String epcType = uri.substring(0, uri.indexOf(":"));
-        uri = uri.substring(epcType.length() + 1);
-        LOG.debug("Checking pattern for EPC type " + epcType + ": " + uri);
-        Pattern p;
-        if ("gid".equals(epcType)) {
-            p = Pattern.compile("((0|[1-9][0-9]*)\\.){2}(0|[1-9][0-9]*)");
-        } else if ("sgtin".equals(epcType) || "sgln".equals(epcType) || "grai".equals(epcType)) {
-            p = Pattern.compile("([0-9]+\\.){2}([0-9]|[A-Z]|[a-z]|[\\!\\(\\)\\*\\+\\-',:;=_]|(%(([0-9]|[A-F])|[a-f]){2}))+");
-        } else if ("sscc".equals(epcType)) {
-            p = Pattern.compile("[0-9]+\\.[0-9]+");
-        } else if ("giai".equals(epcType)) {
-            p = Pattern.compile("[0-9]+\\.([0-9]|[A-Z]|[a-z]|[\\!\\(\\)\\*\\+\\-',:;=_]|(%(([0-9]|[A-F])|[a-f]){2}))+");
-        } else {
-            throw new InvalidFormatException("Invalid 'pure identity' EPC format: unknown EPC type: " + epcType);
-        }
-        Matcher m = p.matcher(uri);
-        if (!m.matches()) {
-            throw new InvalidFormatException("Invalid 'pure identity' EPC format: pattern \"" + uri
-                    + "\" is invalid for EPC type \"" + epcType + "\" - check with Tag Data Standard");
-        }
-
-        // check the number of digits for the different EPC types
-        boolean exceeded = false;
-        int count1 = uri.indexOf(".");
-        if ("sgtin".equals(epcType)) {
-            int count2 = uri.indexOf(".", count1 + 1) - (count1 + 1);
-            if (count1 + count2 > 13) {
-                exceeded = true;
-            }
-        } else if ("sgln".equals(epcType)) {
-            int count2 = uri.indexOf(".", count1 + 1) - (count1 + 1);
-            if (count1 + count2 > 12) {
-                exceeded = true;
-            }
-        } else if ("grai".equals(epcType)) {
-            int count2 = uri.indexOf(".", count1 + 1) - (count1 + 1);
-            if (count1 + count2 > 12) {
-                exceeded = true;
-            }
-        } else if ("sscc".equals(epcType)) {
-            int count2 = uri.length() - (count1 + 1);
-            if (count1 + count2 > 17) {
-                exceeded = true;
-            }
-        } else if ("giai".equals(epcType)) {
-            int count2 = uri.length() - (count1 + 1);
-            if (count1 + count2 > 30) {
-                exceeded = true;
-            }
-        } else {
-            // nothing to count
-        }
-        if (exceeded) {
-            throw new InvalidFormatException(
-                    "Invalid 'pure identity' EPC format: check allowed number of characters for EPC type '" + epcType
-                            + "'");
-        }
+        EpcValidator.checkEpc(textContent);
     }
 
     public SessionFactory getSessionFactory() {
         return sessionFactory;
     }
 
+    public VocabularyCache getVocabularyCache() {
+        return vocabularyCache;
+    }
+
+    /**
+     * @param vocabularyCacheSize
+     *            The maximum number of vocabulary elements cached per
+     *            vocabulary type; 0 disables the cache.
+     */
+    public void setVocabularyCacheSize(int vocabularyCacheSize) {
+        this.vocabularyCache = new VocabularyCache(vocabularyCacheSize);
+    }
+
     public void setSessionFactory(SessionFactory sessionFactory) {
         this.sessionFactory = sessionFactory;
     }
 
+    /**
+     * @param upsertDataSource
+     *            The pool of connections on which new vocabulary elements and
+     *            business transactions are inserted while the capture request
+     *            holds a connection of the session factory's pool. Without it,
+     *            the number of concurrent capture requests must stay below
+     *            the size of that pool.
+     */
+    public void setUpsertDataSource(DataSource upsertDataSource) {
+        this.upsertDataSource = upsertDataSource;
+    }
+
     public boolean isDbResetAllowed() {
         return dbResetAllowed;
     }
@@ -1402,6 +2190,176 @@ public class CaptureOperationsModule {
         this.insertMissingVoc = insertMissingVoc;
     }
 
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    public String getCaptureEngine() {
+        return captureEngine;
+    }
+
+    public void setCaptureEngine(String captureEngine) {
+        if (!CAPTURE_ENGINE_HIBERNATE.equals(captureEngine) && !CAPTURE_ENGINE_JDBC.equals(captureEngine)) {
+            throw new IllegalArgumentException("Unknown capture engine '" + captureEngine + "', must be one of '"
+                    + CAPTURE_ENGINE_HIBERNATE + "' or '" + CAPTURE_ENGINE_JDBC + "'");
+        }
+        this.captureEngine = captureEngine;
+    }
+
+    /**
+     * @return The executor capture requests are to be run on, or
+     *         <code>null</code> if they are run on the calling thread.
+     */
+    public CaptureExecutor getCaptureExecutor() {
+        return captureExecutor;
+    }
+
+    public int getCaptureWorkers() {
+        return captureWorkers;
+    }
+
+    public void setCaptureWorkers(int captureWorkers) {
+        this.captureWorkers = captureWorkers;
+    }
+
+    public int getCaptureQueueSize() {
+        return captureQueueSize;
+    }
+
+    public void setCaptureQueueSize(int captureQueueSize) {
+        this.captureQueueSize = captureQueueSize;
+    }
+
+    public int getPartitionMonthsAhead() {
+        return partitionMonthsAhead;
+    }
+
+    public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    public String getEventRetention() {
+        return retentionPolicy.toString();
+    }
+
+    /**
+     * @param eventRetention
+     *            The retention policy of the events, see
+     *            {@link RetentionPolicy}; if empty, events are never purged.
+     * @throws IllegalArgumentException
+     *             If the retention policy is malformed.
+     */
+    public void setEventRetention(String eventRetention) {
+        this.retentionPolicy = RetentionPolicy.parse(eventRetention);
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public long getPurgeBatchDelay() {
+        return purgeBatchDelay;
+    }
+
+    public void setPurgeBatchDelay(long purgeBatchDelay) {
+        this.purgeBatchDelay = purgeBatchDelay;
+    }
+
+    /**
+     * @return The event purger, or <code>null</code> if events are never
+     *         purged.
+     */
+    EventPurger getEventPurger() {
+        return eventPurger;
+    }
+
+    public List<CaptureOperationsModule> getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the modules storing the events of the shards. Each of them must
+     * use a database of its own, holding the complete repository schema; the
+     * events are spread over them by the hash of their parentID or EPC, and
+     * master data and the vocabulary used by the events are stored on all of
+     * them. The shard modules are initialized
+     * and destroyed by their creator. Note that changing the number of shards
+     * moves most objects to another shard, so existing events must then be
+     * redistributed.
+     * 
+     * @param shards
+     *            The shard modules, or <code>null</code> or an empty list to
+     *            store the events with this module.
+     */
+    public void setShards(List<CaptureOperationsModule> shards) {
+        if (shards == null || shards.isEmpty()) {
+            this.shards = null;
+            this.shardedCapture = null;
+        } else {
+            this.shards = shards;
+            this.shardedCapture = new ShardedCapture(this, shards);
+        }
+    }
+
+    public long getGroupCommitLinger() {
+        return groupCommitLinger;
+    }
+
+    public void setGroupCommitLinger(long groupCommitLinger) {
+        this.groupCommitLinger = groupCommitLinger;
+    }
+
+    public int getGroupCommitBatchSize() {
+        return groupCommitBatchSize;
+    }
+
+    public void setGroupCommitBatchSize(int groupCommitBatchSize) {
+        this.groupCommitBatchSize = groupCommitBatchSize;
+    }
+
+    public String getCaptureJournalFile() {
+        return captureJournalFile;
+    }
+
+    /**
+     * @param captureJournalFile
+     *            The file of the capture journal; if empty, capture requests
+     *            are stored synchronously.
+     */
+    public void setCaptureJournalFile(String captureJournalFile) {
+        this.captureJournalFile = StringUtils.isBlank(captureJournalFile) ? null : captureJournalFile.trim();
+    }
+
+    public int getCaptureJournalRetries() {
+        return captureJournalRetries;
+    }
+
+    /**
+     * @param captureJournalRetries
+     *            The number of times a journaled capture request which could
+     *            not be stored is retried, with growing delays, before it is
+     *            moved to a file of its own next to the capture journal.
+     */
+    public void setCaptureJournalRetries(int captureJournalRetries) {
+        this.captureJournalRetries = captureJournalRetries;
+    }
+
+    public CaptureOperationsBackend getBackend() {
+        return backend;
+    }
+
+    public void setBackend(CaptureOperationsBackend backend) {
+        this.backend = backend;
+    }
+
     public Schema getSchema() {
         return schema;
     }
@@ -1427,4 +2385,85 @@ public class CaptureOperationsModule {
     public void setMasterDataSchema(Schema masterDataSchema) {
         this.masterDataSchema = masterDataSchema;
     }
+
+    /**
+     * Collects the events of a capture request which are stored by the JDBC
+     * capture engine and writes them to the database in batches. The JDBC
+     * statements run on the connection of the Hibernate Session and thus take
+     * part in its transaction. A deferred batch collects the events for the
+     * CaptureCoordinator instead, until it is undeferred.
+     */
+    private class EventBatch {
+        private Session session;
+        private CaptureOperationsSession jdbcSession;
+        private final List<BaseEvent> events = new ArrayList<BaseEvent>();
+
+        EventBatch(Session session) {
+            this.session = session;
+            this.jdbcSession = new CaptureOperationsSession(session.connection());
+        }
+
+        /**
+         * Creates a batch which only collects the events, to be stored by the
+         * CaptureCoordinator.
+         */
+        EventBatch() {
+            this.session = null;
+            this.jdbcSession = null;
+        }
+
+        boolean isDeferred() {
+            return session == null;
+        }
+
+        /**
+         * Stops collecting the events for the CaptureCoordinator: the events
+         * collected so far and all further ones are stored in the transaction
+         * of the given session, by the configured capture engine.
+         */
+        void undefer(Session session) {
+            this.session = session;
+            if (CAPTURE_ENGINE_JDBC.equals(captureEngine)) {
+                this.jdbcSession = new CaptureOperationsSession(session.connection());
+            }
+        }
+
+        void add(BaseEvent event) {
+            events.add(event);
+        }
+
+        void flush() throws SQLException {
+            if (!isDeferred() && !events.isEmpty()) {
+                if (jdbcSession != null) {
+                    // the vocabularies referenced by the events must be stored
+                    session.flush();
+                    backend.insertEvents(jdbcSession, events);
+                } else {
+                    for (BaseEvent event : events) {
+                        session.save(event);
+                    }
+                }
+                events.clear();
+            }
+        }
+
+        void close() {
+            if (jdbcSession != null) {
+                jdbcSession.closeStatements();
+            }
+        }
+    }
+
+    /**
+     * Keeps track of what a single capture request did and how long it spent
+     * in the database.
+     */
+    private static class CaptureStatistics {
+        private final long startTime = System.nanoTime();
+        private long persistTime;
+        private int eventCount;
+        private int committedEventCount;
+        private int vocabularyCount;
+        private final Set<String> changedTypes = new HashSet<String>();
+    }
 }
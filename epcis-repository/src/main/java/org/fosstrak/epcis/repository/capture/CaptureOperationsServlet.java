@@ -24,8 +24,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.security.Principal;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletConfig;
@@ -58,6 +62,20 @@ public class CaptureOperationsServlet extends HttpServlet {
 
     private static final String APP_CONFIG_LOCATION = "appConfigLocation";
     private static final String PROP_INSERT_MISSING_VOC = "insertMissingVoc";
+    private static final String PROP_CAPTURE_COMMIT_INTERVAL = "captureCommitInterval";
+    private static final String PROP_CAPTURE_ENGINE = "captureEngine";
+    private static final String PROP_VOCABULARY_CACHE_SIZE = "vocabularyCacheSize";
+    private static final String PROP_CAPTURE_JOURNAL_FILE = "captureJournalFile";
+    private static final String PROP_CAPTURE_JOURNAL_RETRIES = "captureJournalRetries";
+    private static final String PROP_CAPTURE_GROUP_COMMIT_LINGER = "captureGroupCommitLinger";
+    private static final String PROP_CAPTURE_GROUP_COMMIT_BATCH_SIZE = "captureGroupCommitBatchSize";
+    private static final String PROP_CAPTURE_WORKERS = "captureWorkers";
+    private static final String PROP_CAPTURE_QUEUE_SIZE = "captureQueueSize";
+    private static final String PROP_EVENT_PARTITION_MONTHS_AHEAD = "eventPartitionMonthsAhead";
+    private static final String PROP_EVENT_RETENTION = "eventRetention";
+    private static final String PROP_EVENT_PURGE_BATCH_SIZE = "eventPurgeBatchSize";
+    private static final String PROP_EVENT_PURGE_BATCH_DELAY = "eventPurgeBatchDelay";
+    private static final String PROP_SHARD_DATASOURCE_NAMES = "shard.jndi.datasource.names";
     private static final String PROP_DB_RESET_ALLOWED = "dbResetAllowed";
     private static final String PROP_DB_RESET_SCRIPT = "dbResetScript";
     private static final String PROP_EPCIS_SCHEMA_FILE = "epcisSchemaFile";
@@ -70,10 +88,16 @@ public class CaptureOperationsServlet extends HttpServlet {
 
     private CaptureOperationsModule captureOperationsModule;
 
+    /**
+     * Whether the capture operations module has been initialized by this
+     * servlet and must thus be destroyed by it.
+     */
+    private boolean manuallyInitialized = false;
+
     /**
      * {@inheritDoc}
      */
-    public void init() {
+    public void init() throws ServletException {
         LOG.debug("Fetching capture operations module from servlet context ...");
         CaptureOperationsModule captureOperationsModule = (CaptureOperationsModule) getServletContext().getAttribute(
                 "captureOperationsModule");
@@ -88,21 +112,89 @@ public class CaptureOperationsServlet extends HttpServlet {
             } else {
                 props = loadApplicationProperties(servletConfig);
             }
-            SessionFactory hibernateSessionFactory = initHibernate();
-            captureOperationsModule.setSessionFactory(hibernateSessionFactory);
-            captureOperationsModule.setInsertMissingVoc(Boolean.parseBoolean(props.getProperty(PROP_INSERT_MISSING_VOC,
-                    "true")));
-            captureOperationsModule.setDbResetAllowed(Boolean.parseBoolean(props.getProperty(PROP_DB_RESET_ALLOWED,
-                    "false")));
-            captureOperationsModule.setDbResetScript(props.getProperty(PROP_DB_RESET_SCRIPT));
-            captureOperationsModule.setEpcisSchemaFile(props.getProperty(PROP_EPCIS_SCHEMA_FILE));
-            captureOperationsModule.setEpcisMasterdataSchemaFile(props.getProperty(PROP_EPCIS_MASTER_DATA_SCHEMA_FILE));        
+            String shardNames = props.getProperty(PROP_SHARD_DATASOURCE_NAMES, "").trim();
+            if (shardNames.length() == 0) {
+                captureOperationsModule.setSessionFactory(initHibernate(null));
+                configure(captureOperationsModule, props);
+            } else {
+                List<CaptureOperationsModule> shards = new ArrayList<CaptureOperationsModule>();
+                for (String jndiName : shardNames.split(",")) {
+                    CaptureOperationsModule shard = new CaptureOperationsModule();
+                    shard.setSessionFactory(initHibernate(jndiName.trim()));
+                    configure(shard, props);
+                    // capture requests are journaled and queued by the
+                    // module routing them to the shards
+                    shard.setCaptureJournalFile(null);
+                    shard.setCaptureWorkers(0);
+                    try {
+                        shard.init();
+                    } catch (IOException e) {
+                        throw new ServletException("Unable to initialize the shard " + jndiName, e);
+                    }
+                    shards.add(shard);
+                }
+                LOG.info("Storing events on " + shards.size() + " shards: " + shardNames);
+                captureOperationsModule.setSessionFactory(shards.get(0).getSessionFactory());
+                configure(captureOperationsModule, props);
+                // the events are stored, partitioned and purged by the shards
+                captureOperationsModule.setGroupCommitLinger(0);
+                captureOperationsModule.setPartitionMonthsAhead(0);
+                captureOperationsModule.setEventRetention(null);
+                captureOperationsModule.setShards(shards);
+            }
+            try {
+                captureOperationsModule.init();
+            } catch (IOException e) {
+                throw new ServletException("Unable to open the capture journal", e);
+            }
+            manuallyInitialized = true;
         } else {
             LOG.debug("Capture operations module found");
         }
         setCaptureOperationsModule(captureOperationsModule);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void destroy() {
+        if (manuallyInitialized) {
+            captureOperationsModule.destroy();
+            if (captureOperationsModule.getShards() != null) {
+                for (CaptureOperationsModule shard : captureOperationsModule.getShards()) {
+                    shard.destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Configures the given capture operations module from the application
+     * properties.
+     */
+    private static void configure(CaptureOperationsModule module, Properties props) {
+        module.setInsertMissingVoc(Boolean.parseBoolean(props.getProperty(PROP_INSERT_MISSING_VOC, "true")));
+        module.setCommitInterval(Integer.parseInt(props.getProperty(PROP_CAPTURE_COMMIT_INTERVAL, "0")));
+        module.setCaptureEngine(props.getProperty(PROP_CAPTURE_ENGINE,
+                CaptureOperationsModule.CAPTURE_ENGINE_HIBERNATE));
+        module.setDbResetAllowed(Boolean.parseBoolean(props.getProperty(PROP_DB_RESET_ALLOWED, "false")));
+        module.setDbResetScript(props.getProperty(PROP_DB_RESET_SCRIPT));
+        module.setEpcisSchemaFile(props.getProperty(PROP_EPCIS_SCHEMA_FILE));
+        module.setEpcisMasterdataSchemaFile(props.getProperty(PROP_EPCIS_MASTER_DATA_SCHEMA_FILE));
+        module.setVocabularyCacheSize(Integer.parseInt(props.getProperty(PROP_VOCABULARY_CACHE_SIZE, "10000")));
+        module.setCaptureJournalFile(props.getProperty(PROP_CAPTURE_JOURNAL_FILE));
+        module.setCaptureJournalRetries(Integer.parseInt(props.getProperty(PROP_CAPTURE_JOURNAL_RETRIES, "10")));
+        module.setGroupCommitLinger(Long.parseLong(props.getProperty(PROP_CAPTURE_GROUP_COMMIT_LINGER, "0")));
+        module.setGroupCommitBatchSize(Integer.parseInt(props.getProperty(PROP_CAPTURE_GROUP_COMMIT_BATCH_SIZE,
+                "1000")));
+        module.setCaptureWorkers(Integer.parseInt(props.getProperty(PROP_CAPTURE_WORKERS, "0")));
+        module.setCaptureQueueSize(Integer.parseInt(props.getProperty(PROP_CAPTURE_QUEUE_SIZE, "100")));
+        module.setPartitionMonthsAhead(Integer.parseInt(props.getProperty(PROP_EVENT_PARTITION_MONTHS_AHEAD, "0")));
+        module.setEventRetention(props.getProperty(PROP_EVENT_RETENTION));
+        module.setPurgeBatchSize(Integer.parseInt(props.getProperty(PROP_EVENT_PURGE_BATCH_SIZE, "500")));
+        module.setPurgeBatchDelay(Long.parseLong(props.getProperty(PROP_EVENT_PURGE_BATCH_DELAY, "200")));
+    }
+
     /**
      * Loads the application properties and populates a java.util.Properties
      * instance.
@@ -159,13 +251,21 @@ public class CaptureOperationsServlet extends HttpServlet {
      * Initializes Hibernate. Reads the configuration from hibernate.cfg.xml
      * located on the classpath (WEB-INF/classes/)
      * 
+     * @param jndiName
+     *            The JNDI name of the data source of a shard, or
+     *            <code>null</code> to use the configured data source.
      * @return The Hibernate SessionFactory.
      * @throws ServletException
      */
-    private SessionFactory initHibernate() throws HibernateException {
-        LOG.info("Manually initializing Hibernate");
+    private SessionFactory initHibernate(String jndiName) throws HibernateException {
+        LOG.info("Manually initializing Hibernate" + (jndiName == null ? "" : " for shard " + jndiName));
         Configuration c = new Configuration();
         c.configure(); // from WEB-INF/classes/hibernate.cfg.xml
+        if (jndiName != null) {
+            c.setProperty("hibernate.connection.datasource", "java:comp/env/" + jndiName);
+            // the second-level caches of the shards must not share regions
+            c.setProperty("hibernate.cache.region_prefix", jndiName.replaceAll("\\W", "_"));
+        }
         return c.buildSessionFactory();
     }
 
@@ -184,8 +284,11 @@ public class CaptureOperationsServlet extends HttpServlet {
     public void doGet(final HttpServletRequest req, final HttpServletResponse rsp) throws ServletException, IOException {
         RequestDispatcher dispatcher;
         String dbReset = req.getParameter("dbReset");
+        String captureStatistics = req.getParameter("captureStatistics");
         if (dbReset != null && dbReset.equalsIgnoreCase("true")) {
             doDbReset(rsp);
+        } else if (captureStatistics != null && captureStatistics.equalsIgnoreCase("true")) {
+            doCaptureStatistics(rsp);
         } else {
 	        String showCaptureForm = req.getParameter("showCaptureForm");
 	        if (showCaptureForm != null && "true".equals(showCaptureForm)) {
@@ -203,7 +306,9 @@ public class CaptureOperationsServlet extends HttpServlet {
      * Implements the EPCIS capture operation. Takes HTTP POST request, extracts
      * the payload into an XML document, validates the document against the
      * EPCIS schema, and captures the EPCIS events given in the document. Errors
-     * are caught and returned as simple plaintext messages via HTTP.
+     * are caught and returned as simple plaintext messages via HTTP. If a
+     * capture journal is configured, the request is answered with 202
+     * (Accepted) as soon as the validated document has been journaled.
      * 
      * @param req
      *            The HttpServletRequest.
@@ -243,9 +348,35 @@ public class CaptureOperationsServlet extends HttpServlet {
         String responseMsg = "";
         String detailedMsg = "";
         try {
-            captureOperationsModule.doCapture(is, req.getUserPrincipal());
-            rsp.setStatus(HttpServletResponse.SC_OK);
-            responseMsg = "EPCIS capture request succeeded.";
+            if (captureOperationsModule.isCaptureAsync()) {
+                captureOperationsModule.doAsyncCapture(is);
+                rsp.setStatus(HttpServletResponse.SC_ACCEPTED);
+                responseMsg = "EPCIS capture request accepted.";
+            } else {
+                doCapture(is, req.getUserPrincipal());
+                rsp.setStatus(HttpServletResponse.SC_OK);
+                responseMsg = "EPCIS capture request succeeded.";
+            }
+        } catch (CaptureRejectedException e) {
+            int retryAfter = e.getRetryAfter();
+            responseMsg = "The repository is too busy to handle the request.";
+            detailedMsg = "Please retry in " + retryAfter + " seconds.";
+            LOG.warn("Rejected capture request: all capture workers busy and queue full");
+            rsp.setHeader("Retry-After", String.valueOf(retryAfter));
+            rsp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (PartialCaptureException e) {
+            Throwable cause = e.getCause();
+            responseMsg = "An error occurred after " + e.getCommittedEventCount()
+                    + " events of the EPCIS capture request had been committed.";
+            if (cause instanceof SAXException || cause instanceof InvalidFormatException) {
+                detailedMsg = "Unable to capture the remaining events due to error: " + cause.getMessage();
+                LOG.info(responseMsg + " " + detailedMsg);
+                rsp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            } else {
+                detailedMsg = "The repository is unable to handle the remaining events due to an internal error.";
+                LOG.error(responseMsg, cause);
+                rsp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         } catch (SAXException e) {
             responseMsg = "An error processing the XML document occurred.";
             detailedMsg = "Unable to parse incoming XML due to error: " + e.getMessage();
@@ -276,6 +407,51 @@ public class CaptureOperationsServlet extends HttpServlet {
         dispatcher.forward(req, rsp);
     }
 
+    /**
+     * Runs the capture request on the capture executor, if any, or on the
+     * current thread otherwise.
+     */
+    private void doCapture(final InputStream is, final Principal principal) throws Exception {
+        CaptureExecutor executor = captureOperationsModule.getCaptureExecutor();
+        if (executor == null) {
+            captureOperationsModule.doCapture(is, principal);
+        } else {
+            executor.execute(new Callable<Object>() {
+                public Object call() throws Exception {
+                    captureOperationsModule.doCapture(is, principal);
+                    return null;
+                }
+            });
+        }
+    }
+
+    private void doCaptureStatistics(final HttpServletResponse rsp) throws IOException {
+        rsp.setContentType("text/plain");
+        final PrintWriter out = rsp.getWriter();
+        CaptureExecutor executor = captureOperationsModule.getCaptureExecutor();
+        if (executor == null) {
+            out.println("capture executor disabled");
+        } else {
+            out.println("workers: " + executor.getWorkers());
+            out.println("active workers: " + executor.getActiveCount());
+            out.println("queue depth: " + executor.getQueueDepth());
+            out.println("executed requests: " + executor.getExecutedCount());
+            out.println("rejected requests: " + executor.getRejectedCount());
+            out.println("average wait time (ms): " + executor.getAverageWaitTime());
+            out.println("maximum wait time (ms): " + executor.getMaxWaitTime());
+        }
+        EventPurger purger = captureOperationsModule.getEventPurger();
+        if (purger == null) {
+            out.println("event purger disabled");
+        } else {
+            out.println("purged events: " + purger.getPurgedEvents());
+            out.println("purged rows: " + purger.getPurgedRows());
+            out.println("last purge rate (rows/s): " + purger.getLastRowsPerSecond());
+        }
+        out.flush();
+        out.close();
+    }
+
     private void doDbReset(final HttpServletResponse rsp) throws IOException {
         LOG.debug("Found 'dbReset' parameter set to 'true'.");
         rsp.setContentType("text/plain");
@@ -23,6 +23,7 @@ package org.fosstrak.epcis.repository.capture;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -45,6 +46,7 @@ public class CaptureOperationsSession {
 
     private Map<String, PreparedStatement> inserts = new LinkedHashMap<String, PreparedStatement>();
     private Map<String, PreparedStatement> batchInserts = new LinkedHashMap<String, PreparedStatement>();
+    private Map<String, PreparedStatement> generatedKeysInserts = new HashMap<String, PreparedStatement>();
     private Map<String, PreparedStatement> selects = new HashMap<String, PreparedStatement>();
 
     public CaptureOperationsSession(final Connection connection) {
@@ -71,6 +73,20 @@ public class CaptureOperationsSession {
         return ps;
     }
 
+    /**
+     * Returns a PreparedStatement for the given insert statement which makes
+     * the auto-generated keys available, also when executed as a batch.
+     */
+    public PreparedStatement getGeneratedKeysInsert(final String sql) throws SQLException {
+        PreparedStatement ps = generatedKeysInserts.get(sql);
+        if (ps == null) {
+            ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            generatedKeysInserts.put(sql, ps);
+        }
+        ps.clearParameters();
+        return ps;
+    }
+
     public PreparedStatement getSelect(final String sql) throws SQLException {
         PreparedStatement ps = selects.get(sql);
         if (ps == null) {
@@ -97,6 +113,22 @@ public class CaptureOperationsSession {
     }
 
     public void close() throws SQLException {
+        closeStatements();
+        connection.close();
+    }
+
+    /**
+     * Closes the prepared statements of this session but leaves the underlying
+     * connection open, e.g. if the connection is owned by a Hibernate Session.
+     */
+    public void closeStatements() {
+        for (PreparedStatement ps : generatedKeysInserts.values()) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                LOG.warn("Error closing PreparedStatement: " + e.toString() + ". Will continue ... ");
+            }
+        }
         for (PreparedStatement ps : inserts.values()) {
             try {
                 ps.close();
@@ -118,7 +150,6 @@ public class CaptureOperationsSession {
                 LOG.warn("Error closing PreparedStatement: " + e.toString() + ". Will continue ... ");
             }
         }
-        connection.close();
     }
 
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This Exception is thrown by the {@link CaptureExecutor} if a capture request
+ * is rejected because all workers are busy and the queue is full. It tells
+ * when the request should be retried.
+ */
+public class CaptureRejectedException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 4702396167240188127L;
+
+    private final int retryAfter;
+
+    public CaptureRejectedException(int retryAfter) {
+        super("All capture workers are busy and the queue is full");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return The number of seconds after which the rejected capture request
+     *         should be retried.
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+}
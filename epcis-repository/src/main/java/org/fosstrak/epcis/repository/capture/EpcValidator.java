@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import org.fosstrak.epcis.repository.InvalidFormatException;
+
+/**
+ * Validates EPCs in the 'pure identity' URI form specified in the Tag Data
+ * Standard for the EPC types gid, sgtin, sgln, grai, sscc and giai. The URI is
+ * checked in a single pass over its characters; nothing is allocated unless
+ * the EPC is invalid.
+ * <p>
+ * The accepted syntax, including the limits on the number of digits of the
+ * company prefix and item reference, is the same as that of the regular
+ * expressions previously used by the capture operations module:
+ * <ul>
+ * <li>gid: <code>((0|[1-9][0-9]*)\.){2}(0|[1-9][0-9]*)</code></li>
+ * <li>sgtin, sgln, grai: <code>([0-9]+\.){2}</code> followed by a
+ * serial number</li>
+ * <li>sscc: <code>[0-9]+\.[0-9]+</code></li>
+ * <li>giai: <code>[0-9]+\.</code> followed by a serial number</li>
+ * </ul>
+ * where a serial number consists of one or more of the characters
+ * <code>[0-9A-Za-z!()*+\-',:;=_]</code> and escape sequences
+ * <code>%[0-9A-Fa-f]{2}</code>.
+ */
+final class EpcValidator {
+
+    private static final String EPC_PREFIX = "urn:epc:id:";
+
+    private static final int SGTIN_MAX_DIGITS = 13;
+    private static final int SGLN_MAX_DIGITS = 12;
+    private static final int GRAI_MAX_DIGITS = 12;
+    private static final int SSCC_MAX_DIGITS = 17;
+    private static final int GIAI_MAX_CHARS = 30;
+
+    /**
+     * Check EPC according to 'pure identity' URI as specified in Tag Data
+     * Standard.
+     *
+     * @param epc
+     *            The EPC to check.
+     * @throws InvalidFormatException
+     *             If the given EPC is invalid.
+     */
+    public static void checkEpc(String epc) throws InvalidFormatException {
+        if (!epc.startsWith(EPC_PREFIX)) {
+            throw new InvalidFormatException("Invalid 'pure identity' EPC format: must start with \"urn:epc:id:\"");
+        }
+        int typeStart = EPC_PREFIX.length();
+        int typeEnd = epc.indexOf(':', typeStart);
+        if (typeEnd < 0) {
+            throw new InvalidFormatException("Invalid 'pure identity' EPC format: unknown EPC type: "
+                    + epc.substring(typeStart));
+        }
+        int start = typeEnd + 1;
+        int end = epc.length();
+
+        // the number of characters subject to the length limit of the EPC
+        // type, or -1 if the pattern does not match
+        int count;
+        int max;
+        if (isType(epc, typeStart, typeEnd, "gid")) {
+            count = checkGid(epc, start, end);
+            max = Integer.MAX_VALUE;
+        } else if (isType(epc, typeStart, typeEnd, "sgtin")) {
+            count = checkSerialized(epc, start, end);
+            max = SGTIN_MAX_DIGITS;
+        } else if (isType(epc, typeStart, typeEnd, "sgln")) {
+            count = checkSerialized(epc, start, end);
+            max = SGLN_MAX_DIGITS;
+        } else if (isType(epc, typeStart, typeEnd, "grai")) {
+            count = checkSerialized(epc, start, end);
+            max = GRAI_MAX_DIGITS;
+        } else if (isType(epc, typeStart, typeEnd, "sscc")) {
+            count = checkSscc(epc, start, end);
+            max = SSCC_MAX_DIGITS;
+        } else if (isType(epc, typeStart, typeEnd, "giai")) {
+            count = checkGiai(epc, start, end);
+            max = GIAI_MAX_CHARS;
+        } else {
+            throw new InvalidFormatException("Invalid 'pure identity' EPC format: unknown EPC type: "
+                    + epc.substring(typeStart, typeEnd));
+        }
+        if (count < 0) {
+            throw new InvalidFormatException("Invalid 'pure identity' EPC format: pattern \"" + epc.substring(start)
+                    + "\" is invalid for EPC type \"" + epc.substring(typeStart, typeEnd)
+                    + "\" - check with Tag Data Standard");
+        }
+        if (count > max) {
+            throw new InvalidFormatException(
+                    "Invalid 'pure identity' EPC format: check allowed number of characters for EPC type '"
+                            + epc.substring(typeStart, typeEnd) + "'");
+        }
+    }
+
+    private static boolean isType(String epc, int start, int end, String type) {
+        return end - start == type.length() && epc.startsWith(type, start);
+    }
+
+    /**
+     * Checks <code>((0|[1-9][0-9]*)\.){2}(0|[1-9][0-9]*)</code>.
+     *
+     * @return 0 if the pattern matches, -1 otherwise.
+     */
+    private static int checkGid(String epc, int pos, int end) {
+        for (int i = 0; i < 3; i++) {
+            int next = skipDigits(epc, pos, end);
+            if (next == pos || (epc.charAt(pos) == '0' && next - pos > 1)) {
+                return -1;
+            }
+            if (i < 2) {
+                if (next == end || epc.charAt(next) != '.') {
+                    return -1;
+                }
+                pos = next + 1;
+            } else if (next != end) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks <code>([0-9]+\.){2}</code> followed by a serial number, as used
+     * for sgtin, sgln and grai.
+     *
+     * @return The number of digits of the first two fields if the pattern
+     *         matches, -1 otherwise.
+     */
+    private static int checkSerialized(String epc, int pos, int end) {
+        int dot1 = skipDigits(epc, pos, end);
+        if (dot1 == pos || dot1 == end || epc.charAt(dot1) != '.') {
+            return -1;
+        }
+        int dot2 = skipDigits(epc, dot1 + 1, end);
+        if (dot2 == dot1 + 1 || dot2 == end || epc.charAt(dot2) != '.') {
+            return -1;
+        }
+        if (!isSerial(epc, dot2 + 1, end)) {
+            return -1;
+        }
+        return dot2 - pos - 1;
+    }
+
+    /**
+     * Checks <code>[0-9]+\.[0-9]+</code>.
+     *
+     * @return The number of digits if the pattern matches, -1 otherwise.
+     */
+    private static int checkSscc(String epc, int pos, int end) {
+        int dot = skipDigits(epc, pos, end);
+        if (dot == pos || dot == end || epc.charAt(dot) != '.') {
+            return -1;
+        }
+        if (dot + 1 == end || skipDigits(epc, dot + 1, end) != end) {
+            return -1;
+        }
+        return end - pos - 1;
+    }
+
+    /**
+     * Checks <code>[0-9]+\.</code> followed by a serial number.
+     *
+     * @return The number of characters without the dot if the pattern
+     *         matches, -1 otherwise.
+     */
+    private static int checkGiai(String epc, int pos, int end) {
+        int dot = skipDigits(epc, pos, end);
+        if (dot == pos || dot == end || epc.charAt(dot) != '.') {
+            return -1;
+        }
+        if (!isSerial(epc, dot + 1, end)) {
+            return -1;
+        }
+        return end - pos - 1;
+    }
+
+    /**
+     * @return The position of the first character at or after
+     *         <code>pos</code> which is not a digit.
+     */
+    private static int skipDigits(String epc, int pos, int end) {
+        while (pos < end && isDigit(epc.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * @return <code>true</code> if the characters between <code>pos</code>
+     *         and <code>end</code> form a non-empty serial number.
+     */
+    private static boolean isSerial(String epc, int pos, int end) {
+        if (pos == end) {
+            return false;
+        }
+        while (pos < end) {
+            char c = epc.charAt(pos);
+            if (c == '%') {
+                if (pos + 2 >= end || !isHexDigit(epc.charAt(pos + 1)) || !isHexDigit(epc.charAt(pos + 2))) {
+                    return false;
+                }
+                pos += 3;
+            } else if (isDigit(c) || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || isSerialSymbol(c)) {
+                pos++;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+    }
+
+    private static boolean isSerialSymbol(char c) {
+        switch (c) {
+        case '!':
+        case '(':
+        case ')':
+        case '*':
+        case '+':
+        case '-':
+        case '\'':
+        case ',':
+        case ':':
+        case ';':
+        case '=':
+        case '_':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Hidden default constructor.
+     */
+    private EpcValidator() {
+    }
+}
@@ -0,0 +1,611 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.HighWaterMarks;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+
+/**
+ * The EventPurger deletes the events which have expired according to the
+ * {@link RetentionPolicy}, at startup and every hour.
+ * <p>
+ * The expired events are selected by their event time via the
+ * <code>(bizStep, eventTimeMs)</code> and <code>eventTimeMs</code> indices
+ * and deleted in small batches, together with their EPCs, business
+ * transactions and extensions. Each batch is committed on its own and followed
+ * by a pause, so the purger holds few locks at a time and leaves room for
+ * captures and for replication to keep up. The progress and the number of rows
+ * deleted per second are logged.
+ * <p>
+ * If the event tables have been partitioned with
+ * <code>epcis_partitioning.sql</code>, the partitions which end before the
+ * retention of their event type are dropped as a whole first, unless a
+ * business step rule keeps some of their events. Since the EPC, business
+ * transaction and extension tables are not partitioned, the rows of the events
+ * of such a partition are deleted first, in batches of consecutive event IDs.
+ * The partitions which still hold kept events are purged row by row, and
+ * dropped afterwards once they have been emptied.
+ */
+class EventPurger implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(EventPurger.class);
+
+    private static final long PURGE_INTERVAL = 60 * 60 * 1000L;
+
+    /**
+     * The interval (in milliseconds) at which the progress of a long purge is
+     * logged.
+     */
+    private static final long PROGRESS_INTERVAL = 10 * 1000L;
+
+    private static final String SQL_SELECT_BIZSTEP_ID = "SELECT id FROM voc_BizStep WHERE uri=?";
+
+    private final SessionFactory sessionFactory;
+
+    private final RetentionPolicy policy;
+
+    private final int batchSize;
+
+    private final long batchDelay;
+
+    private final HighWaterMarks highWaterMarks = HighWaterMarks.getInstance();
+
+    private final AtomicLong purgedEvents = new AtomicLong();
+    private final AtomicLong purgedRows = new AtomicLong();
+
+    private volatile long lastRowsPerSecond = 0;
+
+    private Thread thread;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param sessionFactory
+     *            The factory of the sessions providing the database
+     *            connections.
+     * @param policy
+     *            The retention policy.
+     * @param batchSize
+     *            The maximum number of events deleted per transaction.
+     * @param batchDelay
+     *            The pause (in milliseconds) after each batch.
+     */
+    public EventPurger(SessionFactory sessionFactory, RetentionPolicy policy, int batchSize, long batchDelay) {
+        this.sessionFactory = sessionFactory;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.batchDelay = batchDelay;
+    }
+
+    public synchronized void start() {
+        thread = new Thread(this, "EventPurger");
+        thread.setDaemon(true);
+        thread.start();
+        LOG.info("Event purger started with retention policy: " + policy);
+    }
+
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void run() {
+        while (!stopped) {
+            try {
+                purge();
+            } catch (Exception e) {
+                LOG.error("Unable to purge the expired events: " + e.toString(), e);
+            }
+            pause(PURGE_INTERVAL);
+        }
+    }
+
+    /**
+     * Deletes the expired events of all event types.
+     * 
+     * @throws SQLException
+     *             If the events could not be deleted.
+     */
+    public void purge() throws SQLException {
+        Session session = sessionFactory.openSession();
+        try {
+            long now = System.currentTimeMillis();
+            for (String eventType : EpcisConstants.EVENT_TYPES) {
+                if (stopped) {
+                    break;
+                }
+                if (policy.appliesTo(eventType)) {
+                    purge(session, eventType, now);
+                    if (stopped) {
+                        break;
+                    }
+                    dropEmptyPartitions(session.connection(), "event_" + eventType, now);
+                }
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private void purge(Session session, String eventType, long now) throws SQLException {
+        Connection connection = session.connection();
+        Progress progress = new Progress(eventType);
+
+        // the retentions of the business steps with a rule of their own, by
+        // the ID of the business step
+        Map<Long, Long> bizStepRetentions = new LinkedHashMap<Long, Long>();
+        for (Map.Entry<String, Long> rule : policy.getBizStepRetentions(eventType).entrySet()) {
+            Long bizStepId = getBizStepId(connection, rule.getKey());
+            if (bizStepId != null) {
+                bizStepRetentions.put(bizStepId, rule.getValue());
+            }
+        }
+
+        dropExpiredPartitions(session, eventType, bizStepRetentions, now, progress);
+
+        // the business steps with a rule of their own are purged one by one
+        // and excluded from the rule of the event type
+        List<Long> bizStepIds = new ArrayList<Long>(bizStepRetentions.keySet());
+        for (Map.Entry<Long, Long> rule : bizStepRetentions.entrySet()) {
+            if (stopped) {
+                break;
+            }
+            long retention = rule.getValue().longValue();
+            if (retention != RetentionPolicy.KEEP) {
+                List<Long> params = new ArrayList<Long>();
+                params.add(rule.getKey());
+                params.add(Long.valueOf(now - retention));
+                purge(session, eventType, "bizStep=? AND eventTimeMs<?", params, progress);
+            }
+        }
+        long retention = policy.getDefaultRetention(eventType);
+        if (retention != RetentionPolicy.KEEP && !stopped) {
+            StringBuilder where = new StringBuilder("eventTimeMs<?");
+            List<Long> params = new ArrayList<Long>();
+            params.add(Long.valueOf(now - retention));
+            if (!bizStepIds.isEmpty()) {
+                where.append(" AND (bizStep IS NULL OR bizStep NOT IN (");
+                appendPlaceholders(where, bizStepIds.size());
+                where.append("))");
+                params.addAll(bizStepIds);
+            }
+            purge(session, eventType, where.toString(), params, progress);
+        }
+        progress.done();
+    }
+
+    /**
+     * Deletes the events of the given type matching the given condition in
+     * batches of at most <code>batchSize</code> events, oldest first. Each
+     * batch continues after the last event of the previous one, such that the
+     * events kept by the condition are not scanned again for every batch.
+     */
+    private void purge(Session session, String eventType, String where, List<Long> params, Progress progress)
+            throws SQLException {
+        Connection connection = session.connection();
+        String table = "event_" + eventType;
+        String select = "SELECT eventTimeMs, id FROM " + table + " WHERE " + where;
+        String order = " ORDER BY eventTimeMs, id LIMIT " + batchSize;
+        String firstSql = select + order;
+        String nextSql = select + " AND (eventTimeMs>? OR (eventTimeMs=? AND id>?))" + order;
+        LOG.debug("SQL: " + nextSql);
+        Long lastTime = null;
+        long lastId = 0;
+        while (!stopped) {
+            List<Long> ids = new ArrayList<Long>();
+            PreparedStatement ps = connection.prepareStatement(lastTime == null ? firstSql : nextSql);
+            try {
+                int i = 0;
+                for (Long param : params) {
+                    ps.setLong(++i, param.longValue());
+                }
+                if (lastTime != null) {
+                    ps.setLong(++i, lastTime.longValue());
+                    ps.setLong(++i, lastTime.longValue());
+                    ps.setLong(++i, lastId);
+                }
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    lastTime = Long.valueOf(rs.getLong(1));
+                    lastId = rs.getLong(2);
+                    ids.add(Long.valueOf(lastId));
+                }
+                rs.close();
+            } finally {
+                ps.close();
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            long rows = 0;
+            Transaction tx = session.beginTransaction();
+            try {
+                for (String childTable : getChildTables(eventType)) {
+                    rows += delete(connection, childTable, "event_id", ids);
+                }
+                rows += delete(connection, table, "id", ids);
+                tx.commit();
+            } catch (SQLException e) {
+                tx.rollback();
+                throw e;
+            } catch (RuntimeException e) {
+                tx.rollback();
+                throw e;
+            }
+            highWaterMarks.increment(Collections.singletonList(eventType));
+            purgedEvents.addAndGet(ids.size());
+            purgedRows.addAndGet(rows);
+            progress.add(ids.size(), rows);
+
+            if (ids.size() < batchSize) {
+                break;
+            }
+            pause(batchDelay);
+        }
+    }
+
+    private int delete(Connection connection, String table, String column, List<Long> ids) throws SQLException {
+        StringBuilder sql = new StringBuilder("DELETE FROM ").append(table).append(" WHERE ").append(column);
+        sql.append(" IN (");
+        appendPlaceholders(sql, ids.size());
+        sql.append(")");
+        PreparedStatement ps = connection.prepareStatement(sql.toString());
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setLong(i + 1, ids.get(i).longValue());
+            }
+            return ps.executeUpdate();
+        } finally {
+            ps.close();
+        }
+    }
+
+    /**
+     * Drops the partitions of the table of the given event type which end
+     * before the default retention of the event type, if the table is
+     * partitioned, unless they hold events of a business step whose rule keeps
+     * them. The EPCs, business transactions and extensions of the events of a
+     * partition are deleted before it is dropped.
+     */
+    private void dropExpiredPartitions(Session session, String eventType, Map<Long, Long> bizStepRetentions,
+            long now, Progress progress) throws SQLException {
+        long retention = policy.getDefaultRetention(eventType);
+        if (retention == RetentionPolicy.KEEP) {
+            return;
+        }
+        long cutoff = now - retention;
+        Connection connection = session.connection();
+        String table = "event_" + eventType;
+        List<String[]> partitions = PartitionMaintenance.getPartitions(connection, table);
+        String lowerBound = null;
+        for (String[] partition : partitions) {
+            String name = partition[0];
+            String upperBound = partition[1];
+            if (stopped || PartitionMaintenance.FUTURE_PARTITION.equals(name)) {
+                break;
+            }
+            String range = partition[2] + ">=" + lowerBound + " AND " + partition[2] + "<" + upperBound;
+            if (lowerBound != null && Long.parseLong(upperBound) <= cutoff
+                    && !holdsKeptEvents(connection, table, range, upperBound, bizStepRetentions, now)) {
+                dropPartition(session, eventType, name, range, progress);
+            } else {
+                lowerBound = upperBound;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the given range of the given table holds
+     *         events of a business step whose rule does not expire the whole
+     *         range, i.e. everything up to the given upper bound.
+     */
+    private boolean holdsKeptEvents(Connection connection, String table, String range, String upperBound,
+            Map<Long, Long> bizStepRetentions, long now) throws SQLException {
+        for (Map.Entry<Long, Long> rule : bizStepRetentions.entrySet()) {
+            long retention = rule.getValue().longValue();
+            if (retention != RetentionPolicy.KEEP && Long.parseLong(upperBound) <= now - retention) {
+                continue;
+            }
+            PreparedStatement ps = connection.prepareStatement("SELECT id FROM " + table + " WHERE bizStep=? AND "
+                    + range + " LIMIT 1");
+            try {
+                ps.setLong(1, rule.getKey().longValue());
+                ResultSet rs = ps.executeQuery();
+                boolean kept = rs.next();
+                rs.close();
+                if (kept) {
+                    return true;
+                }
+            } finally {
+                ps.close();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes the EPCs, business transactions and extensions of the events in
+     * the given range of the table of the given event type, in batches of at
+     * most <code>batchSize</code> events with consecutive IDs, and then drops
+     * the partition holding these events. If the purger is stopped in between,
+     * the partition is dropped by the next purge.
+     */
+    private void dropPartition(Session session, String eventType, String partition, String range,
+            Progress progress) throws SQLException {
+        Connection connection = session.connection();
+        String table = "event_" + eventType;
+        String selectSql = "SELECT id FROM " + table + " WHERE " + range + " AND id>? ORDER BY id LIMIT " + batchSize;
+        String[] childTables = getChildTables(eventType);
+        String[] deleteSqls = new String[childTables.length];
+        for (int i = 0; i < childTables.length; i++) {
+            deleteSqls[i] = "DELETE " + childTables[i] + " FROM " + childTables[i] + " JOIN " + table + " ON "
+                    + childTables[i] + ".event_id=" + table + ".id WHERE " + table + ".id>=? AND " + table
+                    + ".id<=? AND " + range;
+        }
+        LOG.debug("SQL: " + deleteSqls[0]);
+        long lastId = 0;
+        while (!stopped) {
+            int events = 0;
+            long firstId = 0;
+            PreparedStatement ps = connection.prepareStatement(selectSql);
+            try {
+                ps.setLong(1, lastId);
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    lastId = rs.getLong(1);
+                    if (events++ == 0) {
+                        firstId = lastId;
+                    }
+                }
+                rs.close();
+            } finally {
+                ps.close();
+            }
+            if (events == 0) {
+                break;
+            }
+
+            long rows = events;
+            Transaction tx = session.beginTransaction();
+            try {
+                for (String deleteSql : deleteSqls) {
+                    ps = connection.prepareStatement(deleteSql);
+                    try {
+                        ps.setLong(1, firstId);
+                        ps.setLong(2, lastId);
+                        rows += ps.executeUpdate();
+                    } finally {
+                        ps.close();
+                    }
+                }
+                tx.commit();
+            } catch (SQLException e) {
+                tx.rollback();
+                throw e;
+            } catch (RuntimeException e) {
+                tx.rollback();
+                throw e;
+            }
+            purgedEvents.addAndGet(events);
+            purgedRows.addAndGet(rows);
+            progress.add(events, rows);
+
+            if (events < batchSize) {
+                break;
+            }
+            pause(batchDelay);
+        }
+        if (stopped) {
+            return;
+        }
+
+        Statement stmt = connection.createStatement();
+        try {
+            stmt.executeUpdate("ALTER TABLE " + table + " DROP PARTITION " + partition);
+        } finally {
+            stmt.close();
+        }
+        highWaterMarks.increment(Collections.singletonList(eventType));
+        LOG.info("Dropped expired partition " + partition + " of table " + table);
+    }
+
+    /**
+     * Drops the monthly partitions of the given table which hold no events and
+     * end before the longest retention of its event type, if the table is
+     * partitioned.
+     */
+    private void dropEmptyPartitions(Connection connection, String table, long now) throws SQLException {
+        String eventType = table.substring("event_".length());
+        long retention = policy.getDefaultRetention(eventType);
+        for (Long bizStepRetention : policy.getBizStepRetentions(eventType).values()) {
+            retention = Math.max(retention, bizStepRetention.longValue());
+        }
+        if (retention == RetentionPolicy.KEEP) {
+            return;
+        }
+        long cutoff = now - retention;
+        List<String[]> partitions = PartitionMaintenance.getPartitions(connection, table);
+        String lowerBound = null;
+        for (String[] partition : partitions) {
+            String name = partition[0];
+            String upperBound = partition[1];
+            if (PartitionMaintenance.FUTURE_PARTITION.equals(name)) {
+                break;
+            }
+            if (lowerBound != null && Long.parseLong(upperBound) <= cutoff
+                    && isEmpty(connection, table, partition[2], lowerBound, upperBound)) {
+                Statement stmt = connection.createStatement();
+                try {
+                    stmt.executeUpdate("ALTER TABLE " + table + " DROP PARTITION " + name);
+                } finally {
+                    stmt.close();
+                }
+                LOG.info("Dropped empty partition " + name + " of table " + table);
+            } else {
+                lowerBound = upperBound;
+            }
+        }
+    }
+
+    private boolean isEmpty(Connection connection, String table, String column, String lowerBound,
+            String upperBound) throws SQLException {
+        Statement stmt = connection.createStatement();
+        try {
+            ResultSet rs = stmt.executeQuery("SELECT id FROM " + table + " WHERE " + column + ">=" + lowerBound
+                    + " AND " + column + "<" + upperBound + " LIMIT 1");
+            boolean empty = !rs.next();
+            rs.close();
+            return empty;
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private Long getBizStepId(Connection connection, String uri) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(SQL_SELECT_BIZSTEP_ID);
+        try {
+            ps.setString(1, uri);
+            ResultSet rs = ps.executeQuery();
+            Long id = rs.next() ? Long.valueOf(rs.getLong(1)) : null;
+            rs.close();
+            return id;
+        } finally {
+            ps.close();
+        }
+    }
+
+    /**
+     * @return The tables holding the EPCs, business transactions and
+     *         extensions of events of the given type. QuantityEvents have no
+     *         EPC list.
+     */
+    static String[] getChildTables(String eventType) {
+        String table = "event_" + eventType;
+        if (EpcisConstants.QUANTITY_EVENT.equals(eventType)) {
+            return new String[] { table + "_bizTrans", table + "_extensions" };
+        }
+        return new String[] { table + "_EPCs", table + "_bizTrans", table + "_extensions" };
+    }
+
+    private static void appendPlaceholders(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+    }
+
+    private synchronized void pause(long millis) {
+        if (!stopped && millis > 0) {
+            try {
+                wait(millis);
+            } catch (InterruptedException e) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * @return The number of events deleted since startup.
+     */
+    public long getPurgedEvents() {
+        return purgedEvents.get();
+    }
+
+    /**
+     * @return The number of rows, including those of the EPC, business
+     *         transaction and extension tables, deleted since startup.
+     */
+    public long getPurgedRows() {
+        return purgedRows.get();
+    }
+
+    /**
+     * @return The number of rows deleted per second by the last purge of an
+     *         event type which deleted any events.
+     */
+    public long getLastRowsPerSecond() {
+        return lastRowsPerSecond;
+    }
+
+    /**
+     * Tracks and logs the progress of purging the events of one type.
+     */
+    private class Progress {
+
+        private final String eventType;
+        private final long start = System.currentTimeMillis();
+        private long lastLogged = start;
+        private long events = 0;
+        private long rows = 0;
+
+        Progress(String eventType) {
+            this.eventType = eventType;
+        }
+
+        void add(int batchEvents, long batchRows) {
+            events += batchEvents;
+            rows += batchRows;
+            long now = System.currentTimeMillis();
+            if (now - lastLogged >= PROGRESS_INTERVAL) {
+                lastLogged = now;
+                LOG.info("Purging expired " + eventType + "s: " + events + " events (" + rows + " rows) deleted, "
+                        + getRowsPerSecond(now) + " rows/s");
+            }
+        }
+
+        void done() {
+            if (events > 0) {
+                long now = System.currentTimeMillis();
+                lastRowsPerSecond = getRowsPerSecond(now);
+                LOG.info("Purged " + events + " expired " + eventType + "s (" + rows + " rows) in " + (now - start)
+                        + " ms, " + lastRowsPerSecond + " rows/s");
+            }
+        }
+
+        private long getRowsPerSecond(long now) {
+            return rows * 1000 / Math.max(1, now - start);
+        }
+    }
+}
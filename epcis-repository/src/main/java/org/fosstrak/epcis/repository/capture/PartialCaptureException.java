@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+/**
+ * This Exception is thrown by the {@link CaptureOperationsModule} if a capture
+ * request running in chunked-commit mode failed after some of its events have
+ * already been committed to the database. The cause holds the original error,
+ * i.e. a SAXException, InvalidFormatException or InternalBusinessException.
+ */
+public class PartialCaptureException extends Exception {
+
+    private static final long serialVersionUID = -2841604163285047203L;
+
+    private final int committedEventCount;
+
+    private final int committedShardCount;
+
+    public PartialCaptureException(int committedEventCount, Throwable cause) {
+        this(committedEventCount, 0, cause);
+    }
+
+    public PartialCaptureException(int committedEventCount, int committedShardCount, Throwable cause) {
+        super(committedEventCount + " events were committed before the capture request failed: "
+                + cause.getMessage(), cause);
+        this.committedEventCount = committedEventCount;
+        this.committedShardCount = committedShardCount;
+    }
+
+    /**
+     * @return The number of events of the failed request which have been
+     *         committed to the database and are thus available for querying.
+     */
+    public int getCommittedEventCount() {
+        return committedEventCount;
+    }
+
+    /**
+     * @return The number of shards, counted from the first one, which have
+     *         stored their part of the failed request completely, see
+     *         {@link ShardedCapture}; 0 if no shards are configured.
+     */
+    public int getCommittedShardCount() {
+        return committedShardCount;
+    }
+}
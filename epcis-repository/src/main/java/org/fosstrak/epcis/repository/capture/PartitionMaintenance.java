@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+/**
+ * The PartitionMaintenance keeps the monthly partitions of the event tables up
+ * to date, if the tables have been partitioned with
+ * <code>epcis_partitioning.sql</code>. Each month is stored in a partition
+ * named <code>pYYYYMM</code>, bounded by the first millisecond of the next
+ * month (UTC); the partition <code>p_future</code> holds anything beyond the
+ * last month.
+ * <p>
+ * At startup and every 12 hours, the monthly partitions up to the configured
+ * number of months ahead are split off <code>p_future</code>, starting where
+ * the last partition before <code>p_future</code> ends. Splitting
+ * <code>p_future</code> copies all rows it holds into the new partitions, thus
+ * it must not hold many events: <code>epcis_partitioning.sql</code> puts the
+ * events captured before the current month into the partition
+ * <code>p_history</code>. If there is no such partition, the monthly partitions
+ * start with the current month and the first split copies all events held by
+ * <code>p_future</code> once, while the tables are locked.
+ */
+class PartitionMaintenance implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(PartitionMaintenance.class);
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final long CHECK_INTERVAL = 12 * 60 * 60 * 1000L;
+
+    private static final String[] EVENT_TABLES = { "event_AggregationEvent", "event_ObjectEvent",
+            "event_QuantityEvent", "event_TransactionEvent" };
+
+    private static final String SQL_SELECT_PARTITIONS = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, PARTITION_EXPRESSION FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA=DATABASE() AND TABLE_NAME=? ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final SessionFactory sessionFactory;
+
+    private final int monthsAhead;
+
+    private Thread thread;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param sessionFactory
+     *            The factory of the sessions providing the database
+     *            connections.
+     * @param monthsAhead
+     *            The number of months after the current one for which the
+     *            partitions are created in advance.
+     */
+    public PartitionMaintenance(SessionFactory sessionFactory, int monthsAhead) {
+        this.sessionFactory = sessionFactory;
+        this.monthsAhead = monthsAhead;
+    }
+
+    public synchronized void start() {
+        thread = new Thread(this, "PartitionMaintenance");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void run() {
+        while (!stopped) {
+            try {
+                createPartitions();
+            } catch (Exception e) {
+                LOG.error("Unable to create the partitions of the event tables: " + e.toString(), e);
+            }
+            synchronized (this) {
+                if (!stopped) {
+                    try {
+                        wait(CHECK_INTERVAL);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the missing monthly partitions of the partitioned event tables.
+     * 
+     * @throws SQLException
+     *             If the partitions could not be read or created.
+     */
+    public void createPartitions() throws SQLException {
+        Session session = sessionFactory.openSession();
+        try {
+            Connection connection = session.connection();
+            long now = System.currentTimeMillis();
+            for (String table : EVENT_TABLES) {
+                createPartitions(connection, table, now);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private void createPartitions(Connection connection, String table, long now) throws SQLException {
+        List<String[]> partitions = getPartitions(connection, table);
+        if (partitions.isEmpty()) {
+            LOG.debug("Table " + table + " is not partitioned");
+            return;
+        }
+        String[] last = partitions.get(partitions.size() - 1);
+        if (!FUTURE_PARTITION.equals(last[0])) {
+            LOG.warn("The last partition of table " + table + " is not " + FUTURE_PARTITION
+                    + ", its partitions are not maintained");
+            return;
+        }
+        long from = getStart(partitions, now);
+        if (from == now) {
+            LOG.warn("Table " + table + " has no partition before " + FUTURE_PARTITION
+                    + " holding the past events, all rows of " + FUTURE_PARTITION + " are copied once");
+        }
+        Map<String, Long> months = getMonthlyPartitions(from, now, monthsAhead);
+        if (months.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("ALTER TABLE ").append(table);
+        sql.append(" REORGANIZE PARTITION ").append(FUTURE_PARTITION).append(" INTO (");
+        for (Map.Entry<String, Long> month : months.entrySet()) {
+            sql.append("PARTITION ").append(month.getKey()).append(" VALUES LESS THAN (").append(month.getValue());
+            sql.append("), ");
+        }
+        sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        LOG.debug("SQL: " + sql);
+        Statement stmt = connection.createStatement();
+        try {
+            stmt.executeUpdate(sql.toString());
+        } finally {
+            stmt.close();
+        }
+        LOG.info("Created partitions " + months.keySet() + " of table " + table);
+    }
+
+    /**
+     * @return The name, upper bound and partitioning expression of the
+     *         partitions of the given table, or an empty list if the table is
+     *         not partitioned.
+     */
+    static List<String[]> getPartitions(Connection connection, String table) throws SQLException {
+        List<String[]> partitions = new ArrayList<String[]>();
+        PreparedStatement ps = connection.prepareStatement(SQL_SELECT_PARTITIONS);
+        try {
+            ps.setString(1, table);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                if (rs.getString(1) != null) {
+                    partitions.add(new String[] { rs.getString(1), rs.getString(2), rs.getString(3) });
+                }
+            }
+            rs.close();
+        } finally {
+            ps.close();
+        }
+        return partitions;
+    }
+
+    /**
+     * Returns the start of the new partitions: the upper bound of the last
+     * partition before <code>p_future</code>, or the current time if no such
+     * partition bounds any events.
+     * 
+     * @param partitions
+     *            The partitions as returned by
+     *            {@link #getPartitions(Connection, String)}.
+     * @param now
+     *            The current time (in milliseconds).
+     * @return The start time (in milliseconds).
+     */
+    static long getStart(List<String[]> partitions, long now) {
+        long from = 0;
+        for (String[] partition : partitions.subList(0, partitions.size() - 1)) {
+            from = Math.max(from, Long.parseLong(partition[1]));
+        }
+        return from <= 0 ? now : from;
+    }
+
+    /**
+     * Returns the monthly partitions from the month containing the given start
+     * time up to the given number of months after the current one.
+     * 
+     * @param from
+     *            The start time (in milliseconds).
+     * @param now
+     *            The current time (in milliseconds).
+     * @param monthsAhead
+     *            The number of months after the current one.
+     * @return The names of the partitions (<code>pYYYYMM</code>) mapped to
+     *         their upper bounds, i.e. the first millisecond of the next month.
+     */
+    static Map<String, Long> getMonthlyPartitions(long from, long now, int monthsAhead) {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        SimpleDateFormat format = new SimpleDateFormat("'p'yyyyMM");
+        format.setTimeZone(utc);
+        Calendar month = new GregorianCalendar(utc);
+        month.setTimeInMillis(from);
+        month.set(Calendar.DAY_OF_MONTH, 1);
+        month.set(Calendar.HOUR_OF_DAY, 0);
+        month.set(Calendar.MINUTE, 0);
+        month.set(Calendar.SECOND, 0);
+        month.set(Calendar.MILLISECOND, 0);
+        Calendar end = new GregorianCalendar(utc);
+        end.setTimeInMillis(now);
+        end.add(Calendar.MONTH, monthsAhead);
+
+        Map<String, Long> months = new LinkedHashMap<String, Long>();
+        while (!month.after(end)) {
+            String name = format.format(month.getTime());
+            month.add(Calendar.MONTH, 1);
+            months.put(name, Long.valueOf(month.getTimeInMillis()));
+        }
+        return months;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The RetentionPolicy tells for how long the events are kept, depending on
+ * their event type and business step. It is given as a comma-separated list of
+ * rules of the form
+ * 
+ * <pre>
+ * eventType[:bizStep]=days
+ * </pre>
+ * 
+ * where <code>eventType</code> is one of the four EPCIS event types or
+ * <code>*</code> for all of them, and <code>days</code> is the number of days
+ * after the event time an event expires, or <code>forever</code> to keep the
+ * events. For example,
+ * 
+ * <pre>
+ * *=730, ObjectEvent=365, *:urn:epcglobal:cbv:bizstep:receiving=90
+ * </pre>
+ * 
+ * The most specific rule applies to an event: a rule for its event type and
+ * business step, for any event type and its business step, for its event type,
+ * or for any event type, in this order. Events no rule applies to are kept.
+ */
+class RetentionPolicy {
+
+    static final String ANY_EVENT_TYPE = "*";
+
+    static final String FOREVER = "forever";
+
+    /**
+     * The retention of an event which is kept forever.
+     */
+    static final long KEEP = -1L;
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * The event types (or <code>*</code>) mapped to the business steps (or
+     * <code>null</code> for the rule of the event type) mapped to the
+     * retention in milliseconds.
+     */
+    private final Map<String, Map<String, Long>> rules = new LinkedHashMap<String, Map<String, Long>>();
+
+    /**
+     * Parses the given retention policy.
+     * 
+     * @param policy
+     *            The comma-separated retention rules.
+     * @return The retention policy.
+     * @throws IllegalArgumentException
+     *             If a rule is malformed.
+     */
+    public static RetentionPolicy parse(String policy) {
+        RetentionPolicy retentionPolicy = new RetentionPolicy();
+        if (policy == null) {
+            return retentionPolicy;
+        }
+        for (String rule : policy.split(",")) {
+            rule = rule.trim();
+            if (rule.length() == 0) {
+                continue;
+            }
+            int eq = rule.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Invalid retention rule '" + rule
+                        + "': expected eventType[:bizStep]=days");
+            }
+            String selector = rule.substring(0, eq).trim();
+            String days = rule.substring(eq + 1).trim();
+            String eventType = selector;
+            String bizStep = null;
+            int colon = selector.indexOf(':');
+            if (colon >= 0) {
+                eventType = selector.substring(0, colon).trim();
+                bizStep = selector.substring(colon + 1).trim();
+                if (bizStep.length() == 0) {
+                    throw new IllegalArgumentException("Invalid retention rule '" + rule + "': empty business step");
+                }
+            }
+            if (eventType.length() == 0) {
+                throw new IllegalArgumentException("Invalid retention rule '" + rule + "': empty event type");
+            }
+            long retention;
+            if (FOREVER.equalsIgnoreCase(days)) {
+                retention = KEEP;
+            } else {
+                try {
+                    retention = Long.parseLong(days) * DAY;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid retention rule '" + rule + "': '" + days
+                            + "' is neither a number of days nor '" + FOREVER + "'");
+                }
+                if (retention < 0) {
+                    throw new IllegalArgumentException("Invalid retention rule '" + rule
+                            + "': the number of days must not be negative");
+                }
+            }
+            Map<String, Long> bizSteps = retentionPolicy.rules.get(eventType);
+            if (bizSteps == null) {
+                bizSteps = new LinkedHashMap<String, Long>();
+                retentionPolicy.rules.put(eventType, bizSteps);
+            }
+            bizSteps.put(bizStep, Long.valueOf(retention));
+        }
+        return retentionPolicy;
+    }
+
+    /**
+     * @return <code>true</code> if the policy has no rules, i.e. all events are
+     *         kept.
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return <code>true</code> if any rule applies to events of the given
+     *         type.
+     */
+    public boolean appliesTo(String eventType) {
+        return rules.containsKey(eventType) || rules.containsKey(ANY_EVENT_TYPE);
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @param bizStep
+     *            The business step of the event, or <code>null</code>.
+     * @return The retention (in milliseconds) of events of the given type and
+     *         business step, or {@link #KEEP} if they are kept forever.
+     */
+    public long getRetention(String eventType, String bizStep) {
+        if (bizStep != null) {
+            Long retention = getRule(eventType, bizStep);
+            if (retention == null) {
+                retention = getRule(ANY_EVENT_TYPE, bizStep);
+            }
+            if (retention != null) {
+                return retention.longValue();
+            }
+        }
+        return getDefaultRetention(eventType);
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The retention (in milliseconds) of events of the given type
+     *         whose business step has no rule of its own, or {@link #KEEP}
+     *         if they are kept forever.
+     */
+    public long getDefaultRetention(String eventType) {
+        Long retention = getRule(eventType, null);
+        if (retention == null) {
+            retention = getRule(ANY_EVENT_TYPE, null);
+        }
+        return retention == null ? KEEP : retention.longValue();
+    }
+
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The business steps with a rule of their own for events of the
+     *         given type, mapped to their retention (in milliseconds, or
+     *         {@link #KEEP}).
+     */
+    public Map<String, Long> getBizStepRetentions(String eventType) {
+        Map<String, Long> retentions = new LinkedHashMap<String, Long>();
+        putBizStepRules(ANY_EVENT_TYPE, retentions);
+        putBizStepRules(eventType, retentions);
+        return retentions;
+    }
+
+    private void putBizStepRules(String eventType, Map<String, Long> retentions) {
+        Map<String, Long> bizSteps = rules.get(eventType);
+        if (bizSteps != null) {
+            for (Map.Entry<String, Long> rule : bizSteps.entrySet()) {
+                if (rule.getKey() != null) {
+                    retentions.put(rule.getKey(), rule.getValue());
+                }
+            }
+        }
+    }
+
+    private Long getRule(String eventType, String bizStep) {
+        Map<String, Long> bizSteps = rules.get(eventType);
+        return bizSteps == null ? null : bizSteps.get(bizStep);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Map<String, Long>> eventType : rules.entrySet()) {
+            for (Map.Entry<String, Long> rule : eventType.getValue().entrySet()) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(eventType.getKey());
+                if (rule.getKey() != null) {
+                    sb.append(':').append(rule.getKey());
+                }
+                long retention = rule.getValue().longValue();
+                sb.append('=').append(retention == KEEP ? FOREVER : String.valueOf(retention / DAY));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.InternalBusinessException;
+import org.fosstrak.epcis.repository.InvalidFormatException;
+import org.xml.sax.SAXException;
+
+/**
+ * The ShardedCapture spreads the events of capture requests over several
+ * databases (shards), each of which holds a complete EPCIS repository schema
+ * and is served by a CaptureOperationsModule of its own. An event is stored on
+ * the shard given by the hash of a single key: its parentID if it has one, else
+ * its first EPC (of the epcList or childEPCs), else its EPC class for
+ * QuantityEvents. Events without any of these are stored on the first shard.
+ * Thus ObjectEvents with the same first EPC end up on the same shard, but an
+ * AggregationEvent is stored with its parentID and not with its children, and
+ * an ObjectEvent listing several EPCs only with its first one; queries for an
+ * EPC must therefore ask all shards. Master data is stored on all shards, and
+ * so is the vocabulary the events refer to (their business steps,
+ * dispositions, read points, business locations, business transactions and
+ * EPC classes): each shard is sent the elements used by events stored on
+ * other shards as an EPCIS master data document without attributes, which it
+ * stores before its events.
+ * <p>
+ * A capture request is spooled to a temporary file and validated as a whole.
+ * It is then split into one EPCIS document per shard while being read, each
+ * written to a temporary file of its own, and these are captured by the
+ * shards one after the other. Only the events of a single EPCIS event, the
+ * header of the document and the distinct vocabulary elements it uses are
+ * held in memory, but the request and its parts
+ * take up twice its size in the temporary directory until it has been stored.
+ * Each shard stores its part in a single transaction, whatever its commit
+ * interval, so a failed shard has stored none of its events. If a shard fails
+ * after others have committed their part, a {@link PartialCaptureException}
+ * is thrown, telling how many shards have stored their part; a retry of the
+ * request may skip these.
+ */
+class ShardedCapture {
+
+    private static final Log LOG = LogFactory.getLog(ShardedCapture.class);
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final XMLEventFactory XML_EVENT_FACTORY = XMLEventFactory.newInstance();
+
+    private static final String MASTER_DATA_NS = "urn:epcglobal:epcis-masterdata:xsd:1";
+
+    /**
+     * The vocabulary types of the event fields holding a vocabulary element.
+     */
+    private static final Map<String, String> FIELD_VOCABULARY_TYPES = new LinkedHashMap<String, String>();
+
+    static {
+        FIELD_VOCABULARY_TYPES.put("bizStep", EpcisConstants.BUSINESS_STEP_ID);
+        FIELD_VOCABULARY_TYPES.put("disposition", EpcisConstants.DISPOSITION_ID);
+        FIELD_VOCABULARY_TYPES.put("readPoint", EpcisConstants.READ_POINT_ID);
+        FIELD_VOCABULARY_TYPES.put("bizLocation", EpcisConstants.BUSINESS_LOCATION_ID);
+        FIELD_VOCABULARY_TYPES.put("bizTransactionList", EpcisConstants.BUSINESS_TRANSACTION_ID);
+        FIELD_VOCABULARY_TYPES.put("epcClass", EpcisConstants.EPC_CLASS_ID);
+    }
+
+    private final CaptureOperationsModule validator;
+
+    private final List<CaptureOperationsModule> shards;
+
+    /**
+     * @param validator
+     *            The module validating the capture requests.
+     * @param shards
+     *            The modules storing the events of the shards.
+     */
+    public ShardedCapture(CaptureOperationsModule validator, List<CaptureOperationsModule> shards) {
+        this.validator = validator;
+        this.shards = shards;
+    }
+
+    /**
+     * Validates the given capture request and stores its events on their
+     * shards, or its master data on all shards.
+     * 
+     * @throws SAXException
+     *             If the XML document is malformed or invalid.
+     * @throws PartialCaptureException
+     *             If a shard failed after others have committed their events.
+     */
+    public void doCapture(InputStream in, Principal principal) throws SAXException, InternalBusinessException,
+            InvalidFormatException, PartialCaptureException {
+        doCapture(in, principal, 0);
+    }
+
+    /**
+     * Validates the given capture request and stores its events on their
+     * shards, skipping the shards which have already stored their part.
+     * 
+     * @param firstShard
+     *            The first shard to store its part of the request, see
+     *            {@link PartialCaptureException#getCommittedShardCount()}.
+     * @throws SAXException
+     *             If the XML document is malformed or invalid.
+     * @throws PartialCaptureException
+     *             If a shard failed after others have committed their events.
+     */
+    public void doCapture(InputStream in, Principal principal, int firstShard) throws SAXException,
+            InternalBusinessException, InvalidFormatException, PartialCaptureException {
+        File document = null;
+        Parts parts = null;
+        try {
+            try {
+                document = spool(in);
+            } catch (IOException e) {
+                throw new SAXException("Unable to read the capture request: " + e.getMessage(), e);
+            }
+            InputStream validated = open(document);
+            try {
+                validator.validate(validated);
+            } finally {
+                close(validated);
+            }
+            try {
+                parts = split(document, shards.size());
+            } catch (XMLStreamException e) {
+                throw new SAXException(e.getMessage(), e);
+            } catch (IOException e) {
+                throw new InternalBusinessException("Unable to split the capture request: " + e.getMessage(), e);
+            }
+            capture(parts, principal, firstShard);
+        } finally {
+            if (parts != null) {
+                parts.delete();
+            }
+            if (document != null && !document.delete()) {
+                LOG.warn("Unable to delete the temporary file " + document);
+            }
+        }
+    }
+
+    private void capture(Parts parts, Principal principal, int firstShard) throws SAXException,
+            InternalBusinessException, InvalidFormatException, PartialCaptureException {
+        int committedEventCount = 0;
+        boolean committed = false;
+        for (int i = firstShard; i < shards.size(); i++) {
+            if (parts.vocabularies[i] != null) {
+                // the vocabulary of the events stored elsewhere is inserted
+                // like an event inserts new vocabulary, i.e. it may stay if
+                // the events fail, and is inserted again on a retry
+                LOG.debug("Storing the vocabulary of other shards on shard " + i);
+                InputStream vocabulary = open(parts.vocabularies[i]);
+                try {
+                    shards.get(i).doCaptureInOneTransaction(vocabulary, principal);
+                } catch (SAXException e) {
+                    throw partialCapture(committed, committedEventCount, i, e);
+                } catch (InvalidFormatException e) {
+                    throw partialCapture(committed, committedEventCount, i, e);
+                } catch (InternalBusinessException e) {
+                    throw partialCapture(committed, committedEventCount, i, e);
+                } finally {
+                    close(vocabulary);
+                }
+            }
+            if (parts.documents[i] == null) {
+                continue;
+            }
+            LOG.debug("Storing " + parts.eventCounts[i] + " events on shard " + i);
+            InputStream part = open(parts.documents[i]);
+            try {
+                shards.get(i).doCaptureInOneTransaction(part, principal);
+            } catch (SAXException e) {
+                throw partialCapture(committed, committedEventCount, i, e);
+            } catch (InvalidFormatException e) {
+                throw partialCapture(committed, committedEventCount, i, e);
+            } catch (InternalBusinessException e) {
+                throw partialCapture(committed, committedEventCount, i, e);
+            } finally {
+                close(part);
+            }
+            committed = true;
+            committedEventCount += parts.eventCounts[i];
+        }
+    }
+
+    /**
+     * @return The given exception if no shard has committed anything yet, a
+     *         PartialCaptureException otherwise.
+     */
+    private static <E extends Exception> E partialCapture(boolean committed, int committedEventCount,
+            int committedShardCount, E e) throws PartialCaptureException {
+        if (committed) {
+            throw new PartialCaptureException(committedEventCount, committedShardCount, e);
+        }
+        return e;
+    }
+
+    /**
+     * Copies the given capture request to a new temporary file.
+     */
+    static File spool(InputStream in) throws IOException {
+        File file = File.createTempFile("epcis-capture", ".xml");
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(file));
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            out.close();
+            out = null;
+            return file;
+        } finally {
+            if (out != null) {
+                close(out);
+                file.delete();
+            }
+        }
+    }
+
+    static InputStream open(File file) throws InternalBusinessException {
+        try {
+            return new BufferedInputStream(new FileInputStream(file));
+        } catch (IOException e) {
+            throw new InternalBusinessException("Unable to read the temporary file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    static void close(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            LOG.warn("Unable to close a temporary file: " + e.getMessage());
+        }
+    }
+
+    private static void close(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            LOG.warn("Unable to close a temporary file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param key
+     *            The parentID, EPC or EPC class of an event, or
+     *            <code>null</code>.
+     * @param shardCount
+     *            The number of shards.
+     * @return The index of the shard storing the event.
+     */
+    static int getShard(String key, int shardCount) {
+        if (key == null) {
+            return 0;
+        }
+        return (key.hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
+    /**
+     * Splits the given EPCIS document into one document per shard, holding the
+     * header and the events of the shard, while reading it. The documents of
+     * the shards are written to temporary files, as are the master data
+     * documents holding, for each shard, the vocabulary elements used by
+     * events of other shards but by none of its own. An EPCIS master data
+     * document is passed to all shards unchanged.
+     * 
+     * @param document
+     *            The file holding the valid EPCIS (master data) document.
+     * @param shardCount
+     *            The number of shards.
+     * @return The documents of the shards, <code>null</code> for shards
+     *         without events.
+     * @throws XMLStreamException
+     *             If the document cannot be parsed.
+     * @throws IOException
+     *             If the documents of the shards cannot be written.
+     */
+    static Parts split(File document, int shardCount) throws XMLStreamException, IOException {
+        Parts parts = new Parts(document, shardCount);
+        List<XMLEvent> head = new ArrayList<XMLEvent>();
+        List<XMLEvent> tail = new ArrayList<XMLEvent>();
+        OutputStream[] outs = new OutputStream[shardCount];
+        XMLEventWriter[] writers = new XMLEventWriter[shardCount];
+        boolean done = false;
+
+        InputStream in = new BufferedInputStream(new FileInputStream(document));
+        XMLEventReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLEventReader(in);
+            int depth = 0;
+            int listDepth = -1;
+            boolean inList = false;
+            boolean afterList = false;
+            boolean masterData = false;
+            List<XMLEvent> event = null;
+            String field = null;
+            String parentId = null;
+            String epc = null;
+            String epcClass = null;
+            String bizTransType = null;
+            List<String[]> eventVocabulary = null;
+            // the shards using each vocabulary element, by vocabulary type
+            Map<String, Map<String, Set<Integer>>> vocabulary = new LinkedHashMap<String, Map<String, Set<Integer>>>();
+            StartElement root = null;
+            String textField = null;
+            StringBuilder text = null;
+            int eventCount = 0;
+            while (reader.hasNext()) {
+                XMLEvent e = reader.nextEvent();
+                if (e.isStartElement()) {
+                    depth++;
+                    QName qname = e.asStartElement().getName();
+                    String name = qname.getLocalPart();
+                    boolean core = XMLConstants.NULL_NS_URI.equals(qname.getNamespaceURI());
+                    if (depth == 1) {
+                        if (CaptureOperationsModule.EPCIS_MASTER_DATA_DOCUMENT.equals(name)) {
+                            masterData = true;
+                            break;
+                        }
+                        root = e.asStartElement();
+                    }
+                    if (listDepth < 0 && "EventList".equals(name)) {
+                        listDepth = depth;
+                    } else if (listDepth > 0 && !afterList) {
+                        if (depth == listDepth + 1) {
+                            // an event starts
+                            event = new ArrayList<XMLEvent>();
+                            eventVocabulary = new ArrayList<String[]>();
+                            parentId = null;
+                            epc = null;
+                            epcClass = null;
+                        } else if (depth == listDepth + 2) {
+                            field = core ? name : null;
+                            if (core
+                                    && ("parentID".equals(name) || "epcClass".equals(name)
+                                            || "bizStep".equals(name) || "disposition".equals(name))) {
+                                textField = name;
+                                text = new StringBuilder();
+                            }
+                        } else if (depth == listDepth + 3 && core) {
+                            if (epc == null && "epc".equals(name)
+                                    && ("epcList".equals(field) || "childEPCs".equals(field))) {
+                                textField = name;
+                                text = new StringBuilder();
+                            } else if ("id".equals(name) && ("readPoint".equals(field) || "bizLocation".equals(field))) {
+                                textField = field;
+                                text = new StringBuilder();
+                            } else if ("bizTransaction".equals(name) && "bizTransactionList".equals(field)) {
+                                Attribute type = e.asStartElement().getAttributeByName(new QName("type"));
+                                bizTransType = type != null ? type.getValue().trim() : null;
+                                textField = field;
+                                text = new StringBuilder();
+                            }
+                        }
+                    }
+                } else if (e.isCharacters() && text != null) {
+                    text.append(e.asCharacters().getData());
+                }
+
+                if (event != null) {
+                    event.add(e);
+                } else if (afterList) {
+                    tail.add(e);
+                } else if (inList) {
+                    // whitespace and comments between the events are dropped
+                    if (e.isEndElement()) {
+                        afterList = true;
+                        tail.add(e);
+                    }
+                } else {
+                    if (e.isStartDocument()) {
+                        // the parts are written in UTF-8
+                        e = XML_EVENT_FACTORY.createStartDocument("UTF-8");
+                    }
+                    head.add(e);
+                    inList = listDepth > 0;
+                }
+
+                if (e.isEndElement()) {
+                    if (text != null) {
+                        String value = text.toString().trim();
+                        if ("epc".equals(textField)) {
+                            epc = value;
+                        } else if ("parentID".equals(textField)) {
+                            parentId = value;
+                        } else {
+                            if ("epcClass".equals(textField)) {
+                                epcClass = value;
+                            }
+                            eventVocabulary.add(new String[] { FIELD_VOCABULARY_TYPES.get(textField), value });
+                            if (bizTransType != null) {
+                                eventVocabulary.add(new String[] { EpcisConstants.BUSINESS_TRANSACTION_TYPE_ID,
+                                        bizTransType });
+                                bizTransType = null;
+                            }
+                        }
+                        textField = null;
+                        text = null;
+                    }
+                    if (event != null && depth == listDepth + 1) {
+                        // an event ends: write it to the document of its shard
+                        String key = parentId != null ? parentId : epc != null ? epc : epcClass;
+                        int shard = getShard(key, shardCount);
+                        if (writers[shard] == null) {
+                            parts.documents[shard] = File.createTempFile("epcis-shard" + shard + "-", ".xml");
+                            outs[shard] = new BufferedOutputStream(new FileOutputStream(parts.documents[shard]));
+                            writers[shard] = XML_OUTPUT_FACTORY.createXMLEventWriter(outs[shard], "UTF-8");
+                            for (XMLEvent h : head) {
+                                writers[shard].add(h);
+                            }
+                        }
+                        for (XMLEvent x : event) {
+                            writers[shard].add(x);
+                        }
+                        for (String[] element : eventVocabulary) {
+                            Map<String, Set<Integer>> elements = vocabulary.get(element[0]);
+                            if (elements == null) {
+                                elements = new LinkedHashMap<String, Set<Integer>>();
+                                vocabulary.put(element[0], elements);
+                            }
+                            Set<Integer> elementShards = elements.get(element[1]);
+                            if (elementShards == null) {
+                                elementShards = new HashSet<Integer>();
+                                elements.put(element[1], elementShards);
+                            }
+                            elementShards.add(Integer.valueOf(shard));
+                        }
+                        parts.eventCounts[shard]++;
+                        eventCount++;
+                        event = null;
+                        eventVocabulary = null;
+                    }
+                    depth--;
+                }
+            }
+            if (masterData || eventCount == 0) {
+                // master data goes to all shards, an empty document anywhere
+                for (int i = 0; i < shardCount; i++) {
+                    parts.documents[i] = masterData || i == 0 ? document : null;
+                }
+            } else {
+                for (int i = 0; i < shardCount; i++) {
+                    if (writers[i] != null) {
+                        for (XMLEvent t : tail) {
+                            writers[i].add(t);
+                        }
+                        writers[i].close();
+                        outs[i].close();
+                        outs[i] = null;
+                    }
+                    parts.vocabularies[i] = writeVocabulary(root, vocabulary, i);
+                }
+            }
+            done = true;
+            return parts;
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+            close(in);
+            for (OutputStream out : outs) {
+                if (out != null) {
+                    close(out);
+                }
+            }
+            if (!done) {
+                parts.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes the vocabulary elements which the given shard does not use itself
+     * to an EPCIS master data document in a new temporary file.
+     * 
+     * @param root
+     *            The root element of the EPCIS document, whose schemaVersion
+     *            and creationDate the master data document takes.
+     * @param vocabulary
+     *            The shards using each vocabulary element, by vocabulary type.
+     * @param shard
+     *            The shard the document is written for.
+     * @return The file holding the document, or <code>null</code> if the
+     *         shard uses all vocabulary elements itself.
+     */
+    private static File writeVocabulary(StartElement root, Map<String, Map<String, Set<Integer>>> vocabulary,
+            int shard) throws XMLStreamException, IOException {
+        Integer key = Integer.valueOf(shard);
+        File file = null;
+        OutputStream out = null;
+        XMLStreamWriter writer = null;
+        boolean done = false;
+        try {
+            for (Map.Entry<String, Map<String, Set<Integer>>> type : vocabulary.entrySet()) {
+                boolean typeStarted = false;
+                for (Map.Entry<String, Set<Integer>> element : type.getValue().entrySet()) {
+                    if (element.getValue().contains(key)) {
+                        continue;
+                    }
+                    if (writer == null) {
+                        file = File.createTempFile("epcis-shard" + shard + "-vocabulary-", ".xml");
+                        out = new BufferedOutputStream(new FileOutputStream(file));
+                        writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+                        writer.writeStartDocument("UTF-8", "1.0");
+                        writer.writeStartElement("epcismd", CaptureOperationsModule.EPCIS_MASTER_DATA_DOCUMENT,
+                                MASTER_DATA_NS);
+                        writer.writeNamespace("epcismd", MASTER_DATA_NS);
+                        for (String attribute : new String[] { "schemaVersion", "creationDate" }) {
+                            Attribute value = root.getAttributeByName(new QName(attribute));
+                            if (value != null) {
+                                writer.writeAttribute(attribute, value.getValue());
+                            }
+                        }
+                        writer.writeStartElement("EPCISBody");
+                        writer.writeStartElement("VocabularyList");
+                    }
+                    if (!typeStarted) {
+                        writer.writeStartElement("Vocabulary");
+                        writer.writeAttribute("type", type.getKey());
+                        writer.writeStartElement("VocabularyElementList");
+                        typeStarted = true;
+                    }
+                    writer.writeEmptyElement("VocabularyElement");
+                    writer.writeAttribute("id", element.getKey());
+                }
+                if (typeStarted) {
+                    writer.writeEndElement();
+                    writer.writeEndElement();
+                }
+            }
+            if (writer != null) {
+                writer.writeEndDocument();
+                writer.close();
+                out.close();
+                out = null;
+            }
+            done = true;
+            return file;
+        } finally {
+            if (out != null) {
+                close(out);
+            }
+            if (!done && file != null && !file.delete()) {
+                LOG.warn("Unable to delete the temporary file " + file);
+            }
+        }
+    }
+
+    /**
+     * The parts of a capture request to be stored on the different shards.
+     */
+    static class Parts {
+        final File document;
+        final File[] documents;
+        final int[] eventCounts;
+        final File[] vocabularies;
+
+        Parts(File document, int shardCount) {
+            this.document = document;
+            documents = new File[shardCount];
+            eventCounts = new int[shardCount];
+            vocabularies = new File[shardCount];
+        }
+
+        /**
+         * Deletes the temporary files of the parts, but not the document they
+         * have been split from.
+         */
+        void delete() {
+            for (File part : documents) {
+                if (part != null && !part.equals(document) && !part.delete()) {
+                    LOG.warn("Unable to delete the temporary file " + part);
+                }
+            }
+            for (File part : vocabularies) {
+                if (part != null && !part.delete()) {
+                    LOG.warn("Unable to delete the temporary file " + part);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * A StAX filter which validates the document against an XML schema while it is
+ * being read. Every event pulled from the underlying reader is forwarded to a
+ * {@link ValidatorHandler} before it is returned to the caller, so a consumer
+ * only ever sees content which has already passed validation. The first schema
+ * error aborts reading with an {@link XMLStreamException} whose nested
+ * exception is the {@link SAXParseException} reported by the validator.
+ * <p>
+ * The filter must be created while the underlying reader is positioned on the
+ * document's root element.
+ */
+class ValidatingStreamReader extends StreamReaderDelegate {
+
+    private static final Log LOG = LogFactory.getLog(ValidatingStreamReader.class);
+
+    private final ValidatorHandler validator;
+
+    private final AttributesImpl attributes = new AttributesImpl();
+
+    private long validationTime = 0;
+
+    /**
+     * Creates a new reader which validates the content of the given reader
+     * against the given schema.
+     * 
+     * @param reader
+     *            The underlying reader, positioned on the root element.
+     * @param schema
+     *            The schema to validate against.
+     * @throws XMLStreamException
+     *             If the root element is invalid.
+     */
+    public ValidatingStreamReader(XMLStreamReader reader, Schema schema) throws XMLStreamException {
+        super(reader);
+        validator = schema.newValidatorHandler();
+        validator.setErrorHandler(new ErrorHandler() {
+            public void warning(SAXParseException e) throws SAXException {
+                LOG.warn("warning while validating XML input: " + e.getMessage());
+            }
+
+            public void fatalError(SAXParseException e) throws SAXException {
+                LOG.error("non-recovarable error while validating XML input: " + e.getMessage());
+                throw e;
+            }
+
+            public void error(SAXParseException e) throws SAXException {
+                LOG.error("error while validating XML input: " + e.getMessage());
+                throw e;
+            }
+        });
+        validator.setDocumentLocator(new Locator() {
+            public String getPublicId() {
+                return getLocation().getPublicId();
+            }
+
+            public String getSystemId() {
+                return getLocation().getSystemId();
+            }
+
+            public int getLineNumber() {
+                return getLocation().getLineNumber();
+            }
+
+            public int getColumnNumber() {
+                return getLocation().getColumnNumber();
+            }
+        });
+        long start = System.nanoTime();
+        try {
+            validator.startDocument();
+            validate(reader.getEventType());
+        } catch (SAXException e) {
+            throw new XMLStreamException(e.getMessage(), getLocation(), e);
+        } finally {
+            validationTime += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int next() throws XMLStreamException {
+        int eventType = super.next();
+        long start = System.nanoTime();
+        try {
+            validate(eventType);
+        } catch (SAXException e) {
+            throw new XMLStreamException(e.getMessage(), getLocation(), e);
+        } finally {
+            validationTime += System.nanoTime() - start;
+        }
+        return eventType;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented on top of {@link #next()} such that no content bypasses the
+     * validator.
+     */
+    public int nextTag() throws XMLStreamException {
+        int eventType = next();
+        while (eventType == XMLStreamConstants.COMMENT || eventType == XMLStreamConstants.PROCESSING_INSTRUCTION
+                || (isCharacters() && isWhiteSpace())) {
+            eventType = next();
+        }
+        if (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("expected start or end tag", getLocation());
+        }
+        return eventType;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implemented on top of {@link #next()} such that no content bypasses the
+     * validator.
+     */
+    public String getElementText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int eventType = next();
+        while (eventType != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                throw new XMLStreamException("element text content may not contain start tag", getLocation());
+            } else if (isCharacters() || eventType == XMLStreamConstants.ENTITY_REFERENCE) {
+                text.append(getText());
+            }
+            eventType = next();
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return The time spent in the validator, in nanoseconds.
+     */
+    public long getValidationTime() {
+        return validationTime;
+    }
+
+    /**
+     * Forwards the current event to the validator.
+     */
+    private void validate(int eventType) throws SAXException {
+        switch (eventType) {
+        case XMLStreamConstants.START_ELEMENT:
+            for (int i = 0; i < getNamespaceCount(); i++) {
+                validator.startPrefixMapping(nonNull(getNamespacePrefix(i)), nonNull(getNamespaceURI(i)));
+            }
+            attributes.clear();
+            for (int i = 0; i < getAttributeCount(); i++) {
+                String prefix = getAttributePrefix(i);
+                String localName = getAttributeLocalName(i);
+                String qName = prefix == null || prefix.length() == 0 ? localName : prefix + ":" + localName;
+                attributes.addAttribute(nonNull(getAttributeNamespace(i)), localName, qName, getAttributeType(i),
+                        getAttributeValue(i));
+            }
+            validator.startElement(nonNull(getNamespaceURI()), getLocalName(), getQName(), attributes);
+            break;
+        case XMLStreamConstants.END_ELEMENT:
+            validator.endElement(nonNull(getNamespaceURI()), getLocalName(), getQName());
+            for (int i = 0; i < getNamespaceCount(); i++) {
+                validator.endPrefixMapping(nonNull(getNamespacePrefix(i)));
+            }
+            break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+            validator.characters(getTextCharacters(), getTextStart(), getTextLength());
+            break;
+        case XMLStreamConstants.ENTITY_REFERENCE:
+            char[] text = getText().toCharArray();
+            validator.characters(text, 0, text.length);
+            break;
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            validator.processingInstruction(getPITarget(), getPIData());
+            break;
+        case XMLStreamConstants.END_DOCUMENT:
+            validator.endDocument();
+            break;
+        default:
+            // comments, DTDs etc. are not relevant for validation
+        }
+    }
+
+    private String getQName() {
+        String prefix = getPrefix();
+        return prefix == null || prefix.length() == 0 ? getLocalName() : prefix + ":" + getLocalName();
+    }
+
+    private static String nonNull(String s) {
+        return s == null ? "" : s;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.hibernate.Transaction;
+
+/**
+ * The VocabularyCache maps the URIs of vocabulary elements to the IDs (primary
+ * keys) of their rows in the voc_* tables, with a separate map per vocabulary
+ * type. It is shared by all capture requests and is safe for concurrent use.
+ * <p>
+ * Entries created or removed within a database transaction are only published
+ * to the other capture requests once the transaction has been committed, so
+ * that the cache never refers to rows which have been rolled back. Each map
+ * holds at most <code>maxSize</code> entries; if a map is full, its least
+ * recently used entry is evicted, so frequently used URIs like the read points
+ * of busy readers stay cached.
+ */
+public class VocabularyCache {
+
+    private static final Log LOG = LogFactory.getLog(VocabularyCache.class);
+
+    private final int maxSize;
+
+    private final ConcurrentMap<String, Map<String, Long>> cache = new ConcurrentHashMap<String, Map<String, Long>>();
+
+    private final Map<Transaction, PendingUpdates> pendingUpdates = Collections.synchronizedMap(new IdentityHashMap<Transaction, PendingUpdates>());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param maxSize
+     *            The maximum number of entries per vocabulary type; 0 disables
+     *            the cache.
+     */
+    public VocabularyCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The ID of the vocabulary element with the given type and URI, or
+     *         <code>null</code> if it is not cached or the URI is
+     *         <code>null</code>.
+     */
+    public Long get(String vocabularyType, String uri) {
+        if (maxSize <= 0 || uri == null) {
+            return null;
+        }
+        Long id = getMap(vocabularyType).get(uri);
+        if (id != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return id;
+    }
+
+    /**
+     * Caches the ID of a vocabulary element which has already been committed
+     * to the database.
+     */
+    public void put(String vocabularyType, String uri, Long id) {
+        if (maxSize <= 0 || uri == null || id == null) {
+            return;
+        }
+        getMap(vocabularyType).put(uri, id);
+    }
+
+    /**
+     * Caches the ID of a vocabulary element read or inserted within the given
+     * transaction. The entry becomes visible once the transaction commits.
+     */
+    public void put(Transaction tx, String vocabularyType, String uri, Long id) {
+        if (maxSize <= 0 || uri == null || id == null) {
+            return;
+        }
+        getPendingUpdates(tx).updates.add(new Object[] { vocabularyType, uri, id, null });
+    }
+
+    /**
+     * Removes the vocabulary element with the given URI (and, if
+     * <code>descendants</code> is set, all vocabulary elements whose URI
+     * starts with the given URI followed by a comma) from the cache. As the
+     * element is altered or deleted within the given transaction, the entries
+     * are removed immediately and once more when the transaction commits. The
+     * removal is recorded even if the cache is disabled, see
+     * {@link #isRemoved(Transaction, String, String)}.
+     */
+    public void remove(Transaction tx, String vocabularyType, String uri, boolean descendants) {
+        remove(vocabularyType, uri, descendants);
+        getPendingUpdates(tx).updates.add(new Object[] { vocabularyType, uri, null, Boolean.valueOf(descendants) });
+    }
+
+    /**
+     * @return <code>true</code> if the vocabulary element with the given URI
+     *         has been altered or deleted within the given transaction, which
+     *         thus holds a lock on its row.
+     */
+    public boolean isRemoved(Transaction tx, String vocabularyType, String uri) {
+        PendingUpdates updates;
+        synchronized (pendingUpdates) {
+            updates = pendingUpdates.get(tx);
+        }
+        if (updates == null) {
+            return false;
+        }
+        for (Object[] update : updates.updates) {
+            if (update[2] == null && update[0].equals(vocabularyType)) {
+                String removed = (String) update[1];
+                if (removed.equals(uri) || (((Boolean) update[3]).booleanValue() && uri.startsWith(removed + ","))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void remove(String vocabularyType, String uri, boolean descendants) {
+        Map<String, Long> map = getMap(vocabularyType);
+        synchronized (map) {
+            map.remove(uri);
+            if (descendants) {
+                String prefix = uri + ",";
+                for (Iterator<String> it = map.keySet().iterator(); it.hasNext();) {
+                    if (it.next().startsWith(prefix)) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return The number of cached entries for the given vocabulary type.
+     */
+    public int size(String vocabularyType) {
+        return getMap(vocabularyType).size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return The map of the given vocabulary type, ordered by access such that
+     *         the least recently used entry is evicted first.
+     */
+    private Map<String, Long> getMap(String vocabularyType) {
+        Map<String, Long> map = cache.get(vocabularyType);
+        if (map == null) {
+            map = Collections.synchronizedMap(new LinkedHashMap<String, Long>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxSize;
+                }
+            });
+            Map<String, Long> existing = cache.putIfAbsent(vocabularyType, map);
+            if (existing != null) {
+                map = existing;
+            }
+        }
+        return map;
+    }
+
+    private PendingUpdates getPendingUpdates(Transaction tx) {
+        synchronized (pendingUpdates) {
+            PendingUpdates updates = pendingUpdates.get(tx);
+            if (updates == null) {
+                updates = new PendingUpdates(tx);
+                tx.registerSynchronization(updates);
+                pendingUpdates.put(tx, updates);
+            }
+            return updates;
+        }
+    }
+
+    /**
+     * Collects the cache updates of a single transaction and applies them
+     * after the transaction has been committed, in the order in which they
+     * were made: an element cached and then altered or deleted within the
+     * transaction must not be cached with its old ID.
+     */
+    private class PendingUpdates implements Synchronization {
+
+        private final Transaction tx;
+        /**
+         * The puts (type, URI, ID, <code>null</code>) and removals (type, URI,
+         * <code>null</code>, descendants) in the order they were made.
+         */
+        private final List<Object[]> updates = new ArrayList<Object[]>();
+
+        PendingUpdates(Transaction tx) {
+            this.tx = tx;
+        }
+
+        public void beforeCompletion() {
+        }
+
+        public void afterCompletion(int status) {
+            synchronized (pendingUpdates) {
+                if (pendingUpdates.get(tx) != this) {
+                    // already completed, the Transaction is being reused
+                    return;
+                }
+                pendingUpdates.remove(tx);
+            }
+            if (status == Status.STATUS_COMMITTED) {
+                for (Object[] update : updates) {
+                    if (update[2] != null) {
+                        put((String) update[0], (String) update[1], (Long) update[2]);
+                    } else {
+                        remove((String) update[0], (String) update[1], ((Boolean) update[3]).booleanValue());
+                    }
+                }
+            } else if (LOG.isDebugEnabled()) {
+                LOG.debug("Discarding " + updates.size() + " vocabulary cache updates of rolled back transaction");
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.query;
+
+import java.io.UnsupportedEncodingException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.xml.bind.DatatypeConverter;
+
+/**
+ * Encodes and decodes the continuation token of a paged SimpleEventQuery, a
+ * Fosstrak extension. The token holds, for every event type, the eventTime and
+ * ID of the last event of that type returned so far. The next page continues
+ * after these positions, so it is found by a seek on the eventTime index rather
+ * than by skipping the events of all previous pages, and events captured in the
+ * meantime do not shift the pages.
+ * <p>
+ * The token is opaque to clients: a base64-encoded string of the form
+ * <code>1;ObjectEvent,&lt;eventTime&gt;,&lt;id&gt;;...</code>, where the
+ * eventTime is given in milliseconds.
+ */
+final class PageToken {
+
+    private static final String VERSION = "1";
+    private static final String CHARSET = "UTF-8";
+
+    /**
+     * Encodes the positions of the given paged queries.
+     * 
+     * @param seQueries
+     *            The queries of the different event types.
+     * @return The continuation token.
+     */
+    public static String encode(List<SimpleEventQueryDTO> seQueries) {
+        StringBuilder sb = new StringBuilder(VERSION);
+        for (SimpleEventQueryDTO seQuery : seQueries) {
+            if (seQuery.getPageAfterEventTime() != null) {
+                sb.append(';').append(seQuery.getEventType());
+                sb.append(',').append(seQuery.getPageAfterEventTime().getTime());
+                sb.append(',').append(seQuery.getPageAfterEventId());
+            }
+        }
+        try {
+            return DatatypeConverter.printBase64Binary(sb.toString().getBytes(CHARSET));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the given continuation token and sets the positions of the
+     * given paged queries accordingly.
+     * 
+     * @param token
+     *            The continuation token.
+     * @param seQueries
+     *            The queries of the different event types.
+     * @throws IllegalArgumentException
+     *             If the token is invalid.
+     */
+    public static void decode(String token, List<SimpleEventQueryDTO> seQueries) throws IllegalArgumentException {
+        String decoded;
+        try {
+            decoded = new String(DatatypeConverter.parseBase64Binary(token), CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+        String[] parts = decoded.split(";");
+        if (!VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        for (int i = 1; i < parts.length; i++) {
+            String[] position = parts[i].split(",");
+            if (position.length != 3) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            SimpleEventQueryDTO seQuery = null;
+            for (SimpleEventQueryDTO q : seQueries) {
+                if (q.getEventType().equals(position[0])) {
+                    seQuery = q;
+                }
+            }
+            if (seQuery == null) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+            try {
+                seQuery.setPageAfter(new Timestamp(Long.parseLong(position[1])), Long.parseLong(position[2]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid continuation token");
+            }
+        }
+    }
+
+    /**
+     * Hidden default constructor.
+     */
+    private PageToken() {
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fosstrak.epcis.model.ArrayOfString;
+import org.fosstrak.epcis.model.QueryParam;
+import org.fosstrak.epcis.model.QueryParams;
+import org.fosstrak.epcis.model.QueryResults;
+import org.fosstrak.epcis.repository.HighWaterMarks;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Caches the results of polls, keyed by the query name and a canonical form
+ * of the query parameters, up to a given number of entries. The least recently
+ * used entry is evicted first.
+ * <p>
+ * Each entry records the high-water marks of the event and vocabulary types
+ * its results depend on, as read before the query was run. An entry is only
+ * returned as long as none of these marks has changed since, i.e. as long as
+ * no capture request changed the events or master data it depends on.
+ */
+class PollCache {
+
+    private final int maxEntries;
+
+    private final HighWaterMarks highWaterMarks;
+
+    private final Map<String, Entry> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long invalidationCount;
+
+    /**
+     * @param maxEntries
+     *            The maximum number of cached poll results.
+     * @param highWaterMarks
+     *            The high-water marks incremented by the capture module.
+     */
+    public PollCache(final int maxEntries, HighWaterMarks highWaterMarks) {
+        this.maxEntries = maxEntries;
+        this.highWaterMarks = highWaterMarks;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PollCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical form of the given query: the query name followed
+     * by the sorted parameters, with list values sorted as well. Each
+     * name and value is prefixed with its length, so that different queries
+     * never share a key. Two polls with the same key return the same results.
+     * 
+     * @param queryName
+     *            The name of the query.
+     * @param queryParams
+     *            The query parameters.
+     * @return The key of the query.
+     */
+    public static String createKey(String queryName, QueryParams queryParams) {
+        List<String> params = new ArrayList<String>();
+        if (queryParams != null) {
+            for (QueryParam param : queryParams.getParam()) {
+                StringBuilder encoded = new StringBuilder();
+                appendEncoded(encoded, param.getName());
+                params.add(encoded.append(canonicalValue(param.getValue())).toString());
+            }
+        }
+        Collections.sort(params);
+        StringBuilder key = new StringBuilder();
+        appendEncoded(key, queryName);
+        for (String param : params) {
+            key.append(param);
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return The given value as <code>S</code> followed by the encoded string
+     *         if it is a single value, or as <code>L</code> followed by the
+     *         number of values and the sorted encoded values if it is a list.
+     */
+    private static String canonicalValue(Object value) {
+        List<String> values = new ArrayList<String>();
+        if (value instanceof ArrayOfString) {
+            values.addAll(((ArrayOfString) value).getString());
+        } else if (value instanceof Element) {
+            Element element = (Element) value;
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child instanceof Element) {
+                    values.add(child.getTextContent().trim());
+                }
+            }
+            if (values.isEmpty()) {
+                return singleValue(element.getTextContent().trim());
+            }
+        } else if (value instanceof Calendar) {
+            return singleValue(String.valueOf(((Calendar) value).getTimeInMillis()));
+        } else {
+            return singleValue(String.valueOf(value));
+        }
+        Collections.sort(values);
+        StringBuilder list = new StringBuilder("L").append(values.size()).append(':');
+        for (String v : values) {
+            appendEncoded(list, v);
+        }
+        return list.toString();
+    }
+
+    private static String singleValue(String value) {
+        StringBuilder single = new StringBuilder("S");
+        appendEncoded(single, value);
+        return single.toString();
+    }
+
+    /**
+     * Appends the given string prefixed with its length, e.g.
+     * <code>3:abc</code>.
+     */
+    private static void appendEncoded(StringBuilder sb, String s) {
+        String value = String.valueOf(s);
+        sb.append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * Reads the current high-water marks of the given types. Must be called
+     * before the query is run.
+     * 
+     * @param types
+     *            The event types and vocabulary types the results depend on.
+     * @return The high-water marks to pass to
+     *         {@link #put(String, QueryResults, String[], long[])}.
+     */
+    public long[] getMarks(String[] types) {
+        long[] marks = new long[types.length];
+        for (int i = 0; i < types.length; i++) {
+            marks[i] = highWaterMarks.get(types[i]);
+        }
+        return marks;
+    }
+
+    /**
+     * @param key
+     *            The key of the query.
+     * @return The cached results, or <code>null</code> if there are none or
+     *         they are no longer up to date.
+     */
+    public synchronized QueryResults get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            for (int i = 0; i < entry.types.length; i++) {
+                if (highWaterMarks.get(entry.types[i]) != entry.marks[i]) {
+                    entries.remove(key);
+                    invalidationCount++;
+                    entry = null;
+                    break;
+                }
+            }
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.results;
+    }
+
+    /**
+     * Caches the given results.
+     * 
+     * @param key
+     *            The key of the query.
+     * @param results
+     *            The results of the query, which must not be modified
+     *            afterwards.
+     * @param types
+     *            The event types and vocabulary types the results depend on.
+     * @param marks
+     *            The high-water marks of these types read before the query was
+     *            run.
+     */
+    public synchronized void put(String key, QueryResults results, String[] types, long[] marks) {
+        entries.put(key, new Entry(results, types, marks));
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of entries removed because a capture request changed
+     *         their events or master data.
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * A cached poll result.
+     */
+    private static class Entry {
+        private final QueryResults results;
+        private final String[] types;
+        private final long[] marks;
+
+        Entry(QueryResults results, String[] types, long[] marks) {
+            this.results = results;
+            this.types = types;
+            this.marks = marks;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.query;
+
+import java.io.IOException;
+
+/**
+ * A QueryEventHandler receives the events resulting from a SimpleEventQuery one
+ * by one, as soon as they have been read from the database, instead of having
+ * them collected in a list.
+ * 
+ * @see QueryOperationsModule#pollEvents(org.fosstrak.epcis.model.QueryParams,
+ *      QueryEventHandler)
+ */
+public interface QueryEventHandler {
+
+    /**
+     * Processes the given event.
+     * 
+     * @param event
+     *            The event, an instance of one of the subclasses of
+     *            EPCISEventType.
+     * @throws IOException
+     *             If the event could not be processed, e.g., because it could
+     *             not be written to the client.
+     */
+    void handleEvent(Object event) throws IOException;
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The QueryExecutor runs parts of a query, e.g. the queries for the different
+ * event types of a SimpleEventQuery, on a fixed number of worker threads, each
+ * of which uses its own database connection. The number of workers thus bounds
+ * the number of additional connections used by all concurrent polls.
+ * <p>
+ * Tasks are never queued: if all workers are busy, {@link #submit(Callable)}
+ * returns <code>null</code> and the caller runs the task itself on its own
+ * connection. A burst of polls therefore degrades to sequential execution
+ * rather than exhausting the connection pool.
+ */
+class QueryExecutor {
+
+    private static final Log LOG = LogFactory.getLog(QueryExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param workers
+     *            The number of worker threads.
+     */
+    public QueryExecutor(int workers) {
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "QueryExecutor-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        LOG.info("Query executor started with " + workers + " workers");
+    }
+
+    /**
+     * Runs the given task on an idle worker thread.
+     *
+     * @param task
+     *            The task to run.
+     * @return The pending result of the task, or <code>null</code> if all
+     *         workers are busy.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        try {
+            Future<T> future = executor.submit(task);
+            submittedCount.incrementAndGet();
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Stops the worker threads once the running tasks have completed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public int getWorkers() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return The number of tasks being run.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return The number of tasks which had to be run by the caller because
+     *         all workers were busy.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
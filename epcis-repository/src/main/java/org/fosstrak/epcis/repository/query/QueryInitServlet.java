@@ -23,6 +23,8 @@ package org.fosstrak.epcis.repository.query;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import javax.naming.Context;
@@ -61,15 +63,23 @@ public class QueryInitServlet extends CXFNonSpringServlet {
     private static final String APP_CONFIG_LOCATION = "appConfigLocation";
     private static final String PROP_MAX_QUERY_ROWS = "maxQueryResultRows";
     private static final String PROP_MAX_QUERY_TIME = "maxQueryExecutionTime";
+    private static final String PROP_QUERY_WORKERS = "queryWorkers";
+    private static final String PROP_POLL_CACHE_SIZE = "pollCacheSize";
     private static final String PROP_TRIGGER_CHECK_SEC = "trigger.condition.check.sec";
     private static final String PROP_TRIGGER_CHECK_MIN = "trigger.condition.check.min";
     private static final String PROP_SERVICE_VERSION = "service.version";
     private static final String PROP_JNDI_DATASOURCE_NAME = "jndi.datasource.name";
+    private static final String PROP_JNDI_REPLICA_DATASOURCE_NAME = "jndi.replica.datasource.name";
+    private static final String PROP_MAX_REPLICA_LAG = "maxReplicaLag";
+    private static final String PROP_REPLICA_SAFETY_MARGIN = "replicaSafetyMargin";
+    private static final String PROP_SHARD_DATASOURCE_NAMES = "shard.jndi.datasource.names";
 
     private static final Log LOG = LogFactory.getLog(QueryInitServlet.class);
 
     private Properties properties;
 
+    private QueryOperationsModule module;
+
     /**
      * {@inheritDoc}
      * 
@@ -96,21 +106,58 @@ public class QueryInitServlet extends CXFNonSpringServlet {
         DataSource dataSource = loadDataSource(jndiName);
 
         LOG.debug("Initializing query operations module");
-        QueryOperationsModule module = new QueryOperationsModule();
+        module = new QueryOperationsModule();
         module.setMaxQueryRows(Integer.parseInt(properties.getProperty(PROP_MAX_QUERY_ROWS)));
         module.setMaxQueryTime(Integer.parseInt(properties.getProperty(PROP_MAX_QUERY_TIME)));
+        module.setQueryWorkers(Integer.parseInt(properties.getProperty(PROP_QUERY_WORKERS, "0")));
+        module.setPollCacheSize(Integer.parseInt(properties.getProperty(PROP_POLL_CACHE_SIZE, "0")));
         module.setTriggerConditionMinutes(properties.getProperty(PROP_TRIGGER_CHECK_MIN));
         module.setTriggerConditionSeconds(properties.getProperty(PROP_TRIGGER_CHECK_SEC));
         module.setServiceVersion(properties.getProperty(PROP_SERVICE_VERSION));
         module.setDataSource(dataSource);
+        String replicaJndiName = properties.getProperty(PROP_JNDI_REPLICA_DATASOURCE_NAME, "").trim();
+        if (replicaJndiName.length() > 0) {
+            module.setReplicaDataSource(loadDataSource(replicaJndiName));
+        }
+        module.setMaxReplicaLag(Long.parseLong(properties.getProperty(PROP_MAX_REPLICA_LAG, "30000")));
+        module.setReplicaSafetyMargin(Long.parseLong(properties.getProperty(PROP_REPLICA_SAFETY_MARGIN, "60000")));
+        String shardNames = properties.getProperty(PROP_SHARD_DATASOURCE_NAMES, "").trim();
+        if (shardNames.length() > 0) {
+            List<DataSource> shardDataSources = new ArrayList<DataSource>();
+            for (String shardName : shardNames.split(",")) {
+                // shard names are relative to java:comp/env, as for Hibernate
+                String shardJndiName = "java:comp/env/" + shardName.trim();
+                if (shardJndiName.equals(jndiName)) {
+                    shardDataSources.add(dataSource);
+                } else {
+                    shardDataSources.add(loadDataSource(shardJndiName));
+                }
+            }
+            module.setShardDataSources(shardDataSources);
+        }
         module.setServletContext(servletConfig.getServletContext());
         module.setBackend(new QueryOperationsBackendSQL());
+        module.init();
+        // make the module available to the QueryStreamingServlet
+        servletConfig.getServletContext().setAttribute("queryOperationsModule", module);
 
         LOG.debug("Initializing query operations web service");
         QueryOperationsWebService service = new QueryOperationsWebService(module);
         return service;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @see org.apache.cxf.transport.servlet.CXFNonSpringServlet#destroy()
+     */
+    public void destroy() {
+        if (module != null) {
+            module.destroy();
+        }
+        super.destroy();
+    }
+
     /**
      * Loads the application property file and populates a java.util.Properties
      * instance.
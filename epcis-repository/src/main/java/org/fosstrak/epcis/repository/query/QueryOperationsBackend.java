@@ -20,6 +20,7 @@
 
 package org.fosstrak.epcis.repository.query;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +67,88 @@ public interface QueryOperationsBackend {
             final List<Object> eventList) throws SQLException, ImplementationExceptionResponse,
             QueryTooLargeExceptionResponse;
 
+    /**
+     * Executes the given simple event queries, which all order their events by
+     * eventTime or recordTime in the same direction and are limited to the
+     * given number of events, and merges their results. Only the first
+     * <code>limit</code> events of the merged results are created and added to
+     * the given <code>eventList</code> parameter, in the requested order.
+     * <p>
+     * For paged queries, the limit is the page size and the events are ordered
+     * by eventTime and ID. The position of each query is advanced to the last
+     * event of its type on the page.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param seQueries
+     *            The SimpleEventQueryDTOs containing the query parameters for
+     *            the different event types.
+     * @param limit
+     *            The maximum number of events to return.
+     * @param eventList
+     *            A List of events matching the given query parameters.
+     * @return <code>true</code> if the queries returned more events than the
+     *         limit.
+     * @throws SQLException
+     *             If an error with the database occurred.
+     * @throws ImplementationExceptionResponse
+     *             If an implementation specific error occurred.
+     */
+    public boolean runOrderedSimpleEventQueries(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final int limit, final List<Object> eventList)
+            throws SQLException, ImplementationExceptionResponse;
+
+    /**
+     * Executes the given simple event queries, which only differ in their
+     * event type, as a single database query combining the events of all types
+     * with <code>UNION ALL</code>. The database thus applies the ordering and
+     * limit of the queries to the events of all types at once, and the events
+     * are added to the given <code>eventList</code> parameter in the requested
+     * order.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param seQueries
+     *            The SimpleEventQueryDTOs containing the query parameters for
+     *            the different event types.
+     * @param eventList
+     *            A List of events matching the given query parameters.
+     * @throws SQLException
+     *             If an error with the database occurred.
+     * @throws ImplementationExceptionResponse
+     *             If an implementation specific error occurred.
+     */
+    public void runUnionSimpleEventQuery(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final List<Object> eventList) throws SQLException,
+            ImplementationExceptionResponse;
+
+    /**
+     * Executes the given simple event queries one after the other and passes
+     * the resulting events to the given handler while reading them from the
+     * database. The number of events returned by each query is checked against
+     * its <code>maxEventCount</code> before the first event is passed to the
+     * handler.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param seQueries
+     *            The SimpleEventQueryDTOs containing the query parameters for
+     *            the different event types.
+     * @param handler
+     *            The handler to pass the resulting events to.
+     * @throws SQLException
+     *             If an error with the database occurred.
+     * @throws ImplementationExceptionResponse
+     *             If an implementation specific error occurred.
+     * @throws QueryTooLargeExceptionResponse
+     *             If the query is too large to be executed.
+     * @throws IOException
+     *             If the handler failed to process an event.
+     */
+    public void runSimpleEventQueries(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final QueryEventHandler handler) throws SQLException,
+            ImplementationExceptionResponse, QueryTooLargeExceptionResponse, IOException;
+
     /**
      * Executes a masterdata query with the parameters given in the
      * MasterDataQueryDTO. The resulting vocabulary list will be available in
@@ -74,6 +74,7 @@ import org.fosstrak.epcis.model.VocabularyType;
 import org.fosstrak.epcis.repository.EpcisConstants;
 import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.EventQueryParam;
 import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.Operation;
+import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.OrderDirection;
 import org.fosstrak.epcis.soap.ImplementationExceptionResponse;
 import org.fosstrak.epcis.soap.QueryTooLargeExceptionResponse;
 
@@ -93,20 +94,33 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
     private static final String SQL_SELECT_FROM_QUANTITYEVENT = "SELECT DISTINCT event_QuantityEvent.id, eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, readPoint.uri AS readPoint, bizLocation.uri AS bizLocation, bizStep.uri AS bizStep, disposition.uri AS disposition, epcClass.uri AS epcClass, quantity FROM event_QuantityEvent LEFT JOIN voc_BizStep AS bizStep ON event_QuantityEvent.bizStep=bizStep.id LEFT JOIN voc_Disposition AS disposition ON event_QuantityEvent.disposition=disposition.id LEFT JOIN voc_ReadPoint AS readPoint ON event_QuantityEvent.readPoint=readPoint.id LEFT JOIN voc_BizLoc AS bizLocation ON event_QuantityEvent.bizLocation=bizLocation.id LEFT JOIN voc_EPCClass AS epcClass ON event_QuantityEvent.epcClass=epcClass.id";
     private static final String SQL_SELECT_FROM_TRANSACTIONEVENT = "SELECT DISTINCT event_TransactionEvent.id, eventTime, eventTimeMs, recordTime, recordTimeMs, eventTimeZoneOffset, readPoint.uri AS readPoint, bizLocation.uri AS bizLocation, bizStep.uri AS bizStep, disposition.uri AS disposition, action, parentID FROM event_TransactionEvent LEFT JOIN voc_BizStep AS bizStep ON event_TransactionEvent.bizStep=bizStep.id LEFT JOIN voc_Disposition AS disposition ON event_TransactionEvent.disposition=disposition.id LEFT JOIN voc_ReadPoint AS readPoint ON event_TransactionEvent.readPoint=readPoint.id LEFT JOIN voc_BizLoc AS bizLocation ON event_TransactionEvent.bizLocation=bizLocation.id";
 
-    private static final String SQL_SELECT_AGGREGATIONEVENT_EXTENSIONS = "SELECT ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_AggregationEvent_extensions AS ext WHERE ext.event_id=?";
-    private static final String SQL_SELECT_OBJECTEVENT_EXTENSIONS = "SELECT ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_ObjectEvent_extensions AS ext WHERE event_id=?";
-    private static final String SQL_SELECT_QUANTITYEVENT_EXTENSIONS = "SELECT ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_QuantityEvent_extensions AS ext WHERE event_id=?";
-    private static final String SQL_SELECT_TRANSACTIONEVENT_EXTENSIONS = "SELECT ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_TransactionEvent_extensions AS ext WHERE event_id=?";
+    /**
+     * The placeholder for the list of event IDs in the queries which fetch the
+     * EPCs, business transactions and extensions of a number of events.
+     */
+    private static final String SQL_ID_LIST = "#ids#";
+
+    /**
+     * The number of event IDs bound to a query fetching EPCs, business
+     * transactions or extensions. The IDs of the last batch are padded to the
+     * next of these sizes, such that only a few distinct statements are
+     * prepared.
+     */
+    private static final int[] FETCH_BATCH_SIZES = { 10, 100, 1000 };
 
-    private static final String SQL_SELECT_AGGREGATIONEVENT_BIZTRANS = "SELECT bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_AggregationEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id=?";
-    private static final String SQL_SELECT_OBJECTEVENT_BIZTRANS = "SELECT bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_ObjectEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id=?";
-    private static final String SQL_SELECT_QUANTITYEVENT_BIZTRANS = "SELECT bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_QuantityEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id=?";
-    private static final String SQL_SELECT_TRANSACTIONEVENT_BIZTRANS = "SELECT bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_TransactionEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id=?";
+    private static final String SQL_SELECT_AGGREGATIONEVENT_EXTENSIONS = "SELECT ext.event_id, ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_AggregationEvent_extensions AS ext WHERE ext.event_id IN (" + SQL_ID_LIST + ") ORDER BY ext.event_id, ext.id";
+    private static final String SQL_SELECT_OBJECTEVENT_EXTENSIONS = "SELECT ext.event_id, ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_ObjectEvent_extensions AS ext WHERE ext.event_id IN (" + SQL_ID_LIST + ") ORDER BY ext.event_id, ext.id";
+    private static final String SQL_SELECT_QUANTITYEVENT_EXTENSIONS = "SELECT ext.event_id, ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_QuantityEvent_extensions AS ext WHERE ext.event_id IN (" + SQL_ID_LIST + ") ORDER BY ext.event_id, ext.id";
+    private static final String SQL_SELECT_TRANSACTIONEVENT_EXTENSIONS = "SELECT ext.event_id, ext.fieldname, ext.prefix, ext.intValue, ext.floatValue, ext.dateValue, ext.strValue FROM event_TransactionEvent_extensions AS ext WHERE ext.event_id IN (" + SQL_ID_LIST + ") ORDER BY ext.event_id, ext.id";
 
-    private static final String SQL_SELECT_AGGREGATIONEVENT_EPCS = "SELECT epc FROM event_AggregationEvent_EPCs WHERE event_id=?";
-    private static final String SQL_SELECT_OBJECTEVENT_EPCS = "SELECT epc FROM event_ObjectEvent_EPCs WHERE event_id=?";
-    private static final String SQL_SELECT_QUANTITYEVENT_EPCS = "SELECT epc FROM event_QuantityEvent_EPCs WHERE event_id=?";
-    private static final String SQL_SELECT_TRANSACTIONEVENT_EPCS = "SELECT epc FROM event_TransactionEvent_EPCs WHERE event_id=?";
+    private static final String SQL_SELECT_AGGREGATIONEVENT_BIZTRANS = "SELECT eventBizTrans.event_id, bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_AggregationEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id IN (" + SQL_ID_LIST + ") ORDER BY eventBizTrans.event_id, eventBizTrans.idx";
+    private static final String SQL_SELECT_OBJECTEVENT_BIZTRANS = "SELECT eventBizTrans.event_id, bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_ObjectEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id IN (" + SQL_ID_LIST + ") ORDER BY eventBizTrans.event_id, eventBizTrans.idx";
+    private static final String SQL_SELECT_QUANTITYEVENT_BIZTRANS = "SELECT eventBizTrans.event_id, bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_QuantityEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id IN (" + SQL_ID_LIST + ") ORDER BY eventBizTrans.event_id, eventBizTrans.idx";
+    private static final String SQL_SELECT_TRANSACTIONEVENT_BIZTRANS = "SELECT eventBizTrans.event_id, bizTrans.uri AS bizTrans, bizTransType.uri AS bizTransType FROM event_TransactionEvent_bizTrans AS eventBizTrans JOIN BizTransaction ON eventBizTrans.bizTrans_id=BizTransaction.id JOIN voc_BizTrans AS bizTrans ON BizTransaction.bizTrans=bizTrans.id JOIN voc_BizTransType AS bizTransType ON BizTransaction.type=bizTransType.id WHERE eventBizTrans.event_id IN (" + SQL_ID_LIST + ") ORDER BY eventBizTrans.event_id, eventBizTrans.idx";
+
+    private static final String SQL_SELECT_AGGREGATIONEVENT_EPCS = "SELECT event_id, epc FROM event_AggregationEvent_EPCs WHERE event_id IN (" + SQL_ID_LIST + ") ORDER BY event_id, idx";
+    private static final String SQL_SELECT_OBJECTEVENT_EPCS = "SELECT event_id, epc FROM event_ObjectEvent_EPCs WHERE event_id IN (" + SQL_ID_LIST + ") ORDER BY event_id, idx";
+    private static final String SQL_SELECT_TRANSACTIONEVENT_EPCS = "SELECT event_id, epc FROM event_TransactionEvent_EPCs WHERE event_id IN (" + SQL_ID_LIST + ") ORDER BY event_id, idx";
 
     private static final String SQL_EXISTS_SUBSCRIPTION = "SELECT EXISTS (SELECT subscriptionid FROM subscription WHERE subscriptionid=?)";
 
@@ -158,10 +172,124 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
 
     private PreparedStatement prepareSimpleEventQuery(final QueryOperationsSession session, SimpleEventQueryDTO seQuery)
             throws SQLException, ImplementationExceptionResponse {
+        return prepareSimpleEventQuery(session, seQuery, false);
+    }
+
+    /**
+     * Prepares the SQL statement selecting the events which match the given
+     * simple event query. All values, including the limit, are passed as
+     * parameters, such that the SQL text only depends on the names of the
+     * query parameters and the number of values of list parameters. The
+     * driver can thus reuse the statement (see the <code>cachePrepStmts</code>
+     * setting of the data source) for recurring polls.
+     * 
+     * @param scrollable
+     *            Whether the result of the statement must be scrollable.
+     */
+    private PreparedStatement prepareSimpleEventQuery(final QueryOperationsSession session,
+            SimpleEventQueryDTO seQuery, boolean scrollable) throws SQLException, ImplementationExceptionResponse {
+        List<Object> sqlParams = new ArrayList<Object>();
+        StringBuilder sql = buildSimpleEventQuery(seQuery, false, sqlParams);
+        String eventType = seQuery.getEventType();
+        if (seQuery.getPageSize() != -1) {
+            // a page of a paged query continues after the last event of the
+            // previous page - ordering by eventTime and id allows the database
+            // to seek to that position using the index on eventTime, which
+            // implicitly includes the id
+            String idColumn = "event_" + eventType + ".id";
+            if (seQuery.getPageAfterEventTime() != null) {
+                // the redundant bound on eventTimeMs lets the partition pruner
+                // skip earlier months of partitioned tables - it is a second
+                // lower, as the database may have rounded eventTime
+                sql.append(" AND eventTimeMs>=?");
+                sqlParams.add(Long.valueOf(seQuery.getPageAfterEventTime().getTime() - 1000));
+                sql.append(" AND eventTime>=? AND (eventTime>? OR ").append(idColumn).append(">?)");
+                sqlParams.add(seQuery.getPageAfterEventTime());
+                sqlParams.add(seQuery.getPageAfterEventTime());
+                sqlParams.add(Long.valueOf(seQuery.getPageAfterEventId()));
+            }
+            sql.append(" ORDER BY eventTime ASC, ").append(idColumn).append(" ASC");
+            // one more event than needed tells whether there is another page
+            sql.append(" LIMIT ?");
+            sqlParams.add(Integer.valueOf(seQuery.getPageSize() + 1));
+        } else {
+            appendOrderAndLimit(seQuery, sql, sqlParams);
+        }
+        return prepareStatement(session, sql.toString(), sqlParams, scrollable);
+    }
 
+    /**
+     * Appends the ORDER BY and LIMIT clauses of the given simple event query
+     * to the given SQL statement.
+     */
+    private void appendOrderAndLimit(SimpleEventQueryDTO seQuery, StringBuilder sql, List<Object> sqlParams) {
+        String orderBy = seQuery.getOrderBy();
+        if (orderBy != null) {
+            String direction = getOrderDirection(seQuery);
+            sql.append(" ORDER BY ").append(orderBy).append(" ").append(direction);
+            if ("eventTime".equals(orderBy) || "recordTime".equals(orderBy)) {
+                // the timestamp columns have a precision of seconds only, the
+                // millisecond columns order the events within the same second
+                sql.append(", ").append(orderBy).append("Ms ").append(direction);
+            }
+        }
+        if (seQuery.getLimit() != -1) {
+            sql.append(" LIMIT ?");
+            sqlParams.add(Integer.valueOf(seQuery.getLimit()));
+        } else if (seQuery.getMaxEventCount() != -1) {
+            sql.append(" LIMIT ?");
+            sqlParams.add(Integer.valueOf(seQuery.getMaxEventCount() + 1));
+        }
+    }
+
+    /**
+     * @return The SQL order direction of the given query - according to spec,
+     *         the default order direction is descending.
+     */
+    private static String getOrderDirection(SimpleEventQueryDTO seQuery) {
+        if (seQuery.getOrderDirection() != null) {
+            return seQuery.getOrderDirection().name();
+        }
+        return OrderDirection.DESC.name();
+    }
+
+    /**
+     * Prepares the given SQL statement and sets its parameters.
+     */
+    private PreparedStatement prepareStatement(final QueryOperationsSession session, String sqlSelect,
+            List<Object> sqlParams, boolean scrollable) throws SQLException {
+        PreparedStatement selectEventsStmt;
+        if (scrollable) {
+            selectEventsStmt = session.prepareStatement(sqlSelect, ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    ResultSet.CONCUR_READ_ONLY);
+        } else {
+            selectEventsStmt = session.prepareStatement(sqlSelect);
+        }
+        LOG.debug("SQL: " + sqlSelect);
+        for (int i = 0; i < sqlParams.size(); i++) {
+            selectEventsStmt.setObject(i + 1, sqlParams.get(i));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("     param" + i + " = " + sqlParams.get(i));
+            }
+        }
+        return selectEventsStmt;
+    }
+
+    /**
+     * Builds the SELECT statement, up to and including the WHERE clause,
+     * which selects the events matching the given simple event query.
+     * 
+     * @param union
+     *            Whether the statement is part of a UNION over several event
+     *            types, in which case the selected columns are padded to the
+     *            same number for all event types and followed by the event type.
+     * @param sqlParams
+     *            The list to which the statement parameters are added.
+     */
+    private StringBuilder buildSimpleEventQuery(SimpleEventQueryDTO seQuery, boolean union, List<Object> sqlParams)
+            throws ImplementationExceptionResponse {
         StringBuilder sqlSelectFrom;
         StringBuilder sqlWhereClause = new StringBuilder(" WHERE 1");
-        List<Object> sqlParams = new ArrayList<Object>();
 
         String eventType = seQuery.getEventType();
         if (EpcisConstants.AGGREGATION_EVENT.equals(eventType)) {
@@ -179,6 +307,15 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             ie.setReason(msg);
             throw new ImplementationExceptionResponse(msg, ie);
         }
+        if (union) {
+            // the ObjectEvents lack the twelfth column of the other types
+            int from = sqlSelectFrom.indexOf(" FROM ");
+            String discriminator = ", '" + eventType + "' AS eventType";
+            if (EpcisConstants.OBJECT_EVENT.equals(eventType)) {
+                discriminator = ", NULL" + discriminator;
+            }
+            sqlSelectFrom.insert(from, discriminator);
+        }
 
         boolean joinedEpcs = false;
         boolean joinedBizTransacitions = false;
@@ -305,7 +442,9 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
                     }
                 } else {
                     // we have a single-value parameter, e.g. eventTime,
-                    // recordTime, parentID
+                    // recordTime, parentID - times are compared with the bare
+                    // millisecond columns, which the partition pruner of
+                    // partitioned event tables can use
                     String sqlOp = operationMap.get(op);
                     sqlWhereClause.append(" AND ").append(eventField).append(" ").append(sqlOp).append(" ?");
                     sqlParams.add(value);
@@ -313,215 +452,575 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             }
         }
 
-        // construct the final SQL query string
-        StringBuilder sql = sqlSelectFrom.append(sqlWhereClause);
-        if (seQuery.getOrderBy() != null) {
-            sql.append(" ORDER BY ").append(seQuery.getOrderBy());
-            if (seQuery.getOrderDirection() != null) {
-                sql.append(" ").append(seQuery.getOrderDirection().name());
+        return sqlSelectFrom.append(sqlWhereClause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void runSimpleEventQuery(final QueryOperationsSession session, final SimpleEventQueryDTO seQuery,
+            final List<Object> eventList) throws SQLException, ImplementationExceptionResponse,
+            QueryTooLargeExceptionResponse {
+        // the query is limited to maxEventCount+1 events - make sure it did
+        // not hit that limit before creating any events or fetching their
+        // EPCs, business transactions and extensions
+        int maxEventCount = seQuery.getMaxEventCount();
+        PreparedStatement selectEventsStmt = prepareSimpleEventQuery(session, seQuery, maxEventCount > -1);
+        ResultSet rs = null;
+        try {
+            rs = selectEventsStmt.executeQuery();
+            if (maxEventCount > -1) {
+                if (rs.absolute(maxEventCount + 1)) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Event query returned more than " + maxEventCount + " events");
+                    }
+                    // according to spec, this must result in a
+                    // QueryTooLargeException
+                    throw queryTooLarge();
+                }
+                rs.beforeFirst();
             }
-        }
-        if (seQuery.getLimit() != -1) {
-            sql.append(" LIMIT ").append(seQuery.getLimit());
-        } else if (seQuery.getMaxEventCount() != -1) {
-            sql.append(" LIMIT ").append(seQuery.getMaxEventCount() + 1);
-        }
-        String sqlSelect = sql.toString();
 
-        PreparedStatement selectEventsStmt = session.getConnection().prepareStatement(sqlSelect);
-        LOG.debug("SQL: " + sqlSelect);
-        for (int i = 0; i < sqlParams.size(); i++) {
-            selectEventsStmt.setObject(i + 1, sqlParams.get(i));
+            String eventType = seQuery.getEventType();
+
+            // cycle through result set and fill an event list - the EPCs,
+            // business transactions and extensions are fetched afterwards for
+            // all events at once
+            Map<Long, EPCISEventType> eventsById = new HashMap<Long, EPCISEventType>();
+            List<Long> eventIds = new ArrayList<Long>();
+            while (rs.next()) {
+                Long eventId = Long.valueOf(rs.getLong(1));
+                EPCISEventType event = createEvent(eventType, rs);
+                eventList.add(event);
+                eventsById.put(eventId, event);
+                eventIds.add(eventId);
+            }
+            rs.close();
+            rs = null;
             if (LOG.isDebugEnabled()) {
-                LOG.debug("     param" + i + " = " + sqlParams.get(i));
+                LOG.debug("Event query returned " + eventIds.size() + " events (maxEventCount is " + maxEventCount
+                        + ")");
+            }
+            fetchEventChildren(session, eventType, eventIds, eventsById);
+        } finally {
+            if (rs != null) {
+                rs.close();
             }
+            selectEventsStmt.close();
         }
-        return selectEventsStmt;
     }
 
     /**
      * {@inheritDoc}
      */
-    public void runSimpleEventQuery(final QueryOperationsSession session, final SimpleEventQueryDTO seQuery,
-            final List<Object> eventList) throws SQLException, ImplementationExceptionResponse,
-            QueryTooLargeExceptionResponse {
-        PreparedStatement selectEventsStmt = prepareSimpleEventQuery(session, seQuery);
-        ResultSet rs = selectEventsStmt.executeQuery();
+    public void runUnionSimpleEventQuery(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final List<Object> eventList) throws SQLException,
+            ImplementationExceptionResponse {
+        // the first query determines the ordering and limit of the union
+        SimpleEventQueryDTO first = seQueries.get(0);
+        List<Object> sqlParams = new ArrayList<Object>();
+        StringBuilder sql = new StringBuilder();
+        for (SimpleEventQueryDTO seQuery : seQueries) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("(");
+            sql.append(buildSimpleEventQuery(seQuery, true, sqlParams));
+            if (seQuery.getLimit() != -1) {
+                // no more than the limit of events is needed from each type,
+                // which lets the database use the index on the order column
+                appendOrderAndLimit(seQuery, sql, sqlParams);
+            }
+            sql.append(")");
+        }
+        if (first.getOrderBy() != null) {
+            // the union is ordered by the column names of its first part - the
+            // millisecond columns break the ties between events of different
+            // types occurring within the same second
+            String direction = getOrderDirection(first);
+            sql.append(" ORDER BY ").append(first.getOrderBy()).append(" ").append(direction);
+            sql.append(", ").append(first.getOrderBy()).append("Ms ").append(direction);
+        }
+        if (first.getLimit() != -1) {
+            sql.append(" LIMIT ?");
+            sqlParams.add(Integer.valueOf(first.getLimit()));
+        }
 
-        String eventType = seQuery.getEventType();
+        PreparedStatement selectEventsStmt = prepareStatement(session, sql.toString(), sqlParams, false);
+        ResultSet rs = null;
+        try {
+            rs = selectEventsStmt.executeQuery();
+            // the event type is given by the last column of each row
+            Map<String, Map<Long, EPCISEventType>> eventsByType = new HashMap<String, Map<Long, EPCISEventType>>();
+            Map<String, List<Long>> eventIdsByType = new HashMap<String, List<Long>>();
+            while (rs.next()) {
+                String eventType = rs.getString(13);
+                Map<Long, EPCISEventType> eventsById = eventsByType.get(eventType);
+                if (eventsById == null) {
+                    eventsById = new HashMap<Long, EPCISEventType>();
+                    eventsByType.put(eventType, eventsById);
+                    eventIdsByType.put(eventType, new ArrayList<Long>());
+                }
+                Long eventId = Long.valueOf(rs.getLong(1));
+                EPCISEventType event = createEvent(eventType, rs);
+                eventList.add(event);
+                eventsById.put(eventId, event);
+                eventIdsByType.get(eventType).add(eventId);
+            }
+            rs.close();
+            rs = null;
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Union event query returned " + eventList.size() + " events");
+            }
+            for (String eventType : eventsByType.keySet()) {
+                fetchEventChildren(session, eventType, eventIdsByType.get(eventType), eventsByType.get(eventType));
+            }
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+            selectEventsStmt.close();
+        }
+    }
 
-        // prepare the required remaining SQL queries
-        String selectExtensions = null;
-        String selectEpcs = null;
-        String selectBizTrans = null;
-        if (EpcisConstants.AGGREGATION_EVENT.equals(eventType)) {
-            selectExtensions = SQL_SELECT_AGGREGATIONEVENT_EXTENSIONS;
-            selectEpcs = SQL_SELECT_AGGREGATIONEVENT_EPCS;
-            selectBizTrans = SQL_SELECT_AGGREGATIONEVENT_BIZTRANS;
-        } else if (EpcisConstants.OBJECT_EVENT.equals(eventType)) {
-            selectExtensions = SQL_SELECT_OBJECTEVENT_EXTENSIONS;
-            selectEpcs = SQL_SELECT_OBJECTEVENT_EPCS;
-            selectBizTrans = SQL_SELECT_OBJECTEVENT_BIZTRANS;
-        } else if (EpcisConstants.QUANTITY_EVENT.equals(eventType)) {
-            selectExtensions = SQL_SELECT_QUANTITYEVENT_EXTENSIONS;
-            selectEpcs = SQL_SELECT_QUANTITYEVENT_EPCS;
-            selectBizTrans = SQL_SELECT_QUANTITYEVENT_BIZTRANS;
-        } else if (EpcisConstants.TRANSACTION_EVENT.equals(eventType)) {
-            selectExtensions = SQL_SELECT_TRANSACTIONEVENT_EXTENSIONS;
-            selectEpcs = SQL_SELECT_TRANSACTIONEVENT_EPCS;
-            selectBizTrans = SQL_SELECT_TRANSACTIONEVENT_BIZTRANS;
+    /**
+     * {@inheritDoc}
+     */
+    public void runSimpleEventQueries(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final QueryEventHandler handler) throws SQLException,
+            ImplementationExceptionResponse, QueryTooLargeExceptionResponse, IOException {
+        // check the result sizes of all queries before passing the first
+        // event to the handler - once the handler has started writing the
+        // response, a QueryTooLargeException can no longer be reported
+        for (SimpleEventQueryDTO seQuery : seQueries) {
+            checkEventCount(session, seQuery);
         }
-        PreparedStatement selectExtensionsStmt = session.getPreparedStatement(selectExtensions);
-        PreparedStatement selectEpcsStmt = session.getPreparedStatement(selectEpcs);
-        PreparedStatement selectBizTransStmt = session.getPreparedStatement(selectBizTrans);
 
-        // cycle through result set and fill an event list
+        // run the queries one after another, reading their results through a
+        // forward-only cursor (a server-side cursor with useCursorFetch=true,
+        // which leaves the connection free for the queries fetching the EPCs,
+        // business transactions and extensions of each batch)
+        int batchSize = FETCH_BATCH_SIZES[FETCH_BATCH_SIZES.length - 1];
         int actEventCount = 0;
-        while (rs.next()) {
-            actEventCount++;
-            int eventId = rs.getInt(1);
-            // Timestamp eventTime = rs.getTimestamp(2);
-            long eventTimeMs = rs.getLong(3);
-            // Timestamp recordTime = rs.getTimestamp(4);
-            long recordTimeMs = rs.getLong(5);
-            String eventTimeZoneOffset = rs.getString(6);
-            String readPointId = rs.getString(7);
-            ReadPointType readPoint = null;
-            if (readPointId != null) {
-                readPoint = new ReadPointType();
-                readPoint.setId(readPointId);
+        for (SimpleEventQueryDTO seQuery : seQueries) {
+            String eventType = seQuery.getEventType();
+            PreparedStatement selectEventsStmt = prepareSimpleEventQuery(session, seQuery, false);
+            ResultSet rs = null;
+            try {
+                selectEventsStmt.setFetchSize(batchSize);
+                rs = selectEventsStmt.executeQuery();
+                List<EPCISEventType> events = new ArrayList<EPCISEventType>(batchSize);
+                Map<Long, EPCISEventType> eventsById = new HashMap<Long, EPCISEventType>();
+                List<Long> eventIds = new ArrayList<Long>(batchSize);
+                boolean hasNext = rs.next();
+                while (hasNext) {
+                    Long eventId = Long.valueOf(rs.getLong(1));
+                    EPCISEventType event = createEvent(eventType, rs);
+                    events.add(event);
+                    eventsById.put(eventId, event);
+                    eventIds.add(eventId);
+                    hasNext = rs.next();
+                    if (events.size() == batchSize || !hasNext) {
+                        fetchEventChildren(session, eventType, eventIds, eventsById);
+                        for (EPCISEventType e : events) {
+                            handler.handleEvent(e);
+                        }
+                        actEventCount += events.size();
+                        events.clear();
+                        eventsById.clear();
+                        eventIds.clear();
+                    }
+                }
+            } finally {
+                if (rs != null) {
+                    rs.close();
+                }
+                selectEventsStmt.close();
             }
-            String bizLocationId = rs.getString(8);
-            BusinessLocationType bizLocation = null;
-            if (bizLocationId != null) {
-                bizLocation = new BusinessLocationType();
-                bizLocation.setId(bizLocationId);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Event queries streamed " + actEventCount + " events");
+        }
+    }
+
+    /**
+     * Counts the events matching the given query, but no more than one above
+     * its 'maxEventCount', and throws a QueryTooLargeException if it exceeds
+     * that value.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param seQuery
+     *            The SimpleEventQueryDTO to check.
+     * @throws SQLException
+     *             If an error with the database occurred.
+     * @throws ImplementationExceptionResponse
+     *             If an implementation specific error occurred.
+     * @throws QueryTooLargeExceptionResponse
+     *             If the query matches more than 'maxEventCount' events.
+     */
+    private void checkEventCount(final QueryOperationsSession session, final SimpleEventQueryDTO seQuery)
+            throws SQLException, ImplementationExceptionResponse, QueryTooLargeExceptionResponse {
+        int maxEventCount = seQuery.getMaxEventCount();
+        int limit = seQuery.getLimit();
+        if (maxEventCount == -1 || (limit != -1 && limit <= maxEventCount)) {
+            // the query cannot return more than maxEventCount events
+            return;
+        }
+        List<Object> sqlParams = new ArrayList<Object>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (");
+        sql.append(buildSimpleEventQuery(seQuery, false, sqlParams));
+        sql.append(" LIMIT ?) probe");
+        sqlParams.add(Integer.valueOf(maxEventCount + 1));
+        PreparedStatement countStmt = prepareStatement(session, sql.toString(), sqlParams, false);
+        ResultSet rs = null;
+        try {
+            rs = countStmt.executeQuery();
+            if (rs.next() && rs.getInt(1) > maxEventCount) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Event query returned more than " + maxEventCount + " events");
+                }
+                throw queryTooLarge();
             }
-            String bizStep = rs.getString(9);
-            String disposition = rs.getString(10);
-            // fetch biz transactions
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("SQL: " + selectBizTrans);
-                LOG.debug("     param1 = " + eventId);
+        } finally {
+            if (rs != null) {
+                rs.close();
             }
-            selectBizTransStmt.setInt(1, eventId);
-            BusinessTransactionListType bizTransList = readBizTransactionsFromResult(selectBizTransStmt.executeQuery());
-
-            EPCISEventType event = null;
-            if (EpcisConstants.AGGREGATION_EVENT.equals(eventType)) {
-                AggregationEventType aggrEvent = new AggregationEventType();
-                aggrEvent.setReadPoint(readPoint);
-                aggrEvent.setBizLocation(bizLocation);
-                aggrEvent.setBizStep(bizStep);
-                aggrEvent.setDisposition(disposition);
-                aggrEvent.setAction(ActionType.valueOf(rs.getString(11)));
-                aggrEvent.setParentID(rs.getString(12));
-                aggrEvent.setBizTransactionList(bizTransList);
-                // fetch EPCs
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectEpcs);
-                    LOG.debug("     param1 = " + eventId);
+            countStmt.close();
+        }
+    }
+
+    /**
+     * @return The exception to throw if a query returned more results than
+     *         specified by 'maxEventCount'.
+     */
+    private QueryTooLargeExceptionResponse queryTooLarge() {
+        String msg = "The query returned more results than specified by 'maxEventCount'";
+        LOG.info("USER ERROR: " + msg);
+        QueryTooLargeException e = new QueryTooLargeException();
+        e.setReason(msg);
+        return new QueryTooLargeExceptionResponse(msg, e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean runOrderedSimpleEventQueries(final QueryOperationsSession session,
+            final List<SimpleEventQueryDTO> seQueries, final int limit, final List<Object> eventList)
+            throws SQLException, ImplementationExceptionResponse {
+        // the events of a paged query are ordered by eventTime and id
+        boolean paged = seQueries.get(0).getPageSize() != -1;
+        String orderBy = paged ? "eventTime" : seQueries.get(0).getOrderBy();
+        int keyColumn;
+        if ("eventTime".equals(orderBy)) {
+            keyColumn = 2;
+        } else if ("recordTime".equals(orderBy)) {
+            keyColumn = 4;
+        } else {
+            throw new IllegalArgumentException("Unable to merge events ordered by " + orderBy);
+        }
+        boolean ascending = paged || seQueries.get(0).getOrderDirection() == OrderDirection.ASC;
+
+        int nofQueries = seQueries.size();
+        PreparedStatement[] stmts = new PreparedStatement[nofQueries];
+        ResultSet[] results = new ResultSet[nofQueries];
+        long[] keys = new long[nofQueries];
+        long[] msKeys = new long[nofQueries];
+        boolean[] hasNext = new boolean[nofQueries];
+        List<Map<Long, EPCISEventType>> eventsById = new ArrayList<Map<Long, EPCISEventType>>(nofQueries);
+        List<List<Long>> eventIds = new ArrayList<List<Long>>(nofQueries);
+        // the results are ordered by the timestamp and its milliseconds, thus
+        // merging them by both keeps that order; a paged query is ordered by
+        // the timestamp and the event ID instead, its pages must follow the
+        // order of the database
+        int first = eventList.size();
+        boolean moreEvents = false;
+        try {
+            for (int i = 0; i < nofQueries; i++) {
+                stmts[i] = prepareSimpleEventQuery(session, seQueries.get(i));
+                results[i] = stmts[i].executeQuery();
+                hasNext[i] = results[i].next();
+                if (hasNext[i]) {
+                    keys[i] = results[i].getTimestamp(keyColumn).getTime();
+                    msKeys[i] = paged ? 0 : results[i].getLong(keyColumn + 1);
                 }
-                selectEpcsStmt.setInt(1, eventId);
-                aggrEvent.setChildEPCs(readEpcsFromResult(selectEpcsStmt.executeQuery()));
-                // fetch and fill extensions
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectExtensions);
-                    LOG.debug("     param1 = " + eventId);
+                eventsById.add(new HashMap<Long, EPCISEventType>());
+                eventIds.add(new ArrayList<Long>());
+            }
+
+            // merge the ordered results until the limit is reached - the
+            // events beyond the limit are never created
+            while (eventList.size() - first < limit) {
+                int next = -1;
+                for (int i = 0; i < nofQueries; i++) {
+                    if (hasNext[i] && (next == -1 || isBefore(keys[i], msKeys[i], keys[next], msKeys[next], ascending))) {
+                        next = i;
+                    }
                 }
-                selectExtensionsStmt.setInt(1, eventId);
-                readExtensionsFromResult(selectExtensionsStmt.executeQuery(), aggrEvent.getAny());
-                event = aggrEvent;
-            } else if (EpcisConstants.OBJECT_EVENT.equals(eventType)) {
-                ObjectEventType objEvent = new ObjectEventType();
-                objEvent.setReadPoint(readPoint);
-                objEvent.setBizLocation(bizLocation);
-                objEvent.setBizStep(bizStep);
-                objEvent.setDisposition(disposition);
-                objEvent.setAction(ActionType.valueOf(rs.getString(11)));
-                objEvent.setBizTransactionList(bizTransList);
-                // fetch EPCs
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectEpcs);
-                    LOG.debug("     param1 = " + eventId);
+                if (next == -1) {
+                    break;
                 }
-                selectEpcsStmt.setInt(1, eventId);
-                objEvent.setEpcList(readEpcsFromResult(selectEpcsStmt.executeQuery()));
-                // fetch and fill extensions
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectExtensions);
-                    LOG.debug("     param1 = " + eventId);
+                ResultSet rs = results[next];
+                Long eventId = Long.valueOf(rs.getLong(1));
+                EPCISEventType event = createEvent(seQueries.get(next).getEventType(), rs);
+                eventList.add(event);
+                eventsById.get(next).put(eventId, event);
+                eventIds.get(next).add(eventId);
+                if (paged) {
+                    seQueries.get(next).setPageAfter(rs.getTimestamp(keyColumn), eventId.longValue());
                 }
-                selectExtensionsStmt.setInt(1, eventId);
-                readExtensionsFromResult(selectExtensionsStmt.executeQuery(), objEvent.getAny());
-                event = objEvent;
-            } else if (EpcisConstants.QUANTITY_EVENT.equals(eventType)) {
-                QuantityEventType quantEvent = new QuantityEventType();
-                quantEvent.setReadPoint(readPoint);
-                quantEvent.setBizLocation(bizLocation);
-                quantEvent.setBizStep(bizStep);
-                quantEvent.setDisposition(disposition);
-                quantEvent.setEpcClass(rs.getString(11));
-                quantEvent.setQuantity(rs.getInt(12));
-                quantEvent.setBizTransactionList(bizTransList);
-                // fetch and fill extensions
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectExtensions);
-                    LOG.debug("     param1 = " + eventId);
+
+                hasNext[next] = rs.next();
+                if (hasNext[next]) {
+                    keys[next] = rs.getTimestamp(keyColumn).getTime();
+                    msKeys[next] = paged ? 0 : rs.getLong(keyColumn + 1);
                 }
-                selectExtensionsStmt.setInt(1, eventId);
-                readExtensionsFromResult(selectExtensionsStmt.executeQuery(), quantEvent.getAny());
-                event = quantEvent;
-            } else if (EpcisConstants.TRANSACTION_EVENT.equals(eventType)) {
-                TransactionEventType transEvent = new TransactionEventType();
-                transEvent.setReadPoint(readPoint);
-                transEvent.setBizLocation(bizLocation);
-                transEvent.setBizStep(bizStep);
-                transEvent.setDisposition(disposition);
-                transEvent.setAction(ActionType.valueOf(rs.getString(11)));
-                transEvent.setParentID(rs.getString(12));
-                transEvent.setBizTransactionList(bizTransList);
-                // fetch EPCs
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectEpcs);
-                    LOG.debug("     param1 = " + eventId);
+            }
+            for (int i = 0; i < nofQueries; i++) {
+                moreEvents |= hasNext[i];
+            }
+        } finally {
+            for (int i = 0; i < nofQueries; i++) {
+                if (results[i] != null) {
+                    results[i].close();
                 }
-                selectEpcsStmt.setInt(1, eventId);
-                transEvent.setEpcList(readEpcsFromResult(selectEpcsStmt.executeQuery()));
-                // fetch and fill extensions
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("SQL: " + selectExtensions);
-                    LOG.debug("     param1 = " + eventId);
+                if (stmts[i] != null) {
+                    stmts[i].close();
                 }
-                selectExtensionsStmt.setInt(1, eventId);
-                readExtensionsFromResult(selectExtensionsStmt.executeQuery(), transEvent.getAny());
-                event = transEvent;
-            } else {
-                String msg = "Unknown event type: " + eventType;
-                LOG.error(msg);
-                ImplementationException ie = new ImplementationException();
-                ie.setReason(msg);
-                throw new ImplementationExceptionResponse(msg, ie);
             }
-            event.setEventTime(timeToXmlCalendar(eventTimeMs));
-            event.setRecordTime(timeToXmlCalendar(recordTimeMs));
-            event.setEventTimeZoneOffset(eventTimeZoneOffset);
-            eventList.add(event);
         }
-        int maxEventCount = seQuery.getMaxEventCount();
+        for (int i = 0; i < nofQueries; i++) {
+            fetchEventChildren(session, seQueries.get(i).getEventType(), eventIds.get(i), eventsById.get(i));
+        }
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Event query returned " + actEventCount + " events (maxEventCount is " + maxEventCount + ")");
+            LOG.debug("Merged " + (eventList.size() - first) + " events of " + nofQueries + " event queries (limit is "
+                    + limit + ")");
         }
-        if (maxEventCount > -1 && actEventCount > maxEventCount) {
-            // according to spec, this must result in a QueryTooLargeException
-            String msg = "The query returned more results than specified by 'maxEventCount'";
-            LOG.info("USER ERROR: " + msg);
-            QueryTooLargeException e = new QueryTooLargeException();
-            e.setReason(msg);
-            throw new QueryTooLargeExceptionResponse(msg, e);
+        return moreEvents;
+    }
+
+    /**
+     * Compares two events by the timestamp the database orders by and, if
+     * these are equal, by the time in milliseconds.
+     * 
+     * @return <code>true</code> if the first event comes before the second
+     *         one in the given order direction.
+     */
+    private static boolean isBefore(long key1, long msKey1, long key2, long msKey2, boolean ascending) {
+        if (key1 != key2) {
+            return ascending ? key1 < key2 : key1 > key2;
+        }
+        return ascending ? msKey1 < msKey2 : msKey1 > msKey2;
+    }
+
+    /**
+     * Creates an event from the current row of the given result of a simple
+     * event query. The EPCs, business transactions and extensions of the event
+     * are not fetched.
+     * 
+     * @param eventType
+     *            The type of the event.
+     * @param rs
+     *            The result of the SQL query.
+     * @return The event.
+     * @throws SQLException
+     *             If a database access error occurred.
+     * @throws ImplementationExceptionResponse
+     *             If the event type is unknown.
+     */
+    private EPCISEventType createEvent(final String eventType, final ResultSet rs) throws SQLException,
+            ImplementationExceptionResponse {
+        // Timestamp eventTime = rs.getTimestamp(2);
+        long eventTimeMs = rs.getLong(3);
+        // Timestamp recordTime = rs.getTimestamp(4);
+        long recordTimeMs = rs.getLong(5);
+        String eventTimeZoneOffset = rs.getString(6);
+        String readPointId = rs.getString(7);
+        ReadPointType readPoint = null;
+        if (readPointId != null) {
+            readPoint = new ReadPointType();
+            readPoint.setId(readPointId);
+        }
+        String bizLocationId = rs.getString(8);
+        BusinessLocationType bizLocation = null;
+        if (bizLocationId != null) {
+            bizLocation = new BusinessLocationType();
+            bizLocation.setId(bizLocationId);
+        }
+        String bizStep = rs.getString(9);
+        String disposition = rs.getString(10);
+
+        EPCISEventType event = null;
+        if (EpcisConstants.AGGREGATION_EVENT.equals(eventType)) {
+            AggregationEventType aggrEvent = new AggregationEventType();
+            aggrEvent.setReadPoint(readPoint);
+            aggrEvent.setBizLocation(bizLocation);
+            aggrEvent.setBizStep(bizStep);
+            aggrEvent.setDisposition(disposition);
+            aggrEvent.setAction(ActionType.valueOf(rs.getString(11)));
+            aggrEvent.setParentID(rs.getString(12));
+            event = aggrEvent;
+        } else if (EpcisConstants.OBJECT_EVENT.equals(eventType)) {
+            ObjectEventType objEvent = new ObjectEventType();
+            objEvent.setReadPoint(readPoint);
+            objEvent.setBizLocation(bizLocation);
+            objEvent.setBizStep(bizStep);
+            objEvent.setDisposition(disposition);
+            objEvent.setAction(ActionType.valueOf(rs.getString(11)));
+            event = objEvent;
+        } else if (EpcisConstants.QUANTITY_EVENT.equals(eventType)) {
+            QuantityEventType quantEvent = new QuantityEventType();
+            quantEvent.setReadPoint(readPoint);
+            quantEvent.setBizLocation(bizLocation);
+            quantEvent.setBizStep(bizStep);
+            quantEvent.setDisposition(disposition);
+            quantEvent.setEpcClass(rs.getString(11));
+            quantEvent.setQuantity(rs.getInt(12));
+            event = quantEvent;
+        } else if (EpcisConstants.TRANSACTION_EVENT.equals(eventType)) {
+            TransactionEventType transEvent = new TransactionEventType();
+            transEvent.setReadPoint(readPoint);
+            transEvent.setBizLocation(bizLocation);
+            transEvent.setBizStep(bizStep);
+            transEvent.setDisposition(disposition);
+            transEvent.setAction(ActionType.valueOf(rs.getString(11)));
+            transEvent.setParentID(rs.getString(12));
+            event = transEvent;
+        } else {
+            String msg = "Unknown event type: " + eventType;
+            LOG.error(msg);
+            ImplementationException ie = new ImplementationException();
+            ie.setReason(msg);
+            throw new ImplementationExceptionResponse(msg, ie);
+        }
+        event.setEventTime(timeToXmlCalendar(eventTimeMs));
+        event.setRecordTime(timeToXmlCalendar(recordTimeMs));
+        event.setEventTimeZoneOffset(eventTimeZoneOffset);
+        return event;
+    }
+
+    /**
+     * Fetches the EPCs, business transactions and extensions of the given
+     * events.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param eventType
+     *            The type of the events.
+     * @param eventIds
+     *            The IDs of the events.
+     * @param eventsById
+     *            The events by their ID.
+     * @throws SQLException
+     *             If a database access error occurred.
+     */
+    private void fetchEventChildren(final QueryOperationsSession session, final String eventType,
+            final List<Long> eventIds, final Map<Long, EPCISEventType> eventsById) throws SQLException {
+        if (EpcisConstants.AGGREGATION_EVENT.equals(eventType)) {
+            fetchBizTransactions(session, SQL_SELECT_AGGREGATIONEVENT_BIZTRANS, eventIds, eventsById);
+            fetchEpcs(session, SQL_SELECT_AGGREGATIONEVENT_EPCS, eventIds, eventsById);
+            fetchExtensions(session, SQL_SELECT_AGGREGATIONEVENT_EXTENSIONS, eventIds, eventsById);
+        } else if (EpcisConstants.OBJECT_EVENT.equals(eventType)) {
+            fetchBizTransactions(session, SQL_SELECT_OBJECTEVENT_BIZTRANS, eventIds, eventsById);
+            fetchEpcs(session, SQL_SELECT_OBJECTEVENT_EPCS, eventIds, eventsById);
+            fetchExtensions(session, SQL_SELECT_OBJECTEVENT_EXTENSIONS, eventIds, eventsById);
+        } else if (EpcisConstants.QUANTITY_EVENT.equals(eventType)) {
+            fetchBizTransactions(session, SQL_SELECT_QUANTITYEVENT_BIZTRANS, eventIds, eventsById);
+            fetchExtensions(session, SQL_SELECT_QUANTITYEVENT_EXTENSIONS, eventIds, eventsById);
+        } else if (EpcisConstants.TRANSACTION_EVENT.equals(eventType)) {
+            fetchBizTransactions(session, SQL_SELECT_TRANSACTIONEVENT_BIZTRANS, eventIds, eventsById);
+            fetchEpcs(session, SQL_SELECT_TRANSACTIONEVENT_EPCS, eventIds, eventsById);
+            fetchExtensions(session, SQL_SELECT_TRANSACTIONEVENT_EXTENSIONS, eventIds, eventsById);
         }
     }
 
+    /**
+     * Runs the given query, which selects the children of a number of events
+     * with the event ID in the first column, for the given event IDs. The IDs
+     * are bound in batches of one of the {@link #FETCH_BATCH_SIZES}, the last
+     * batch being padded by repeating its last ID.
+     * 
+     * @param session
+     *            The QueryOperationsSession wrapping a database connection.
+     * @param sqlTemplate
+     *            The SQL query containing the {@link #SQL_ID_LIST} placeholder.
+     * @param eventIds
+     *            The IDs of the events whose children are to be selected.
+     * @param handler
+     *            Called with the result of each batch.
+     * @throws SQLException
+     *             If a database access error occurred.
+     */
+    private void fetchByEventIds(final QueryOperationsSession session, final String sqlTemplate,
+            final List<Long> eventIds, final ResultHandler handler) throws SQLException {
+        int maxBatchSize = FETCH_BATCH_SIZES[FETCH_BATCH_SIZES.length - 1];
+        for (int from = 0; from < eventIds.size(); from += maxBatchSize) {
+            int count = Math.min(eventIds.size() - from, maxBatchSize);
+            int batchSize = maxBatchSize;
+            for (int size : FETCH_BATCH_SIZES) {
+                if (size >= count) {
+                    batchSize = size;
+                    break;
+                }
+            }
+            StringBuilder ids = new StringBuilder(batchSize * 2);
+            for (int i = 0; i < batchSize; i++) {
+                ids.append(i == 0 ? "?" : ",?");
+            }
+            String sql = sqlTemplate.replace(SQL_ID_LIST, ids);
+            PreparedStatement ps = session.getPreparedStatement(sql);
+            for (int i = 0; i < batchSize; i++) {
+                ps.setLong(i + 1, eventIds.get(from + Math.min(i, count - 1)).longValue());
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("SQL: " + sql);
+                LOG.debug("     params = " + eventIds.subList(from, from + count));
+            }
+            ResultSet rs = ps.executeQuery();
+            try {
+                handler.handle(rs);
+            } finally {
+                rs.close();
+            }
+        }
+    }
+
+    /**
+     * Fetches the business transactions of the given events.
+     */
+    private void fetchBizTransactions(final QueryOperationsSession session, final String sqlTemplate,
+            final List<Long> eventIds, final Map<Long, EPCISEventType> eventsById) throws SQLException {
+        fetchByEventIds(session, sqlTemplate, eventIds, new ResultHandler() {
+            public void handle(ResultSet rs) throws SQLException {
+                readBizTransactionsFromResult(rs, eventsById);
+            }
+        });
+    }
+
+    /**
+     * Fetches the EPCs of the given events.
+     */
+    private void fetchEpcs(final QueryOperationsSession session, final String sqlTemplate, final List<Long> eventIds,
+            final Map<Long, EPCISEventType> eventsById) throws SQLException {
+        fetchByEventIds(session, sqlTemplate, eventIds, new ResultHandler() {
+            public void handle(ResultSet rs) throws SQLException {
+                readEpcsFromResult(rs, eventsById);
+            }
+        });
+    }
+
+    /**
+     * Fetches the extensions of the given events.
+     */
+    private void fetchExtensions(final QueryOperationsSession session, final String sqlTemplate,
+            final List<Long> eventIds, final Map<Long, EPCISEventType> eventsById) throws SQLException {
+        fetchByEventIds(session, sqlTemplate, eventIds, new ResultHandler() {
+            public void handle(ResultSet rs) throws SQLException {
+                readExtensionsFromResult(rs, eventsById);
+            }
+        });
+    }
+
     private PreparedStatement prepareMasterDataQuery(final QueryOperationsSession session, String vocType,
             MasterDataQueryDTO mdQuery) throws SQLException {
 
@@ -608,7 +1107,7 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
         // set the complete query and pass it back to the caller
         String sqlSelect = sqlSelectFrom.append(sqlWhereClause).toString();
 
-        PreparedStatement ps = session.getConnection().prepareStatement(sqlSelect);
+        PreparedStatement ps = session.prepareStatement(sqlSelect);
         LOG.debug("SQL: " + sqlSelect);
         for (int i = 0; i < sqlParams.size(); i++) {
             ps.setObject(i + 1, sqlParams.get(i));
@@ -629,8 +1128,6 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
         List<String> vocabularyTypes = mdQuery.getVocabularyTypes();
         for (String vocType : vocabularyTypes) {
             PreparedStatement ps = prepareMasterDataQuery(session, vocType, mdQuery);
-            ResultSet rs = ps.executeQuery();
-
             int maxElementCount = mdQuery.getMaxElementCount();
             boolean includeAttributes = mdQuery.getIncludeAttributes();
             boolean includeChildren = mdQuery.getIncludeChildren();
@@ -638,20 +1135,25 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             // fetch matching vocabulary element uris
             List<String> vocElemUris = new ArrayList<String>();
             int actVocElemCount = 0;
-            while (rs.next()) {
-                actVocElemCount++;
-                if (maxElementCount > -1 && actVocElemCount > maxElementCount) {
-                    // according to spec, this must result in a
-                    // QueryTooLargeException
-                    String msg = "The query returned more results than specified by 'maxElementCount'";
-                    LOG.info("USER ERROR: " + msg);
-                    QueryTooLargeException e = new QueryTooLargeException();
-                    e.setReason(msg);
-                    throw new QueryTooLargeExceptionResponse(msg, e);
+            try {
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) {
+                    actVocElemCount++;
+                    if (maxElementCount > -1 && actVocElemCount > maxElementCount) {
+                        // according to spec, this must result in a
+                        // QueryTooLargeException
+                        String msg = "The query returned more results than specified by 'maxElementCount'";
+                        LOG.info("USER ERROR: " + msg);
+                        QueryTooLargeException e = new QueryTooLargeException();
+                        e.setReason(msg);
+                        throw new QueryTooLargeExceptionResponse(msg, e);
+                    }
+                    vocElemUris.add(rs.getString(1));
                 }
-                vocElemUris.add(rs.getString(1));
+                rs.close();
+            } finally {
+                ps.close();
             }
-            rs.close();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Masterdata query returned " + actVocElemCount + " vocabularies (maxElementCount is "
                         + maxElementCount + ")");
@@ -801,59 +1303,128 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
     }
 
     /**
-     * Retrieves a list of business transactions (an instance of
-     * BusinessTransactionListType) from the given result set.
+     * Retrieves the business transactions from the given result set and adds
+     * them to the business transaction lists (instances of
+     * BusinessTransactionListType) of the events they belong to.
      * 
      * @param rs
      *            The result of the SQL query.
-     * @return A List of qualified XML elements
+     * @param eventsById
+     *            The events by their ID.
      * @throws SQLException
      *             If a database access error occurred.
      */
-    private BusinessTransactionListType readBizTransactionsFromResult(final ResultSet rs) throws SQLException,
-            ImplementationExceptionResponse {
-        BusinessTransactionListType list = new BusinessTransactionListType();
+    private void readBizTransactionsFromResult(final ResultSet rs, final Map<Long, EPCISEventType> eventsById)
+            throws SQLException {
         while (rs.next()) {
+            EPCISEventType event = eventsById.get(Long.valueOf(rs.getLong(1)));
+            BusinessTransactionListType list;
+            if (event instanceof AggregationEventType) {
+                AggregationEventType aggrEvent = (AggregationEventType) event;
+                if (aggrEvent.getBizTransactionList() == null) {
+                    aggrEvent.setBizTransactionList(new BusinessTransactionListType());
+                }
+                list = aggrEvent.getBizTransactionList();
+            } else if (event instanceof ObjectEventType) {
+                ObjectEventType objEvent = (ObjectEventType) event;
+                if (objEvent.getBizTransactionList() == null) {
+                    objEvent.setBizTransactionList(new BusinessTransactionListType());
+                }
+                list = objEvent.getBizTransactionList();
+            } else if (event instanceof QuantityEventType) {
+                QuantityEventType quantEvent = (QuantityEventType) event;
+                if (quantEvent.getBizTransactionList() == null) {
+                    quantEvent.setBizTransactionList(new BusinessTransactionListType());
+                }
+                list = quantEvent.getBizTransactionList();
+            } else if (event instanceof TransactionEventType) {
+                TransactionEventType transEvent = (TransactionEventType) event;
+                if (transEvent.getBizTransactionList() == null) {
+                    transEvent.setBizTransactionList(new BusinessTransactionListType());
+                }
+                list = transEvent.getBizTransactionList();
+            } else {
+                continue;
+            }
             BusinessTransactionType btrans = new BusinessTransactionType();
-            btrans.setValue(rs.getString(1));
-            btrans.setType(rs.getString(2));
+            btrans.setValue(rs.getString(2));
+            btrans.setType(rs.getString(3));
             list.getBizTransaction().add(btrans);
         }
-        return list.getBizTransaction().isEmpty() ? null : list;
     }
 
     /**
-     * Retrieves a list of EPCs (an instance of EPCListType) from the given
-     * result set.
+     * Retrieves the EPCs from the given result set and adds them to the EPC
+     * lists (instances of EPCListType) of the events they belong to.
      * 
      * @param rs
      *            The result of the SQL query.
-     * @return A List of qualified XML elements
+     * @param eventsById
+     *            The events by their ID.
      * @throws SQLException
      *             If a database access error occurred.
      */
-    private EPCListType readEpcsFromResult(final ResultSet rs) throws SQLException {
-        EPCListType epcs = new EPCListType();
+    private void readEpcsFromResult(final ResultSet rs, final Map<Long, EPCISEventType> eventsById)
+            throws SQLException {
         while (rs.next()) {
+            EPCISEventType event = eventsById.get(Long.valueOf(rs.getLong(1)));
+            EPCListType epcs;
+            if (event instanceof AggregationEventType) {
+                AggregationEventType aggrEvent = (AggregationEventType) event;
+                if (aggrEvent.getChildEPCs() == null) {
+                    aggrEvent.setChildEPCs(new EPCListType());
+                }
+                epcs = aggrEvent.getChildEPCs();
+            } else if (event instanceof ObjectEventType) {
+                ObjectEventType objEvent = (ObjectEventType) event;
+                if (objEvent.getEpcList() == null) {
+                    objEvent.setEpcList(new EPCListType());
+                }
+                epcs = objEvent.getEpcList();
+            } else if (event instanceof TransactionEventType) {
+                TransactionEventType transEvent = (TransactionEventType) event;
+                if (transEvent.getEpcList() == null) {
+                    transEvent.setEpcList(new EPCListType());
+                }
+                epcs = transEvent.getEpcList();
+            } else {
+                continue;
+            }
             EPC epc = new EPC();
-            epc.setValue(rs.getString(1));
+            epc.setValue(rs.getString(2));
             epcs.getEpc().add(epc);
         }
-        return epcs.getEpc().isEmpty() ? null : epcs;
     }
 
     /**
      * Fetches the qualified XML elements representing extensions for event
-     * fields from the given result set and populates the given List.
+     * fields from the given result set and adds them to the events they belong
+     * to.
      * 
      * @param rs
      *            The result of the SQL query.
+     * @param eventsById
+     *            The events by their ID.
      * @throws SQLException
      *             If a database access error occurred.
      */
-    private void readExtensionsFromResult(final ResultSet rs, final List<Object> extensions) throws SQLException {
+    private void readExtensionsFromResult(final ResultSet rs, final Map<Long, EPCISEventType> eventsById)
+            throws SQLException {
         while (rs.next()) {
-            String fieldname = rs.getString(1);
+            EPCISEventType event = eventsById.get(Long.valueOf(rs.getLong(1)));
+            List<Object> extensions;
+            if (event instanceof AggregationEventType) {
+                extensions = ((AggregationEventType) event).getAny();
+            } else if (event instanceof ObjectEventType) {
+                extensions = ((ObjectEventType) event).getAny();
+            } else if (event instanceof QuantityEventType) {
+                extensions = ((QuantityEventType) event).getAny();
+            } else if (event instanceof TransactionEventType) {
+                extensions = ((TransactionEventType) event).getAny();
+            } else {
+                continue;
+            }
+            String fieldname = rs.getString(2);
             String[] parts = fieldname.split("#");
             if (parts.length != 2) {
                 throw new SQLException(
@@ -861,14 +1432,14 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             }
             String namespace = parts[0];
             String localPart = parts[1];
-            String prefix = rs.getString(2);
-            String value = rs.getString(3);
+            String prefix = rs.getString(3);
+            String value = rs.getString(4);
             if (value == null) {
-                value = rs.getString(4);
+                value = rs.getString(5);
                 if (value == null) {
-                    value = rs.getString(5);
+                    value = rs.getString(6);
                     if (value == null) {
-                        value = rs.getString(6);
+                        value = rs.getString(7);
                         if (value == null) {
                             throw new SQLException("No valid extension value found");
                         }
@@ -888,52 +1459,57 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             throws SQLException, ImplementationExceptionResponse {
         String query = "SELECT * FROM subscription";
         LOG.debug("SQL: " + query);
-        Statement stmt = session.getConnection().createStatement();
+        Statement stmt = session.createStatement();
         QuerySubscriptionScheduled storedSubscription;
         GregorianCalendar initrectime = new GregorianCalendar();
 
-        ResultSet rs = stmt.executeQuery(query);
         Map<String, QuerySubscriptionScheduled> subscribedMap = new HashMap<String, QuerySubscriptionScheduled>();
-        while (rs.next()) {
-            try {
-                String subscrId = rs.getString("subscriptionid");
+        try {
+            ResultSet rs = stmt.executeQuery(query);
+            while (rs.next()) {
+                try {
+                    String subscrId = rs.getString("subscriptionid");
 
-                ObjectInput in = new ObjectInputStream(rs.getBinaryStream("params"));
-                QueryParams params = (QueryParams) in.readObject();
+                    ObjectInput in = new ObjectInputStream(rs.getBinaryStream("params"));
+                    QueryParams params = (QueryParams) in.readObject();
 
-                String dest = rs.getString("dest");
+                    String dest = rs.getString("dest");
 
-                in = new ObjectInputStream(rs.getBinaryStream("sched"));
-                Schedule sched = (Schedule) in.readObject();
+                    in = new ObjectInputStream(rs.getBinaryStream("sched"));
+                    Schedule sched = (Schedule) in.readObject();
 
-                initrectime.setTime(rs.getTimestamp("initialrecordingtime"));
+                    initrectime.setTime(rs.getTimestamp("initialrecordingtime"));
 
-                boolean exportifempty = rs.getBoolean("exportifempty");
+                    boolean exportifempty = rs.getBoolean("exportifempty");
 
-                String queryName = rs.getString("queryname");
-                String trigger = rs.getString("trigg");
+                    String queryName = rs.getString("queryname");
+                    String trigger = rs.getString("trigg");
 
-                if (trigger == null || trigger.length() == 0) {
-                    storedSubscription = new QuerySubscriptionScheduled(subscrId, params, dest,
-                            Boolean.valueOf(exportifempty), initrectime, new GregorianCalendar(), sched, queryName);
-                } else {
-                    storedSubscription = new QuerySubscriptionTriggered(subscrId, params, dest,
-                            Boolean.valueOf(exportifempty), initrectime, new GregorianCalendar(), queryName, trigger,
-                            sched);
+                    if (trigger == null || trigger.length() == 0) {
+                        storedSubscription = new QuerySubscriptionScheduled(subscrId, params, dest,
+                                Boolean.valueOf(exportifempty), initrectime, new GregorianCalendar(), sched,
+                                queryName);
+                    } else {
+                        storedSubscription = new QuerySubscriptionTriggered(subscrId, params, dest,
+                                Boolean.valueOf(exportifempty), initrectime, new GregorianCalendar(), queryName, trigger,
+                                sched);
+                    }
+                    subscribedMap.put(subscrId, storedSubscription);
+                } catch (SQLException e) {
+                    // sql exceptions are passed on
+                    throw e;
+                } catch (Exception e) {
+                    // all other exceptions are caught
+                    String msg = "Unable to restore subscribed queries from the database.";
+                    LOG.error(msg, e);
+                    ImplementationException iex = new ImplementationException();
+                    iex.setReason(msg);
+                    iex.setSeverity(ImplementationExceptionSeverity.ERROR);
+                    throw new ImplementationExceptionResponse(msg, iex, e);
                 }
-                subscribedMap.put(subscrId, storedSubscription);
-            } catch (SQLException e) {
-                // sql exceptions are passed on
-                throw e;
-            } catch (Exception e) {
-                // all other exceptions are caught
-                String msg = "Unable to restore subscribed queries from the database.";
-                LOG.error(msg, e);
-                ImplementationException iex = new ImplementationException();
-                iex.setReason(msg);
-                iex.setSeverity(ImplementationExceptionSeverity.ERROR);
-                throw new ImplementationExceptionResponse(msg, iex, e);
             }
+        } finally {
+            stmt.close();
         }
         return subscribedMap;
     }
@@ -947,7 +1523,7 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
         String insert = "INSERT INTO subscription (subscriptionid, "
                 + "params, dest, sched, trigg, initialrecordingtime, "
                 + "exportifempty, queryname, lastexecuted) VALUES " + "((?), (?), (?), (?), (?), (?), (?), (?), (?))";
-        PreparedStatement stmt = session.getConnection().prepareStatement(insert);
+        PreparedStatement stmt = session.prepareStatement(insert);
         LOG.debug("QUERY: " + insert);
         try {
             stmt.setString(1, subscrId);
@@ -997,6 +1573,8 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
             iex.setReason(msg);
             iex.setSeverity(ImplementationExceptionSeverity.ERROR);
             throw new ImplementationExceptionResponse(msg, iex, e);
+        } finally {
+            stmt.close();
         }
     }
 
@@ -1005,7 +1583,7 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
      */
     public void deleteSubscription(final QueryOperationsSession session, String subscrId) throws SQLException {
         String delete = "DELETE FROM subscription WHERE subscriptionid=?";
-        PreparedStatement ps = session.getConnection().prepareStatement(delete);
+        PreparedStatement ps = session.getPreparedStatement(delete);
         ps.setString(1, subscrId);
         if (LOG.isDebugEnabled()) {
             LOG.debug("SQL: " + delete);
@@ -1059,4 +1637,12 @@ public class QueryOperationsBackendSQL implements QueryOperationsBackend {
         }
         return tablename;
     }
+
+    /**
+     * Processes the result of a query fetching the children of a number of
+     * events.
+     */
+    private interface ResultHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
 }
@@ -20,6 +20,7 @@
 
 package org.fosstrak.epcis.repository.query;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.SQLException;
@@ -33,10 +34,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.servlet.ServletContext;
 import javax.sql.DataSource;
+import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
 
 import org.fosstrak.epcis.model.ArrayOfString;
 import org.fosstrak.epcis.model.DuplicateSubscriptionException;
@@ -47,12 +53,14 @@ import org.fosstrak.epcis.model.ImplementationExceptionSeverity;
 import org.fosstrak.epcis.model.InvalidURIException;
 import org.fosstrak.epcis.model.NoSuchNameException;
 import org.fosstrak.epcis.model.NoSuchSubscriptionException;
+import org.fosstrak.epcis.model.QuantityEventType;
 import org.fosstrak.epcis.model.QueryParam;
 import org.fosstrak.epcis.model.QueryParameterException;
 import org.fosstrak.epcis.model.QueryParams;
 import org.fosstrak.epcis.model.QueryResults;
 import org.fosstrak.epcis.model.QueryResultsBody;
 import org.fosstrak.epcis.model.QuerySchedule;
+import org.fosstrak.epcis.model.QueryTooComplexException;
 import org.fosstrak.epcis.model.QueryTooLargeException;
 import org.fosstrak.epcis.model.SubscribeNotPermittedException;
 import org.fosstrak.epcis.model.SubscriptionControls;
@@ -61,6 +69,7 @@ import org.fosstrak.epcis.model.ValidationException;
 import org.fosstrak.epcis.model.VocabularyListType;
 import org.fosstrak.epcis.repository.EpcisConstants;
 import org.fosstrak.epcis.repository.EpcisQueryControlInterface;
+import org.fosstrak.epcis.repository.HighWaterMarks;
 import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.EventQueryParam;
 import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.Operation;
 import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.OrderDirection;
@@ -114,6 +123,25 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         QUERYNAMES.add("SimpleMasterDataQuery");
     }
 
+    /**
+     * Orders query parameters by their names, parameters without a name first.
+     */
+    private static final Comparator<QueryParam> PARAM_NAME_COMPARATOR = new Comparator<QueryParam>() {
+        public int compare(QueryParam p1, QueryParam p2) {
+            if (p1.getName() == null || p2.getName() == null) {
+                return p1.getName() == null ? (p2.getName() == null ? 0 : -1) : 1;
+            }
+            return p1.getName().compareTo(p2.getName());
+        }
+    };
+
+    /**
+     * The name of the element holding the continuation token of a paged
+     * SimpleEventQuery in the query results (Fosstrak extension).
+     */
+    private static final QName CONTINUATION_TOKEN_QNAME = new QName("http://www.fosstrak.org/epcis/query",
+            "continuationToken");
+
     /**
      * The version of this service implementation. The empty string indicates
      * that the implementation implements only standard functionality with no
@@ -127,18 +155,119 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
     private int maxQueryRows;
 
     /**
-     * The maximum timeout to wait for a query to return.
+     * The maximum time (in milliseconds) a poll may take before its queries
+     * are cancelled (0 = no limit).
      */
     private int maxQueryTime;
 
+    private QueryWatchdog queryWatchdog;
+
     // time to wait for checking trigger conditions
     private String triggerConditionSeconds;
     private String triggerConditionMinutes;
 
+    /**
+     * The number of worker threads used to run the queries for the different
+     * event types of a poll in parallel (0 = run them one after the other).
+     */
+    private int queryWorkers = 0;
+
+    private QueryExecutor queryExecutor;
+
+    /**
+     * The maximum number of SimpleEventQuery results kept in memory to answer
+     * repeated polls (0 = no caching).
+     */
+    private int pollCacheSize = 0;
+
+    private PollCache pollCache;
+
     private ServletContext servletContext;
     private DataSource dataSource;
     private QueryOperationsBackend backend;
 
+    /**
+     * The read replica of the database answering polls, if any; subscribe and
+     * unsubscribe always use the primary database.
+     */
+    private DataSource replicaDataSource;
+
+    /**
+     * The maximum lag (in milliseconds) of the read replica for polls without
+     * an LT_recordTime bound to be answered by the replica.
+     */
+    private long maxReplicaLag = 30000;
+
+    /**
+     * The time (in milliseconds) by which the replicated time trails the
+     * heartbeat held by the read replica; must exceed the duration of the
+     * longest capture transaction.
+     */
+    private long replicaSafetyMargin = 60000;
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    /**
+     * The databases holding the events of the shards, or <code>null</code> if
+     * all events are held by the main database.
+     */
+    private List<DataSource> shardDataSources;
+
+    /**
+     * Starts the query executor if parallel queries are enabled or shards are
+     * configured, the query
+     * watchdog if the query execution time is limited and the replica lag
+     * monitor if a read replica is configured, and creates the poll cache if
+     * caching is enabled.
+     * 
+     * @throws IllegalStateException
+     *             If shards are configured and the first of them is not the
+     *             main database.
+     */
+    public void init() {
+        if (shardDataSources != null && shardDataSources.get(0) != dataSource) {
+            // the sharded capture stores master data and the vocabulary used
+            // by the events on all shards but not on any other database, while
+            // master data queries and subscriptions use the main database
+            throw new IllegalStateException("The first shard must be the main database");
+        }
+        if (queryWorkers > 0) {
+            queryExecutor = new QueryExecutor(queryWorkers);
+        } else if (shardDataSources != null && shardDataSources.size() > 1) {
+            // query the shards in parallel
+            queryExecutor = new QueryExecutor(shardDataSources.size() - 1);
+        }
+        if (maxQueryTime > 0) {
+            queryWatchdog = new QueryWatchdog();
+        }
+        if (pollCacheSize > 0) {
+            pollCache = new PollCache(pollCacheSize, HighWaterMarks.getInstance());
+        }
+        if (replicaDataSource != null && replicaLagMonitor == null) {
+            replicaLagMonitor = new ReplicaLagMonitor(dataSource, replicaDataSource, maxReplicaLag,
+                    replicaSafetyMargin);
+            replicaLagMonitor.start();
+        }
+    }
+
+    /**
+     * Stops the query executor, the query watchdog and the replica lag monitor.
+     */
+    public void destroy() {
+        if (queryExecutor != null) {
+            queryExecutor.shutdown();
+            queryExecutor = null;
+        }
+        if (queryWatchdog != null) {
+            queryWatchdog.shutdown();
+            queryWatchdog = null;
+        }
+        if (replicaLagMonitor != null) {
+            replicaLagMonitor.stop();
+            replicaLagMonitor = null;
+        }
+    }
+
     /**
      * Create an SQL query string from the given query parameters.
      * <p>
@@ -210,13 +339,20 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         OrderDirection orderDirection = null;
         int eventCountLimit = -1;
         int maxEventCount = -1;
+        int pageSize = -1;
+        String continuationToken = null;
 
         // a sorted List of query parameter names - keeps track of the processed
         // names in order to cope with duplicates
         List<String> sortedParamNames = new ArrayList<String>();
 
+        // handle the parameters in the order of their names, such that the
+        // same set of parameters always results in the same SQL statements
+        List<QueryParam> params = new ArrayList<QueryParam>(queryParams.getParam());
+        Collections.sort(params, PARAM_NAME_COMPARATOR);
+
         int nofEventFieldExtensions = 0;
-        for (QueryParam param : queryParams.getParam()) {
+        for (QueryParam param : params) {
             String paramName = param.getName();
             Object paramValue = param.getValue();
 
@@ -494,6 +630,18 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
                 } else if (paramName.equals("maxEventCount")) {
                     maxEventCount = parseAsInteger(paramValue).intValue();
 
+                } else if (paramName.equals("pageSize")) {
+                    // Fosstrak extension: paged SimpleEventQuery
+                    pageSize = parseAsInteger(paramValue).intValue();
+                    if (pageSize < 1) {
+                        String msg = "'pageSize' must be greater than 0";
+                        throw queryParameterException(msg, null);
+                    }
+
+                } else if (paramName.equals("continuationToken")) {
+                    // Fosstrak extension: paged SimpleEventQuery
+                    continuationToken = parseAsString(paramValue);
+
                 } else {
                     String msg = "Unknown query parameter: " + paramName;
                     throw queryParameterException(msg, null);
@@ -520,6 +668,27 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
             String msg = "'orderDirection' may only be used when 'orderBy' is specified";
             throw queryParameterException(msg, null);
         }
+        if (pageSize == -1 && continuationToken != null) {
+            String msg = "'continuationToken' may only be used when 'pageSize' is specified";
+            throw queryParameterException(msg, null);
+        }
+        if (pageSize > -1) {
+            // pages are always ordered by ascending eventTime
+            if (eventCountLimit > -1 || maxEventCount > -1) {
+                String msg = "'pageSize' cannot be combined with 'eventCountLimit' or 'maxEventCount'";
+                throw queryParameterException(msg, null);
+            }
+            if ((orderBy != null && !"eventTime".equals(orderBy)) || orderDirection == OrderDirection.DESC) {
+                String msg = "'pageSize' can only be used with events ordered by ascending eventTime";
+                throw queryParameterException(msg, null);
+            }
+            orderBy = null;
+            orderDirection = null;
+            aggrEventQuery.setPageSize(pageSize);
+            objEventQuery.setPageSize(pageSize);
+            quantEventQuery.setPageSize(pageSize);
+            transEventQuery.setPageSize(pageSize);
+        }
         if (orderBy != null) {
             aggrEventQuery.setOrderBy(orderBy);
             objEventQuery.setOrderBy(orderBy);
@@ -558,6 +727,14 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         if (includeTransEvents) {
             eventQueries.add(transEventQuery);
         }
+        if (continuationToken != null) {
+            try {
+                PageToken.decode(continuationToken, eventQueries);
+            } catch (IllegalArgumentException e) {
+                String msg = "Invalid value for query parameter 'continuationToken'";
+                throw queryParameterException(msg, e);
+            }
+        }
         return eventQueries;
     }
 
@@ -925,6 +1102,33 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         return new QueryParameterExceptionResponse(msg, qpe);
     }
 
+    /**
+     * Creates a QueryTooComplexExceptionResponse for a poll whose queries
+     * failed because they exceeded the maximum query execution time.
+     */
+    private QueryTooComplexExceptionResponse queryTooComplex(SQLException e) {
+        String msg = "The query did not complete within the maximum query execution time of " + maxQueryTime
+                + " ms - try to restrict it further, e.g. by a smaller time range";
+        LOG.info("QueryTooComplexException: " + msg + " (" + e.getMessage() + ")");
+        QueryTooComplexException qtce = new QueryTooComplexException();
+        qtce.setReason(msg);
+        return new QueryTooComplexExceptionResponse(msg, qtce, e);
+    }
+
+    /**
+     * Limits the execution time of the queries of the given session to
+     * <code>maxQueryTime</code>.
+     * 
+     * @return The pending cancellation of the queries, or <code>null</code> if
+     *         the execution time is not limited.
+     */
+    private Future<?> watch(QueryOperationsSession session) {
+        if (queryWatchdog == null) {
+            return null;
+        }
+        return queryWatchdog.watch(session, maxQueryTime);
+    }
+
     /**
      * Checks if the given action values are valid, i.e. all values must be one
      * of ADD, OBSERVE, or DELETE. Throws an exception if one of the values is
@@ -1043,29 +1247,56 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
             SecurityExceptionResponse, ValidationExceptionResponse, ImplementationExceptionResponse {
         try {
             LOG.info("Invoking 'poll'");
+            String cacheKey = null;
+            String[] cacheTypes = null;
+            long[] cacheMarks = null;
+            if (pollCache != null && queryName.equals("SimpleEventQuery")) {
+                cacheKey = PollCache.createKey(queryName, queryParams);
+                QueryResults cachedResults = pollCache.get(cacheKey);
+                if (cachedResults != null) {
+                    LOG.info("poll request for '" + queryName + "' answered from cache");
+                    return copyResults(cachedResults);
+                }
+            }
+            DataSource queryDataSource = getQueryDataSource(queryParams);
             QueryOperationsSession session = null;
+            Future<?> timeout = null;
             try {
-                session = backend.openSession(dataSource);
+                session = backend.openSession(queryDataSource);
+                timeout = watch(session);
                 QueryResultsBody resultsBody = null;
+                String continuationToken = null;
                 if (queryName.equals("SimpleEventQuery")) {
                     LOG.info("This is a SimpleEventQuery");
-                    EventListType eventList = new EventListType();
                     List<SimpleEventQueryDTO> eventQueries = constructSimpleEventQueries(queryParams);
-                    // run queries sequentially
-                    // TODO: might want to run them in parallel!
-                    String orderBy = null;
-                    OrderDirection orderDirection = null;
-                    int limit = -1;
-                    for (SimpleEventQueryDTO eventQuery : eventQueries) {
-                        if (eventQuery.getOrderBy() != null) {
-                            orderBy = eventQuery.getOrderBy();
-                            orderDirection = eventQuery.getOrderDirection();
-                            limit = eventQuery.getLimit();
+                    if (cacheKey != null) {
+                        // the results depend on the events of the queried
+                        // types and on the master data, which may affect both
+                        // the selection and the content of the events
+                        List<String> types = new ArrayList<String>();
+                        for (SimpleEventQueryDTO eventQuery : eventQueries) {
+                            types.add(eventQuery.getEventType());
                         }
-                        backend.runSimpleEventQuery(session, eventQuery,
+                        types.addAll(EpcisConstants.VOCABULARY_TYPES);
+                        cacheTypes = types.toArray(new String[types.size()]);
+                        cacheMarks = pollCache.getMarks(cacheTypes);
+                    }
+                    EventListType eventList;
+                    if (shardDataSources != null) {
+                        eventList = collectShardedEvents(session, queryDataSource, eventQueries);
+                    } else if (!eventQueries.isEmpty() && eventQueries.get(0).getPageSize() > -1) {
+                        // Fosstrak extension: return a single page of events
+                        // and the token to continue with
+                        eventList = new EventListType();
+                        boolean morePages = backend.runOrderedSimpleEventQueries(session, eventQueries,
+                                eventQueries.get(0).getPageSize(),
                                 eventList.getObjectEventOrAggregationEventOrQuantityEvent());
+                        if (morePages) {
+                            continuationToken = PageToken.encode(eventQueries);
+                        }
+                    } else {
+                        eventList = collectEvents(session, queryDataSource, eventQueries);
                     }
-                    eventList = checkOrdering(eventList, orderBy, orderDirection, limit);
 
                     resultsBody = new QueryResultsBody();
                     resultsBody.setEventList(eventList);
@@ -1088,10 +1319,27 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
                 QueryResults results = new QueryResults();
                 results.setResultsBody(resultsBody);
                 results.setQueryName(queryName);
+                if (continuationToken != null) {
+                    results.getAny().add(
+                            new JAXBElement<String>(CONTINUATION_TOKEN_QNAME, String.class, continuationToken));
+                }
+                if (cacheKey != null && queryDataSource == dataSource) {
+                    // results from the replica may miss events already
+                    // counted by the high-water marks, thus aren't cached
+                    pollCache.put(cacheKey, copyResults(results), cacheTypes, cacheMarks);
+                }
 
                 LOG.info("poll request for '" + queryName + "' succeeded");
                 return results;
+            } catch (SQLException e) {
+                if (session != null && session.isTimedOut()) {
+                    throw queryTooComplex(e);
+                }
+                throw e;
             } finally {
+                if (timeout != null) {
+                    queryWatchdog.release(timeout);
+                }
                 if (session != null) {
                     session.close();
                 }
@@ -1107,6 +1355,475 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         }
     }
 
+    /**
+     * Creates a shallow copy of the given query results, such that cached
+     * results are not affected by callers setting e.g. the subscription ID.
+     */
+    private QueryResults copyResults(QueryResults results) {
+        QueryResults copy = new QueryResults();
+        copy.setQueryName(results.getQueryName());
+        copy.setSubscriptionID(results.getSubscriptionID());
+        copy.setResultsBody(results.getResultsBody());
+        copy.getAny().addAll(results.getAny());
+        return copy;
+    }
+
+    /**
+     * Runs a SimpleEventQuery and passes the resulting events to the given
+     * handler instead of returning them. This is a Fosstrak extension used to
+     * stream large poll results, see {@link QueryStreamingServlet}.
+     * <p>
+     * If the events of different event types must be ordered across the types,
+     * they are collected as in {@link #poll(String, QueryParams)} before being
+     * passed to the handler. Otherwise, they are passed to the handler in
+     * batches while being read from the database, such that only a single batch
+     * of events is held in memory as JAXB objects (the JDBC driver may still
+     * buffer the result rows). In either case, the number of events is
+     * checked against <code>maxEventCount</code> before the first event is
+     * passed to the handler.
+     * 
+     * @param queryParams
+     *            The parameters of the SimpleEventQuery.
+     * @param handler
+     *            The handler to pass the resulting events to.
+     * @throws IOException
+     *             If the handler failed to process an event.
+     */
+    public void pollEvents(QueryParams queryParams, QueryEventHandler handler) throws QueryParameterExceptionResponse,
+            QueryTooComplexExceptionResponse, QueryTooLargeExceptionResponse, ImplementationExceptionResponse,
+            IOException {
+        try {
+            LOG.info("Invoking 'poll' (streaming)");
+            DataSource queryDataSource = getQueryDataSource(queryParams);
+            QueryOperationsSession session = null;
+            Future<?> timeout = null;
+            try {
+                session = backend.openSession(queryDataSource);
+                timeout = watch(session);
+                List<SimpleEventQueryDTO> eventQueries = constructSimpleEventQueries(queryParams);
+                if (!eventQueries.isEmpty() && eventQueries.get(0).getPageSize() > -1) {
+                    String msg = "'pageSize' is not supported when streaming the query results";
+                    throw queryParameterException(msg, null);
+                }
+                String orderBy = null;
+                for (SimpleEventQueryDTO eventQuery : eventQueries) {
+                    if (eventQuery.getOrderBy() != null) {
+                        orderBy = eventQuery.getOrderBy();
+                    }
+                }
+                if (shardDataSources != null) {
+                    EventListType eventList = collectShardedEvents(session, queryDataSource, eventQueries);
+                    for (Object event : eventList.getObjectEventOrAggregationEventOrQuantityEvent()) {
+                        handler.handleEvent(event);
+                    }
+                } else if (orderBy != null && !"quantity".equals(orderBy) && eventQueries.size() > 1) {
+                    EventListType eventList = collectEvents(session, queryDataSource, eventQueries);
+                    for (Object event : eventList.getObjectEventOrAggregationEventOrQuantityEvent()) {
+                        handler.handleEvent(event);
+                    }
+                } else {
+                    backend.runSimpleEventQueries(session, eventQueries, handler);
+                }
+                LOG.info("poll request for 'SimpleEventQuery' (streaming) succeeded");
+            } catch (SQLException e) {
+                if (session != null && session.isTimedOut()) {
+                    throw queryTooComplex(e);
+                }
+                throw e;
+            } finally {
+                if (timeout != null) {
+                    queryWatchdog.release(timeout);
+                }
+                if (session != null) {
+                    session.close();
+                }
+                LOG.debug("DB connection closed");
+            }
+        } catch (SQLException e) {
+            ImplementationException iex = new ImplementationException();
+            String msg = "SQL error during query execution: " + e.getMessage();
+            LOG.error(msg, e);
+            iex.setReason(msg);
+            iex.setSeverity(ImplementationExceptionSeverity.ERROR);
+            throw new ImplementationExceptionResponse(msg, iex, e);
+        }
+    }
+
+    /**
+     * Returns the database to answer a poll with: the read replica if the
+     * replica lag monitor says so, the primary database otherwise. If shards
+     * are configured, polls are always answered by the primary databases.
+     * 
+     * @param queryParams
+     *            The parameters of the poll.
+     * @return The database to answer the poll with.
+     * @throws QueryParameterExceptionResponse
+     *             If the LT_recordTime parameter cannot be parsed.
+     */
+    private DataSource getQueryDataSource(QueryParams queryParams) throws QueryParameterExceptionResponse {
+        if (replicaLagMonitor == null || shardDataSources != null) {
+            return dataSource;
+        }
+        Long recordTimeBound = null;
+        for (QueryParam param : queryParams.getParam()) {
+            if ("LT_recordTime".equals(param.getName())) {
+                recordTimeBound = Long.valueOf(parseAsCalendar(param.getValue(), param.getName()).getTimeInMillis());
+            }
+        }
+        if (replicaLagMonitor.useReplica(recordTimeBound)) {
+            LOG.debug("Poll answered by the read replica");
+            return replicaDataSource;
+        }
+        return dataSource;
+    }
+
+    /**
+     * Runs the queries for the different event types and returns the resulting
+     * events, ordered and limited as requested by the queries.
+     * 
+     * @param session
+     *            The QueryOperationsSession of the poll.
+     * @param queryDataSource
+     *            The database the session is connected to.
+     * @param eventQueries
+     *            The queries to run.
+     * @return The resulting events.
+     */
+    private EventListType collectEvents(final QueryOperationsSession session, final DataSource queryDataSource,
+            final List<SimpleEventQueryDTO> eventQueries) throws SQLException, ImplementationExceptionResponse,
+            QueryTooLargeExceptionResponse {
+        EventListType eventList = new EventListType();
+        String orderBy = null;
+        OrderDirection orderDirection = null;
+        int limit = -1;
+        for (SimpleEventQueryDTO eventQuery : eventQueries) {
+            if (eventQuery.getOrderBy() != null) {
+                orderBy = eventQuery.getOrderBy();
+                orderDirection = eventQuery.getOrderDirection();
+                limit = eventQuery.getLimit();
+            }
+        }
+        if (isUnionApplicable(eventQueries)) {
+            // let the database order and limit the events of all types in a
+            // single round trip
+            LOG.info("Query plan: single UNION ALL query for " + eventQueries.size() + " event types");
+            backend.runUnionSimpleEventQuery(session, eventQueries,
+                    eventList.getObjectEventOrAggregationEventOrQuantityEvent());
+        } else if (limit > -1 && eventQueries.size() > 1
+                && ("eventTime".equals(orderBy) || "recordTime".equals(orderBy))) {
+            // merge the ordered results of the event types up to the limit
+            // instead of sorting all of them
+            LOG.info("Query plan: merging ordered queries for " + eventQueries.size() + " event types");
+            backend.runOrderedSimpleEventQueries(session, eventQueries, limit,
+                    eventList.getObjectEventOrAggregationEventOrQuantityEvent());
+        } else {
+            LOG.info("Query plan: separate queries for " + eventQueries.size() + " event types");
+            runSimpleEventQueries(session, queryDataSource, eventQueries,
+                    eventList.getObjectEventOrAggregationEventOrQuantityEvent());
+            eventList = checkOrdering(eventList, orderBy, orderDirection, limit);
+        }
+        return eventList;
+    }
+
+    /**
+     * Runs the queries for the different event types on all shards and merges
+     * the resulting events, ordered and limited as requested by the queries.
+     * The shard the poll session is connected to is queried on that session,
+     * the others in parallel on the worker threads of the query executor, each
+     * on a connection of its own, or on the poll thread if no worker is
+     * available.
+     * 
+     * @param session
+     *            The QueryOperationsSession of the poll.
+     * @param queryDataSource
+     *            The database the session is connected to.
+     * @param eventQueries
+     *            The queries to run.
+     * @return The resulting events of all shards.
+     * @throws QueryParameterExceptionResponse
+     *             If the queries are paged or ordered by an extension field,
+     *             which is not supported across shards.
+     */
+    private EventListType collectShardedEvents(final QueryOperationsSession session, final DataSource queryDataSource,
+            final List<SimpleEventQueryDTO> eventQueries) throws SQLException, ImplementationExceptionResponse,
+            QueryTooLargeExceptionResponse, QueryParameterExceptionResponse {
+        String orderBy = null;
+        OrderDirection orderDirection = null;
+        int limit = -1;
+        int maxEventCount = -1;
+        for (SimpleEventQueryDTO eventQuery : eventQueries) {
+            if (eventQuery.getPageSize() > -1) {
+                String msg = "'pageSize' is not supported by a sharded repository";
+                throw queryParameterException(msg, null);
+            }
+            if (eventQuery.getOrderBy() != null) {
+                orderBy = eventQuery.getOrderBy();
+                orderDirection = eventQuery.getOrderDirection();
+                limit = eventQuery.getLimit();
+            }
+            maxEventCount = eventQuery.getMaxEventCount();
+        }
+        if (orderBy != null && !EventComparator.isSupported(orderBy)) {
+            String msg = "Ordering by extension fields is not supported by a sharded repository";
+            throw queryParameterException(msg, null);
+        }
+        LOG.info("Query plan: scatter-gather over " + shardDataSources.size() + " shards");
+
+        List<List<Object>> shardEvents = new ArrayList<List<Object>>(shardDataSources.size());
+        List<Future<List<Object>>> results = new ArrayList<Future<List<Object>>>(shardDataSources.size());
+        boolean done = false;
+        try {
+            for (final DataSource shardDataSource : shardDataSources) {
+                Future<List<Object>> result = null;
+                if (shardDataSource != queryDataSource && queryExecutor != null) {
+                    result = queryExecutor.submit(new Callable<List<Object>>() {
+                        public List<Object> call() throws Exception {
+                            return collectShardEvents(session, shardDataSource, eventQueries);
+                        }
+                    });
+                }
+                results.add(result);
+            }
+            for (int i = 0; i < shardDataSources.size(); i++) {
+                Future<List<Object>> result = results.get(i);
+                DataSource shardDataSource = shardDataSources.get(i);
+                if (result != null) {
+                    shardEvents.add(getResult(result));
+                } else if (shardDataSource == queryDataSource) {
+                    shardEvents.add(collectEvents(session, queryDataSource, eventQueries)
+                            .getObjectEventOrAggregationEventOrQuantityEvent());
+                } else {
+                    shardEvents.add(collectShardEvents(session, shardDataSource, eventQueries));
+                }
+            }
+            done = true;
+        } finally {
+            // if a shard failed, don't wait for the others
+            if (!done) {
+                session.cancelAttached();
+            }
+            for (Future<List<Object>> result : results) {
+                if (result != null) {
+                    result.cancel(true);
+                }
+            }
+        }
+        EventListType eventList = new EventListType();
+        mergeShardEvents(shardEvents, orderBy, orderDirection, limit, maxEventCount,
+                eventList.getObjectEventOrAggregationEventOrQuantityEvent());
+        return eventList;
+    }
+
+    /**
+     * Runs the queries for the different event types on the given shard, on a
+     * session of its own which is cancelled together with the poll session.
+     */
+    private List<Object> collectShardEvents(final QueryOperationsSession session, final DataSource shardDataSource,
+            final List<SimpleEventQueryDTO> eventQueries) throws SQLException, ImplementationExceptionResponse,
+            QueryTooLargeExceptionResponse {
+        QueryOperationsSession shardSession = backend.openSession(shardDataSource);
+        session.attach(shardSession);
+        try {
+            return collectEvents(shardSession, shardDataSource, eventQueries)
+                    .getObjectEventOrAggregationEventOrQuantityEvent();
+        } finally {
+            shardSession.close();
+        }
+    }
+
+    /**
+     * Merges the events returned by the shards. Each shard has already ordered
+     * and limited its events, so the merged events only need to be ordered
+     * and limited once more; <code>maxEventCount</code>, on the other hand,
+     * applies to the events of each type of all shards together.
+     * 
+     * @param shardEvents
+     *            The events returned by the shards.
+     * @param orderBy
+     *            The field to order the events by, or <code>null</code>.
+     * @param orderDirection
+     *            The direction to order the events in.
+     * @param limit
+     *            The maximum number of events to return, or -1.
+     * @param maxEventCount
+     *            The maximum number of events of each type, or -1.
+     * @param eventList
+     *            The list to which the merged events are added.
+     * @throws QueryTooLargeExceptionResponse
+     *             If the shards together returned more than
+     *             <code>maxEventCount</code> events of a type.
+     */
+    static void mergeShardEvents(List<List<Object>> shardEvents, String orderBy, OrderDirection orderDirection,
+            int limit, int maxEventCount, List<Object> eventList) throws QueryTooLargeExceptionResponse {
+        for (List<Object> events : shardEvents) {
+            eventList.addAll(events);
+        }
+        if (maxEventCount > -1) {
+            Map<Class<?>, Integer> counts = new HashMap<Class<?>, Integer>();
+            for (Object event : eventList) {
+                Integer count = counts.get(event.getClass());
+                int newCount = count == null ? 1 : count.intValue() + 1;
+                if (newCount > maxEventCount) {
+                    String msg = "The query returned more results than specified by 'maxEventCount'";
+                    LOG.info("USER ERROR: " + msg);
+                    QueryTooLargeException e = new QueryTooLargeException();
+                    e.setReason(msg);
+                    throw new QueryTooLargeExceptionResponse(msg, e);
+                }
+                counts.put(event.getClass(), Integer.valueOf(newCount));
+            }
+        }
+        if (orderBy != null && shardEvents.size() > 1) {
+            Collections.sort(eventList, new EventComparator(orderBy, orderDirection));
+        }
+        if (limit > -1 && eventList.size() > limit) {
+            eventList.subList(limit, eventList.size()).clear();
+        }
+    }
+
+    /**
+     * Checks whether the given queries can be run as a single query combining
+     * the events of all types with <code>UNION ALL</code>. This is the case if
+     * there are several queries which only differ in their event type, are not
+     * paged, are ordered by eventTime or recordTime (if at all), and don't
+     * specify a <code>maxEventCount</code>, which applies to each event type
+     * on its own.
+     * 
+     * @param eventQueries
+     *            The queries for the different event types.
+     * @return <code>true</code> if the queries can be run as a single query.
+     */
+    private static boolean isUnionApplicable(final List<SimpleEventQueryDTO> eventQueries) {
+        if (eventQueries.size() < 2) {
+            return false;
+        }
+        SimpleEventQueryDTO first = eventQueries.get(0);
+        String orderBy = first.getOrderBy();
+        if (first.getMaxEventCount() != -1 || first.getPageSize() != -1
+                || (orderBy != null && !"eventTime".equals(orderBy) && !"recordTime".equals(orderBy))) {
+            return false;
+        }
+        List<EventQueryParam> params = first.getEventQueryParams();
+        for (SimpleEventQueryDTO eventQuery : eventQueries.subList(1, eventQueries.size())) {
+            List<EventQueryParam> otherParams = eventQuery.getEventQueryParams();
+            if (eventQuery.isAnyEpc() != first.isAnyEpc() || otherParams.size() != params.size()) {
+                return false;
+            }
+            for (int i = 0; i < params.size(); i++) {
+                EventQueryParam param = params.get(i);
+                EventQueryParam otherParam = otherParams.get(i);
+                Object value = param.getValue();
+                if (!param.getEventField().equals(otherParam.getEventField()) || param.getOp() != otherParam.getOp()
+                        || (value == null ? otherParam.getValue() != null : !value.equals(otherParam.getValue()))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the queries for the different event types and adds the resulting
+     * events to the given list, in the order of the queries. If a query
+     * executor is available, all but the first query are run on its worker
+     * threads, each on its own database connection, while the first query is
+     * run on the given session. Queries for which no worker is available are
+     * run on the given session as well, one after the other.
+     * 
+     * @param session
+     *            The QueryOperationsSession of the poll.
+     * @param queryDataSource
+     *            The database the session is connected to.
+     * @param eventQueries
+     *            The queries to run.
+     * @param eventList
+     *            The list to which the resulting events are added.
+     */
+    void runSimpleEventQueries(final QueryOperationsSession session, final DataSource queryDataSource,
+            final List<SimpleEventQueryDTO> eventQueries, final List<Object> eventList) throws SQLException,
+            ImplementationExceptionResponse, QueryTooLargeExceptionResponse {
+        if (queryExecutor == null || eventQueries.size() < 2) {
+            for (SimpleEventQueryDTO eventQuery : eventQueries) {
+                backend.runSimpleEventQuery(session, eventQuery, eventList);
+            }
+            return;
+        }
+        List<Future<List<Object>>> results = new ArrayList<Future<List<Object>>>(eventQueries.size());
+        results.add(null);
+        boolean done = false;
+        try {
+            for (final SimpleEventQueryDTO eventQuery : eventQueries.subList(1, eventQueries.size())) {
+                results.add(queryExecutor.submit(new Callable<List<Object>>() {
+                    public List<Object> call() throws Exception {
+                        List<Object> events = new ArrayList<Object>();
+                        QueryOperationsSession querySession = backend.openSession(queryDataSource);
+                        session.attach(querySession);
+                        try {
+                            backend.runSimpleEventQuery(querySession, eventQuery, events);
+                        } finally {
+                            querySession.close();
+                        }
+                        return events;
+                    }
+                }));
+            }
+            for (int i = 0; i < eventQueries.size(); i++) {
+                Future<List<Object>> result = results.get(i);
+                if (result == null) {
+                    backend.runSimpleEventQuery(session, eventQueries.get(i), eventList);
+                } else {
+                    eventList.addAll(getResult(result));
+                }
+            }
+            done = true;
+        } finally {
+            // if a query failed, don't wait for the others
+            if (!done) {
+                session.cancelAttached();
+            }
+            for (Future<List<Object>> result : results) {
+                if (result != null) {
+                    result.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the result of an event query run by the query executor.
+     */
+    private List<Object> getResult(Future<List<Object>> result) throws SQLException, ImplementationExceptionResponse,
+            QueryTooLargeExceptionResponse {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = "Interrupted while waiting for the query results";
+            ImplementationException iex = new ImplementationException();
+            iex.setReason(msg);
+            iex.setSeverity(ImplementationExceptionSeverity.ERROR);
+            throw new ImplementationExceptionResponse(msg, iex, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof ImplementationExceptionResponse) {
+                throw (ImplementationExceptionResponse) cause;
+            } else if (cause instanceof QueryTooLargeExceptionResponse) {
+                throw (QueryTooLargeExceptionResponse) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            String msg = "Unexpected error during query execution: " + cause;
+            ImplementationException iex = new ImplementationException();
+            iex.setReason(msg);
+            iex.setSeverity(ImplementationExceptionSeverity.ERROR);
+            throw new ImplementationExceptionResponse(msg, iex, cause);
+        }
+    }
+
     /**
      * @param eventList
      * @param limit
@@ -1361,6 +2078,74 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         this.dataSource = dataSource;
     }
 
+    /**
+     * @return the replicaDataSource
+     */
+    public DataSource getReplicaDataSource() {
+        return replicaDataSource;
+    }
+
+    /**
+     * @param replicaDataSource
+     *            the read replica answering polls, or <code>null</code>
+     */
+    public void setReplicaDataSource(DataSource replicaDataSource) {
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    public List<DataSource> getShardDataSources() {
+        return shardDataSources;
+    }
+
+    /**
+     * Sets the databases holding the events of the shards, see
+     * CaptureOperationsModule.setShards(). Event queries are run on all of
+     * them and their results are merged, while master data and subscriptions
+     * are held by the main database, which must be the first shard.
+     * 
+     * @param shardDataSources
+     *            The databases of the shards starting with the main database,
+     *            or <code>null</code> or an empty list if all events are held
+     *            by the main database.
+     */
+    public void setShardDataSources(List<DataSource> shardDataSources) {
+        if (shardDataSources == null || shardDataSources.isEmpty()) {
+            this.shardDataSources = null;
+        } else {
+            this.shardDataSources = shardDataSources;
+        }
+    }
+
+    /**
+     * @return the maxReplicaLag
+     */
+    public long getMaxReplicaLag() {
+        return maxReplicaLag;
+    }
+
+    /**
+     * @param maxReplicaLag
+     *            the maxReplicaLag to set
+     */
+    public void setMaxReplicaLag(long maxReplicaLag) {
+        this.maxReplicaLag = maxReplicaLag;
+    }
+
+    /**
+     * @return the replicaSafetyMargin
+     */
+    public long getReplicaSafetyMargin() {
+        return replicaSafetyMargin;
+    }
+
+    /**
+     * @param replicaSafetyMargin
+     *            the replicaSafetyMargin to set
+     */
+    public void setReplicaSafetyMargin(long replicaSafetyMargin) {
+        this.replicaSafetyMargin = replicaSafetyMargin;
+    }
+
     /**
      * @return the maxQueryRows
      */
@@ -1391,6 +2176,67 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
         this.maxQueryTime = maxQueryTime;
     }
 
+    /**
+     * @return the queryWorkers
+     */
+    public int getQueryWorkers() {
+        return queryWorkers;
+    }
+
+    /**
+     * @param queryWorkers
+     *            the queryWorkers to set
+     */
+    public void setQueryWorkers(int queryWorkers) {
+        this.queryWorkers = queryWorkers;
+    }
+
+    /**
+     * @return the pollCacheSize
+     */
+    public int getPollCacheSize() {
+        return pollCacheSize;
+    }
+
+    /**
+     * @param pollCacheSize
+     *            the pollCacheSize to set
+     */
+    public void setPollCacheSize(int pollCacheSize) {
+        this.pollCacheSize = pollCacheSize;
+    }
+
+    /**
+     * @return The poll cache, or <code>null</code> if caching is disabled.
+     */
+    PollCache getPollCache() {
+        return pollCache;
+    }
+
+    /**
+     * @return The query executor, or <code>null</code> if the queries of a
+     *         poll are run one after the other.
+     */
+    QueryExecutor getQueryExecutor() {
+        return queryExecutor;
+    }
+
+    /**
+     * @return The query watchdog, or <code>null</code> if the query execution
+     *         time is not limited.
+     */
+    QueryWatchdog getQueryWatchdog() {
+        return queryWatchdog;
+    }
+
+    /**
+     * @return The replica lag monitor, or <code>null</code> if no read replica
+     *         is configured.
+     */
+    ReplicaLagMonitor getReplicaLagMonitor() {
+        return replicaLagMonitor;
+    }
+
     /**
      * @return the triggerConditionSeconds
      */
@@ -1468,38 +2314,57 @@ public class QueryOperationsModule implements EpcisQueryControlInterface {
     }
 
     /**
-     * Compares two EPCIS events according to their eventTime or recordTime.
-     * Careful: the objects to be compared are instances of EPCISEvent,
+     * Compares two EPCIS events according to their eventTime, recordTime or,
+     * for QuantityEvents, quantity. Careful: the objects to be compared are
+     * instances of EPCISEvent (QuantityEvent if ordered by quantity),
      * otherwise a ClassCastException will be thrown.
      * 
      * @author Marco Steybe
      */
-    public class EventComparator implements Comparator<Object> {
-        private boolean orderByEventTime = false;
+    public static class EventComparator implements Comparator<Object> {
+        private String orderBy = null;
         private OrderDirection orderDirection = null;
 
         public EventComparator(boolean orderByEventTime, OrderDirection orderDirection) {
-            this.orderByEventTime = orderByEventTime;
+            this(orderByEventTime ? "eventTime" : "recordTime", orderDirection);
+        }
+
+        /**
+         * @param orderBy
+         *            One of eventTime, recordTime or quantity.
+         * @param orderDirection
+         *            The direction to order the events in; descending if
+         *            <code>null</code>.
+         */
+        public EventComparator(String orderBy, OrderDirection orderDirection) {
+            if (!isSupported(orderBy)) {
+                throw new IllegalArgumentException("Unable to compare events by " + orderBy);
+            }
+            this.orderBy = orderBy;
             this.orderDirection = orderDirection;
         }
 
+        /**
+         * @return <code>true</code> if events can be compared by the given
+         *         field.
+         */
+        public static boolean isSupported(String orderBy) {
+            return "eventTime".equals(orderBy) || "recordTime".equals(orderBy) || "quantity".equals(orderBy);
+        }
+
         public int compare(Object o1, Object o2) {
-            EPCISEventType event1 = (EPCISEventType) o1;
-            EPCISEventType event2 = (EPCISEventType) o2;
-            if (orderByEventTime) {
-                if (orderDirection == OrderDirection.ASC) {
-                    return event1.getEventTime().compare(event2.getEventTime());
-                } else {
-                    return event2.getEventTime().compare(event1.getEventTime());
-                }
+            int result;
+            if ("quantity".equals(orderBy)) {
+                int quantity1 = ((QuantityEventType) o1).getQuantity();
+                int quantity2 = ((QuantityEventType) o2).getQuantity();
+                result = quantity1 < quantity2 ? -1 : (quantity1 == quantity2 ? 0 : 1);
+            } else if ("eventTime".equals(orderBy)) {
+                result = ((EPCISEventType) o1).getEventTime().compare(((EPCISEventType) o2).getEventTime());
             } else {
                 // order by recordTime
-                if (orderDirection == OrderDirection.ASC) {
-                    return event1.getRecordTime().compare(event2.getRecordTime());
-                } else {
-                    return event2.getEventTime().compare(event1.getEventTime());
-                }
+                result = ((EPCISEventType) o1).getRecordTime().compare(((EPCISEventType) o2).getRecordTime());
             }
+            return orderDirection == OrderDirection.ASC ? result : -result;
         }
     }
 }
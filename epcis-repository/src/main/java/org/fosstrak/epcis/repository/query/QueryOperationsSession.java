@@ -23,14 +23,20 @@ package org.fosstrak.epcis.repository.query;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
- * TODO: Javadoc
+ * Wraps the database connection used by the query operations. The statements
+ * should be created through the session, such that they are subject to the
+ * timeout set by {@link #setTimeout(long)} and can be cancelled by
+ * {@link #cancel()}.
  * 
  * @author Marco Steybe
  */
@@ -38,9 +44,47 @@ public class QueryOperationsSession {
 
     private static final Log LOG = LogFactory.getLog(QueryOperationsSession.class);
 
+    /**
+     * The maximum number of prepared statements kept open by a session. The
+     * least recently used statement is closed when another one is needed.
+     */
+    private static final int MAX_STATEMENTS = 32;
+
     private Connection connection;
 
-    private Map<String, PreparedStatement> namedStatements = new HashMap<String, PreparedStatement>();
+    private Map<String, PreparedStatement> namedStatements = new LinkedHashMap<String, PreparedStatement>(16,
+            0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > MAX_STATEMENTS) {
+                closeStatement(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * The time (in milliseconds since the epoch) by which the queries of this
+     * session must be completed, or 0 if there is no limit.
+     */
+    private volatile long deadline = 0;
+
+    private boolean cancelled = false;
+
+    private boolean attachedCancelled = false;
+
+    /**
+     * The statements created by this session, which are cancelled when the
+     * session is cancelled.
+     */
+    private List<Statement> statements = new ArrayList<Statement>();
+
+    /**
+     * Sessions on other connections running parts of the same query.
+     */
+    private List<QueryOperationsSession> attachedSessions = new ArrayList<QueryOperationsSession>();
 
     public QueryOperationsSession(final Connection connection) {
         this.connection = connection;
@@ -57,16 +101,151 @@ public class QueryOperationsSession {
     public PreparedStatement getPreparedStatement(final String sql) throws SQLException {
         PreparedStatement ps = namedStatements.get(sql);
         if (ps == null) {
-            ps = connection.prepareStatement(sql);
+            ps = register(connection.prepareStatement(sql));
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Prepared SQL statement: " + sql);
             }
             namedStatements.put(sql, ps);
+        } else {
+            applyTimeout(ps);
         }
         ps.clearParameters();
         return ps;
     }
 
+    /**
+     * Prepares a statement which is not cached by the session. The caller must
+     * close it.
+     */
+    public PreparedStatement prepareStatement(final String sql) throws SQLException {
+        return register(connection.prepareStatement(sql));
+    }
+
+    /**
+     * Prepares a statement with the given result set type and concurrency
+     * which is not cached by the session. The caller must close it.
+     */
+    public PreparedStatement prepareStatement(final String sql, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        return register(connection.prepareStatement(sql, resultSetType, resultSetConcurrency));
+    }
+
+    /**
+     * Creates a statement which is not cached by the session. The caller must
+     * close it.
+     */
+    public Statement createStatement() throws SQLException {
+        return register(connection.createStatement());
+    }
+
+    private <T extends Statement> T register(T stmt) throws SQLException {
+        try {
+            applyTimeout(stmt);
+            synchronized (this) {
+                if (cancelled) {
+                    throw new SQLException("The queries of the session have been cancelled");
+                }
+                statements.add(stmt);
+            }
+            return stmt;
+        } catch (SQLException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets the query timeout of the given statement to the time left until
+     * the deadline of the session.
+     */
+    private void applyTimeout(Statement stmt) throws SQLException {
+        if (deadline > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SQLException("The maximum query execution time has been exceeded");
+            }
+            // JDBC query timeouts are given in whole seconds
+            stmt.setQueryTimeout((int) ((remaining + 999) / 1000));
+        }
+    }
+
+    /**
+     * Limits the time for the statements executed by this session, starting
+     * now.
+     * 
+     * @param timeout
+     *            The maximum time (in milliseconds), or 0 for no limit.
+     */
+    public void setTimeout(long timeout) {
+        deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+    }
+
+    /**
+     * @return <code>true</code> if the session has been cancelled or its
+     *         deadline has passed, i.e. if a failing statement has most
+     *         likely been timed out.
+     */
+    public synchronized boolean isTimedOut() {
+        return cancelled || (deadline > 0 && System.currentTimeMillis() >= deadline);
+    }
+
+    /**
+     * Attaches the given session, which runs part of the queries of this
+     * session on another connection. It gets the same deadline and is
+     * cancelled together with this session.
+     */
+    public void attach(final QueryOperationsSession session) {
+        session.deadline = deadline;
+        synchronized (this) {
+            attachedSessions.add(session);
+            if (cancelled || attachedCancelled) {
+                session.cancel();
+            }
+        }
+    }
+
+    /**
+     * Cancels the statements of this session and of the attached sessions
+     * which are being executed, and prevents any further statements from
+     * being created. This method may be called from another thread.
+     */
+    public synchronized void cancel() {
+        // the lock keeps the session from being closed, and its connection
+        // from being reused, while its statements are cancelled
+        cancelled = true;
+        for (Statement stmt : statements) {
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                LOG.debug("Error cancelling statement: " + e.toString());
+            }
+        }
+        for (QueryOperationsSession session : attachedSessions) {
+            session.cancel();
+        }
+    }
+
+    /**
+     * Cancels the attached sessions, including those attached later on, but
+     * not the statements of this session. Used if a part of the query failed,
+     * as interrupting the threads running the other parts does not stop their
+     * statements.
+     */
+    public synchronized void cancelAttached() {
+        attachedCancelled = true;
+        for (QueryOperationsSession session : attachedSessions) {
+            session.cancel();
+        }
+    }
+
+    private static void closeStatement(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            LOG.warn("Error closing prepared statement: " + e.toString() + ". Will continue ... ");
+        }
+    }
+
     public Connection getConnection() {
         return connection;
     }
@@ -80,13 +259,14 @@ public class QueryOperationsSession {
     }
 
     public void close() throws SQLException {
+        synchronized (this) {
+            statements.clear();
+            attachedSessions.clear();
+        }
         for (PreparedStatement ps : namedStatements.values()) {
-            try {
-                ps.close();
-            } catch (SQLException e) {
-                LOG.warn("Error closing prepared statement: " + e.toString() + ". Will continue ... ");
-            }
+            closeStatement(ps);
         }
+        namedStatements.clear();
         connection.close();
         LOG.debug("Database connection for session closed");
     }
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.query;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.fosstrak.epcis.model.ObjectFactory;
+import org.fosstrak.epcis.model.QueryResults;
+
+/**
+ * The QueryResultsWriter writes the SOAP response to a poll request directly to
+ * an output stream. The events of a SimpleEventQuery are marshalled one by one
+ * as they are passed to {@link #handleEvent(Object)}, so the response is never
+ * held in memory as a whole.
+ * <p>
+ * Nothing is written before the first event is passed to the writer. Until
+ * then, a SOAP fault may be written instead of the query results.
+ */
+public class QueryResultsWriter implements QueryEventHandler {
+
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String EPCIS_QUERY_NS = "urn:epcglobal:epcis-query:xsd:1";
+
+    private static JAXBContext context;
+
+    private final OutputStream out;
+    private final String queryName;
+
+    private XMLStreamWriter writer;
+    private Marshaller marshaller;
+
+    private int eventCount = 0;
+
+    /**
+     * @param out
+     *            The stream to write the response to.
+     * @param queryName
+     *            The name of the query being answered.
+     */
+    public QueryResultsWriter(OutputStream out, String queryName) {
+        this.out = out;
+        this.queryName = queryName;
+    }
+
+    /**
+     * Writes the given event to the event list of the query results.
+     * 
+     * @param event
+     *            The event to write.
+     * @throws IOException
+     *             If the event could not be written.
+     */
+    public void handleEvent(Object event) throws IOException {
+        try {
+            if (writer == null) {
+                startEventList();
+            }
+            marshaller.marshal(event, writer);
+            eventCount++;
+        } catch (JAXBException e) {
+            throw ioException("Unable to marshal event", e);
+        } catch (XMLStreamException e) {
+            throw ioException("Unable to write event", e);
+        }
+    }
+
+    /**
+     * Completes the query results of a SimpleEventQuery after the last event
+     * has been written.
+     * 
+     * @throws IOException
+     *             If the query results could not be written.
+     */
+    public void finishEventList() throws IOException {
+        try {
+            if (writer == null) {
+                startEventList();
+            }
+            writer.writeEndElement(); // EventList
+            writer.writeEndElement(); // resultsBody
+            writer.writeEndElement(); // QueryResults
+            endEnvelope();
+        } catch (JAXBException e) {
+            throw ioException("Unable to write query results", e);
+        } catch (XMLStreamException e) {
+            throw ioException("Unable to write query results", e);
+        }
+    }
+
+    /**
+     * Writes the given query results as a whole.
+     * 
+     * @param results
+     *            The query results to write.
+     * @throws IOException
+     *             If the query results could not be written.
+     */
+    public void writeResults(QueryResults results) throws IOException {
+        try {
+            startEnvelope();
+            marshaller.marshal(new ObjectFactory().createQueryResults(results), writer);
+            endEnvelope();
+        } catch (JAXBException e) {
+            throw ioException("Unable to write query results", e);
+        } catch (XMLStreamException e) {
+            throw ioException("Unable to write query results", e);
+        }
+    }
+
+    /**
+     * Writes a SOAP fault instead of the query results.
+     * 
+     * @param faultString
+     *            The reason of the fault.
+     * @param detail
+     *            The EPCIS exception describing the fault.
+     * @throws IOException
+     *             If the fault could not be written.
+     */
+    public void writeFault(String faultString, JAXBElement<?> detail) throws IOException {
+        try {
+            startEnvelope();
+            writer.writeStartElement("soap", "Fault", SOAP_NS);
+            writer.writeStartElement("faultcode");
+            writer.writeCharacters("soap:Server");
+            writer.writeEndElement();
+            writer.writeStartElement("faultstring");
+            writer.writeCharacters(faultString);
+            writer.writeEndElement();
+            writer.writeStartElement("detail");
+            marshaller.marshal(detail, writer);
+            writer.writeEndElement();
+            writer.writeEndElement();
+            endEnvelope();
+        } catch (JAXBException e) {
+            throw ioException("Unable to write fault", e);
+        } catch (XMLStreamException e) {
+            throw ioException("Unable to write fault", e);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the writer has started writing the
+     *         response.
+     */
+    public boolean isStarted() {
+        return writer != null;
+    }
+
+    /**
+     * @return The number of events written so far.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    private void startEventList() throws JAXBException, XMLStreamException {
+        startEnvelope();
+        writer.writeStartElement("epcisq", "QueryResults", EPCIS_QUERY_NS);
+        writer.writeNamespace("epcisq", EPCIS_QUERY_NS);
+        writer.writeStartElement("queryName");
+        writer.writeCharacters(queryName);
+        writer.writeEndElement();
+        writer.writeStartElement("resultsBody");
+        writer.writeStartElement("EventList");
+    }
+
+    private void startEnvelope() throws JAXBException, XMLStreamException {
+        marshaller = getContext().createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("soap", "Envelope", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        writer.writeStartElement("soap", "Body", SOAP_NS);
+    }
+
+    private void endEnvelope() throws XMLStreamException {
+        writer.writeEndElement(); // Body
+        writer.writeEndElement(); // Envelope
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    static synchronized JAXBContext getContext() throws JAXBException {
+        if (context == null) {
+            context = JAXBContext.newInstance("org.fosstrak.epcis.model");
+        }
+        return context;
+    }
+
+    private static IOException ioException(String msg, Exception cause) {
+        IOException e = new IOException(msg + ": " + cause.getMessage());
+        e.initCause(cause);
+        return e;
+    }
+}
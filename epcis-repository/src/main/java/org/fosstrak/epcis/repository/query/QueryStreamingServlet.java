@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.fosstrak.epcis.model.ImplementationException;
+import org.fosstrak.epcis.model.ImplementationExceptionSeverity;
+import org.fosstrak.epcis.model.ObjectFactory;
+import org.fosstrak.epcis.model.Poll;
+import org.fosstrak.epcis.model.QueryResults;
+import org.fosstrak.epcis.soap.ImplementationExceptionResponse;
+import org.fosstrak.epcis.soap.NoSuchNameExceptionResponse;
+import org.fosstrak.epcis.soap.QueryParameterExceptionResponse;
+import org.fosstrak.epcis.soap.QueryTooComplexExceptionResponse;
+import org.fosstrak.epcis.soap.QueryTooLargeExceptionResponse;
+import org.fosstrak.epcis.soap.SecurityExceptionResponse;
+import org.fosstrak.epcis.soap.ValidationExceptionResponse;
+
+/**
+ * This QueryStreamingServlet answers SOAP poll requests like the EPCIS query
+ * Web service, but writes the events resulting from a SimpleEventQuery to the
+ * response in batches while they are being read from the database. Only a
+ * single batch of events is held in memory as JAXB objects, which saves most of
+ * the memory needed to answer a large poll. The events are read through a
+ * forward-only result set whose fetch size is set to the batch size; with
+ * <code>useCursorFetch=true</code> in the JDBC URL of the data source (see
+ * <code>context.xml</code>), the MySQL JDBC driver then fetches them from a
+ * server-side cursor one batch at a time. Without that option, the driver
+ * buffers the whole result set, so the memory needed still grows with the
+ * number of rows returned, although much more slowly. Note also that this is
+ * a Fosstrak extension and not part of the EPCIS specification.
+ * <p>
+ * Only the poll operation is supported. Faults detected before the first event
+ * has been written, e.g. a QueryTooLargeException, are returned as SOAP faults
+ * as usual. If an error occurs later on, the response is aborted and thus
+ * incomplete.
+ * <p>
+ * A GET request with the parameter <code>queryStatistics=true</code> returns
+ * the statistics of the poll cache, the query executor and the query watchdog
+ * as plain text.
+ * <p>
+ * The servlet uses the QueryOperationsModule found in the servlet context
+ * attribute <code>queryOperationsModule</code>.
+ */
+public class QueryStreamingServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 3725620417582309452L;
+
+    private static final String EPCIS_QUERY_NS = "urn:epcglobal:epcis-query:xsd:1";
+
+    private static final Log LOG = LogFactory.getLog(QueryStreamingServlet.class);
+
+    /**
+     * {@inheritDoc}
+     */
+    public void doPost(final HttpServletRequest req, final HttpServletResponse rsp) throws ServletException,
+            IOException {
+        QueryOperationsModule module = (QueryOperationsModule) getServletContext().getAttribute(
+                "queryOperationsModule");
+        if (module == null) {
+            LOG.error("Query operations module not found in servlet context");
+            rsp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Query operations module not available");
+            return;
+        }
+        Poll poll;
+        try {
+            poll = readPoll(req.getInputStream());
+        } catch (Exception e) {
+            LOG.info("Unable to parse poll request: " + e.getMessage());
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Expected a SOAP poll request: " + e.getMessage());
+            return;
+        }
+
+        rsp.setContentType("text/xml");
+        rsp.setCharacterEncoding("UTF-8");
+        QueryResultsWriter writer = new QueryResultsWriter(rsp.getOutputStream(), poll.getQueryName());
+        ObjectFactory factory = new ObjectFactory();
+        try {
+            if ("SimpleEventQuery".equals(poll.getQueryName())) {
+                module.pollEvents(poll.getParams(), writer);
+                writer.finishEventList();
+                LOG.debug("Streamed " + writer.getEventCount() + " events");
+            } else {
+                QueryResults results = module.poll(poll.getQueryName(), poll.getParams());
+                writer.writeResults(results);
+            }
+        } catch (ImplementationExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createImplementationException(e.getFaultInfo()));
+        } catch (QueryTooComplexExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createQueryTooComplexException(e.getFaultInfo()));
+        } catch (QueryTooLargeExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createQueryTooLargeException(e.getFaultInfo()));
+        } catch (SecurityExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createSecurityException(e.getFaultInfo()));
+        } catch (ValidationExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createValidationException(e.getFaultInfo()));
+        } catch (NoSuchNameExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createNoSuchNameException(e.getFaultInfo()));
+        } catch (QueryParameterExceptionResponse e) {
+            writeFault(rsp, writer, e.getMessage(), e, factory.createQueryParameterException(e.getFaultInfo()));
+        } catch (Exception e) {
+            String msg = "Unexpected error occurred while processing request";
+            LOG.error(msg, e);
+            ImplementationException ie = new ImplementationException();
+            ie.setReason(msg);
+            ie.setSeverity(ImplementationExceptionSeverity.ERROR);
+            ie.setQueryName(poll.getQueryName());
+            writeFault(rsp, writer, msg, e, factory.createImplementationException(ie));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void doGet(final HttpServletRequest req, final HttpServletResponse rsp) throws ServletException,
+            IOException {
+        QueryOperationsModule module = (QueryOperationsModule) getServletContext().getAttribute(
+                "queryOperationsModule");
+        String queryStatistics = req.getParameter("queryStatistics");
+        if (queryStatistics == null || !queryStatistics.equalsIgnoreCase("true")) {
+            rsp.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Expected a SOAP poll request");
+            return;
+        }
+        if (module == null) {
+            rsp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Query operations module not available");
+            return;
+        }
+        rsp.setContentType("text/plain");
+        final PrintWriter out = rsp.getWriter();
+        PollCache cache = module.getPollCache();
+        if (cache == null) {
+            out.println("poll cache disabled");
+        } else {
+            out.println("poll cache size: " + cache.size() + " of " + cache.getMaxEntries());
+            out.println("poll cache hits: " + cache.getHitCount());
+            out.println("poll cache misses: " + cache.getMissCount());
+            out.println("poll cache invalidations: " + cache.getInvalidationCount());
+        }
+        QueryExecutor executor = module.getQueryExecutor();
+        if (executor == null) {
+            out.println("query executor disabled");
+        } else {
+            out.println("query workers: " + executor.getWorkers());
+            out.println("active query workers: " + executor.getActiveCount());
+            out.println("submitted queries: " + executor.getSubmittedCount());
+            out.println("queries run by caller: " + executor.getRejectedCount());
+        }
+        QueryWatchdog watchdog = module.getQueryWatchdog();
+        if (watchdog == null) {
+            out.println("query execution time not limited");
+        } else {
+            out.println("polls cancelled after maximum query execution time: " + watchdog.getCancelledCount());
+        }
+        ReplicaLagMonitor replica = module.getReplicaLagMonitor();
+        if (replica == null) {
+            out.println("read replica disabled");
+        } else {
+            long lag = replica.getLag();
+            out.println("read replica lag (ms): " + (lag == Long.MAX_VALUE ? "unknown" : String.valueOf(lag)));
+            out.println("polls answered by read replica: " + replica.getReplicaPolls());
+            out.println("polls answered by primary: " + replica.getPrimaryPolls());
+        }
+        out.flush();
+        out.close();
+    }
+
+    /**
+     * Reads the Poll element from the body of the given SOAP request.
+     */
+    private Poll readPoll(InputStream is) throws XMLStreamException, JAXBException {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(is);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamReader.START_ELEMENT && "Poll".equals(reader.getLocalName())
+                        && EPCIS_QUERY_NS.equals(reader.getNamespaceURI())) {
+                    JAXBElement<Poll> poll = QueryResultsWriter.getContext().createUnmarshaller().unmarshal(reader,
+                            Poll.class);
+                    return poll.getValue();
+                }
+            }
+            throw new XMLStreamException("No Poll element found");
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Writes a SOAP fault for the given exception, unless the query results
+     * have already been started, in which case the response is left
+     * incomplete.
+     */
+    private void writeFault(HttpServletResponse rsp, QueryResultsWriter writer, String msg, Exception e,
+            JAXBElement<?> detail) throws IOException {
+        if (writer.isStarted()) {
+            LOG.error("Poll failed after " + writer.getEventCount() + " events have been sent - aborting response", e);
+            return;
+        }
+        rsp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        writer.writeFault(msg, detail);
+    }
+}
@@ -255,6 +255,14 @@ public class QuerySubscription implements EpcisQueryCallbackInterface, Serializa
         try {
             // get current time and send the query
             GregorianCalendar cal = new GregorianCalendar();
+            ReplicaLagMonitor replica = ReplicaLagMonitor.getActive();
+            if (replica != null && !hasParam("LT_recordTime")) {
+                // polls may be answered by the read replica: only ask for the
+                // events recorded before the time up to which the replica is
+                // complete, the next execution continues from there
+                cal.setTimeInMillis(replica.getRecordTimeBound(getRecordTimeFrom(), cal.getTimeInMillis()));
+                poll.setParams(withRecordTimeBound(cal));
+            }
             result = executePoll(poll);
             LOG.debug("Subscribed query '" + subscriptionID + "' has been executed");
 
@@ -314,6 +322,43 @@ public class QuerySubscription implements EpcisQueryCallbackInterface, Serializa
         updateRecordTime(queryParams, lastTimeExecuted);
     }
 
+    private boolean hasParam(String name) {
+        for (QueryParam p : queryParams.getParam()) {
+            if (name.equalsIgnoreCase(p.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The time (in milliseconds) from which on events are reported.
+     */
+    private long getRecordTimeFrom() {
+        long from = 0;
+        if (initialRecordTime != null) {
+            from = initialRecordTime.getTimeInMillis();
+        }
+        if (lastTimeExecuted != null) {
+            from = Math.max(from, lastTimeExecuted.getTimeInMillis());
+        }
+        return from;
+    }
+
+    /**
+     * @return A copy of the query parameters restricted to events recorded
+     *         before the given time.
+     */
+    private QueryParams withRecordTimeBound(final Calendar recordTime) {
+        QueryParams params = new QueryParams();
+        params.getParam().addAll(queryParams.getParam());
+        QueryParam bound = new QueryParam();
+        bound.setName("LT_recordTime");
+        bound.setValue(recordTime);
+        params.getParam().add(bound);
+        return params;
+    }
+
     /**
      * Poll a query using local transport.
      */
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The QueryWatchdog enforces the maximum execution time of polls. Each
+ * statement of a watched session gets a JDBC query timeout for the time left
+ * until the session's deadline. In addition, a single timer thread cancels all
+ * statements of the session once the deadline has passed. This also covers
+ * polls which run many short statements, and drivers which don't apply the
+ * query timeout while e.g. waiting for locks.
+ */
+class QueryWatchdog {
+
+    private static final Log LOG = LogFactory.getLog(QueryWatchdog.class);
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final AtomicLong cancelledCount = new AtomicLong();
+
+    public QueryWatchdog() {
+        timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "QueryWatchdog");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Limits the execution time of the statements of the given session.
+     * 
+     * @param session
+     *            The session to watch.
+     * @param timeout
+     *            The maximum execution time (in milliseconds).
+     * @return The pending cancellation, which must be passed to
+     *         {@link #release(Future)} once the session has completed.
+     */
+    public Future<?> watch(final QueryOperationsSession session, final long timeout) {
+        session.setTimeout(timeout);
+        return timer.schedule(new Runnable() {
+            public void run() {
+                LOG.warn("Cancelling queries which did not complete within " + timeout + " ms");
+                cancelledCount.incrementAndGet();
+                session.cancel();
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops watching a session which has completed.
+     * 
+     * @param pending
+     *            The pending cancellation returned by
+     *            {@link #watch(QueryOperationsSession, long)}.
+     */
+    public void release(Future<?> pending) {
+        pending.cancel(false);
+        // don't keep the cancelled task, and its session, in the queue until
+        // it would have been due
+        timer.remove((Runnable) pending);
+    }
+
+    /**
+     * Stops the timer thread.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * @return The number of sessions which have been cancelled.
+     */
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The ReplicaLagMonitor tells how far a read replica of the database lags
+ * behind the primary, based on a heartbeat row, and decides which of the two
+ * answers a poll.
+ * <p>
+ * Every few seconds, the current time is written to the
+ * <code>replica_heartbeat</code> table on the primary and the heartbeat is read
+ * back from the replica. Transactions are replicated in commit order, so once
+ * the replica holds a heartbeat, it holds all transactions committed on the
+ * primary before it. The lag is the time elapsed since the latest heartbeat
+ * held by the replica; it keeps growing while the replica falls behind or
+ * cannot be reached.
+ * <p>
+ * The record time of an event is set before its capture transaction commits,
+ * so events recorded shortly before a heartbeat may still be committed after
+ * it. The replica is only known to hold all events recorded before the
+ * heartbeat minus a safety margin, which must exceed the duration of the
+ * longest capture transaction: this is the <i>replicated time</i>. The
+ * heartbeat is written with the clock of this server, so the record times of
+ * the events must be set by a clock in sync with it.
+ * <p>
+ * A poll with an <code>LT_recordTime</code> bound is answered by the replica
+ * only if the bound is not after the replicated time, so its results are
+ * complete. Any other poll is answered by the replica as long as the lag does
+ * not exceed the configured maximum. Subscriptions bound their polls by the
+ * replicated time (see {@link #getRecordTimeBound(long, long)}) and continue
+ * from there on their next execution. A capture transaction taking longer than
+ * the safety margin may thus commit events a subscription has already passed,
+ * and these events are not reported to the subscription.
+ * <p>
+ * The query module and the subscriptions are set up independently of each
+ * other, thus the running monitor is available via {@link #getActive()}.
+ */
+class ReplicaLagMonitor implements Runnable {
+
+    private static final Log LOG = LogFactory.getLog(ReplicaLagMonitor.class);
+
+    private static final long CHECK_INTERVAL = 5 * 1000L;
+
+    private static final String SQL_UPDATE_HEARTBEAT = "INSERT INTO replica_heartbeat (id, timeMs) VALUES (1, ?) "
+            + "ON DUPLICATE KEY UPDATE timeMs=VALUES(timeMs)";
+
+    private static final String SQL_SELECT_HEARTBEAT = "SELECT timeMs FROM replica_heartbeat WHERE id=1";
+
+    private static volatile ReplicaLagMonitor active;
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final long maxLag;
+
+    private final long safetyMargin;
+
+    /**
+     * The latest heartbeat held by the replica, 0 if none was read yet.
+     */
+    private volatile long heartbeat = 0;
+
+    private final AtomicLong replicaPolls = new AtomicLong();
+    private final AtomicLong primaryPolls = new AtomicLong();
+
+    private Thread thread;
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param primary
+     *            The primary database.
+     * @param replica
+     *            The read replica.
+     * @param maxLag
+     *            The maximum lag (in milliseconds) of the replica for polls
+     *            without an <code>LT_recordTime</code> bound to be answered
+     *            by the replica.
+     * @param safetyMargin
+     *            The time (in milliseconds) subtracted from the heartbeat held
+     *            by the replica to obtain the replicated time; it must exceed
+     *            the duration of the longest capture transaction.
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLag, long safetyMargin) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.safetyMargin = safetyMargin;
+    }
+
+    /**
+     * @return The running monitor, or <code>null</code> if no read replica is
+     *         configured.
+     */
+    static ReplicaLagMonitor getActive() {
+        return active;
+    }
+
+    public synchronized void start() {
+        thread = new Thread(this, "ReplicaLagMonitor");
+        thread.setDaemon(true);
+        thread.start();
+        active = this;
+        LOG.info("Polls are answered by the read replica if it lags behind by at most " + maxLag
+                + " ms, subscriptions trail the replica by " + safetyMargin + " ms");
+    }
+
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        stopped = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void run() {
+        while (!stopped) {
+            check();
+            synchronized (this) {
+                if (!stopped) {
+                    try {
+                        wait(CHECK_INTERVAL);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a new heartbeat to the primary and reads the latest heartbeat
+     * held by the replica.
+     */
+    void check() {
+        try {
+            writeHeartbeat(System.currentTimeMillis());
+        } catch (SQLException e) {
+            LOG.warn("Unable to write the heartbeat to the primary database: " + e.getMessage());
+        }
+        try {
+            long time = readHeartbeat();
+            if (time > heartbeat) {
+                heartbeat = time;
+            }
+        } catch (SQLException e) {
+            LOG.warn("Unable to read the heartbeat from the read replica: " + e.getMessage());
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Read replica lag: " + getLag() + " ms");
+        }
+    }
+
+    private void writeHeartbeat(long time) throws SQLException {
+        Connection connection = primary.getConnection();
+        try {
+            PreparedStatement ps = connection.prepareStatement(SQL_UPDATE_HEARTBEAT);
+            try {
+                ps.setLong(1, time);
+                ps.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            } finally {
+                ps.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private long readHeartbeat() throws SQLException {
+        Connection connection = replica.getConnection();
+        try {
+            Statement stmt = connection.createStatement();
+            try {
+                ResultSet rs = stmt.executeQuery(SQL_SELECT_HEARTBEAT);
+                long time = rs.next() ? rs.getLong(1) : 0;
+                rs.close();
+                if (!connection.getAutoCommit()) {
+                    // don't keep reading the same snapshot next time
+                    connection.rollback();
+                }
+                return time;
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return The time (in milliseconds) before which all events recorded on
+     *         the primary are known to be held by the replica, or 0 if no
+     *         heartbeat has been read from the replica yet.
+     */
+    public long getReplicatedTime() {
+        long time = heartbeat;
+        return time == 0 ? 0 : Math.max(0, time - safetyMargin);
+    }
+
+    /**
+     * @return The time (in milliseconds) elapsed since the latest heartbeat
+     *         held by the replica.
+     */
+    public long getLag() {
+        long time = heartbeat;
+        return time == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - time;
+    }
+
+    /**
+     * Decides whether a poll is answered by the replica.
+     * 
+     * @param recordTimeBound
+     *            The <code>LT_recordTime</code> bound of the poll (in
+     *            milliseconds), or <code>null</code>.
+     * @return <code>true</code> if the poll is answered by the replica,
+     *         <code>false</code> if by the primary.
+     */
+    public boolean useReplica(Long recordTimeBound) {
+        boolean useReplica;
+        if (recordTimeBound != null) {
+            useReplica = recordTimeBound.longValue() <= getReplicatedTime();
+        } else {
+            useReplica = getLag() <= maxLag;
+        }
+        (useReplica ? replicaPolls : primaryPolls).incrementAndGet();
+        return useReplica;
+    }
+
+    /**
+     * Returns the <code>LT_recordTime</code> bound for the next execution of
+     * a subscription: the replicated time if the replica is within the maximum
+     * lag, such that the replica answers the poll, the current time otherwise.
+     * 
+     * @param from
+     *            The <code>GE_recordTime</code> of the subscription.
+     * @param now
+     *            The current time.
+     * @return The bound (in milliseconds), not before <code>from</code>.
+     */
+    public long getRecordTimeBound(long from, long now) {
+        if (getLag() <= maxLag) {
+            return Math.max(from, Math.min(now, getReplicatedTime()));
+        }
+        return now;
+    }
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    public long getSafetyMargin() {
+        return safetyMargin;
+    }
+
+    /**
+     * @return The number of polls answered by the replica.
+     */
+    public long getReplicaPolls() {
+        return replicaPolls.get();
+    }
+
+    /**
+     * @return The number of polls answered by the primary because the replica
+     *         lagged behind too far.
+     */
+    public long getPrimaryPolls() {
+        return primaryPolls.get();
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.fosstrak.epcis.repository.query;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +39,9 @@ public class SimpleEventQueryDTO {
     private String orderBy = null;
     private OrderDirection orderDirection = null;
     private boolean isAnyEpc = false;
+    private int pageSize = -1;
+    private Timestamp pageAfterEventTime = null;
+    private long pageAfterEventId = -1;
 
     public enum OrderDirection {
         ASC, DESC
@@ -84,6 +88,27 @@ public class SimpleEventQueryDTO {
         return orderDirection;
     }
 
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return The eventTime of the last event of this type returned by the
+     *         previous page of a paged query, or <code>null</code> if no such
+     *         event has been returned yet.
+     */
+    public Timestamp getPageAfterEventTime() {
+        return pageAfterEventTime;
+    }
+
+    /**
+     * @return The ID of the last event of this type returned by the previous
+     *         page of a paged query.
+     */
+    public long getPageAfterEventId() {
+        return pageAfterEventId;
+    }
+
     public boolean isAnyEpc() {
         return isAnyEpc;
     }
@@ -108,6 +133,23 @@ public class SimpleEventQueryDTO {
         this.orderDirection = orderDirection;
     }
 
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the position after which the next page of a paged query continues.
+     * 
+     * @param eventTime
+     *            The eventTime of the last event of this type returned.
+     * @param eventId
+     *            The ID of the last event of this type returned.
+     */
+    public void setPageAfter(Timestamp eventTime, long eventId) {
+        this.pageAfterEventTime = eventTime;
+        this.pageAfterEventId = eventId;
+    }
+
     public void resetQuery() {
         eventQueryParams = new ArrayList<EventQueryParam>();
         maxEventCount = -1;
@@ -115,6 +157,9 @@ public class SimpleEventQueryDTO {
         orderBy = null;
         orderDirection = null;
         isAnyEpc = false;
+        pageSize = -1;
+        pageAfterEventTime = null;
+        pageAfterEventId = -1;
     }
 
     public static class EventQueryParam {
@@ -49,3 +49,4 @@ drop table voc_ReadPoint_attr;
 drop table voc_Any;
 drop table voc_Any_attr;
 drop table subscription;
+drop table replica_heartbeat;
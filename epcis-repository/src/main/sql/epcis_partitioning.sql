@@ -0,0 +1,77 @@
+-- Copyright (C) 2007 ETH Zurich
+--
+-- This file is part of Fosstrak (www.fosstrak.org).
+--
+-- Fosstrak is free software; you can redistribute it and/or
+-- modify it under the terms of the GNU Lesser General Public
+-- License version 2.1, as published by the Free Software Foundation.
+--
+-- Fosstrak is distributed in the hope that it will be useful,
+-- but WITHOUT ANY WARRANTY; without even the implied warranty of
+-- MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+-- Lesser General Public License for more details.
+--
+-- You should have received a copy of the GNU Lesser General Public
+-- License along with Fosstrak; if not, write to the Free
+-- Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+-- Boston, MA  02110-1301  USA
+
+
+-- Partitions the event tables by month, such that queries restricted to a time
+-- range only read the partitions of that range, and old months can be removed
+-- by dropping their partitions instead of deleting their events row by row.
+-- Requires MySQL 5.1 or later. The tables are rebuilt, so on an existing
+-- database, run this script during a maintenance window.
+--
+-- The tables are partitioned by eventTimeMs, which is what the GE_eventTime and
+-- LT_eventTime query parameters are compared with. To partition by the time the
+-- events have been captured instead, e.g. because old events are to be removed
+-- by capture time, replace eventTimeMs by recordTimeMs. MySQL requires the
+-- partitioning column to be part of the primary key.
+--
+-- The events of the months before the current one (UTC) are stored in the
+-- partition p_history, all later events in the partition p_future. The
+-- repository splits monthly partitions named pYYYYMM (UTC) off p_future if the
+-- property eventPartitionMonthsAhead in application.properties is set, starting
+-- with the current month. Splitting p_future copies the rows it holds, which
+-- are only the events of the current month, so enable the property right after
+-- running this script. The events in p_history are not split into months, since
+-- that would copy them all; the retention purger deletes them row by row until
+-- p_history ends before the retention, and then drops it like a monthly
+-- partition. The partition p_start remains empty.
+--
+-- The tables holding the EPCs, business transactions and extensions of the
+-- events are not partitioned, since they lack a time column; their rows are
+-- looked up by the index on event_id. Before the retention purger drops an
+-- expired partition, it deletes the rows of its events from these tables in
+-- batches of consecutive event IDs. A partition holding events of a business
+-- step whose retention rule keeps them is not dropped, its expired events are
+-- deleted row by row instead.
+
+SET time_zone = '+00:00';
+SET @month = UNIX_TIMESTAMP(DATE_FORMAT(UTC_TIMESTAMP(), '%Y-%m-01')) * 1000;
+SET @partitions = CONCAT(' PARTITION BY RANGE (`eventTimeMs`) (PARTITION p_start VALUES LESS THAN (0), PARTITION p_history VALUES LESS THAN (', @month, '), PARTITION p_future VALUES LESS THAN MAXVALUE)');
+
+ALTER TABLE `event_AggregationEvent` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `eventTimeMs`);
+SET @sql = CONCAT('ALTER TABLE `event_AggregationEvent`', @partitions);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE `event_ObjectEvent` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `eventTimeMs`);
+SET @sql = CONCAT('ALTER TABLE `event_ObjectEvent`', @partitions);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE `event_QuantityEvent` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `eventTimeMs`);
+SET @sql = CONCAT('ALTER TABLE `event_QuantityEvent`', @partitions);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE `event_TransactionEvent` DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `eventTimeMs`);
+SET @sql = CONCAT('ALTER TABLE `event_TransactionEvent`', @partitions);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
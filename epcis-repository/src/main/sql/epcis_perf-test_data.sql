@@ -24,8 +24,8 @@ BEGIN;
 SET time_zone = '+00:00';
 INSERT INTO `event_objectevent` VALUES (1,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(2,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(3,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(4,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(5,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(6,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(7,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(8,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:44',1199269424000,'+02:00','ADD',1,NULL,1,1),(9,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(10,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(11,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(12,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(13,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(14,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(15,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(16,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(17,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(18,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(19,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(20,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:45',1199269425000,'+02:00','ADD',1,NULL,1,1),(21,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(22,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(23,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(24,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(25,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(26,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(27,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(28,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(29,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(30,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(31,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:46',1199269426000,'+02:00','ADD',1,NULL,1,1),(32,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(33,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(34,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(35,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(36,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(37,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(38,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(39,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(40,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(41,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(42,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:47',1199269427000,'+02:00','ADD',1,NULL,1,1),(43,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(44,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(45,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(46,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(47,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(48,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(49,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(50,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(51,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(52,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:48',1199269428000,'+02:00','ADD',1,NULL,1,1),(53,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(54,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(55,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(56,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(57,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(58,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(59,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(60,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(61,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(62,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:49',1199269429000,'+02:00','ADD',1,NULL,1,1),(63,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(64,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(65,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(66,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(67,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(68,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(69,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(70,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(71,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(72,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(73,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:50',1199269430000,'+02:00','ADD',1,NULL,1,1),(74,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(75,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(76,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(77,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(78,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(79,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(80,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(81,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(82,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:51',1199269431000,'+02:00','ADD',1,NULL,1,1),(83,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(84,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(85,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(86,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(87,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(88,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(89,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(90,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(91,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(92,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:52',1199269432000,'+02:00','ADD',1,NULL,1,1),(93,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(94,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(95,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(96,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(97,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(98,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(99,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(100,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(101,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(102,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(103,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:53',1199269433000,'+02:00','ADD',1,NULL,1,1),(104,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(105,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(106,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(107,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(108,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(109,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(110,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(111,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(112,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:54',1199269434000,'+02:00','ADD',1,NULL,1,1),(113,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(114,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(115,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(116,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(117,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(118,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(119,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(120,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(121,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(122,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(123,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:55',1199269435000,'+02:00','ADD',1,NULL,1,1),(124,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(125,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(126,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(127,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(128,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(129,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(130,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(131,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(132,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(133,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:56',1199269436000,'+02:00','ADD',1,NULL,1,1),(134,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(135,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(136,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(137,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(138,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(139,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(140,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(141,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(142,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(143,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(144,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(145,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:57',1199269437000,'+02:00','ADD',1,NULL,1,1),(146,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(147,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(148,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(149,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(150,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(151,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(152,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(153,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(154,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(155,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:58',1199269438000,'+02:00','ADD',1,NULL,1,1),(156,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(157,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(158,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(159,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(160,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(161,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(162,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(163,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(164,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(165,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(166,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(167,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:23:59',1199269439000,'+02:00','ADD',1,NULL,1,1),(168,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(169,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(170,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(171,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(172,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(173,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(174,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(175,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(176,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(177,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(178,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:00',1199269440000,'+02:00','ADD',1,NULL,1,1),(179,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(180,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(181,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(182,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(183,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(184,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(185,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(186,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(187,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(188,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(189,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(190,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:01',1199269441000,'+02:00','ADD',1,NULL,1,1),(191,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(192,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(193,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(194,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(195,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(196,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(197,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(198,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(199,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(200,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(201,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(202,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:02',1199269442000,'+02:00','ADD',1,NULL,1,1),(203,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(204,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(205,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(206,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(207,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(208,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(209,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(210,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(211,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(212,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(213,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(214,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:03',1199269443000,'+02:00','ADD',1,NULL,1,1),(215,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(216,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(217,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(218,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(219,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(220,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(221,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(222,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(223,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(224,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:04',1199269444000,'+02:00','ADD',1,NULL,1,1),(225,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(226,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(227,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(228,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(229,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(230,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(231,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(232,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(233,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(234,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(235,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:05',1199269445000,'+02:00','ADD',1,NULL,1,1),(236,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(237,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(238,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(239,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(240,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(241,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(242,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(243,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(244,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(245,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(246,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:06',1199269446000,'+02:00','ADD',1,NULL,1,1),(247,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(248,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(249,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(250,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(251,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(252,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(253,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(254,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(255,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(256,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(257,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:07',1199269447000,'+02:00','ADD',1,NULL,1,1),(258,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(259,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(260,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(261,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(262,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(263,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(264,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(265,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(266,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(267,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(268,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(269,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:08',1199269448000,'+02:00','ADD',1,NULL,1,1),(270,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(271,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(272,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(273,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(274,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(275,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(276,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(277,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(278,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(279,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(280,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:09',1199269449000,'+02:00','ADD',1,NULL,1,1),(281,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(282,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(283,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(284,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(285,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(286,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(287,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(288,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(289,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(290,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(291,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:10',1199269450000,'+02:00','ADD',1,NULL,1,1),(292,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(293,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(294,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(295,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(296,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(297,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(298,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(299,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(300,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(301,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:11',1199269451000,'+02:00','ADD',1,NULL,1,1),(302,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(303,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(304,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(305,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(306,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(307,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(308,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(309,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(310,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(311,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:12',1199269452000,'+02:00','ADD',1,NULL,1,1),(312,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(313,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(314,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(315,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(316,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(317,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(318,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(319,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(320,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(321,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:13',1199269453000,'+02:00','ADD',1,NULL,1,1),(322,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(323,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(324,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(325,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(326,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(327,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(328,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(329,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(330,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(331,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(332,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(333,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:14',1199269454000,'+02:00','ADD',1,NULL,1,1),(334,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(335,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(336,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(337,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(338,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(339,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(340,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(341,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(342,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(343,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:15',1199269455000,'+02:00','ADD',1,NULL,1,1),(344,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(345,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(346,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(347,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(348,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(349,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(350,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(351,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(352,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(353,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(354,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(355,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:16',1199269456000,'+02:00','ADD',1,NULL,1,1),(356,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(357,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(358,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(359,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(360,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(361,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(362,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(363,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(364,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(365,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(366,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(367,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:17',1199269457000,'+02:00','ADD',1,NULL,1,1),(368,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(369,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(370,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(371,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(372,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(373,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(374,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(375,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(376,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(377,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(378,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:18',1199269458000,'+02:00','ADD',1,NULL,1,1),(379,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(380,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(381,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(382,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(383,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(384,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(385,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(386,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(387,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(388,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(389,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:19',1199269459000,'+02:00','ADD',1,NULL,1,1),(390,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(391,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(392,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(393,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(394,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(395,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(396,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(397,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(398,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(399,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(400,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:20',1199269460000,'+02:00','ADD',1,NULL,1,1),(401,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(402,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(403,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(404,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(405,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(406,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(407,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(408,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(409,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(410,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(411,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:21',1199269461000,'+02:00','ADD',1,NULL,1,1),(412,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(413,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(414,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(415,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(416,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(417,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(418,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(419,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(420,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(421,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(422,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:22',1199269462000,'+02:00','ADD',1,NULL,1,1),(423,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(424,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(425,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(426,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(427,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(428,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(429,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(430,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(431,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(432,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(433,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:23',1199269463000,'+02:00','ADD',1,NULL,1,1),(434,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(435,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(436,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(437,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(438,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(439,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(440,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(441,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(442,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(443,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(444,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:24',1199269464000,'+02:00','ADD',1,NULL,1,1),(445,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(446,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(447,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(448,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(449,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(450,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(451,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(452,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(453,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(454,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:25',1199269465000,'+02:00','ADD',1,NULL,1,1),(455,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(456,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(457,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(458,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(459,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(460,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(461,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(462,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(463,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(464,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:26',1199269466000,'+02:00','ADD',1,NULL,1,1),(465,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(466,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(467,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(468,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(469,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(470,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(471,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(472,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(473,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(474,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(475,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:27',1199269467000,'+02:00','ADD',1,NULL,1,1),(476,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(477,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(478,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(479,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(480,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(481,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(482,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(483,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(484,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(485,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(486,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(487,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:28',1199269468000,'+02:00','ADD',1,NULL,1,1),(488,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(489,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(490,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(491,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(492,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(493,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(494,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(495,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(496,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(497,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:29',1199269469000,'+02:00','ADD',1,NULL,1,1),(498,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(499,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(500,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(501,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(502,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(503,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(504,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(505,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(506,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(507,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(508,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(509,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(510,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:30',1199269470000,'+02:00','ADD',1,NULL,1,1),(511,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(512,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(513,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(514,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(515,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(516,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(517,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(518,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(519,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(520,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(521,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:31',1199269471000,'+02:00','ADD',1,NULL,1,1),(522,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(523,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(524,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(525,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(526,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(527,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(528,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(529,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(530,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(531,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(532,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(533,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(534,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:32',1199269472000,'+02:00','ADD',1,NULL,1,1),(535,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(536,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(537,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(538,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(539,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(540,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(541,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(542,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(543,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(544,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(545,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(546,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:33',1199269473000,'+02:00','ADD',1,NULL,1,1),(547,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(548,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(549,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(550,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(551,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(552,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(553,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(554,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(555,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(556,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(557,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(558,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:34',1199269474000,'+02:00','ADD',1,NULL,1,1),(559,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(560,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(561,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(562,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(563,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(564,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(565,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(566,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(567,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(568,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(569,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:35',1199269475000,'+02:00','ADD',1,NULL,1,1),(570,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(571,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(572,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(573,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(574,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(575,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(576,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(577,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(578,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(579,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(580,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(581,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:36',1199269476000,'+02:00','ADD',1,NULL,1,1),(582,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(583,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(584,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(585,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(586,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(587,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(588,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(589,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(590,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(591,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(592,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(593,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:37',1199269477000,'+02:00','ADD',1,NULL,1,1),(594,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(595,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(596,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(597,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(598,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(599,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(600,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(601,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(602,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(603,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(604,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(605,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:38',1199269478000,'+02:00','ADD',1,NULL,1,1),(606,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(607,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(608,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(609,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(610,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(611,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(612,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(613,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(614,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(615,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(616,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(617,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:39',1199269479000,'+02:00','ADD',1,NULL,1,1),(618,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(619,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(620,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(621,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(622,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(623,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(624,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(625,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(626,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(627,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(628,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(629,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:40',1199269480000,'+02:00','ADD',1,NULL,1,1),(630,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(631,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(632,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(633,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(634,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(635,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(636,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(637,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(638,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(639,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(640,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(641,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:41',1199269481000,'+02:00','ADD',1,NULL,1,1),(642,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(643,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(644,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(645,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(646,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(647,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(648,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(649,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(650,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(651,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(652,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:42',1199269482000,'+02:00','ADD',1,NULL,1,1),(653,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(654,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(655,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(656,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(657,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(658,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(659,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(660,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(661,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(662,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(663,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(664,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:43',1199269483000,'+02:00','ADD',1,NULL,1,1),(665,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(666,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(667,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(668,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(669,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(670,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(671,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(672,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(673,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(674,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(675,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(676,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:44',1199269484000,'+02:00','ADD',1,NULL,1,1),(677,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(678,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(679,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(680,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(681,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(682,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(683,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(684,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(685,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:45',1199269485000,'+02:00','ADD',1,NULL,1,1),(686,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(687,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(688,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(689,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(690,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(691,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:46',1199269486000,'+02:00','ADD',1,NULL,1,1),(692,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:47',1199269487000,'+02:00','ADD',1,NULL,1,1),(693,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:47',1199269487000,'+02:00','ADD',1,NULL,1,1),(694,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:47',1199269487000,'+02:00','ADD',1,NULL,1,1),(695,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:47',1199269487000,'+02:00','ADD',1,NULL,1,1),(696,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:47',1199269487000,'+02:00','ADD',1,NULL,1,1),(697,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:48',1199269488000,'+02:00','ADD',1,NULL,1,1),(698,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:48',1199269488000,'+02:00','ADD',1,NULL,1,1),(699,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:48',1199269488000,'+02:00','ADD',1,NULL,1,1),(700,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:48',1199269488000,'+02:00','ADD',1,NULL,1,1),(701,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(702,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(703,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(704,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(705,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(706,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(707,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(708,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:49',1199269489000,'+02:00','ADD',1,NULL,1,1),(709,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(710,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(711,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(712,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(713,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(714,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(715,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(716,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(717,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(718,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(719,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:50',1199269490000,'+02:00','ADD',1,NULL,1,1),(720,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:51',1199269491000,'+02:00','ADD',1,NULL,1,1),(721,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:51',1199269491000,'+02:00','ADD',1,NULL,1,1),(722,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:51',1199269491000,'+02:00','ADD',1,NULL,1,1),(723,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:51',1199269491000,'+02:00','ADD',1,NULL,1,1),(724,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:51',1199269491000,'+02:00','ADD',1,NULL,1,1),(725,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:52',1199269492000,'+02:00','ADD',1,NULL,1,1),(726,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:52',1199269492000,'+02:00','ADD',1,NULL,1,1),(727,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:52',1199269492000,'+02:00','ADD',1,NULL,1,1),(728,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:52',1199269492000,'+02:00','ADD',1,NULL,1,1),(729,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(730,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(731,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(732,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(733,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(734,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(735,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(736,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:53',1199269493000,'+02:00','ADD',1,NULL,1,1),(737,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:54',1199269494000,'+02:00','ADD',1,NULL,1,1),(738,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:54',1199269494000,'+02:00','ADD',1,NULL,1,1),(739,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:54',1199269494000,'+02:00','ADD',1,NULL,1,1),(740,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:54',1199269494000,'+02:00','ADD',1,NULL,1,1),(741,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(742,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(743,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(744,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(745,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(746,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:55',1199269495000,'+02:00','ADD',1,NULL,1,1),(747,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:56',1199269496000,'+02:00','ADD',1,NULL,1,1),(748,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:56',1199269496000,'+02:00','ADD',1,NULL,1,1),(749,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:56',1199269496000,'+02:00','ADD',1,NULL,1,1),(750,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:56',1199269496000,'+02:00','ADD',1,NULL,1,1),(751,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:57',1199269497000,'+02:00','ADD',1,NULL,1,1),(752,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:57',1199269497000,'+02:00','ADD',1,NULL,1,1),(753,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:57',1199269497000,'+02:00','ADD',1,NULL,1,1),(754,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:57',1199269497000,'+02:00','ADD',1,NULL,1,1),(755,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:58',1199269498000,'+02:00','ADD',1,NULL,1,1),(756,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:58',1199269498000,'+02:00','ADD',1,NULL,1,1),(757,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:58',1199269498000,'+02:00','ADD',1,NULL,1,1),(758,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:58',1199269498000,'+02:00','ADD',1,NULL,1,1),(759,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:58',1199269498000,'+02:00','ADD',1,NULL,1,1),(760,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:59',1199269499000,'+02:00','ADD',1,NULL,1,1),(761,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:59',1199269499000,'+02:00','ADD',1,NULL,1,1),(762,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:59',1199269499000,'+02:00','ADD',1,NULL,1,1),(763,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:59',1199269499000,'+02:00','ADD',1,NULL,1,1),(764,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:24:59',1199269499000,'+02:00','ADD',1,NULL,1,1),(765,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:00',1199269500000,'+02:00','ADD',1,NULL,1,1),(766,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:00',1199269500000,'+02:00','ADD',1,NULL,1,1),(767,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:00',1199269500000,'+02:00','ADD',1,NULL,1,1),(768,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:00',1199269500000,'+02:00','ADD',1,NULL,1,1),(769,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:01',1199269501000,'+02:00','ADD',1,NULL,1,1),(770,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:01',1199269501000,'+02:00','ADD',1,NULL,1,1),(771,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:01',1199269501000,'+02:00','ADD',1,NULL,1,1),(772,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:01',1199269501000,'+02:00','ADD',1,NULL,1,1),(773,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(774,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(775,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(776,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(777,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(778,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:02',1199269502000,'+02:00','ADD',1,NULL,1,1),(779,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:03',1199269503000,'+02:00','ADD',1,NULL,1,1),(780,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:03',1199269503000,'+02:00','ADD',1,NULL,1,1),(781,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:03',1199269503000,'+02:00','ADD',1,NULL,1,1),(782,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:03',1199269503000,'+02:00','ADD',1,NULL,1,1),(783,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:03',1199269503000,'+02:00','ADD',1,NULL,1,1),(784,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:04',1199269504000,'+02:00','ADD',1,NULL,1,1),(785,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:04',1199269504000,'+02:00','ADD',1,NULL,1,1),(786,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:04',1199269504000,'+02:00','ADD',1,NULL,1,1),(787,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:04',1199269504000,'+02:00','ADD',1,NULL,1,1),(788,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:04',1199269504000,'+02:00','ADD',1,NULL,1,1),(789,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:05',1199269505000,'+02:00','ADD',1,NULL,1,1),(790,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:05',1199269505000,'+02:00','ADD',1,NULL,1,1),(791,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:05',1199269505000,'+02:00','ADD',1,NULL,1,1),(792,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:05',1199269505000,'+02:00','ADD',1,NULL,1,1),(793,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:06',1199269506000,'+02:00','ADD',1,NULL,1,1),(794,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:06',1199269506000,'+02:00','ADD',1,NULL,1,1),(795,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:06',1199269506000,'+02:00','ADD',1,NULL,1,1),(796,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:06',1199269506000,'+02:00','ADD',1,NULL,1,1),(797,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:06',1199269506000,'+02:00','ADD',1,NULL,1,1),(798,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(799,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(800,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(801,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(802,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(803,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:07',1199269507000,'+02:00','ADD',1,NULL,1,1),(804,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:08',1199269508000,'+02:00','ADD',1,NULL,1,1),(805,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:08',1199269508000,'+02:00','ADD',1,NULL,1,1),(806,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:08',1199269508000,'+02:00','ADD',1,NULL,1,1),(807,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:08',1199269508000,'+02:00','ADD',1,NULL,1,1),(808,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:09',1199269509000,'+02:00','ADD',1,NULL,1,1),(809,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:09',1199269509000,'+02:00','ADD',1,NULL,1,1),(810,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:09',1199269509000,'+02:00','ADD',1,NULL,1,1),(811,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:09',1199269509000,'+02:00','ADD',1,NULL,1,1),(812,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:10',1199269510000,'+02:00','ADD',1,NULL,1,1),(813,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:10',1199269510000,'+02:00','ADD',1,NULL,1,1),(814,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:10',1199269510000,'+02:00','ADD',1,NULL,1,1),(815,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:10',1199269510000,'+02:00','ADD',1,NULL,1,1),(816,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:10',1199269510000,'+02:00','ADD',1,NULL,1,1),(817,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:11',1199269511000,'+02:00','ADD',1,NULL,1,1),(818,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:11',1199269511000,'+02:00','ADD',1,NULL,1,1),(819,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:11',1199269511000,'+02:00','ADD',1,NULL,1,1),(820,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:11',1199269511000,'+02:00','ADD',1,NULL,1,1),(821,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:11',1199269511000,'+02:00','ADD',1,NULL,1,1),(822,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:12',1199269512000,'+02:00','ADD',1,NULL,1,1),(823,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:12',1199269512000,'+02:00','ADD',1,NULL,1,1),(824,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:12',1199269512000,'+02:00','ADD',1,NULL,1,1),(825,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:12',1199269512000,'+02:00','ADD',1,NULL,1,1),(826,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:12',1199269512000,'+02:00','ADD',1,NULL,1,1),(827,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:13',1199269513000,'+02:00','ADD',1,NULL,1,1),(828,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:13',1199269513000,'+02:00','ADD',1,NULL,1,1),(829,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:13',1199269513000,'+02:00','ADD',1,NULL,1,1),(830,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:13',1199269513000,'+02:00','ADD',1,NULL,1,1),(831,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:13',1199269513000,'+02:00','ADD',1,NULL,1,1),(832,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:14',1199269514000,'+02:00','ADD',1,NULL,1,1),(833,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:14',1199269514000,'+02:00','ADD',1,NULL,1,1),(834,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:14',1199269514000,'+02:00','ADD',1,NULL,1,1),(835,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:14',1199269514000,'+02:00','ADD',1,NULL,1,1),(836,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:15',1199269515000,'+02:00','ADD',1,NULL,1,1),(837,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:15',1199269515000,'+02:00','ADD',1,NULL,1,1),(838,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:15',1199269515000,'+02:00','ADD',1,NULL,1,1),(839,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:16',1199269516000,'+02:00','ADD',1,NULL,1,1),(840,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:16',1199269516000,'+02:00','ADD',1,NULL,1,1),(841,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:16',1199269516000,'+02:00','ADD',1,NULL,1,1),(842,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:16',1199269516000,'+02:00','ADD',1,NULL,1,1),(843,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:17',1199269517000,'+02:00','ADD',1,NULL,1,1),(844,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:17',1199269517000,'+02:00','ADD',1,NULL,1,1),(845,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:17',1199269517000,'+02:00','ADD',1,NULL,1,1),(846,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:17',1199269517000,'+02:00','ADD',1,NULL,1,1),(847,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:17',1199269517000,'+02:00','ADD',1,NULL,1,1),(848,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:18',1199269518000,'+02:00','ADD',1,NULL,1,1),(849,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:18',1199269518000,'+02:00','ADD',1,NULL,1,1),(850,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:18',1199269518000,'+02:00','ADD',1,NULL,1,1),(851,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:19',1199269519000,'+02:00','ADD',1,NULL,1,1),(852,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:19',1199269519000,'+02:00','ADD',1,NULL,1,1),(853,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:20',1199269520000,'+02:00','ADD',1,NULL,1,1),(854,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:20',1199269520000,'+02:00','ADD',1,NULL,1,1),(855,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:20',1199269520000,'+02:00','ADD',1,NULL,1,1),(856,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:20',1199269520000,'+02:00','ADD',1,NULL,1,1),(857,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:21',1199269521000,'+02:00','ADD',1,NULL,1,1),(858,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:21',1199269521000,'+02:00','ADD',1,NULL,1,1),(859,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:21',1199269521000,'+02:00','ADD',1,NULL,1,1),(860,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:21',1199269521000,'+02:00','ADD',1,NULL,1,1),(861,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:22',1199269522000,'+02:00','ADD',1,NULL,1,1),(862,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:22',1199269522000,'+02:00','ADD',1,NULL,1,1),(863,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:22',1199269522000,'+02:00','ADD',1,NULL,1,1),(864,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:22',1199269522000,'+02:00','ADD',1,NULL,1,1),(865,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:22',1199269522000,'+02:00','ADD',1,NULL,1,1),(866,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:23',1199269523000,'+02:00','ADD',1,NULL,1,1),(867,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:23',1199269523000,'+02:00','ADD',1,NULL,1,1),(868,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:23',1199269523000,'+02:00','ADD',1,NULL,1,1),(869,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:23',1199269523000,'+02:00','ADD',1,NULL,1,1),(870,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:24',1199269524000,'+02:00','ADD',1,NULL,1,1),(871,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:24',1199269524000,'+02:00','ADD',1,NULL,1,1),(872,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:24',1199269524000,'+02:00','ADD',1,NULL,1,1),(873,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:25',1199269525000,'+02:00','ADD',1,NULL,1,1),(874,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:25',1199269525000,'+02:00','ADD',1,NULL,1,1),(875,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:25',1199269525000,'+02:00','ADD',1,NULL,1,1),(876,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:25',1199269525000,'+02:00','ADD',1,NULL,1,1),(877,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:25',1199269525000,'+02:00','ADD',1,NULL,1,1),(878,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:26',1199269526000,'+02:00','ADD',1,NULL,1,1),(879,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:26',1199269526000,'+02:00','ADD',1,NULL,1,1),(880,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:26',1199269526000,'+02:00','ADD',1,NULL,1,1),(881,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:26',1199269526000,'+02:00','ADD',1,NULL,1,1),(882,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:27',1199269527000,'+02:00','ADD',1,NULL,1,1),(883,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:27',1199269527000,'+02:00','ADD',1,NULL,1,1),(884,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:27',1199269527000,'+02:00','ADD',1,NULL,1,1),(885,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:27',1199269527000,'+02:00','ADD',1,NULL,1,1),(886,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:28',1199269528000,'+02:00','ADD',1,NULL,1,1),(887,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:28',1199269528000,'+02:00','ADD',1,NULL,1,1),(888,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:28',1199269528000,'+02:00','ADD',1,NULL,1,1),(889,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:28',1199269528000,'+02:00','ADD',1,NULL,1,1),(890,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:29',1199269529000,'+02:00','ADD',1,NULL,1,1),(891,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:29',1199269529000,'+02:00','ADD',1,NULL,1,1),(892,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:29',1199269529000,'+02:00','ADD',1,NULL,1,1),(893,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:29',1199269529000,'+02:00','ADD',1,NULL,1,1),(894,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:29',1199269529000,'+02:00','ADD',1,NULL,1,1),(895,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:30',1199269530000,'+02:00','ADD',1,NULL,1,1),(896,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:30',1199269530000,'+02:00','ADD',1,NULL,1,1),(897,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:31',1199269531000,'+02:00','ADD',1,NULL,1,1),(898,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:31',1199269531000,'+02:00','ADD',1,NULL,1,1),(899,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:31',1199269531000,'+02:00','ADD',1,NULL,1,1),(900,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:31',1199269531000,'+02:00','ADD',1,NULL,1,1),(901,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:31',1199269531000,'+02:00','ADD',1,NULL,1,1),(902,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:32',1199269532000,'+02:00','ADD',1,NULL,1,1),(903,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:32',1199269532000,'+02:00','ADD',1,NULL,1,1),(904,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:32',1199269532000,'+02:00','ADD',1,NULL,1,1),(905,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:32',1199269532000,'+02:00','ADD',1,NULL,1,1),(906,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:32',1199269532000,'+02:00','ADD',1,NULL,1,1),(907,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(908,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(909,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(910,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(911,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(912,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:33',1199269533000,'+02:00','ADD',1,NULL,1,1),(913,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(914,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(915,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(916,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(917,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(918,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:34',1199269534000,'+02:00','ADD',1,NULL,1,1),(919,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(920,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(921,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(922,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(923,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(924,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:35',1199269535000,'+02:00','ADD',1,NULL,1,1),(925,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(926,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(927,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(928,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(929,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(930,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(931,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:36',1199269536000,'+02:00','ADD',1,NULL,1,1),(932,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:37',1199269537000,'+02:00','ADD',1,NULL,1,1),(933,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:37',1199269537000,'+02:00','ADD',1,NULL,1,1),(934,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:37',1199269537000,'+02:00','ADD',1,NULL,1,1),(935,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:37',1199269537000,'+02:00','ADD',1,NULL,1,1),(936,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:38',1199269538000,'+02:00','ADD',1,NULL,1,1),(937,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:38',1199269538000,'+02:00','ADD',1,NULL,1,1),(938,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:38',1199269538000,'+02:00','ADD',1,NULL,1,1),(939,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:39',1199269539000,'+02:00','ADD',1,NULL,1,1),(940,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:39',1199269539000,'+02:00','ADD',1,NULL,1,1),(941,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:40',1199269540000,'+02:00','ADD',1,NULL,1,1),(942,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:40',1199269540000,'+02:00','ADD',1,NULL,1,1),(943,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:40',1199269540000,'+02:00','ADD',1,NULL,1,1),(944,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:40',1199269540000,'+02:00','ADD',1,NULL,1,1),(945,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:41',1199269541000,'+02:00','ADD',1,NULL,1,1),(946,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:41',1199269541000,'+02:00','ADD',1,NULL,1,1),(947,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:41',1199269541000,'+02:00','ADD',1,NULL,1,1),(948,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:42',1199269542000,'+02:00','ADD',1,NULL,1,1),(949,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:42',1199269542000,'+02:00','ADD',1,NULL,1,1),(950,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:42',1199269542000,'+02:00','ADD',1,NULL,1,1),(951,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:42',1199269542000,'+02:00','ADD',1,NULL,1,1),(952,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(953,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(954,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(955,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(956,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(957,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:43',1199269543000,'+02:00','ADD',1,NULL,1,1),(958,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(959,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(960,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(961,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(962,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(963,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(964,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(965,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:44',1199269544000,'+02:00','ADD',1,NULL,1,1),(966,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(967,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(968,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(969,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(970,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(971,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:45',1199269545000,'+02:00','ADD',1,NULL,1,1),(972,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(973,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(974,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(975,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(976,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(977,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(978,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:46',1199269546000,'+02:00','ADD',1,NULL,1,1),(979,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:47',1199269547000,'+02:00','ADD',1,NULL,1,1),(980,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:47',1199269547000,'+02:00','ADD',1,NULL,1,1),(981,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:47',1199269547000,'+02:00','ADD',1,NULL,1,1),(982,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:47',1199269547000,'+02:00','ADD',1,NULL,1,1),(983,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(984,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(985,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(986,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(987,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(988,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:48',1199269548000,'+02:00','ADD',1,NULL,1,1),(989,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:49',1199269549000,'+02:00','ADD',1,NULL,1,1),(990,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:49',1199269549000,'+02:00','ADD',1,NULL,1,1),(991,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:49',1199269549000,'+02:00','ADD',1,NULL,1,1),(992,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:49',1199269549000,'+02:00','ADD',1,NULL,1,1),(993,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(994,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(995,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(996,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(997,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(998,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:50',1199269550000,'+02:00','ADD',1,NULL,1,1),(999,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:51',1199269551000,'+02:00','ADD',1,NULL,1,1),(1000,'2007-07-07 05:07:07',1183784827000,'2008-01-02 11:25:51',1199269551000,'+02:00','ADD',1,NULL,1,1);
 INSERT INTO `event_objectevent_epcs` VALUES (1,'urn:epc:id:sgtin:1.1.0',0),(2,'urn:epc:id:sgtin:1.1.1',0),(3,'urn:epc:id:sgtin:1.1.2',0),(4,'urn:epc:id:sgtin:1.1.3',0),(5,'urn:epc:id:sgtin:1.1.4',0),(6,'urn:epc:id:sgtin:1.1.5',0),(7,'urn:epc:id:sgtin:1.1.6',0),(8,'urn:epc:id:sgtin:1.1.7',0),(9,'urn:epc:id:sgtin:1.1.8',0),(10,'urn:epc:id:sgtin:1.1.9',0),(11,'urn:epc:id:sgtin:1.1.10',0),(12,'urn:epc:id:sgtin:1.1.11',0),(13,'urn:epc:id:sgtin:1.1.12',0),(14,'urn:epc:id:sgtin:1.1.13',0),(15,'urn:epc:id:sgtin:1.1.14',0),(16,'urn:epc:id:sgtin:1.1.15',0),(17,'urn:epc:id:sgtin:1.1.16',0),(18,'urn:epc:id:sgtin:1.1.17',0),(19,'urn:epc:id:sgtin:1.1.18',0),(20,'urn:epc:id:sgtin:1.1.19',0),(21,'urn:epc:id:sgtin:1.1.20',0),(22,'urn:epc:id:sgtin:1.1.21',0),(23,'urn:epc:id:sgtin:1.1.22',0),(24,'urn:epc:id:sgtin:1.1.23',0),(25,'urn:epc:id:sgtin:1.1.24',0),(26,'urn:epc:id:sgtin:1.1.25',0),(27,'urn:epc:id:sgtin:1.1.26',0),(28,'urn:epc:id:sgtin:1.1.27',0),(29,'urn:epc:id:sgtin:1.1.28',0),(30,'urn:epc:id:sgtin:1.1.29',0),(31,'urn:epc:id:sgtin:1.1.30',0),(32,'urn:epc:id:sgtin:1.1.31',0),(33,'urn:epc:id:sgtin:1.1.32',0),(34,'urn:epc:id:sgtin:1.1.33',0),(35,'urn:epc:id:sgtin:1.1.34',0),(36,'urn:epc:id:sgtin:1.1.35',0),(37,'urn:epc:id:sgtin:1.1.36',0),(38,'urn:epc:id:sgtin:1.1.37',0),(39,'urn:epc:id:sgtin:1.1.38',0),(40,'urn:epc:id:sgtin:1.1.39',0),(41,'urn:epc:id:sgtin:1.1.40',0),(42,'urn:epc:id:sgtin:1.1.41',0),(43,'urn:epc:id:sgtin:1.1.42',0),(44,'urn:epc:id:sgtin:1.1.43',0),(45,'urn:epc:id:sgtin:1.1.44',0),(46,'urn:epc:id:sgtin:1.1.45',0),(47,'urn:epc:id:sgtin:1.1.46',0),(48,'urn:epc:id:sgtin:1.1.47',0),(49,'urn:epc:id:sgtin:1.1.48',0),(50,'urn:epc:id:sgtin:1.1.49',0),(51,'urn:epc:id:sgtin:1.1.50',0),(52,'urn:epc:id:sgtin:1.1.51',0),(53,'urn:epc:id:sgtin:1.1.52',0),(54,'urn:epc:id:sgtin:1.1.53',0),(55,'urn:epc:id:sgtin:1.1.54',0),(56,'urn:epc:id:sgtin:1.1.55',0),(57,'urn:epc:id:sgtin:1.1.56',0),(58,'urn:epc:id:sgtin:1.1.57',0),(59,'urn:epc:id:sgtin:1.1.58',0),(60,'urn:epc:id:sgtin:1.1.59',0),(61,'urn:epc:id:sgtin:1.1.60',0),(62,'urn:epc:id:sgtin:1.1.61',0),(63,'urn:epc:id:sgtin:1.1.62',0),(64,'urn:epc:id:sgtin:1.1.63',0),(65,'urn:epc:id:sgtin:1.1.64',0),(66,'urn:epc:id:sgtin:1.1.65',0),(67,'urn:epc:id:sgtin:1.1.66',0),(68,'urn:epc:id:sgtin:1.1.67',0),(69,'urn:epc:id:sgtin:1.1.68',0),(70,'urn:epc:id:sgtin:1.1.69',0),(71,'urn:epc:id:sgtin:1.1.70',0),(72,'urn:epc:id:sgtin:1.1.71',0),(73,'urn:epc:id:sgtin:1.1.72',0),(74,'urn:epc:id:sgtin:1.1.73',0),(75,'urn:epc:id:sgtin:1.1.74',0),(76,'urn:epc:id:sgtin:1.1.75',0),(77,'urn:epc:id:sgtin:1.1.76',0),(78,'urn:epc:id:sgtin:1.1.77',0),(79,'urn:epc:id:sgtin:1.1.78',0),(80,'urn:epc:id:sgtin:1.1.79',0),(81,'urn:epc:id:sgtin:1.1.80',0),(82,'urn:epc:id:sgtin:1.1.81',0),(83,'urn:epc:id:sgtin:1.1.82',0),(84,'urn:epc:id:sgtin:1.1.83',0),(85,'urn:epc:id:sgtin:1.1.84',0),(86,'urn:epc:id:sgtin:1.1.85',0),(87,'urn:epc:id:sgtin:1.1.86',0),(88,'urn:epc:id:sgtin:1.1.87',0),(89,'urn:epc:id:sgtin:1.1.88',0),(90,'urn:epc:id:sgtin:1.1.89',0),(91,'urn:epc:id:sgtin:1.1.90',0),(92,'urn:epc:id:sgtin:1.1.91',0),(93,'urn:epc:id:sgtin:1.1.92',0),(94,'urn:epc:id:sgtin:1.1.93',0),(95,'urn:epc:id:sgtin:1.1.94',0),(96,'urn:epc:id:sgtin:1.1.95',0),(97,'urn:epc:id:sgtin:1.1.96',0),(98,'urn:epc:id:sgtin:1.1.97',0),(99,'urn:epc:id:sgtin:1.1.98',0),(100,'urn:epc:id:sgtin:1.1.99',0),(101,'urn:epc:id:sgtin:1.1.100',0),(102,'urn:epc:id:sgtin:1.1.101',0),(103,'urn:epc:id:sgtin:1.1.102',0),(104,'urn:epc:id:sgtin:1.1.103',0),(105,'urn:epc:id:sgtin:1.1.104',0),(106,'urn:epc:id:sgtin:1.1.105',0),(107,'urn:epc:id:sgtin:1.1.106',0),(108,'urn:epc:id:sgtin:1.1.107',0),(109,'urn:epc:id:sgtin:1.1.108',0),(110,'urn:epc:id:sgtin:1.1.109',0),(111,'urn:epc:id:sgtin:1.1.110',0),(112,'urn:epc:id:sgtin:1.1.111',0),(113,'urn:epc:id:sgtin:1.1.112',0),(114,'urn:epc:id:sgtin:1.1.113',0),(115,'urn:epc:id:sgtin:1.1.114',0),(116,'urn:epc:id:sgtin:1.1.115',0),(117,'urn:epc:id:sgtin:1.1.116',0),(118,'urn:epc:id:sgtin:1.1.117',0),(119,'urn:epc:id:sgtin:1.1.118',0),(120,'urn:epc:id:sgtin:1.1.119',0),(121,'urn:epc:id:sgtin:1.1.120',0),(122,'urn:epc:id:sgtin:1.1.121',0),(123,'urn:epc:id:sgtin:1.1.122',0),(124,'urn:epc:id:sgtin:1.1.123',0),(125,'urn:epc:id:sgtin:1.1.124',0),(126,'urn:epc:id:sgtin:1.1.125',0),(127,'urn:epc:id:sgtin:1.1.126',0),(128,'urn:epc:id:sgtin:1.1.127',0),(129,'urn:epc:id:sgtin:1.1.128',0),(130,'urn:epc:id:sgtin:1.1.129',0),(131,'urn:epc:id:sgtin:1.1.130',0),(132,'urn:epc:id:sgtin:1.1.131',0),(133,'urn:epc:id:sgtin:1.1.132',0),(134,'urn:epc:id:sgtin:1.1.133',0),(135,'urn:epc:id:sgtin:1.1.134',0),(136,'urn:epc:id:sgtin:1.1.135',0),(137,'urn:epc:id:sgtin:1.1.136',0),(138,'urn:epc:id:sgtin:1.1.137',0),(139,'urn:epc:id:sgtin:1.1.138',0),(140,'urn:epc:id:sgtin:1.1.139',0),(141,'urn:epc:id:sgtin:1.1.140',0),(142,'urn:epc:id:sgtin:1.1.141',0),(143,'urn:epc:id:sgtin:1.1.142',0),(144,'urn:epc:id:sgtin:1.1.143',0),(145,'urn:epc:id:sgtin:1.1.144',0),(146,'urn:epc:id:sgtin:1.1.145',0),(147,'urn:epc:id:sgtin:1.1.146',0),(148,'urn:epc:id:sgtin:1.1.147',0),(149,'urn:epc:id:sgtin:1.1.148',0),(150,'urn:epc:id:sgtin:1.1.149',0),(151,'urn:epc:id:sgtin:1.1.150',0),(152,'urn:epc:id:sgtin:1.1.151',0),(153,'urn:epc:id:sgtin:1.1.152',0),(154,'urn:epc:id:sgtin:1.1.153',0),(155,'urn:epc:id:sgtin:1.1.154',0),(156,'urn:epc:id:sgtin:1.1.155',0),(157,'urn:epc:id:sgtin:1.1.156',0),(158,'urn:epc:id:sgtin:1.1.157',0),(159,'urn:epc:id:sgtin:1.1.158',0),(160,'urn:epc:id:sgtin:1.1.159',0),(161,'urn:epc:id:sgtin:1.1.160',0),(162,'urn:epc:id:sgtin:1.1.161',0),(163,'urn:epc:id:sgtin:1.1.162',0),(164,'urn:epc:id:sgtin:1.1.163',0),(165,'urn:epc:id:sgtin:1.1.164',0),(166,'urn:epc:id:sgtin:1.1.165',0),(167,'urn:epc:id:sgtin:1.1.166',0),(168,'urn:epc:id:sgtin:1.1.167',0),(169,'urn:epc:id:sgtin:1.1.168',0),(170,'urn:epc:id:sgtin:1.1.169',0),(171,'urn:epc:id:sgtin:1.1.170',0),(172,'urn:epc:id:sgtin:1.1.171',0),(173,'urn:epc:id:sgtin:1.1.172',0),(174,'urn:epc:id:sgtin:1.1.173',0),(175,'urn:epc:id:sgtin:1.1.174',0),(176,'urn:epc:id:sgtin:1.1.175',0),(177,'urn:epc:id:sgtin:1.1.176',0),(178,'urn:epc:id:sgtin:1.1.177',0),(179,'urn:epc:id:sgtin:1.1.178',0),(180,'urn:epc:id:sgtin:1.1.179',0),(181,'urn:epc:id:sgtin:1.1.180',0),(182,'urn:epc:id:sgtin:1.1.181',0),(183,'urn:epc:id:sgtin:1.1.182',0),(184,'urn:epc:id:sgtin:1.1.183',0),(185,'urn:epc:id:sgtin:1.1.184',0),(186,'urn:epc:id:sgtin:1.1.185',0),(187,'urn:epc:id:sgtin:1.1.186',0),(188,'urn:epc:id:sgtin:1.1.187',0),(189,'urn:epc:id:sgtin:1.1.188',0),(190,'urn:epc:id:sgtin:1.1.189',0),(191,'urn:epc:id:sgtin:1.1.190',0),(192,'urn:epc:id:sgtin:1.1.191',0),(193,'urn:epc:id:sgtin:1.1.192',0),(194,'urn:epc:id:sgtin:1.1.193',0),(195,'urn:epc:id:sgtin:1.1.194',0),(196,'urn:epc:id:sgtin:1.1.195',0),(197,'urn:epc:id:sgtin:1.1.196',0),(198,'urn:epc:id:sgtin:1.1.197',0),(199,'urn:epc:id:sgtin:1.1.198',0),(200,'urn:epc:id:sgtin:1.1.199',0),(201,'urn:epc:id:sgtin:1.1.200',0),(202,'urn:epc:id:sgtin:1.1.201',0),(203,'urn:epc:id:sgtin:1.1.202',0),(204,'urn:epc:id:sgtin:1.1.203',0),(205,'urn:epc:id:sgtin:1.1.204',0),(206,'urn:epc:id:sgtin:1.1.205',0),(207,'urn:epc:id:sgtin:1.1.206',0),(208,'urn:epc:id:sgtin:1.1.207',0),(209,'urn:epc:id:sgtin:1.1.208',0),(210,'urn:epc:id:sgtin:1.1.209',0),(211,'urn:epc:id:sgtin:1.1.210',0),(212,'urn:epc:id:sgtin:1.1.211',0),(213,'urn:epc:id:sgtin:1.1.212',0),(214,'urn:epc:id:sgtin:1.1.213',0),(215,'urn:epc:id:sgtin:1.1.214',0),(216,'urn:epc:id:sgtin:1.1.215',0),(217,'urn:epc:id:sgtin:1.1.216',0),(218,'urn:epc:id:sgtin:1.1.217',0),(219,'urn:epc:id:sgtin:1.1.218',0),(220,'urn:epc:id:sgtin:1.1.219',0),(221,'urn:epc:id:sgtin:1.1.220',0),(222,'urn:epc:id:sgtin:1.1.221',0),(223,'urn:epc:id:sgtin:1.1.222',0),(224,'urn:epc:id:sgtin:1.1.223',0),(225,'urn:epc:id:sgtin:1.1.224',0),(226,'urn:epc:id:sgtin:1.1.225',0),(227,'urn:epc:id:sgtin:1.1.226',0),(228,'urn:epc:id:sgtin:1.1.227',0),(229,'urn:epc:id:sgtin:1.1.228',0),(230,'urn:epc:id:sgtin:1.1.229',0),(231,'urn:epc:id:sgtin:1.1.230',0),(232,'urn:epc:id:sgtin:1.1.231',0),(233,'urn:epc:id:sgtin:1.1.232',0),(234,'urn:epc:id:sgtin:1.1.233',0),(235,'urn:epc:id:sgtin:1.1.234',0),(236,'urn:epc:id:sgtin:1.1.235',0),(237,'urn:epc:id:sgtin:1.1.236',0),(238,'urn:epc:id:sgtin:1.1.237',0),(239,'urn:epc:id:sgtin:1.1.238',0),(240,'urn:epc:id:sgtin:1.1.239',0),(241,'urn:epc:id:sgtin:1.1.240',0),(242,'urn:epc:id:sgtin:1.1.241',0),(243,'urn:epc:id:sgtin:1.1.242',0),(244,'urn:epc:id:sgtin:1.1.243',0),(245,'urn:epc:id:sgtin:1.1.244',0),(246,'urn:epc:id:sgtin:1.1.245',0),(247,'urn:epc:id:sgtin:1.1.246',0),(248,'urn:epc:id:sgtin:1.1.247',0),(249,'urn:epc:id:sgtin:1.1.248',0),(250,'urn:epc:id:sgtin:1.1.249',0),(251,'urn:epc:id:sgtin:1.1.250',0),(252,'urn:epc:id:sgtin:1.1.251',0),(253,'urn:epc:id:sgtin:1.1.252',0),(254,'urn:epc:id:sgtin:1.1.253',0),(255,'urn:epc:id:sgtin:1.1.254',0),(256,'urn:epc:id:sgtin:1.1.255',0),(257,'urn:epc:id:sgtin:1.1.256',0),(258,'urn:epc:id:sgtin:1.1.257',0),(259,'urn:epc:id:sgtin:1.1.258',0),(260,'urn:epc:id:sgtin:1.1.259',0),(261,'urn:epc:id:sgtin:1.1.260',0),(262,'urn:epc:id:sgtin:1.1.261',0),(263,'urn:epc:id:sgtin:1.1.262',0),(264,'urn:epc:id:sgtin:1.1.263',0),(265,'urn:epc:id:sgtin:1.1.264',0),(266,'urn:epc:id:sgtin:1.1.265',0),(267,'urn:epc:id:sgtin:1.1.266',0),(268,'urn:epc:id:sgtin:1.1.267',0),(269,'urn:epc:id:sgtin:1.1.268',0),(270,'urn:epc:id:sgtin:1.1.269',0),(271,'urn:epc:id:sgtin:1.1.270',0),(272,'urn:epc:id:sgtin:1.1.271',0),(273,'urn:epc:id:sgtin:1.1.272',0),(274,'urn:epc:id:sgtin:1.1.273',0),(275,'urn:epc:id:sgtin:1.1.274',0),(276,'urn:epc:id:sgtin:1.1.275',0),(277,'urn:epc:id:sgtin:1.1.276',0),(278,'urn:epc:id:sgtin:1.1.277',0),(279,'urn:epc:id:sgtin:1.1.278',0),(280,'urn:epc:id:sgtin:1.1.279',0),(281,'urn:epc:id:sgtin:1.1.280',0),(282,'urn:epc:id:sgtin:1.1.281',0),(283,'urn:epc:id:sgtin:1.1.282',0),(284,'urn:epc:id:sgtin:1.1.283',0),(285,'urn:epc:id:sgtin:1.1.284',0),(286,'urn:epc:id:sgtin:1.1.285',0),(287,'urn:epc:id:sgtin:1.1.286',0),(288,'urn:epc:id:sgtin:1.1.287',0),(289,'urn:epc:id:sgtin:1.1.288',0),(290,'urn:epc:id:sgtin:1.1.289',0),(291,'urn:epc:id:sgtin:1.1.290',0),(292,'urn:epc:id:sgtin:1.1.291',0),(293,'urn:epc:id:sgtin:1.1.292',0),(294,'urn:epc:id:sgtin:1.1.293',0),(295,'urn:epc:id:sgtin:1.1.294',0),(296,'urn:epc:id:sgtin:1.1.295',0),(297,'urn:epc:id:sgtin:1.1.296',0),(298,'urn:epc:id:sgtin:1.1.297',0),(299,'urn:epc:id:sgtin:1.1.298',0),(300,'urn:epc:id:sgtin:1.1.299',0),(301,'urn:epc:id:sgtin:1.1.300',0),(302,'urn:epc:id:sgtin:1.1.301',0),(303,'urn:epc:id:sgtin:1.1.302',0),(304,'urn:epc:id:sgtin:1.1.303',0),(305,'urn:epc:id:sgtin:1.1.304',0),(306,'urn:epc:id:sgtin:1.1.305',0),(307,'urn:epc:id:sgtin:1.1.306',0),(308,'urn:epc:id:sgtin:1.1.307',0),(309,'urn:epc:id:sgtin:1.1.308',0),(310,'urn:epc:id:sgtin:1.1.309',0),(311,'urn:epc:id:sgtin:1.1.310',0),(312,'urn:epc:id:sgtin:1.1.311',0),(313,'urn:epc:id:sgtin:1.1.312',0),(314,'urn:epc:id:sgtin:1.1.313',0),(315,'urn:epc:id:sgtin:1.1.314',0),(316,'urn:epc:id:sgtin:1.1.315',0),(317,'urn:epc:id:sgtin:1.1.316',0),(318,'urn:epc:id:sgtin:1.1.317',0),(319,'urn:epc:id:sgtin:1.1.318',0),(320,'urn:epc:id:sgtin:1.1.319',0),(321,'urn:epc:id:sgtin:1.1.320',0),(322,'urn:epc:id:sgtin:1.1.321',0),(323,'urn:epc:id:sgtin:1.1.322',0),(324,'urn:epc:id:sgtin:1.1.323',0),(325,'urn:epc:id:sgtin:1.1.324',0),(326,'urn:epc:id:sgtin:1.1.325',0),(327,'urn:epc:id:sgtin:1.1.326',0),(328,'urn:epc:id:sgtin:1.1.327',0),(329,'urn:epc:id:sgtin:1.1.328',0),(330,'urn:epc:id:sgtin:1.1.329',0),(331,'urn:epc:id:sgtin:1.1.330',0),(332,'urn:epc:id:sgtin:1.1.331',0),(333,'urn:epc:id:sgtin:1.1.332',0),(334,'urn:epc:id:sgtin:1.1.333',0),(335,'urn:epc:id:sgtin:1.1.334',0),(336,'urn:epc:id:sgtin:1.1.335',0),(337,'urn:epc:id:sgtin:1.1.336',0),(338,'urn:epc:id:sgtin:1.1.337',0),(339,'urn:epc:id:sgtin:1.1.338',0),(340,'urn:epc:id:sgtin:1.1.339',0),(341,'urn:epc:id:sgtin:1.1.340',0),(342,'urn:epc:id:sgtin:1.1.341',0),(343,'urn:epc:id:sgtin:1.1.342',0),(344,'urn:epc:id:sgtin:1.1.343',0),(345,'urn:epc:id:sgtin:1.1.344',0),(346,'urn:epc:id:sgtin:1.1.345',0),(347,'urn:epc:id:sgtin:1.1.346',0),(348,'urn:epc:id:sgtin:1.1.347',0),(349,'urn:epc:id:sgtin:1.1.348',0),(350,'urn:epc:id:sgtin:1.1.349',0),(351,'urn:epc:id:sgtin:1.1.350',0),(352,'urn:epc:id:sgtin:1.1.351',0),(353,'urn:epc:id:sgtin:1.1.352',0),(354,'urn:epc:id:sgtin:1.1.353',0),(355,'urn:epc:id:sgtin:1.1.354',0),(356,'urn:epc:id:sgtin:1.1.355',0),(357,'urn:epc:id:sgtin:1.1.356',0),(358,'urn:epc:id:sgtin:1.1.357',0),(359,'urn:epc:id:sgtin:1.1.358',0),(360,'urn:epc:id:sgtin:1.1.359',0),(361,'urn:epc:id:sgtin:1.1.360',0),(362,'urn:epc:id:sgtin:1.1.361',0),(363,'urn:epc:id:sgtin:1.1.362',0),(364,'urn:epc:id:sgtin:1.1.363',0),(365,'urn:epc:id:sgtin:1.1.364',0),(366,'urn:epc:id:sgtin:1.1.365',0),(367,'urn:epc:id:sgtin:1.1.366',0),(368,'urn:epc:id:sgtin:1.1.367',0),(369,'urn:epc:id:sgtin:1.1.368',0),(370,'urn:epc:id:sgtin:1.1.369',0),(371,'urn:epc:id:sgtin:1.1.370',0),(372,'urn:epc:id:sgtin:1.1.371',0),(373,'urn:epc:id:sgtin:1.1.372',0),(374,'urn:epc:id:sgtin:1.1.373',0),(375,'urn:epc:id:sgtin:1.1.374',0),(376,'urn:epc:id:sgtin:1.1.375',0),(377,'urn:epc:id:sgtin:1.1.376',0),(378,'urn:epc:id:sgtin:1.1.377',0),(379,'urn:epc:id:sgtin:1.1.378',0),(380,'urn:epc:id:sgtin:1.1.379',0),(381,'urn:epc:id:sgtin:1.1.380',0),(382,'urn:epc:id:sgtin:1.1.381',0),(383,'urn:epc:id:sgtin:1.1.382',0),(384,'urn:epc:id:sgtin:1.1.383',0),(385,'urn:epc:id:sgtin:1.1.384',0),(386,'urn:epc:id:sgtin:1.1.385',0),(387,'urn:epc:id:sgtin:1.1.386',0),(388,'urn:epc:id:sgtin:1.1.387',0),(389,'urn:epc:id:sgtin:1.1.388',0),(390,'urn:epc:id:sgtin:1.1.389',0),(391,'urn:epc:id:sgtin:1.1.390',0),(392,'urn:epc:id:sgtin:1.1.391',0),(393,'urn:epc:id:sgtin:1.1.392',0),(394,'urn:epc:id:sgtin:1.1.393',0),(395,'urn:epc:id:sgtin:1.1.394',0),(396,'urn:epc:id:sgtin:1.1.395',0),(397,'urn:epc:id:sgtin:1.1.396',0),(398,'urn:epc:id:sgtin:1.1.397',0),(399,'urn:epc:id:sgtin:1.1.398',0),(400,'urn:epc:id:sgtin:1.1.399',0),(401,'urn:epc:id:sgtin:1.1.400',0),(402,'urn:epc:id:sgtin:1.1.401',0),(403,'urn:epc:id:sgtin:1.1.402',0),(404,'urn:epc:id:sgtin:1.1.403',0),(405,'urn:epc:id:sgtin:1.1.404',0),(406,'urn:epc:id:sgtin:1.1.405',0),(407,'urn:epc:id:sgtin:1.1.406',0),(408,'urn:epc:id:sgtin:1.1.407',0),(409,'urn:epc:id:sgtin:1.1.408',0),(410,'urn:epc:id:sgtin:1.1.409',0),(411,'urn:epc:id:sgtin:1.1.410',0),(412,'urn:epc:id:sgtin:1.1.411',0),(413,'urn:epc:id:sgtin:1.1.412',0),(414,'urn:epc:id:sgtin:1.1.413',0),(415,'urn:epc:id:sgtin:1.1.414',0),(416,'urn:epc:id:sgtin:1.1.415',0),(417,'urn:epc:id:sgtin:1.1.416',0),(418,'urn:epc:id:sgtin:1.1.417',0),(419,'urn:epc:id:sgtin:1.1.418',0),(420,'urn:epc:id:sgtin:1.1.419',0),(421,'urn:epc:id:sgtin:1.1.420',0),(422,'urn:epc:id:sgtin:1.1.421',0),(423,'urn:epc:id:sgtin:1.1.422',0),(424,'urn:epc:id:sgtin:1.1.423',0),(425,'urn:epc:id:sgtin:1.1.424',0),(426,'urn:epc:id:sgtin:1.1.425',0),(427,'urn:epc:id:sgtin:1.1.426',0),(428,'urn:epc:id:sgtin:1.1.427',0),(429,'urn:epc:id:sgtin:1.1.428',0),(430,'urn:epc:id:sgtin:1.1.429',0),(431,'urn:epc:id:sgtin:1.1.430',0),(432,'urn:epc:id:sgtin:1.1.431',0),(433,'urn:epc:id:sgtin:1.1.432',0),(434,'urn:epc:id:sgtin:1.1.433',0),(435,'urn:epc:id:sgtin:1.1.434',0),(436,'urn:epc:id:sgtin:1.1.435',0),(437,'urn:epc:id:sgtin:1.1.436',0),(438,'urn:epc:id:sgtin:1.1.437',0),(439,'urn:epc:id:sgtin:1.1.438',0),(440,'urn:epc:id:sgtin:1.1.439',0),(441,'urn:epc:id:sgtin:1.1.440',0),(442,'urn:epc:id:sgtin:1.1.441',0),(443,'urn:epc:id:sgtin:1.1.442',0),(444,'urn:epc:id:sgtin:1.1.443',0),(445,'urn:epc:id:sgtin:1.1.444',0),(446,'urn:epc:id:sgtin:1.1.445',0),(447,'urn:epc:id:sgtin:1.1.446',0),(448,'urn:epc:id:sgtin:1.1.447',0),(449,'urn:epc:id:sgtin:1.1.448',0),(450,'urn:epc:id:sgtin:1.1.449',0),(451,'urn:epc:id:sgtin:1.1.450',0),(452,'urn:epc:id:sgtin:1.1.451',0),(453,'urn:epc:id:sgtin:1.1.452',0),(454,'urn:epc:id:sgtin:1.1.453',0),(455,'urn:epc:id:sgtin:1.1.454',0),(456,'urn:epc:id:sgtin:1.1.455',0),(457,'urn:epc:id:sgtin:1.1.456',0),(458,'urn:epc:id:sgtin:1.1.457',0),(459,'urn:epc:id:sgtin:1.1.458',0),(460,'urn:epc:id:sgtin:1.1.459',0),(461,'urn:epc:id:sgtin:1.1.460',0),(462,'urn:epc:id:sgtin:1.1.461',0),(463,'urn:epc:id:sgtin:1.1.462',0),(464,'urn:epc:id:sgtin:1.1.463',0),(465,'urn:epc:id:sgtin:1.1.464',0),(466,'urn:epc:id:sgtin:1.1.465',0),(467,'urn:epc:id:sgtin:1.1.466',0),(468,'urn:epc:id:sgtin:1.1.467',0),(469,'urn:epc:id:sgtin:1.1.468',0),(470,'urn:epc:id:sgtin:1.1.469',0),(471,'urn:epc:id:sgtin:1.1.470',0),(472,'urn:epc:id:sgtin:1.1.471',0),(473,'urn:epc:id:sgtin:1.1.472',0),(474,'urn:epc:id:sgtin:1.1.473',0),(475,'urn:epc:id:sgtin:1.1.474',0),(476,'urn:epc:id:sgtin:1.1.475',0),(477,'urn:epc:id:sgtin:1.1.476',0),(478,'urn:epc:id:sgtin:1.1.477',0),(479,'urn:epc:id:sgtin:1.1.478',0),(480,'urn:epc:id:sgtin:1.1.479',0),(481,'urn:epc:id:sgtin:1.1.480',0),(482,'urn:epc:id:sgtin:1.1.481',0),(483,'urn:epc:id:sgtin:1.1.482',0),(484,'urn:epc:id:sgtin:1.1.483',0),(485,'urn:epc:id:sgtin:1.1.484',0),(486,'urn:epc:id:sgtin:1.1.485',0),(487,'urn:epc:id:sgtin:1.1.486',0),(488,'urn:epc:id:sgtin:1.1.487',0),(489,'urn:epc:id:sgtin:1.1.488',0),(490,'urn:epc:id:sgtin:1.1.489',0),(491,'urn:epc:id:sgtin:1.1.490',0),(492,'urn:epc:id:sgtin:1.1.491',0),(493,'urn:epc:id:sgtin:1.1.492',0),(494,'urn:epc:id:sgtin:1.1.493',0),(495,'urn:epc:id:sgtin:1.1.494',0),(496,'urn:epc:id:sgtin:1.1.495',0),(497,'urn:epc:id:sgtin:1.1.496',0),(498,'urn:epc:id:sgtin:1.1.497',0),(499,'urn:epc:id:sgtin:1.1.498',0),(500,'urn:epc:id:sgtin:1.1.499',0),(501,'urn:epc:id:sgtin:1.1.500',0),(502,'urn:epc:id:sgtin:1.1.501',0),(503,'urn:epc:id:sgtin:1.1.502',0),(504,'urn:epc:id:sgtin:1.1.503',0),(505,'urn:epc:id:sgtin:1.1.504',0),(506,'urn:epc:id:sgtin:1.1.505',0),(507,'urn:epc:id:sgtin:1.1.506',0),(508,'urn:epc:id:sgtin:1.1.507',0),(509,'urn:epc:id:sgtin:1.1.508',0),(510,'urn:epc:id:sgtin:1.1.509',0),(511,'urn:epc:id:sgtin:1.1.510',0),(512,'urn:epc:id:sgtin:1.1.511',0),(513,'urn:epc:id:sgtin:1.1.512',0),(514,'urn:epc:id:sgtin:1.1.513',0),(515,'urn:epc:id:sgtin:1.1.514',0),(516,'urn:epc:id:sgtin:1.1.515',0),(517,'urn:epc:id:sgtin:1.1.516',0),(518,'urn:epc:id:sgtin:1.1.517',0),(519,'urn:epc:id:sgtin:1.1.518',0),(520,'urn:epc:id:sgtin:1.1.519',0),(521,'urn:epc:id:sgtin:1.1.520',0),(522,'urn:epc:id:sgtin:1.1.521',0),(523,'urn:epc:id:sgtin:1.1.522',0),(524,'urn:epc:id:sgtin:1.1.523',0),(525,'urn:epc:id:sgtin:1.1.524',0),(526,'urn:epc:id:sgtin:1.1.525',0),(527,'urn:epc:id:sgtin:1.1.526',0),(528,'urn:epc:id:sgtin:1.1.527',0),(529,'urn:epc:id:sgtin:1.1.528',0),(530,'urn:epc:id:sgtin:1.1.529',0),(531,'urn:epc:id:sgtin:1.1.530',0),(532,'urn:epc:id:sgtin:1.1.531',0),(533,'urn:epc:id:sgtin:1.1.532',0),(534,'urn:epc:id:sgtin:1.1.533',0),(535,'urn:epc:id:sgtin:1.1.534',0),(536,'urn:epc:id:sgtin:1.1.535',0),(537,'urn:epc:id:sgtin:1.1.536',0),(538,'urn:epc:id:sgtin:1.1.537',0),(539,'urn:epc:id:sgtin:1.1.538',0),(540,'urn:epc:id:sgtin:1.1.539',0),(541,'urn:epc:id:sgtin:1.1.540',0),(542,'urn:epc:id:sgtin:1.1.541',0),(543,'urn:epc:id:sgtin:1.1.542',0),(544,'urn:epc:id:sgtin:1.1.543',0),(545,'urn:epc:id:sgtin:1.1.544',0),(546,'urn:epc:id:sgtin:1.1.545',0),(547,'urn:epc:id:sgtin:1.1.546',0),(548,'urn:epc:id:sgtin:1.1.547',0),(549,'urn:epc:id:sgtin:1.1.548',0),(550,'urn:epc:id:sgtin:1.1.549',0),(551,'urn:epc:id:sgtin:1.1.550',0),(552,'urn:epc:id:sgtin:1.1.551',0),(553,'urn:epc:id:sgtin:1.1.552',0),(554,'urn:epc:id:sgtin:1.1.553',0),(555,'urn:epc:id:sgtin:1.1.554',0),(556,'urn:epc:id:sgtin:1.1.555',0),(557,'urn:epc:id:sgtin:1.1.556',0),(558,'urn:epc:id:sgtin:1.1.557',0),(559,'urn:epc:id:sgtin:1.1.558',0),(560,'urn:epc:id:sgtin:1.1.559',0),(561,'urn:epc:id:sgtin:1.1.560',0),(562,'urn:epc:id:sgtin:1.1.561',0),(563,'urn:epc:id:sgtin:1.1.562',0),(564,'urn:epc:id:sgtin:1.1.563',0),(565,'urn:epc:id:sgtin:1.1.564',0),(566,'urn:epc:id:sgtin:1.1.565',0),(567,'urn:epc:id:sgtin:1.1.566',0),(568,'urn:epc:id:sgtin:1.1.567',0),(569,'urn:epc:id:sgtin:1.1.568',0),(570,'urn:epc:id:sgtin:1.1.569',0),(571,'urn:epc:id:sgtin:1.1.570',0),(572,'urn:epc:id:sgtin:1.1.571',0),(573,'urn:epc:id:sgtin:1.1.572',0),(574,'urn:epc:id:sgtin:1.1.573',0),(575,'urn:epc:id:sgtin:1.1.574',0),(576,'urn:epc:id:sgtin:1.1.575',0),(577,'urn:epc:id:sgtin:1.1.576',0),(578,'urn:epc:id:sgtin:1.1.577',0),(579,'urn:epc:id:sgtin:1.1.578',0),(580,'urn:epc:id:sgtin:1.1.579',0),(581,'urn:epc:id:sgtin:1.1.580',0),(582,'urn:epc:id:sgtin:1.1.581',0),(583,'urn:epc:id:sgtin:1.1.582',0),(584,'urn:epc:id:sgtin:1.1.583',0),(585,'urn:epc:id:sgtin:1.1.584',0),(586,'urn:epc:id:sgtin:1.1.585',0),(587,'urn:epc:id:sgtin:1.1.586',0),(588,'urn:epc:id:sgtin:1.1.587',0),(589,'urn:epc:id:sgtin:1.1.588',0),(590,'urn:epc:id:sgtin:1.1.589',0),(591,'urn:epc:id:sgtin:1.1.590',0),(592,'urn:epc:id:sgtin:1.1.591',0),(593,'urn:epc:id:sgtin:1.1.592',0),(594,'urn:epc:id:sgtin:1.1.593',0),(595,'urn:epc:id:sgtin:1.1.594',0),(596,'urn:epc:id:sgtin:1.1.595',0),(597,'urn:epc:id:sgtin:1.1.596',0),(598,'urn:epc:id:sgtin:1.1.597',0),(599,'urn:epc:id:sgtin:1.1.598',0),(600,'urn:epc:id:sgtin:1.1.599',0),(601,'urn:epc:id:sgtin:1.1.600',0),(602,'urn:epc:id:sgtin:1.1.601',0),(603,'urn:epc:id:sgtin:1.1.602',0),(604,'urn:epc:id:sgtin:1.1.603',0),(605,'urn:epc:id:sgtin:1.1.604',0),(606,'urn:epc:id:sgtin:1.1.605',0),(607,'urn:epc:id:sgtin:1.1.606',0),(608,'urn:epc:id:sgtin:1.1.607',0),(609,'urn:epc:id:sgtin:1.1.608',0),(610,'urn:epc:id:sgtin:1.1.609',0),(611,'urn:epc:id:sgtin:1.1.610',0),(612,'urn:epc:id:sgtin:1.1.611',0),(613,'urn:epc:id:sgtin:1.1.612',0),(614,'urn:epc:id:sgtin:1.1.613',0),(615,'urn:epc:id:sgtin:1.1.614',0),(616,'urn:epc:id:sgtin:1.1.615',0),(617,'urn:epc:id:sgtin:1.1.616',0),(618,'urn:epc:id:sgtin:1.1.617',0),(619,'urn:epc:id:sgtin:1.1.618',0),(620,'urn:epc:id:sgtin:1.1.619',0),(621,'urn:epc:id:sgtin:1.1.620',0),(622,'urn:epc:id:sgtin:1.1.621',0),(623,'urn:epc:id:sgtin:1.1.622',0),(624,'urn:epc:id:sgtin:1.1.623',0),(625,'urn:epc:id:sgtin:1.1.624',0),(626,'urn:epc:id:sgtin:1.1.625',0),(627,'urn:epc:id:sgtin:1.1.626',0),(628,'urn:epc:id:sgtin:1.1.627',0),(629,'urn:epc:id:sgtin:1.1.628',0),(630,'urn:epc:id:sgtin:1.1.629',0),(631,'urn:epc:id:sgtin:1.1.630',0),(632,'urn:epc:id:sgtin:1.1.631',0),(633,'urn:epc:id:sgtin:1.1.632',0),(634,'urn:epc:id:sgtin:1.1.633',0),(635,'urn:epc:id:sgtin:1.1.634',0),(636,'urn:epc:id:sgtin:1.1.635',0),(637,'urn:epc:id:sgtin:1.1.636',0),(638,'urn:epc:id:sgtin:1.1.637',0),(639,'urn:epc:id:sgtin:1.1.638',0),(640,'urn:epc:id:sgtin:1.1.639',0),(641,'urn:epc:id:sgtin:1.1.640',0),(642,'urn:epc:id:sgtin:1.1.641',0),(643,'urn:epc:id:sgtin:1.1.642',0),(644,'urn:epc:id:sgtin:1.1.643',0),(645,'urn:epc:id:sgtin:1.1.644',0),(646,'urn:epc:id:sgtin:1.1.645',0),(647,'urn:epc:id:sgtin:1.1.646',0),(648,'urn:epc:id:sgtin:1.1.647',0),(649,'urn:epc:id:sgtin:1.1.648',0),(650,'urn:epc:id:sgtin:1.1.649',0),(651,'urn:epc:id:sgtin:1.1.650',0),(652,'urn:epc:id:sgtin:1.1.651',0),(653,'urn:epc:id:sgtin:1.1.652',0),(654,'urn:epc:id:sgtin:1.1.653',0),(655,'urn:epc:id:sgtin:1.1.654',0),(656,'urn:epc:id:sgtin:1.1.655',0),(657,'urn:epc:id:sgtin:1.1.656',0),(658,'urn:epc:id:sgtin:1.1.657',0),(659,'urn:epc:id:sgtin:1.1.658',0),(660,'urn:epc:id:sgtin:1.1.659',0),(661,'urn:epc:id:sgtin:1.1.660',0),(662,'urn:epc:id:sgtin:1.1.661',0),(663,'urn:epc:id:sgtin:1.1.662',0),(664,'urn:epc:id:sgtin:1.1.663',0),(665,'urn:epc:id:sgtin:1.1.664',0),(666,'urn:epc:id:sgtin:1.1.665',0),(667,'urn:epc:id:sgtin:1.1.666',0),(668,'urn:epc:id:sgtin:1.1.667',0),(669,'urn:epc:id:sgtin:1.1.668',0),(670,'urn:epc:id:sgtin:1.1.669',0),(671,'urn:epc:id:sgtin:1.1.670',0),(672,'urn:epc:id:sgtin:1.1.671',0),(673,'urn:epc:id:sgtin:1.1.672',0),(674,'urn:epc:id:sgtin:1.1.673',0),(675,'urn:epc:id:sgtin:1.1.674',0),(676,'urn:epc:id:sgtin:1.1.675',0),(677,'urn:epc:id:sgtin:1.1.676',0),(678,'urn:epc:id:sgtin:1.1.677',0),(679,'urn:epc:id:sgtin:1.1.678',0),(680,'urn:epc:id:sgtin:1.1.679',0),(681,'urn:epc:id:sgtin:1.1.680',0),(682,'urn:epc:id:sgtin:1.1.681',0),(683,'urn:epc:id:sgtin:1.1.682',0),(684,'urn:epc:id:sgtin:1.1.683',0),(685,'urn:epc:id:sgtin:1.1.684',0),(686,'urn:epc:id:sgtin:1.1.685',0),(687,'urn:epc:id:sgtin:1.1.686',0),(688,'urn:epc:id:sgtin:1.1.687',0),(689,'urn:epc:id:sgtin:1.1.688',0),(690,'urn:epc:id:sgtin:1.1.689',0),(691,'urn:epc:id:sgtin:1.1.690',0),(692,'urn:epc:id:sgtin:1.1.691',0),(693,'urn:epc:id:sgtin:1.1.692',0),(694,'urn:epc:id:sgtin:1.1.693',0),(695,'urn:epc:id:sgtin:1.1.694',0),(696,'urn:epc:id:sgtin:1.1.695',0),(697,'urn:epc:id:sgtin:1.1.696',0),(698,'urn:epc:id:sgtin:1.1.697',0),(699,'urn:epc:id:sgtin:1.1.698',0),(700,'urn:epc:id:sgtin:1.1.699',0),(701,'urn:epc:id:sgtin:1.1.700',0),(702,'urn:epc:id:sgtin:1.1.701',0),(703,'urn:epc:id:sgtin:1.1.702',0),(704,'urn:epc:id:sgtin:1.1.703',0),(705,'urn:epc:id:sgtin:1.1.704',0),(706,'urn:epc:id:sgtin:1.1.705',0),(707,'urn:epc:id:sgtin:1.1.706',0),(708,'urn:epc:id:sgtin:1.1.707',0),(709,'urn:epc:id:sgtin:1.1.708',0),(710,'urn:epc:id:sgtin:1.1.709',0),(711,'urn:epc:id:sgtin:1.1.710',0),(712,'urn:epc:id:sgtin:1.1.711',0),(713,'urn:epc:id:sgtin:1.1.712',0),(714,'urn:epc:id:sgtin:1.1.713',0),(715,'urn:epc:id:sgtin:1.1.714',0),(716,'urn:epc:id:sgtin:1.1.715',0),(717,'urn:epc:id:sgtin:1.1.716',0),(718,'urn:epc:id:sgtin:1.1.717',0),(719,'urn:epc:id:sgtin:1.1.718',0),(720,'urn:epc:id:sgtin:1.1.719',0),(721,'urn:epc:id:sgtin:1.1.720',0),(722,'urn:epc:id:sgtin:1.1.721',0),(723,'urn:epc:id:sgtin:1.1.722',0),(724,'urn:epc:id:sgtin:1.1.723',0),(725,'urn:epc:id:sgtin:1.1.724',0),(726,'urn:epc:id:sgtin:1.1.725',0),(727,'urn:epc:id:sgtin:1.1.726',0),(728,'urn:epc:id:sgtin:1.1.727',0),(729,'urn:epc:id:sgtin:1.1.728',0),(730,'urn:epc:id:sgtin:1.1.729',0),(731,'urn:epc:id:sgtin:1.1.730',0),(732,'urn:epc:id:sgtin:1.1.731',0),(733,'urn:epc:id:sgtin:1.1.732',0),(734,'urn:epc:id:sgtin:1.1.733',0),(735,'urn:epc:id:sgtin:1.1.734',0),(736,'urn:epc:id:sgtin:1.1.735',0),(737,'urn:epc:id:sgtin:1.1.736',0),(738,'urn:epc:id:sgtin:1.1.737',0),(739,'urn:epc:id:sgtin:1.1.738',0),(740,'urn:epc:id:sgtin:1.1.739',0),(741,'urn:epc:id:sgtin:1.1.740',0),(742,'urn:epc:id:sgtin:1.1.741',0),(743,'urn:epc:id:sgtin:1.1.742',0),(744,'urn:epc:id:sgtin:1.1.743',0),(745,'urn:epc:id:sgtin:1.1.744',0),(746,'urn:epc:id:sgtin:1.1.745',0),(747,'urn:epc:id:sgtin:1.1.746',0),(748,'urn:epc:id:sgtin:1.1.747',0),(749,'urn:epc:id:sgtin:1.1.748',0),(750,'urn:epc:id:sgtin:1.1.749',0),(751,'urn:epc:id:sgtin:1.1.750',0),(752,'urn:epc:id:sgtin:1.1.751',0),(753,'urn:epc:id:sgtin:1.1.752',0),(754,'urn:epc:id:sgtin:1.1.753',0),(755,'urn:epc:id:sgtin:1.1.754',0),(756,'urn:epc:id:sgtin:1.1.755',0),(757,'urn:epc:id:sgtin:1.1.756',0),(758,'urn:epc:id:sgtin:1.1.757',0),(759,'urn:epc:id:sgtin:1.1.758',0),(760,'urn:epc:id:sgtin:1.1.759',0),(761,'urn:epc:id:sgtin:1.1.760',0),(762,'urn:epc:id:sgtin:1.1.761',0),(763,'urn:epc:id:sgtin:1.1.762',0),(764,'urn:epc:id:sgtin:1.1.763',0),(765,'urn:epc:id:sgtin:1.1.764',0),(766,'urn:epc:id:sgtin:1.1.765',0),(767,'urn:epc:id:sgtin:1.1.766',0),(768,'urn:epc:id:sgtin:1.1.767',0),(769,'urn:epc:id:sgtin:1.1.768',0),(770,'urn:epc:id:sgtin:1.1.769',0),(771,'urn:epc:id:sgtin:1.1.770',0),(772,'urn:epc:id:sgtin:1.1.771',0),(773,'urn:epc:id:sgtin:1.1.772',0),(774,'urn:epc:id:sgtin:1.1.773',0),(775,'urn:epc:id:sgtin:1.1.774',0),(776,'urn:epc:id:sgtin:1.1.775',0),(777,'urn:epc:id:sgtin:1.1.776',0),(778,'urn:epc:id:sgtin:1.1.777',0),(779,'urn:epc:id:sgtin:1.1.778',0),(780,'urn:epc:id:sgtin:1.1.779',0),(781,'urn:epc:id:sgtin:1.1.780',0),(782,'urn:epc:id:sgtin:1.1.781',0),(783,'urn:epc:id:sgtin:1.1.782',0),(784,'urn:epc:id:sgtin:1.1.783',0),(785,'urn:epc:id:sgtin:1.1.784',0),(786,'urn:epc:id:sgtin:1.1.785',0),(787,'urn:epc:id:sgtin:1.1.786',0),(788,'urn:epc:id:sgtin:1.1.787',0),(789,'urn:epc:id:sgtin:1.1.788',0),(790,'urn:epc:id:sgtin:1.1.789',0),(791,'urn:epc:id:sgtin:1.1.790',0),(792,'urn:epc:id:sgtin:1.1.791',0),(793,'urn:epc:id:sgtin:1.1.792',0),(794,'urn:epc:id:sgtin:1.1.793',0),(795,'urn:epc:id:sgtin:1.1.794',0),(796,'urn:epc:id:sgtin:1.1.795',0),(797,'urn:epc:id:sgtin:1.1.796',0),(798,'urn:epc:id:sgtin:1.1.797',0),(799,'urn:epc:id:sgtin:1.1.798',0),(800,'urn:epc:id:sgtin:1.1.799',0),(801,'urn:epc:id:sgtin:1.1.800',0),(802,'urn:epc:id:sgtin:1.1.801',0),(803,'urn:epc:id:sgtin:1.1.802',0),(804,'urn:epc:id:sgtin:1.1.803',0),(805,'urn:epc:id:sgtin:1.1.804',0),(806,'urn:epc:id:sgtin:1.1.805',0),(807,'urn:epc:id:sgtin:1.1.806',0),(808,'urn:epc:id:sgtin:1.1.807',0),(809,'urn:epc:id:sgtin:1.1.808',0),(810,'urn:epc:id:sgtin:1.1.809',0),(811,'urn:epc:id:sgtin:1.1.810',0),(812,'urn:epc:id:sgtin:1.1.811',0),(813,'urn:epc:id:sgtin:1.1.812',0),(814,'urn:epc:id:sgtin:1.1.813',0),(815,'urn:epc:id:sgtin:1.1.814',0),(816,'urn:epc:id:sgtin:1.1.815',0),(817,'urn:epc:id:sgtin:1.1.816',0),(818,'urn:epc:id:sgtin:1.1.817',0),(819,'urn:epc:id:sgtin:1.1.818',0),(820,'urn:epc:id:sgtin:1.1.819',0),(821,'urn:epc:id:sgtin:1.1.820',0),(822,'urn:epc:id:sgtin:1.1.821',0),(823,'urn:epc:id:sgtin:1.1.822',0),(824,'urn:epc:id:sgtin:1.1.823',0),(825,'urn:epc:id:sgtin:1.1.824',0),(826,'urn:epc:id:sgtin:1.1.825',0),(827,'urn:epc:id:sgtin:1.1.826',0),(828,'urn:epc:id:sgtin:1.1.827',0),(829,'urn:epc:id:sgtin:1.1.828',0),(830,'urn:epc:id:sgtin:1.1.829',0),(831,'urn:epc:id:sgtin:1.1.830',0),(832,'urn:epc:id:sgtin:1.1.831',0),(833,'urn:epc:id:sgtin:1.1.832',0),(834,'urn:epc:id:sgtin:1.1.833',0),(835,'urn:epc:id:sgtin:1.1.834',0),(836,'urn:epc:id:sgtin:1.1.835',0),(837,'urn:epc:id:sgtin:1.1.836',0),(838,'urn:epc:id:sgtin:1.1.837',0),(839,'urn:epc:id:sgtin:1.1.838',0),(840,'urn:epc:id:sgtin:1.1.839',0),(841,'urn:epc:id:sgtin:1.1.840',0),(842,'urn:epc:id:sgtin:1.1.841',0),(843,'urn:epc:id:sgtin:1.1.842',0),(844,'urn:epc:id:sgtin:1.1.843',0),(845,'urn:epc:id:sgtin:1.1.844',0),(846,'urn:epc:id:sgtin:1.1.845',0),(847,'urn:epc:id:sgtin:1.1.846',0),(848,'urn:epc:id:sgtin:1.1.847',0),(849,'urn:epc:id:sgtin:1.1.848',0),(850,'urn:epc:id:sgtin:1.1.849',0),(851,'urn:epc:id:sgtin:1.1.850',0),(852,'urn:epc:id:sgtin:1.1.851',0),(853,'urn:epc:id:sgtin:1.1.852',0),(854,'urn:epc:id:sgtin:1.1.853',0),(855,'urn:epc:id:sgtin:1.1.854',0),(856,'urn:epc:id:sgtin:1.1.855',0),(857,'urn:epc:id:sgtin:1.1.856',0),(858,'urn:epc:id:sgtin:1.1.857',0),(859,'urn:epc:id:sgtin:1.1.858',0),(860,'urn:epc:id:sgtin:1.1.859',0),(861,'urn:epc:id:sgtin:1.1.860',0),(862,'urn:epc:id:sgtin:1.1.861',0),(863,'urn:epc:id:sgtin:1.1.862',0),(864,'urn:epc:id:sgtin:1.1.863',0),(865,'urn:epc:id:sgtin:1.1.864',0),(866,'urn:epc:id:sgtin:1.1.865',0),(867,'urn:epc:id:sgtin:1.1.866',0),(868,'urn:epc:id:sgtin:1.1.867',0),(869,'urn:epc:id:sgtin:1.1.868',0),(870,'urn:epc:id:sgtin:1.1.869',0),(871,'urn:epc:id:sgtin:1.1.870',0),(872,'urn:epc:id:sgtin:1.1.871',0),(873,'urn:epc:id:sgtin:1.1.872',0),(874,'urn:epc:id:sgtin:1.1.873',0),(875,'urn:epc:id:sgtin:1.1.874',0),(876,'urn:epc:id:sgtin:1.1.875',0),(877,'urn:epc:id:sgtin:1.1.876',0),(878,'urn:epc:id:sgtin:1.1.877',0),(879,'urn:epc:id:sgtin:1.1.878',0),(880,'urn:epc:id:sgtin:1.1.879',0),(881,'urn:epc:id:sgtin:1.1.880',0),(882,'urn:epc:id:sgtin:1.1.881',0),(883,'urn:epc:id:sgtin:1.1.882',0),(884,'urn:epc:id:sgtin:1.1.883',0),(885,'urn:epc:id:sgtin:1.1.884',0),(886,'urn:epc:id:sgtin:1.1.885',0),(887,'urn:epc:id:sgtin:1.1.886',0),(888,'urn:epc:id:sgtin:1.1.887',0),(889,'urn:epc:id:sgtin:1.1.888',0),(890,'urn:epc:id:sgtin:1.1.889',0),(891,'urn:epc:id:sgtin:1.1.890',0),(892,'urn:epc:id:sgtin:1.1.891',0),(893,'urn:epc:id:sgtin:1.1.892',0),(894,'urn:epc:id:sgtin:1.1.893',0),(895,'urn:epc:id:sgtin:1.1.894',0),(896,'urn:epc:id:sgtin:1.1.895',0),(897,'urn:epc:id:sgtin:1.1.896',0),(898,'urn:epc:id:sgtin:1.1.897',0),(899,'urn:epc:id:sgtin:1.1.898',0),(900,'urn:epc:id:sgtin:1.1.899',0),(901,'urn:epc:id:sgtin:1.1.900',0),(902,'urn:epc:id:sgtin:1.1.901',0),(903,'urn:epc:id:sgtin:1.1.902',0),(904,'urn:epc:id:sgtin:1.1.903',0),(905,'urn:epc:id:sgtin:1.1.904',0),(906,'urn:epc:id:sgtin:1.1.905',0),(907,'urn:epc:id:sgtin:1.1.906',0),(908,'urn:epc:id:sgtin:1.1.907',0),(909,'urn:epc:id:sgtin:1.1.908',0),(910,'urn:epc:id:sgtin:1.1.909',0),(911,'urn:epc:id:sgtin:1.1.910',0),(912,'urn:epc:id:sgtin:1.1.911',0),(913,'urn:epc:id:sgtin:1.1.912',0),(914,'urn:epc:id:sgtin:1.1.913',0),(915,'urn:epc:id:sgtin:1.1.914',0),(916,'urn:epc:id:sgtin:1.1.915',0),(917,'urn:epc:id:sgtin:1.1.916',0),(918,'urn:epc:id:sgtin:1.1.917',0),(919,'urn:epc:id:sgtin:1.1.918',0),(920,'urn:epc:id:sgtin:1.1.919',0),(921,'urn:epc:id:sgtin:1.1.920',0),(922,'urn:epc:id:sgtin:1.1.921',0),(923,'urn:epc:id:sgtin:1.1.922',0),(924,'urn:epc:id:sgtin:1.1.923',0),(925,'urn:epc:id:sgtin:1.1.924',0),(926,'urn:epc:id:sgtin:1.1.925',0),(927,'urn:epc:id:sgtin:1.1.926',0),(928,'urn:epc:id:sgtin:1.1.927',0),(929,'urn:epc:id:sgtin:1.1.928',0),(930,'urn:epc:id:sgtin:1.1.929',0),(931,'urn:epc:id:sgtin:1.1.930',0),(932,'urn:epc:id:sgtin:1.1.931',0),(933,'urn:epc:id:sgtin:1.1.932',0),(934,'urn:epc:id:sgtin:1.1.933',0),(935,'urn:epc:id:sgtin:1.1.934',0),(936,'urn:epc:id:sgtin:1.1.935',0),(937,'urn:epc:id:sgtin:1.1.936',0),(938,'urn:epc:id:sgtin:1.1.937',0),(939,'urn:epc:id:sgtin:1.1.938',0),(940,'urn:epc:id:sgtin:1.1.939',0),(941,'urn:epc:id:sgtin:1.1.940',0),(942,'urn:epc:id:sgtin:1.1.941',0),(943,'urn:epc:id:sgtin:1.1.942',0),(944,'urn:epc:id:sgtin:1.1.943',0),(945,'urn:epc:id:sgtin:1.1.944',0),(946,'urn:epc:id:sgtin:1.1.945',0),(947,'urn:epc:id:sgtin:1.1.946',0),(948,'urn:epc:id:sgtin:1.1.947',0),(949,'urn:epc:id:sgtin:1.1.948',0),(950,'urn:epc:id:sgtin:1.1.949',0),(951,'urn:epc:id:sgtin:1.1.950',0),(952,'urn:epc:id:sgtin:1.1.951',0),(953,'urn:epc:id:sgtin:1.1.952',0),(954,'urn:epc:id:sgtin:1.1.953',0),(955,'urn:epc:id:sgtin:1.1.954',0),(956,'urn:epc:id:sgtin:1.1.955',0),(957,'urn:epc:id:sgtin:1.1.956',0),(958,'urn:epc:id:sgtin:1.1.957',0),(959,'urn:epc:id:sgtin:1.1.958',0),(960,'urn:epc:id:sgtin:1.1.959',0),(961,'urn:epc:id:sgtin:1.1.960',0),(962,'urn:epc:id:sgtin:1.1.961',0),(963,'urn:epc:id:sgtin:1.1.962',0),(964,'urn:epc:id:sgtin:1.1.963',0),(965,'urn:epc:id:sgtin:1.1.964',0),(966,'urn:epc:id:sgtin:1.1.965',0),(967,'urn:epc:id:sgtin:1.1.966',0),(968,'urn:epc:id:sgtin:1.1.967',0),(969,'urn:epc:id:sgtin:1.1.968',0),(970,'urn:epc:id:sgtin:1.1.969',0),(971,'urn:epc:id:sgtin:1.1.970',0),(972,'urn:epc:id:sgtin:1.1.971',0),(973,'urn:epc:id:sgtin:1.1.972',0),(974,'urn:epc:id:sgtin:1.1.973',0),(975,'urn:epc:id:sgtin:1.1.974',0),(976,'urn:epc:id:sgtin:1.1.975',0),(977,'urn:epc:id:sgtin:1.1.976',0),(978,'urn:epc:id:sgtin:1.1.977',0),(979,'urn:epc:id:sgtin:1.1.978',0),(980,'urn:epc:id:sgtin:1.1.979',0),(981,'urn:epc:id:sgtin:1.1.980',0),(982,'urn:epc:id:sgtin:1.1.981',0),(983,'urn:epc:id:sgtin:1.1.982',0),(984,'urn:epc:id:sgtin:1.1.983',0),(985,'urn:epc:id:sgtin:1.1.984',0),(986,'urn:epc:id:sgtin:1.1.985',0),(987,'urn:epc:id:sgtin:1.1.986',0),(988,'urn:epc:id:sgtin:1.1.987',0),(989,'urn:epc:id:sgtin:1.1.988',0),(990,'urn:epc:id:sgtin:1.1.989',0),(991,'urn:epc:id:sgtin:1.1.990',0),(992,'urn:epc:id:sgtin:1.1.991',0),(993,'urn:epc:id:sgtin:1.1.992',0),(994,'urn:epc:id:sgtin:1.1.993',0),(995,'urn:epc:id:sgtin:1.1.994',0),(996,'urn:epc:id:sgtin:1.1.995',0),(997,'urn:epc:id:sgtin:1.1.996',0),(998,'urn:epc:id:sgtin:1.1.997',0),(999,'urn:epc:id:sgtin:1.1.998',0),(1000,'urn:epc:id:sgtin:1.1.999',0);
-INSERT INTO `voc_bizloc` VALUES (1,'urn:epcglobal:fmcg:loc:1.1');
-INSERT INTO `voc_bizstep` VALUES (1,'urn:epcglobal:hls:bizstep:testing');
-INSERT INTO `voc_readpoint` VALUES (1,'urn:epcglobal:fmcg:loc:1.1');
+INSERT INTO `voc_bizloc` (`id`, `uri`) VALUES (1,'urn:epcglobal:fmcg:loc:1.1');
+INSERT INTO `voc_bizstep` (`id`, `uri`) VALUES (1,'urn:epcglobal:hls:bizstep:testing');
+INSERT INTO `voc_readpoint` (`id`, `uri`) VALUES (1,'urn:epcglobal:fmcg:loc:1.1');
 SET time_zone = 'SYSTEM';
 COMMIT;
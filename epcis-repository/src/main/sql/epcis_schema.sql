@@ -27,6 +27,19 @@ BEGIN;
 SET default_storage_engine=INNODB;
 
 -- added indices for various columns in tables used for lookup, as this speeds up queries no end
+-- the unique indices on the vocabulary URI hashes and business transactions
+-- let concurrent capture requests insert them with INSERT IGNORE; InnoDB
+-- cannot enforce uniqueness on a prefix of the long uri column, so the
+-- vocabulary tables hold the SHA-1 hash of the uri, set by triggers, and
+-- the business transactions a typeKey which is 0 rather than NULL for
+-- untyped ones, as a unique key does not cover rows with NULL values
+-- the composite indices on the event tables serve subscriptions polling by
+-- recordTime and queries filtering by business location, read point or
+-- business step within an event time range (time parameters are compared
+-- with the millisecond columns); the eventTimeMs indices let the
+-- retention purger find expired events
+-- the replica_heartbeat table lets the query module measure the lag of a
+-- read replica
 
 -- ---------------------------------------------
 -- Vocabularies
@@ -35,9 +48,14 @@ SET default_storage_engine=INNODB;
 CREATE TABLE `voc_BizLoc` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_BizLoc_uriHash_insert` BEFORE INSERT ON `voc_BizLoc` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_BizLoc_uriHash_update` BEFORE UPDATE ON `voc_BizLoc` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_BizLoc_attr` (
 `id` bigint NOT NULL REFERENCES `voc_BizLoc`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -50,9 +68,14 @@ INDEX (`value`)
 CREATE TABLE `voc_BizStep` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_BizStep_uriHash_insert` BEFORE INSERT ON `voc_BizStep` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_BizStep_uriHash_update` BEFORE UPDATE ON `voc_BizStep` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_BizStep_attr` (
 `id` bigint NOT NULL REFERENCES `voc_BizStep`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -65,9 +88,14 @@ INDEX (`value`)
 CREATE TABLE `voc_BizTransType` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL ,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_BizTransType_uriHash_insert` BEFORE INSERT ON `voc_BizTransType` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_BizTransType_uriHash_update` BEFORE UPDATE ON `voc_BizTransType` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_BizTransType_attr` (
 `id` bigint NOT NULL REFERENCES `voc_BizTransType`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -80,9 +108,14 @@ INDEX (`value`)
 CREATE TABLE `voc_BizTrans` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL, 
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_BizTrans_uriHash_insert` BEFORE INSERT ON `voc_BizTrans` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_BizTrans_uriHash_update` BEFORE UPDATE ON `voc_BizTrans` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_BizTrans_attr` (
 `id` bigint NOT NULL REFERENCES `voc_BizTrans`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -95,9 +128,14 @@ INDEX (`value`)
 CREATE TABLE `voc_Disposition` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_Disposition_uriHash_insert` BEFORE INSERT ON `voc_Disposition` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_Disposition_uriHash_update` BEFORE UPDATE ON `voc_Disposition` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_Disposition_attr` (
 `id` bigint NOT NULL REFERENCES `voc_Disposition`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -110,9 +148,14 @@ INDEX (`value`)
 CREATE TABLE `voc_ReadPoint` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_ReadPoint_uriHash_insert` BEFORE INSERT ON `voc_ReadPoint` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_ReadPoint_uriHash_update` BEFORE UPDATE ON `voc_ReadPoint` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_ReadPoint_attr` (
 `id` bigint NOT NULL REFERENCES `voc_ReadPoint`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -125,9 +168,14 @@ INDEX (`value`)
 CREATE TABLE `voc_EPCClass` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `uri` varchar(1023) NOT NULL,
-INDEX (`uri`)
+`uriHash` binary(20), -- SHA-1 of uri, set by the triggers below
+INDEX (`uri`),
+UNIQUE INDEX (`uriHash`)
 );
 
+CREATE TRIGGER `voc_EPCClass_uriHash_insert` BEFORE INSERT ON `voc_EPCClass` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+CREATE TRIGGER `voc_EPCClass_uriHash_update` BEFORE UPDATE ON `voc_EPCClass` FOR EACH ROW SET NEW.`uriHash` = UNHEX(SHA1(NEW.`uri`));
+
 CREATE TABLE `voc_EPCClass_attr` (
 `id` bigint NOT NULL REFERENCES `voc_EPCClass`(`id`),
 `attribute` varchar(1023) NOT NULL,
@@ -167,9 +215,13 @@ CREATE TABLE `BizTransaction` (
 `id` bigint PRIMARY KEY auto_increment, -- id auto_increment
 `bizTrans` bigint NOT NULL REFERENCES `voc_BizTrans` (`id`),
 `type` bigint REFERENCES `voc_BizTransType` (`id`),
-INDEX (`bizTrans`)
+`typeKey` bigint NOT NULL DEFAULT 0, -- type, or 0 if untyped, set by the triggers below
+UNIQUE INDEX (`bizTrans`, `typeKey`)
 );
 
+CREATE TRIGGER `BizTransaction_typeKey_insert` BEFORE INSERT ON `BizTransaction` FOR EACH ROW SET NEW.`typeKey` = IFNULL(NEW.`type`, 0);
+CREATE TRIGGER `BizTransaction_typeKey_update` BEFORE UPDATE ON `BizTransaction` FOR EACH ROW SET NEW.`typeKey` = IFNULL(NEW.`type`, 0);
+
 
 -- ---------------------------------------------
 -- Aggregation Events
@@ -190,7 +242,12 @@ CREATE TABLE `event_AggregationEvent` (
 `bizLocation` bigint DEFAULT NULL REFERENCES `voc_BizLoc`(`id`),
 -- `bizTransaction` bigint DEFAULT NULL REFERENCES `voc_BizTrans`(`id`) 
 INDEX (`eventTime`),
-INDEX (`action`)
+INDEX (`action`),
+INDEX (`eventTimeMs`),
+INDEX (`recordTimeMs`, `id`),
+INDEX (`bizLocation`, `eventTimeMs`),
+INDEX (`readPoint`, `eventTimeMs`),
+INDEX (`bizStep`, `eventTimeMs`)
 );
 
 CREATE TABLE `event_AggregationEvent_EPCs` (
@@ -242,7 +299,12 @@ CREATE TABLE `event_ObjectEvent` (
 `bizLocation` bigint DEFAULT NULL REFERENCES `voc_BizLoc` (`id`),
 -- `bizTransaction` bigint DEFAULT NULL REFERENCES `voc_BizTrans` (`id`)
 INDEX (`eventTime`),
-INDEX (`action`)
+INDEX (`action`),
+INDEX (`eventTimeMs`),
+INDEX (`recordTimeMs`, `id`),
+INDEX (`bizLocation`, `eventTimeMs`),
+INDEX (`readPoint`, `eventTimeMs`),
+INDEX (`bizStep`, `eventTimeMs`)
 );
 
 CREATE TABLE `event_ObjectEvent_EPCs` (
@@ -291,7 +353,12 @@ CREATE TABLE `event_QuantityEvent` (
 `disposition` bigint DEFAULT NULL REFERENCES `voc_Disposition` (`id`),
 `readPoint` bigint DEFAULT NULL REFERENCES `voc_ReadPoint` (`id`),
 `bizLocation` bigint DEFAULT NULL REFERENCES `voc_BizLoc` (`id`),
-INDEX (`eventTime`)
+INDEX (`eventTime`),
+INDEX (`eventTimeMs`),
+INDEX (`recordTimeMs`, `id`),
+INDEX (`bizLocation`, `eventTimeMs`),
+INDEX (`readPoint`, `eventTimeMs`),
+INDEX (`bizStep`, `eventTimeMs`)
 );
 
 CREATE TABLE `event_QuantityEvent_bizTrans` ( 
@@ -334,7 +401,12 @@ CREATE TABLE `event_TransactionEvent` (
 `bizLocation` bigint DEFAULT NULL REFERENCES `voc_BizLoc` (`id`),
 -- `bizTransaction` bigint DEFAULT NULL REFERENCES `voc_BizTrans` (`id`)
 INDEX (`eventTime`),
-INDEX (`action`)
+INDEX (`action`),
+INDEX (`eventTimeMs`),
+INDEX (`recordTimeMs`, `id`),
+INDEX (`bizLocation`, `eventTimeMs`),
+INDEX (`readPoint`, `eventTimeMs`),
+INDEX (`bizStep`, `eventTimeMs`)
 );
 
 CREATE TABLE `event_TransactionEvent_EPCs` (
@@ -383,5 +455,15 @@ lastexecuted timestamp
 );
 
 
+-- ---------------------------------------------
+-- Read Replica Heartbeat
+-- ---------------------------------------------
+
+CREATE TABLE `replica_heartbeat` (
+`id` int PRIMARY KEY,
+`timeMs` bigint(20) NOT NULL
+);
+
+
 COMMIT;
 
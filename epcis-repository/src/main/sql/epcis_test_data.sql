@@ -22,7 +22,7 @@
 
 BEGIN;
 
-INSERT INTO `BizTransaction` VALUES (41,41,9),(42,42,9),(43,43,9),(44,44,9),(45,45,9),(46,46,10),(47,47,10),(48,48,10),(49,49,10),(50,50,10);
+INSERT INTO `BizTransaction` (`id`, `bizTrans`, `type`) VALUES (41,41,9),(42,42,9),(43,43,9),(44,44,9),(45,45,9),(46,46,10),(47,47,10),(48,48,10),(49,49,10),(50,50,10);
 INSERT INTO `event_AggregationEvent` VALUES (41,'2006-06-25 03:51:00',1151200260000,'2006-06-25 03:51:00',1151200260000,'-06:00','urn:epc:id:sscc:0614141.0000000001','ADD',22,9,21,25),(42,'2006-06-25 03:52:00',1151200320000,'2006-06-25 03:52:00',1151200320000,'-06:00','urn:epc:id:sscc:0614141.0000000002','ADD',22,9,21,25),(43,'2006-06-25 03:53:00',1151200380000,'2006-06-25 03:53:00',1151200380000,'-06:00','urn:epc:id:sscc:0614141.0000000003','ADD',22,9,21,25),(44,'2006-06-25 03:54:00',1151200440000,'2006-06-25 03:54:00',1151200440000,'-06:00','urn:epc:id:sscc:0614141.0000000004','ADD',22,9,21,25),(45,'2006-06-25 03:55:00',1151200500000,'2006-06-25 03:55:00',1151200500000,'-06:00','urn:epc:id:sscc:0614141.0000000005','ADD',22,9,21,25),(46,'2006-06-25 03:56:00',1151200560000,'2006-06-25 03:56:00',1151200560000,'-06:00','urn:epc:id:sscc:0614142.0000000006','ADD',22,9,21,25),(47,'2006-06-25 03:57:00',1151200620000,'2006-06-25 03:57:00',1151200620000,'-06:00','urn:epc:id:sscc:0614142.0000000007','ADD',22,9,21,25),(48,'2006-06-25 03:58:00',1151200680000,'2006-06-25 03:58:00',1151200680000,'-06:00','urn:epc:id:sscc:0614142.0000000008','ADD',22,9,21,25),(49,'2006-06-25 03:59:00',1151200740000,'2006-06-25 03:59:00',1151200740000,'-06:00','urn:epc:id:sscc:0614142.0000000009','ADD',22,9,21,25),(50,'2006-06-25 04:00:00',1151200800000,'2006-06-25 04:00:00',1151200800000,'-06:00','urn:epc:id:sscc:0614142.0000000010','ADD',22,9,21,25);
 INSERT INTO `event_AggregationEvent_EPCs` VALUES (41,'urn:epc:id:sgtin:0614141.107340.1',0),(41,'urn:epc:id:sgtin:0614141.107340.2',1),(41,'urn:epc:id:sgtin:0614141.107340.3',2),(41,'urn:epc:id:sgtin:0614141.107340.4',3),(41,'urn:epc:id:sgtin:0614141.107340.5',4),(41,'urn:epc:id:sgtin:0614141.107340.6',5),(41,'urn:epc:id:sgtin:0614141.107340.7',6),(41,'urn:epc:id:sgtin:0614141.107340.8',7),(41,'urn:epc:id:sgtin:0614141.107340.9',8),(41,'urn:epc:id:sgtin:0614141.107340.10',9),(42,'urn:epc:id:sgtin:0614141.107341.1',10),(42,'urn:epc:id:sgtin:0614141.107341.2',11),(42,'urn:epc:id:sgtin:0614141.107341.3',12),(42,'urn:epc:id:sgtin:0614141.107341.4',13),(42,'urn:epc:id:sgtin:0614141.107341.5',14),(42,'urn:epc:id:sgtin:0614141.107341.6',15),(42,'urn:epc:id:sgtin:0614141.107341.7',16),(42,'urn:epc:id:sgtin:0614141.107341.8',17),(42,'urn:epc:id:sgtin:0614141.107341.9',18),(42,'urn:epc:id:sgtin:0614141.107341.10',19),(43,'urn:epc:id:sgtin:0614141.107342.1',20),(43,'urn:epc:id:sgtin:0614141.107342.2',21),(43,'urn:epc:id:sgtin:0614141.107342.3',22),(43,'urn:epc:id:sgtin:0614141.107342.4',23),(43,'urn:epc:id:sgtin:0614141.107342.5',24),(43,'urn:epc:id:sgtin:0614141.107342.6',25),(43,'urn:epc:id:sgtin:0614141.107342.7',26),(43,'urn:epc:id:sgtin:0614141.107342.8',27),(43,'urn:epc:id:sgtin:0614141.107342.9',28),(43,'urn:epc:id:sgtin:0614141.107342.10',29),(44,'urn:epc:id:sgtin:0614141.107343.1',30),(44,'urn:epc:id:sgtin:0614141.107343.2',31),(44,'urn:epc:id:sgtin:0614141.107343.3',32),(44,'urn:epc:id:sgtin:0614141.107343.4',33),(44,'urn:epc:id:sgtin:0614141.107343.5',34),(44,'urn:epc:id:sgtin:0614141.107343.6',35),(44,'urn:epc:id:sgtin:0614141.107343.7',36),(44,'urn:epc:id:sgtin:0614141.107343.8',37),(44,'urn:epc:id:sgtin:0614141.107343.9',38),(44,'urn:epc:id:sgtin:0614141.107343.10',39),(45,'urn:epc:id:sgtin:0614141.107344.1',40),(45,'urn:epc:id:sgtin:0614141.107344.2',41),(45,'urn:epc:id:sgtin:0614141.107344.3',42),(45,'urn:epc:id:sgtin:0614141.107344.4',43),(45,'urn:epc:id:sgtin:0614141.107344.5',44),(45,'urn:epc:id:sgtin:0614141.107344.6',45),(45,'urn:epc:id:sgtin:0614141.107344.7',46),(45,'urn:epc:id:sgtin:0614141.107344.8',47),(45,'urn:epc:id:sgtin:0614141.107344.9',48),(45,'urn:epc:id:sgtin:0614141.107344.10',49),(46,'urn:epc:id:sgtin:0614142.107345.1',50),(46,'urn:epc:id:sgtin:0614142.107345.2',51),(46,'urn:epc:id:sgtin:0614142.107345.3',52),(46,'urn:epc:id:sgtin:0614142.107345.4',53),(46,'urn:epc:id:sgtin:0614142.107345.5',54),(46,'urn:epc:id:sgtin:0614142.107345.6',55),(46,'urn:epc:id:sgtin:0614142.107345.7',56),(46,'urn:epc:id:sgtin:0614142.107345.8',57),(46,'urn:epc:id:sgtin:0614142.107345.9',58),(46,'urn:epc:id:sgtin:0614142.107345.10',59),(47,'urn:epc:id:sgtin:0614142.107346.1',60),(47,'urn:epc:id:sgtin:0614142.107346.2',61),(47,'urn:epc:id:sgtin:0614142.107346.3',62),(47,'urn:epc:id:sgtin:0614142.107346.4',63),(47,'urn:epc:id:sgtin:0614142.107346.5',64),(47,'urn:epc:id:sgtin:0614142.107346.6',65),(47,'urn:epc:id:sgtin:0614142.107346.7',66),(47,'urn:epc:id:sgtin:0614142.107346.8',67),(47,'urn:epc:id:sgtin:0614142.107346.9',68),(47,'urn:epc:id:sgtin:0614142.107346.10',69),(48,'urn:epc:id:sgtin:0614142.107347.1',70),(48,'urn:epc:id:sgtin:0614142.107347.2',71),(48,'urn:epc:id:sgtin:0614142.107347.3',72),(48,'urn:epc:id:sgtin:0614142.107347.4',73),(48,'urn:epc:id:sgtin:0614142.107347.5',74),(48,'urn:epc:id:sgtin:0614142.107347.6',75),(48,'urn:epc:id:sgtin:0614142.107347.7',76),(48,'urn:epc:id:sgtin:0614142.107347.8',77),(48,'urn:epc:id:sgtin:0614142.107347.9',78),(48,'urn:epc:id:sgtin:0614142.107347.10',79),(49,'urn:epc:id:sgtin:0614142.107348.1',80),(49,'urn:epc:id:sgtin:0614142.107348.2',81),(49,'urn:epc:id:sgtin:0614142.107348.3',82),(49,'urn:epc:id:sgtin:0614142.107348.4',83),(49,'urn:epc:id:sgtin:0614142.107348.5',84),(49,'urn:epc:id:sgtin:0614142.107348.6',85),(49,'urn:epc:id:sgtin:0614142.107348.7',86),(49,'urn:epc:id:sgtin:0614142.107348.8',87),(49,'urn:epc:id:sgtin:0614142.107348.9',88),(49,'urn:epc:id:sgtin:0614142.107348.10',89),(50,'urn:epc:id:sgtin:0614142.107349.1',90),(50,'urn:epc:id:sgtin:0614142.107349.2',91),(50,'urn:epc:id:sgtin:0614142.107349.3',92),(50,'urn:epc:id:sgtin:0614142.107349.4',93),(50,'urn:epc:id:sgtin:0614142.107349.5',94),(50,'urn:epc:id:sgtin:0614142.107349.6',95),(50,'urn:epc:id:sgtin:0614142.107349.7',96),(50,'urn:epc:id:sgtin:0614142.107349.8',97),(50,'urn:epc:id:sgtin:0614142.107349.9',98),(50,'urn:epc:id:sgtin:0614142.107349.10',99);
 INSERT INTO `event_ObjectEvent` VALUES (501,'2006-06-25 00:01:00',1151186460000,'2006-06-25 00:01:00',1151186460000,'-06:00','ADD',21,9,21,25),(502,'2006-06-25 00:02:00',1151186520000,'2006-06-25 00:02:00',1151186520000,'-06:00','ADD',21,9,21,25),(503,'2006-06-25 00:03:00',1151186580000,'2006-06-25 00:03:00',1151186580000,'-06:00','ADD',21,9,21,25),(504,'2006-06-25 00:04:00',1151186640000,'2006-06-25 00:04:00',1151186640000,'-06:00','ADD',21,9,21,25),(505,'2006-06-25 00:05:00',1151186700000,'2006-06-25 00:05:00',1151186700000,'-06:00','ADD',21,9,21,25),(506,'2006-06-25 00:06:00',1151186760000,'2006-06-25 00:06:00',1151186760000,'-06:00','ADD',21,9,21,25),(507,'2006-06-25 00:07:00',1151186820000,'2006-06-25 00:07:00',1151186820000,'-06:00','ADD',21,9,21,25),(508,'2006-06-25 00:08:00',1151186880000,'2006-06-25 00:08:00',1151186880000,'-06:00','ADD',21,9,21,25),(509,'2006-06-25 00:09:00',1151186940000,'2006-06-25 00:09:00',1151186940000,'-06:00','ADD',21,9,21,25),(510,'2006-06-25 00:10:00',1151187000000,'2006-06-25 00:10:00',1151187000000,'-06:00','ADD',21,9,21,25),(511,'2006-06-25 00:11:00',1151187060000,'2006-06-25 00:11:00',1151187060000,'-06:00','ADD',21,9,21,25),(512,'2006-06-25 00:12:00',1151187120000,'2006-06-25 00:12:00',1151187120000,'-06:00','ADD',21,9,21,25),(513,'2006-06-25 00:13:00',1151187180000,'2006-06-25 00:13:00',1151187180000,'-06:00','ADD',21,9,21,25),(514,'2006-06-25 00:14:00',1151187240000,'2006-06-25 00:14:00',1151187240000,'-06:00','ADD',21,9,21,25),(515,'2006-06-25 00:15:00',1151187300000,'2006-06-25 00:15:00',1151187300000,'-06:00','ADD',21,9,21,25),(516,'2006-06-25 00:16:00',1151187360000,'2006-06-25 00:16:00',1151187360000,'-06:00','ADD',21,9,21,25),(517,'2006-06-25 00:17:00',1151187420000,'2006-06-25 00:17:00',1151187420000,'-06:00','ADD',21,9,21,25),(518,'2006-06-25 00:18:00',1151187480000,'2006-06-25 00:18:00',1151187480000,'-06:00','ADD',21,9,21,25),(519,'2006-06-25 00:19:00',1151187540000,'2006-06-25 00:19:00',1151187540000,'-06:00','ADD',21,9,21,25),(520,'2006-06-25 00:20:00',1151187600000,'2006-06-25 00:20:00',1151187600000,'-06:00','ADD',21,9,21,25),(521,'2006-06-25 00:21:00',1151187660000,'2006-06-25 00:21:00',1151187660000,'-06:00','ADD',21,9,21,25),(522,'2006-06-25 00:22:00',1151187720000,'2006-06-25 00:22:00',1151187720000,'-06:00','ADD',21,9,21,25),(523,'2006-06-25 00:23:00',1151187780000,'2006-06-25 00:23:00',1151187780000,'-06:00','ADD',21,9,21,25),(524,'2006-06-25 00:24:00',1151187840000,'2006-06-25 00:24:00',1151187840000,'-06:00','ADD',21,9,21,25),(525,'2006-06-25 00:25:00',1151187900000,'2006-06-25 00:25:00',1151187900000,'-06:00','ADD',21,9,21,25),(526,'2006-06-25 00:26:00',1151187960000,'2006-06-25 00:26:00',1151187960000,'-06:00','ADD',21,9,21,25),(527,'2006-06-25 00:27:00',1151188020000,'2006-06-25 00:27:00',1151188020000,'-06:00','ADD',21,9,21,25),(528,'2006-06-25 00:28:00',1151188080000,'2006-06-25 00:28:00',1151188080000,'-06:00','ADD',21,9,21,25),(529,'2006-06-25 00:29:00',1151188140000,'2006-06-25 00:29:00',1151188140000,'-06:00','ADD',21,9,21,25),(530,'2006-06-25 00:30:00',1151188200000,'2006-06-25 00:30:00',1151188200000,'-06:00','ADD',21,9,21,25),(531,'2006-06-25 00:31:00',1151188260000,'2006-06-25 00:31:00',1151188260000,'-06:00','ADD',21,9,21,25),(532,'2006-06-25 00:32:00',1151188320000,'2006-06-25 00:32:00',1151188320000,'-06:00','ADD',21,9,21,25),(533,'2006-06-25 00:33:00',1151188380000,'2006-06-25 00:33:00',1151188380000,'-06:00','ADD',21,9,21,25),(534,'2006-06-25 00:34:00',1151188440000,'2006-06-25 00:34:00',1151188440000,'-06:00','ADD',21,9,21,25),(535,'2006-06-25 00:35:00',1151188500000,'2006-06-25 00:35:00',1151188500000,'-06:00','ADD',21,9,21,25),(536,'2006-06-25 00:36:00',1151188560000,'2006-06-25 00:36:00',1151188560000,'-06:00','ADD',21,9,21,25),(537,'2006-06-25 00:37:00',1151188620000,'2006-06-25 00:37:00',1151188620000,'-06:00','ADD',21,9,21,25),(538,'2006-06-25 00:38:00',1151188680000,'2006-06-25 00:38:00',1151188680000,'-06:00','ADD',21,9,21,25),(539,'2006-06-25 00:39:00',1151188740000,'2006-06-25 00:39:00',1151188740000,'-06:00','ADD',21,9,21,25),(540,'2006-06-25 00:40:00',1151188800000,'2006-06-25 00:40:00',1151188800000,'-06:00','ADD',21,9,21,25),(541,'2006-06-25 00:41:00',1151188860000,'2006-06-25 00:41:00',1151188860000,'-06:00','ADD',21,9,21,25),(542,'2006-06-25 00:42:00',1151188920000,'2006-06-25 00:42:00',1151188920000,'-06:00','ADD',21,9,21,25),(543,'2006-06-25 00:43:00',1151188980000,'2006-06-25 00:43:00',1151188980000,'-06:00','ADD',21,9,21,25),(544,'2006-06-25 00:44:00',1151189040000,'2006-06-25 00:44:00',1151189040000,'-06:00','ADD',21,9,21,25),(545,'2006-06-25 00:45:00',1151189100000,'2006-06-25 00:45:00',1151189100000,'-06:00','ADD',21,9,21,25),(546,'2006-06-25 00:46:00',1151189160000,'2006-06-25 00:46:00',1151189160000,'-06:00','ADD',21,9,21,25),(547,'2006-06-25 00:47:00',1151189220000,'2006-06-25 00:47:00',1151189220000,'-06:00','ADD',21,9,21,25),(548,'2006-06-25 00:48:00',1151189280000,'2006-06-25 00:48:00',1151189280000,'-06:00','ADD',21,9,21,25),(549,'2006-06-25 00:49:00',1151189340000,'2006-06-25 00:49:00',1151189340000,'-06:00','ADD',21,9,21,25),(550,'2006-06-25 00:50:00',1151189400000,'2006-06-25 00:50:00',1151189400000,'-06:00','ADD',21,9,21,25),(551,'2006-06-25 00:51:00',1151189460000,'2006-06-25 00:51:00',1151189460000,'-06:00','ADD',21,9,21,25),(552,'2006-06-25 00:52:00',1151189520000,'2006-06-25 00:52:00',1151189520000,'-06:00','ADD',21,9,21,25),(553,'2006-06-25 00:53:00',1151189580000,'2006-06-25 00:53:00',1151189580000,'-06:00','ADD',21,9,21,25),(554,'2006-06-25 00:54:00',1151189640000,'2006-06-25 00:54:00',1151189640000,'-06:00','ADD',21,9,21,25),(555,'2006-06-25 00:55:00',1151189700000,'2006-06-25 00:55:00',1151189700000,'-06:00','ADD',21,9,21,25),(556,'2006-06-25 00:56:00',1151189760000,'2006-06-25 00:56:00',1151189760000,'-06:00','ADD',21,9,21,25),(557,'2006-06-25 00:57:00',1151189820000,'2006-06-25 00:57:00',1151189820000,'-06:00','ADD',21,9,21,25),(558,'2006-06-25 00:58:00',1151189880000,'2006-06-25 00:58:00',1151189880000,'-06:00','ADD',21,9,21,25),(559,'2006-06-25 00:59:00',1151189940000,'2006-06-25 00:59:00',1151189940000,'-06:00','ADD',21,9,21,25),(560,'2006-06-25 01:00:00',1151190000000,'2006-06-25 01:00:00',1151190000000,'-06:00','ADD',21,9,21,25),(561,'2006-06-25 01:01:00',1151190060000,'2006-06-25 01:01:00',1151190060000,'-06:00','ADD',21,9,21,25),(562,'2006-06-25 01:02:00',1151190120000,'2006-06-25 01:02:00',1151190120000,'-06:00','ADD',21,9,21,25),(563,'2006-06-25 01:03:00',1151190180000,'2006-06-25 01:03:00',1151190180000,'-06:00','ADD',21,9,21,25),(564,'2006-06-25 01:04:00',1151190240000,'2006-06-25 01:04:00',1151190240000,'-06:00','ADD',21,9,21,25),(565,'2006-06-25 01:05:00',1151190300000,'2006-06-25 01:05:00',1151190300000,'-06:00','ADD',21,9,21,25),(566,'2006-06-25 01:06:00',1151190360000,'2006-06-25 01:06:00',1151190360000,'-06:00','ADD',21,9,21,25),(567,'2006-06-25 01:07:00',1151190420000,'2006-06-25 01:07:00',1151190420000,'-06:00','ADD',21,9,21,25),(568,'2006-06-25 01:08:00',1151190480000,'2006-06-25 01:08:00',1151190480000,'-06:00','ADD',21,9,21,25),(569,'2006-06-25 01:09:00',1151190540000,'2006-06-25 01:09:00',1151190540000,'-06:00','ADD',21,9,21,25),(570,'2006-06-25 01:10:00',1151190600000,'2006-06-25 01:10:00',1151190600000,'-06:00','ADD',21,9,21,25),(571,'2006-06-25 01:11:00',1151190660000,'2006-06-25 01:11:00',1151190660000,'-06:00','ADD',21,9,21,25),(572,'2006-06-25 01:12:00',1151190720000,'2006-06-25 01:12:00',1151190720000,'-06:00','ADD',21,9,21,25),(573,'2006-06-25 01:13:00',1151190780000,'2006-06-25 01:13:00',1151190780000,'-06:00','ADD',21,9,21,25),(574,'2006-06-25 01:14:00',1151190840000,'2006-06-25 01:14:00',1151190840000,'-06:00','ADD',21,9,21,25),(575,'2006-06-25 01:15:00',1151190900000,'2006-06-25 01:15:00',1151190900000,'-06:00','ADD',21,9,21,25),(576,'2006-06-25 01:16:00',1151190960000,'2006-06-25 01:16:00',1151190960000,'-06:00','ADD',21,9,21,25),(577,'2006-06-25 01:17:00',1151191020000,'2006-06-25 01:17:00',1151191020000,'-06:00','ADD',21,9,21,25),(578,'2006-06-25 01:18:00',1151191080000,'2006-06-25 01:18:00',1151191080000,'-06:00','ADD',21,9,21,25),(579,'2006-06-25 01:19:00',1151191140000,'2006-06-25 01:19:00',1151191140000,'-06:00','ADD',21,9,21,25),(580,'2006-06-25 01:20:00',1151191200000,'2006-06-25 01:20:00',1151191200000,'-06:00','ADD',21,9,21,25),(581,'2006-06-25 01:21:00',1151191260000,'2006-06-25 01:21:00',1151191260000,'-06:00','ADD',21,9,21,25),(582,'2006-06-25 01:22:00',1151191320000,'2006-06-25 01:22:00',1151191320000,'-06:00','ADD',21,9,21,25),(583,'2006-06-25 01:23:00',1151191380000,'2006-06-25 01:23:00',1151191380000,'-06:00','ADD',21,9,21,25),(584,'2006-06-25 01:24:00',1151191440000,'2006-06-25 01:24:00',1151191440000,'-06:00','ADD',21,9,21,25),(585,'2006-06-25 01:25:00',1151191500000,'2006-06-25 01:25:00',1151191500000,'-06:00','ADD',21,9,21,25),(586,'2006-06-25 01:26:00',1151191560000,'2006-06-25 01:26:00',1151191560000,'-06:00','ADD',21,9,21,25),(587,'2006-06-25 01:27:00',1151191620000,'2006-06-25 01:27:00',1151191620000,'-06:00','ADD',21,9,21,25),(588,'2006-06-25 01:28:00',1151191680000,'2006-06-25 01:28:00',1151191680000,'-06:00','ADD',21,9,21,25),(589,'2006-06-25 01:29:00',1151191740000,'2006-06-25 01:29:00',1151191740000,'-06:00','ADD',21,9,21,25),(590,'2006-06-25 01:30:00',1151191800000,'2006-06-25 01:30:00',1151191800000,'-06:00','ADD',21,9,21,25),(591,'2006-06-25 01:31:00',1151191860000,'2006-06-25 01:31:00',1151191860000,'-06:00','ADD',21,9,21,25),(592,'2006-06-25 01:32:00',1151191920000,'2006-06-25 01:32:00',1151191920000,'-06:00','ADD',21,9,21,25),(593,'2006-06-25 01:33:00',1151191980000,'2006-06-25 01:33:00',1151191980000,'-06:00','ADD',21,9,21,25),(594,'2006-06-25 01:34:00',1151192040000,'2006-06-25 01:34:00',1151192040000,'-06:00','ADD',21,9,21,25),(595,'2006-06-25 01:35:00',1151192100000,'2006-06-25 01:35:00',1151192100000,'-06:00','ADD',21,9,21,25),(596,'2006-06-25 01:36:00',1151192160000,'2006-06-25 01:36:00',1151192160000,'-06:00','ADD',21,9,21,25),(597,'2006-06-25 01:37:00',1151192220000,'2006-06-25 01:37:00',1151192220000,'-06:00','ADD',21,9,21,25),(598,'2006-06-25 01:38:00',1151192280000,'2006-06-25 01:38:00',1151192280000,'-06:00','ADD',21,9,21,25),(599,'2006-06-25 01:39:00',1151192340000,'2006-06-25 01:39:00',1151192340000,'-06:00','ADD',21,9,21,25),(600,'2006-06-25 01:40:00',1151192400000,'2006-06-25 01:40:00',1151192400000,'-06:00','ADD',21,9,21,25),(601,'2006-06-25 02:41:00',1151196060000,'2006-06-25 02:41:00',1151196060000,'-06:00','ADD',21,9,21,25),(602,'2006-06-25 02:42:00',1151196120000,'2006-06-25 02:42:00',1151196120000,'-06:00','ADD',21,9,21,25),(603,'2006-06-25 02:43:00',1151196180000,'2006-06-25 02:43:00',1151196180000,'-06:00','ADD',21,9,21,25),(604,'2006-06-25 02:44:00',1151196240000,'2006-06-25 02:44:00',1151196240000,'-06:00','ADD',21,9,21,25),(605,'2006-06-25 02:45:00',1151196300000,'2006-06-25 02:45:00',1151196300000,'-06:00','ADD',21,9,21,25),(606,'2006-06-25 02:46:00',1151196360000,'2006-06-25 02:46:00',1151196360000,'-06:00','ADD',21,9,21,25),(607,'2006-06-25 02:47:00',1151196420000,'2006-06-25 02:47:00',1151196420000,'-06:00','ADD',21,9,21,25),(608,'2006-06-25 02:48:00',1151196480000,'2006-06-25 02:48:00',1151196480000,'-06:00','ADD',21,9,21,25),(609,'2006-06-25 02:49:00',1151196540000,'2006-06-25 02:49:00',1151196540000,'-06:00','ADD',21,9,21,25),(610,'2006-06-25 02:50:00',1151196600000,'2006-06-25 02:50:00',1151196600000,'-06:00','ADD',21,9,21,25),(611,'2006-06-25 05:01:00',1151204460000,'2006-06-25 05:01:00',1151204460000,'-06:00','OBSERVE',23,9,22,26),(612,'2006-06-25 05:02:00',1151204520000,'2006-06-25 05:02:00',1151204520000,'-06:00','OBSERVE',23,9,22,26),(613,'2006-06-25 05:03:00',1151204580000,'2006-06-25 05:03:00',1151204580000,'-06:00','OBSERVE',23,9,22,26),(614,'2006-06-25 05:04:00',1151204640000,'2006-06-25 05:04:00',1151204640000,'-06:00','OBSERVE',23,9,22,26),(615,'2006-06-25 05:05:00',1151204700000,'2006-06-25 05:05:00',1151204700000,'-06:00','OBSERVE',23,9,22,26),(616,'2006-06-25 05:06:00',1151204760000,'2006-06-25 05:06:00',1151204760000,'-06:00','OBSERVE',23,9,22,26),(617,'2006-06-25 05:07:00',1151204820000,'2006-06-25 05:07:00',1151204820000,'-06:00','OBSERVE',23,9,22,26),(618,'2006-06-25 05:08:00',1151204880000,'2006-06-25 05:08:00',1151204880000,'-06:00','OBSERVE',23,9,22,26),(619,'2006-06-25 05:09:00',1151204940000,'2006-06-25 05:09:00',1151204940000,'-06:00','OBSERVE',23,9,22,26),(620,'2006-06-25 05:10:00',1151205000000,'2006-06-25 05:10:00',1151205000000,'-06:00','OBSERVE',23,9,22,26),(621,'2006-06-25 06:11:00',1151208660000,'2006-06-25 06:11:00',1151208660000,'-06:00','OBSERVE',24,9,23,27),(622,'2006-06-25 06:12:00',1151208720000,'2006-06-25 06:12:00',1151208720000,'-06:00','OBSERVE',24,9,23,27),(623,'2006-06-25 06:13:00',1151208780000,'2006-06-25 06:13:00',1151208780000,'-06:00','OBSERVE',24,9,23,27),(624,'2006-06-25 06:14:00',1151208840000,'2006-06-25 06:14:00',1151208840000,'-06:00','OBSERVE',24,9,23,27),(625,'2006-06-25 06:15:00',1151208900000,'2006-06-25 06:15:00',1151208900000,'-06:00','OBSERVE',24,9,23,27);
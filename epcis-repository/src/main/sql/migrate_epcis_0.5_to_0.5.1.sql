@@ -0,0 +1,135 @@
+-- Vocabulary elements and business transactions get unique keys so that
+-- concurrent capture requests can insert them with INSERT IGNORE. Existing
+-- duplicates are merged into the row with the smallest id first.
+-- As InnoDB cannot enforce uniqueness on a prefix of the long uri columns,
+-- the vocabulary tables get a uriHash column holding the SHA-1 hash of the
+-- uri, which is kept up to date by triggers and carries the unique key.
+-- Likewise, the unique key of the business transactions is on a typeKey
+-- column holding the type or 0, as a unique key on the nullable type would
+-- not prevent duplicates of untyped business transactions.
+
+CREATE TEMPORARY TABLE tmp_voc_BizStep AS SELECT d.id AS id, k.id AS keep_id FROM voc_BizStep d JOIN (SELECT uri, MIN(id) AS id FROM voc_BizStep GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE event_AggregationEvent x JOIN tmp_voc_BizStep m ON x.bizStep = m.id SET x.bizStep = m.keep_id;
+UPDATE event_ObjectEvent x JOIN tmp_voc_BizStep m ON x.bizStep = m.id SET x.bizStep = m.keep_id;
+UPDATE event_QuantityEvent x JOIN tmp_voc_BizStep m ON x.bizStep = m.id SET x.bizStep = m.keep_id;
+UPDATE event_TransactionEvent x JOIN tmp_voc_BizStep m ON x.bizStep = m.id SET x.bizStep = m.keep_id;
+UPDATE voc_BizStep_attr x JOIN tmp_voc_BizStep m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_BizStep d JOIN tmp_voc_BizStep m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_BizStep;
+ALTER TABLE voc_BizStep ADD COLUMN uriHash binary(20);
+UPDATE voc_BizStep SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_BizStep_uriHash_insert BEFORE INSERT ON voc_BizStep FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_BizStep_uriHash_update BEFORE UPDATE ON voc_BizStep FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_BizStep ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_Disposition AS SELECT d.id AS id, k.id AS keep_id FROM voc_Disposition d JOIN (SELECT uri, MIN(id) AS id FROM voc_Disposition GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE event_AggregationEvent x JOIN tmp_voc_Disposition m ON x.disposition = m.id SET x.disposition = m.keep_id;
+UPDATE event_ObjectEvent x JOIN tmp_voc_Disposition m ON x.disposition = m.id SET x.disposition = m.keep_id;
+UPDATE event_QuantityEvent x JOIN tmp_voc_Disposition m ON x.disposition = m.id SET x.disposition = m.keep_id;
+UPDATE event_TransactionEvent x JOIN tmp_voc_Disposition m ON x.disposition = m.id SET x.disposition = m.keep_id;
+UPDATE voc_Disposition_attr x JOIN tmp_voc_Disposition m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_Disposition d JOIN tmp_voc_Disposition m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_Disposition;
+ALTER TABLE voc_Disposition ADD COLUMN uriHash binary(20);
+UPDATE voc_Disposition SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_Disposition_uriHash_insert BEFORE INSERT ON voc_Disposition FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_Disposition_uriHash_update BEFORE UPDATE ON voc_Disposition FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_Disposition ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_ReadPoint AS SELECT d.id AS id, k.id AS keep_id FROM voc_ReadPoint d JOIN (SELECT uri, MIN(id) AS id FROM voc_ReadPoint GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE event_AggregationEvent x JOIN tmp_voc_ReadPoint m ON x.readPoint = m.id SET x.readPoint = m.keep_id;
+UPDATE event_ObjectEvent x JOIN tmp_voc_ReadPoint m ON x.readPoint = m.id SET x.readPoint = m.keep_id;
+UPDATE event_QuantityEvent x JOIN tmp_voc_ReadPoint m ON x.readPoint = m.id SET x.readPoint = m.keep_id;
+UPDATE event_TransactionEvent x JOIN tmp_voc_ReadPoint m ON x.readPoint = m.id SET x.readPoint = m.keep_id;
+UPDATE voc_ReadPoint_attr x JOIN tmp_voc_ReadPoint m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_ReadPoint d JOIN tmp_voc_ReadPoint m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_ReadPoint;
+ALTER TABLE voc_ReadPoint ADD COLUMN uriHash binary(20);
+UPDATE voc_ReadPoint SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_ReadPoint_uriHash_insert BEFORE INSERT ON voc_ReadPoint FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_ReadPoint_uriHash_update BEFORE UPDATE ON voc_ReadPoint FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_ReadPoint ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_BizLoc AS SELECT d.id AS id, k.id AS keep_id FROM voc_BizLoc d JOIN (SELECT uri, MIN(id) AS id FROM voc_BizLoc GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE event_AggregationEvent x JOIN tmp_voc_BizLoc m ON x.bizLocation = m.id SET x.bizLocation = m.keep_id;
+UPDATE event_ObjectEvent x JOIN tmp_voc_BizLoc m ON x.bizLocation = m.id SET x.bizLocation = m.keep_id;
+UPDATE event_QuantityEvent x JOIN tmp_voc_BizLoc m ON x.bizLocation = m.id SET x.bizLocation = m.keep_id;
+UPDATE event_TransactionEvent x JOIN tmp_voc_BizLoc m ON x.bizLocation = m.id SET x.bizLocation = m.keep_id;
+UPDATE voc_BizLoc_attr x JOIN tmp_voc_BizLoc m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_BizLoc d JOIN tmp_voc_BizLoc m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_BizLoc;
+ALTER TABLE voc_BizLoc ADD COLUMN uriHash binary(20);
+UPDATE voc_BizLoc SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_BizLoc_uriHash_insert BEFORE INSERT ON voc_BizLoc FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_BizLoc_uriHash_update BEFORE UPDATE ON voc_BizLoc FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_BizLoc ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_EPCClass AS SELECT d.id AS id, k.id AS keep_id FROM voc_EPCClass d JOIN (SELECT uri, MIN(id) AS id FROM voc_EPCClass GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE event_QuantityEvent x JOIN tmp_voc_EPCClass m ON x.epcClass = m.id SET x.epcClass = m.keep_id;
+UPDATE voc_EPCClass_attr x JOIN tmp_voc_EPCClass m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_EPCClass d JOIN tmp_voc_EPCClass m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_EPCClass;
+ALTER TABLE voc_EPCClass ADD COLUMN uriHash binary(20);
+UPDATE voc_EPCClass SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_EPCClass_uriHash_insert BEFORE INSERT ON voc_EPCClass FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_EPCClass_uriHash_update BEFORE UPDATE ON voc_EPCClass FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_EPCClass ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_BizTrans AS SELECT d.id AS id, k.id AS keep_id FROM voc_BizTrans d JOIN (SELECT uri, MIN(id) AS id FROM voc_BizTrans GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE BizTransaction x JOIN tmp_voc_BizTrans m ON x.bizTrans = m.id SET x.bizTrans = m.keep_id;
+UPDATE voc_BizTrans_attr x JOIN tmp_voc_BizTrans m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_BizTrans d JOIN tmp_voc_BizTrans m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_BizTrans;
+ALTER TABLE voc_BizTrans ADD COLUMN uriHash binary(20);
+UPDATE voc_BizTrans SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_BizTrans_uriHash_insert BEFORE INSERT ON voc_BizTrans FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_BizTrans_uriHash_update BEFORE UPDATE ON voc_BizTrans FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_BizTrans ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_voc_BizTransType AS SELECT d.id AS id, k.id AS keep_id FROM voc_BizTransType d JOIN (SELECT uri, MIN(id) AS id FROM voc_BizTransType GROUP BY uri) k ON d.uri = k.uri WHERE d.id <> k.id;
+UPDATE BizTransaction x JOIN tmp_voc_BizTransType m ON x.type = m.id SET x.type = m.keep_id;
+UPDATE voc_BizTransType_attr x JOIN tmp_voc_BizTransType m ON x.id = m.id SET x.id = m.keep_id;
+DELETE d FROM voc_BizTransType d JOIN tmp_voc_BizTransType m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_voc_BizTransType;
+ALTER TABLE voc_BizTransType ADD COLUMN uriHash binary(20);
+UPDATE voc_BizTransType SET uriHash = UNHEX(SHA1(uri));
+CREATE TRIGGER voc_BizTransType_uriHash_insert BEFORE INSERT ON voc_BizTransType FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+CREATE TRIGGER voc_BizTransType_uriHash_update BEFORE UPDATE ON voc_BizTransType FOR EACH ROW SET NEW.uriHash = UNHEX(SHA1(NEW.uri));
+ALTER TABLE voc_BizTransType ADD UNIQUE INDEX (uriHash);
+
+CREATE TEMPORARY TABLE tmp_BizTransaction AS SELECT d.id AS id, k.id AS keep_id FROM BizTransaction d JOIN (SELECT bizTrans, type, MIN(id) AS id FROM BizTransaction GROUP BY bizTrans, type) k ON d.bizTrans = k.bizTrans AND d.type <=> k.type WHERE d.id <> k.id;
+UPDATE event_AggregationEvent_bizTrans x JOIN tmp_BizTransaction m ON x.bizTrans_id = m.id SET x.bizTrans_id = m.keep_id;
+UPDATE event_ObjectEvent_bizTrans x JOIN tmp_BizTransaction m ON x.bizTrans_id = m.id SET x.bizTrans_id = m.keep_id;
+UPDATE event_QuantityEvent_bizTrans x JOIN tmp_BizTransaction m ON x.bizTrans_id = m.id SET x.bizTrans_id = m.keep_id;
+UPDATE event_TransactionEvent_bizTrans x JOIN tmp_BizTransaction m ON x.bizTrans_id = m.id SET x.bizTrans_id = m.keep_id;
+DELETE d FROM BizTransaction d JOIN tmp_BizTransaction m ON d.id = m.id;
+DROP TEMPORARY TABLE tmp_BizTransaction;
+ALTER TABLE BizTransaction ADD COLUMN typeKey bigint NOT NULL DEFAULT 0;
+UPDATE BizTransaction SET typeKey = IFNULL(type, 0);
+CREATE TRIGGER BizTransaction_typeKey_insert BEFORE INSERT ON BizTransaction FOR EACH ROW SET NEW.typeKey = IFNULL(NEW.type, 0);
+CREATE TRIGGER BizTransaction_typeKey_update BEFORE UPDATE ON BizTransaction FOR EACH ROW SET NEW.typeKey = IFNULL(NEW.type, 0);
+ALTER TABLE BizTransaction DROP INDEX bizTrans, ADD UNIQUE INDEX (bizTrans, typeKey);
+
+-- Composite indexes for subscriptions polling by recordTime and for queries
+-- filtering by business location, read point or business step within an event
+-- time range. The EPC indexes are left on the epc alone: with a multi-byte
+-- character set, a key on the varchar(1023) epc and the event_id exceeds the
+-- InnoDB key length limit.
+
+ALTER TABLE event_AggregationEvent ADD INDEX (recordTimeMs, id), ADD INDEX (bizLocation, eventTimeMs), ADD INDEX (readPoint, eventTimeMs), ADD INDEX (bizStep, eventTimeMs);
+ALTER TABLE event_ObjectEvent ADD INDEX (recordTimeMs, id), ADD INDEX (bizLocation, eventTimeMs), ADD INDEX (readPoint, eventTimeMs), ADD INDEX (bizStep, eventTimeMs);
+ALTER TABLE event_QuantityEvent ADD INDEX (recordTimeMs, id), ADD INDEX (bizLocation, eventTimeMs), ADD INDEX (readPoint, eventTimeMs), ADD INDEX (bizStep, eventTimeMs);
+ALTER TABLE event_TransactionEvent ADD INDEX (recordTimeMs, id), ADD INDEX (bizLocation, eventTimeMs), ADD INDEX (readPoint, eventTimeMs), ADD INDEX (bizStep, eventTimeMs);
+
+-- Index used by the retention purger to find expired events.
+
+ALTER TABLE event_AggregationEvent ADD INDEX (eventTimeMs);
+ALTER TABLE event_ObjectEvent ADD INDEX (eventTimeMs);
+ALTER TABLE event_QuantityEvent ADD INDEX (eventTimeMs);
+ALTER TABLE event_TransactionEvent ADD INDEX (eventTimeMs);
+
+-- Heartbeat used to measure the lag of a read replica.
+
+CREATE TABLE replica_heartbeat (id int PRIMARY KEY, timeMs bigint(20) NOT NULL);
+
+COMMIT;
@@ -0,0 +1,456 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.connection.ConnectionProvider;
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * An embedded H2 database in MySQL mode for the tests of the JDBC code, holding
+ * the tables the test creates. The connections handed out translate the bits
+ * of MySQL syntax H2 does not understand and record the statements issued
+ * through them, such that tests can check which statements have been prepared,
+ * executed, cancelled and closed. Everything else, including unique keys, row
+ * locks and transaction isolation, is left to H2 (1.4.x, the last series
+ * running on Java 8):
+ * <ul>
+ * <li><code>LOCK IN SHARE MODE</code> becomes <code>FOR UPDATE</code>, which
+ * also waits for the writers of the rows,</li>
+ * <li><code>&lt;=&gt;</code> becomes <code>IS NOT DISTINCT FROM</code>,</li>
+ * <li><code>SHA1()</code> and <code>UNHEX()</code> are provided as Java
+ * functions.</li>
+ * </ul>
+ */
+public class TestDatabase {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    /**
+     * The databases Hibernate session factories have been built for, by URL.
+     */
+    private static final Map<String, TestDatabase> SESSION_FACTORY_DATABASES = new ConcurrentHashMap<String, TestDatabase>();
+
+    private static final String[] VOCABULARY_TABLES = { "voc_BizLoc", "voc_BizStep", "voc_BizTrans",
+            "voc_BizTransType", "voc_Disposition", "voc_EPCClass", "voc_ReadPoint" };
+
+    private final String url;
+
+    private volatile boolean failing = false;
+
+    private final List<String> preparedStatements = Collections.synchronizedList(new ArrayList<String>());
+
+    private final AtomicInteger executedQueries = new AtomicInteger();
+
+    private final AtomicInteger openStatements = new AtomicInteger();
+
+    private final AtomicInteger cancelledStatements = new AtomicInteger();
+
+    private final AtomicInteger scrollableStatements = new AtomicInteger();
+
+    private volatile int queryTimeout = 0;
+
+    private volatile int fetchSize = 0;
+
+    /**
+     * Creates a new empty database and runs the given statements on it.
+     * 
+     * @param ddl
+     *            The statements creating the tables used by the test.
+     */
+    public TestDatabase(String... ddl) throws SQLException {
+        try {
+            Class.forName("org.h2.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("H2 not available: " + e.getMessage());
+        }
+        url = "jdbc:h2:mem:epcis" + DATABASES.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+        execute("CREATE ALIAS SHA1 FOR \"" + TestDatabase.class.getName() + ".sha1\"", "CREATE ALIAS UNHEX FOR \""
+                + TestDatabase.class.getName() + ".unhex\"");
+        execute(ddl);
+    }
+
+    /**
+     * Runs the given statements on a connection of its own, bypassing the
+     * recording.
+     */
+    public void execute(String... sqls) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            Statement stmt = connection.createStatement();
+            try {
+                for (String sql : sqls) {
+                    stmt.execute(sql);
+                }
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Inserts the given rows using the given statement on a connection of its
+     * own, bypassing the recording.
+     * 
+     * @param rows
+     *            The parameters of the statement for each row.
+     */
+    public void insert(String sql, List<Object[]> rows) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            try {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        ps.setObject(i + 1, row[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            } finally {
+                ps.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Runs the given query on a connection of its own, bypassing the recording.
+     * 
+     * @return The first column of the first row, or <code>null</code>.
+     */
+    public Long queryForLong(String sql) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            Statement stmt = connection.createStatement();
+            try {
+                ResultSet rs = stmt.executeQuery(sql);
+                return rs.next() ? Long.valueOf(rs.getLong(1)) : null;
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * @return A new recording connection (auto-commit enabled).
+     */
+    public Connection connect() throws SQLException {
+        if (failing) {
+            throw new SQLException("Connection refused");
+        }
+        final Connection connection = DriverManager.getConnection(url);
+        return (Connection) proxy(Connection.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.equals("prepareStatement")) {
+                    if (args.length > 1 && !args[1].equals(Integer.valueOf(ResultSet.TYPE_FORWARD_ONLY))) {
+                        scrollableStatements.incrementAndGet();
+                    }
+                    preparedStatements.add((String) args[0]);
+                    args[0] = translate((String) args[0]);
+                    return record(PreparedStatement.class, forward(connection, method, args));
+                } else if (name.equals("createStatement")) {
+                    return record(Statement.class, forward(connection, method, args));
+                }
+                return forward(connection, method, args);
+            }
+        });
+    }
+
+    /**
+     * Builds a Hibernate session factory from the application's
+     * <code>hibernate.cfg.xml</code> which gets its connections from
+     * {@link #connect()}, and lets Hibernate create the tables of the mapped
+     * entities. The vocabulary tables get the <code>uriHash</code> column of
+     * the MySQL schema, computed by H2 instead of triggers. The type of a
+     * business transaction is optional as in the MySQL schema, whose
+     * <code>typeKey</code> column and unique key are added as well. The second
+     * level cache is disabled.
+     */
+    public SessionFactory buildSessionFactory() throws SQLException {
+        SESSION_FACTORY_DATABASES.put(url, this);
+        Configuration cfg = new Configuration().configure();
+        cfg.getProperties().remove(Environment.DATASOURCE);
+        cfg.setProperty(Environment.CONNECTION_PROVIDER, HibernateConnectionProvider.class.getName());
+        cfg.setProperty(Environment.URL, url);
+        cfg.setProperty(Environment.DIALECT, H2Dialect.class.getName());
+        cfg.setProperty(Environment.USE_SECOND_LEVEL_CACHE, "false");
+        cfg.setProperty(Environment.HBM2DDL_AUTO, "create");
+        SessionFactory sessionFactory = cfg.buildSessionFactory();
+        for (String table : VOCABULARY_TABLES) {
+            execute("ALTER TABLE " + table + " ADD COLUMN uriHash binary(20) AS UNHEX(SHA1(uri))",
+                    "CREATE UNIQUE INDEX " + table + "_uriHash_ix ON " + table + " (uriHash)");
+        }
+        execute("ALTER TABLE BizTransaction ALTER COLUMN type SET NULL",
+                "ALTER TABLE BizTransaction ADD COLUMN typeKey bigint AS IFNULL(type, 0)",
+                "CREATE UNIQUE INDEX BizTransaction_typeKey_ix ON BizTransaction (bizTrans, typeKey)");
+        return sessionFactory;
+    }
+
+    /**
+     * @return A data source handing out recording connections, or failing
+     *         while {@link #setFailing(boolean)} is set.
+     */
+    public DataSource getDataSource() {
+        return (DataSource) proxy(DataSource.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (method.getName().equals("getConnection")) {
+                    return connect();
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    /**
+     * Starts a transaction on the given connection, wrapped in a Hibernate
+     * Transaction which notifies its synchronizations around the commit or
+     * rollback like Hibernate's JDBCTransaction does.
+     */
+    public static Transaction beginTransaction(final Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        final List<Synchronization> synchronizations = new ArrayList<Synchronization>();
+        return (Transaction) proxy(Transaction.class, new InvocationHandler() {
+            private boolean active = true;
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.equals("registerSynchronization")) {
+                    synchronizations.add((Synchronization) args[0]);
+                    return null;
+                } else if (name.equals("isActive")) {
+                    return Boolean.valueOf(active);
+                } else if (name.equals("commit")) {
+                    for (Synchronization synchronization : synchronizations) {
+                        synchronization.beforeCompletion();
+                    }
+                    connection.commit();
+                    complete(Status.STATUS_COMMITTED);
+                    return null;
+                } else if (name.equals("rollback")) {
+                    connection.rollback();
+                    complete(Status.STATUS_ROLLEDBACK);
+                    return null;
+                } else if (name.equals("hashCode")) {
+                    return Integer.valueOf(System.identityHashCode(proxy));
+                } else if (name.equals("equals")) {
+                    return Boolean.valueOf(proxy == args[0]);
+                }
+                throw new UnsupportedOperationException(name);
+            }
+
+            private void complete(int status) throws SQLException {
+                active = false;
+                connection.setAutoCommit(true);
+                for (Synchronization synchronization : synchronizations) {
+                    synchronization.afterCompletion(status);
+                }
+            }
+        });
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * @return The SQL of the statements prepared so far, as issued by the code
+     *         under test (before the translation). May be cleared.
+     */
+    public List<String> getPreparedStatements() {
+        return preparedStatements;
+    }
+
+    public int getExecutedQueries() {
+        return executedQueries.get();
+    }
+
+    public int getOpenStatements() {
+        return openStatements.get();
+    }
+
+    public int getCancelledStatements() {
+        return cancelledStatements.get();
+    }
+
+    public int getScrollableStatements() {
+        return scrollableStatements.get();
+    }
+
+    /**
+     * @return The query timeout (in seconds) last set on a statement.
+     */
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * @return The fetch size last set on a statement.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Wraps the given statement such that its queries, cancellation and
+     * closing are recorded.
+     */
+    private Object record(Class<?> type, final Object statement) {
+        openStatements.incrementAndGet();
+        return proxy(type, new InvocationHandler() {
+            private boolean closed = false;
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String) {
+                    args[0] = translate((String) args[0]);
+                }
+                if (name.equals("executeQuery")) {
+                    executedQueries.incrementAndGet();
+                } else if (name.equals("setQueryTimeout")) {
+                    queryTimeout = ((Integer) args[0]).intValue();
+                } else if (name.equals("setFetchSize")) {
+                    fetchSize = ((Integer) args[0]).intValue();
+                } else if (name.equals("cancel")) {
+                    if (closed) {
+                        throw new SQLException("Statement already closed");
+                    }
+                    cancelledStatements.incrementAndGet();
+                } else if (name.equals("close") && !closed) {
+                    closed = true;
+                    openStatements.decrementAndGet();
+                }
+                return forward(statement, method, args);
+            }
+        });
+    }
+
+    /**
+     * @return The given MySQL statement in the syntax understood by H2.
+     */
+    static String translate(String sql) {
+        return sql.replace(" LOCK IN SHARE MODE", " FOR UPDATE").replace("<=>", " IS NOT DISTINCT FROM ");
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(TestDatabase.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    /**
+     * Hands out the connections of the database a session factory has been
+     * built for by {@link TestDatabase#buildSessionFactory()}.
+     */
+    public static class HibernateConnectionProvider implements ConnectionProvider {
+
+        private TestDatabase db;
+
+        public void configure(Properties props) {
+            db = SESSION_FACTORY_DATABASES.get(props.getProperty(Environment.URL));
+        }
+
+        public Connection getConnection() throws SQLException {
+            return db.connect();
+        }
+
+        public void closeConnection(Connection connection) throws SQLException {
+            connection.close();
+        }
+
+        public void close() {
+            SESSION_FACTORY_DATABASES.remove(db.url);
+        }
+
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+    }
+
+    /**
+     * MySQL's <code>SHA1()</code>: the SHA-1 hash of the given string's UTF-8
+     * bytes as 40 hex digits.
+     */
+    public static String sha1(String value) throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-1").digest(value.getBytes("UTF-8"))) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * MySQL's <code>UNHEX()</code>: the bytes given by the hex digits.
+     */
+    public static byte[] unhex(String hex) {
+        if (hex == null) {
+            return null;
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.InternalBusinessException;
+import org.fosstrak.epcis.repository.model.BaseEvent;
+import org.fosstrak.epcis.repository.model.ObjectEvent;
+
+/**
+ * Tests that the CaptureCoordinator stores the events of concurrent capture
+ * requests together, stores them one by one if they cannot be stored
+ * together, and releases them if the writer thread dies.
+ */
+public class CaptureCoordinatorTest extends TestCase {
+
+    private static final String BAD_OFFSET = "+99:00";
+
+    private final List<Integer> storedGroups = Collections.synchronizedList(new ArrayList<Integer>());
+
+    private volatile boolean dirty = false;
+
+    private volatile Error error = null;
+
+    private CaptureCoordinator coordinator;
+
+    protected void setUp() {
+        CaptureOperationsModule module = new CaptureOperationsModule() {
+            void storeEvents(List<BaseEvent> events) throws SQLException {
+                storedGroups.add(Integer.valueOf(events.size()));
+                if (error != null) {
+                    throw error;
+                }
+                boolean bad = false;
+                for (BaseEvent event : events) {
+                    // like Hibernate, assign IDs before the failure
+                    dirty |= event.getId() != null;
+                    event.setId(Long.valueOf(storedGroups.size()));
+                    bad |= BAD_OFFSET.equals(event.getEventTimeZoneOffset());
+                }
+                if (bad) {
+                    throw new SQLException("Data too long");
+                }
+            }
+        };
+        coordinator = new CaptureCoordinator(module, 1000, 3);
+        coordinator.start();
+    }
+
+    protected void tearDown() {
+        coordinator.stop();
+    }
+
+    public void testConcurrentRequestsStoredTogether() throws Exception {
+        Thread other = store(2);
+        assertNull(store(events(1), 0));
+        other.join();
+        assertEquals(Collections.singletonList(Integer.valueOf(3)), storedGroups);
+    }
+
+    public void testFailedGroupStoredOneByOne() throws Exception {
+        final Exception[] otherError = new Exception[1];
+        Thread other = new Thread() {
+            public void run() {
+                otherError[0] = store(events(2), 0);
+            }
+        };
+        other.start();
+        List<BaseEvent> badEvents = events(1);
+        badEvents.get(0).setEventTimeZoneOffset(BAD_OFFSET);
+        Exception error = store(badEvents, 100);
+        other.join();
+        // only the request holding the bad event fails
+        assertTrue(error instanceof InternalBusinessException);
+        assertNull(otherError[0]);
+        assertEquals(Arrays.asList(new Integer[] { Integer.valueOf(3), Integer.valueOf(2), Integer.valueOf(1) }),
+                storedGroups);
+        // the IDs of the failed transaction have been reset
+        assertFalse(dirty);
+    }
+
+    public void testErrorReleasesAllRequests() throws Exception {
+        error = new NoClassDefFoundError("org/hibernate/Session");
+        final Exception[] otherError = new Exception[1];
+        Thread other = new Thread() {
+            public void run() {
+                otherError[0] = store(events(2), 0);
+            }
+        };
+        other.start();
+        Exception firstError = store(events(1), 100);
+        other.join(10000);
+        assertFalse(other.isAlive());
+        assertTrue(firstError instanceof InternalBusinessException);
+        assertSame(error, firstError.getCause());
+        assertTrue(otherError[0] instanceof InternalBusinessException);
+        assertEquals(Collections.singletonList(Integer.valueOf(3)), storedGroups);
+
+        // the writer thread is gone, further requests fail right away
+        Exception laterError = store(events(1), 0);
+        assertTrue(laterError instanceof InternalBusinessException);
+        assertSame(error, laterError.getCause());
+        assertEquals(1, storedGroups.size());
+    }
+
+    private Thread store(final int eventCount) {
+        Thread thread = new Thread() {
+            public void run() {
+                store(events(eventCount), 0);
+            }
+        };
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Stores the given events after the given delay and returns the resulting
+     * error, if any.
+     */
+    private Exception store(List<BaseEvent> events, long delay) {
+        try {
+            Thread.sleep(delay);
+            coordinator.store(events);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static List<BaseEvent> events(int eventCount) {
+        List<BaseEvent> events = new ArrayList<BaseEvent>();
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new ObjectEvent());
+        }
+        return events;
+    }
+}
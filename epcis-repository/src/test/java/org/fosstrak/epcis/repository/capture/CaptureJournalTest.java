@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the CaptureJournal recovers its pending records after a crash and
+ * compacts itself.
+ */
+public class CaptureJournalTest extends TestCase {
+
+    private File file;
+
+    private File positionFile;
+
+    private File compactFile;
+
+    private CaptureJournal journal;
+
+    protected void setUp() throws IOException {
+        file = File.createTempFile("epcis-journal", ".log");
+        positionFile = new File(file.getPath() + ".pos");
+        compactFile = new File(file.getPath() + ".compact");
+    }
+
+    protected void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+        file.delete();
+        positionFile.delete();
+        compactFile.delete();
+    }
+
+    public void testRecordsRemovedInOrder() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        assertTake("first");
+        assertTake("second");
+        assertNull(journal.take(1));
+        assertEquals(0, file.length());
+    }
+
+    public void testTornRecordDiscarded() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        journal.close();
+        long size = file.length();
+
+        // a crash while appending left the header and part of a document
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        ByteBuffer torn = ByteBuffer.allocate(15);
+        torn.putInt(100);
+        torn.putLong(0);
+        torn.put("thi".getBytes());
+        raf.seek(size);
+        raf.write(torn.array());
+        raf.close();
+
+        journal = new CaptureJournal(file);
+        assertEquals(size, file.length());
+        assertTake("first");
+        journal.append("third".getBytes());
+        assertTake("second");
+        assertTake("third");
+        assertNull(journal.take(1));
+    }
+
+    public void testDamagedRecordNotDiscarded() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        journal.close();
+        long size = file.length();
+
+        // a damaged document in the middle of the journal is no torn append,
+        // the records behind it must not be lost
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(12);
+        raf.write('F');
+        raf.close();
+
+        try {
+            journal = new CaptureJournal(file);
+            fail("Opened a journal with a damaged record");
+        } catch (IOException e) {
+            journal = null;
+        }
+        assertEquals(size, file.length());
+    }
+
+    public void testPendingRecordsKeptAfterRestart() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        assertTake("first");
+        journal.close();
+
+        journal = new CaptureJournal(file);
+        assertTake("second");
+        assertNull(journal.take(1));
+    }
+
+    public void testCrashBetweenTruncateAndPosition() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        assertTake("first");
+        journal.close();
+
+        // the second record has been stored and the journal truncated, but
+        // the position still points behind the first record
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(0);
+        raf.close();
+
+        journal = new CaptureJournal(file);
+        assertNull(journal.take(1));
+        journal.append("third".getBytes());
+        assertTake("third");
+        assertNull(journal.take(1));
+    }
+
+    public void testJournalCompacted() throws Exception {
+        journal = new CaptureJournal(file, 30);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        journal.append("third".getBytes());
+        long third = 12 + "third".length();
+        assertTake("first");
+        assertEquals(third + 35, journal.getSize());
+
+        // the processed records exceed the threshold, the pending one does not
+        assertTake("second");
+        assertEquals(third, journal.getSize());
+        assertFalse(compactFile.exists());
+        journal.append("fourth".getBytes());
+        assertTake("third");
+        journal.close();
+
+        journal = new CaptureJournal(file, 30);
+        assertTake("fourth");
+        assertNull(journal.take(1));
+    }
+
+    public void testCrashDuringCompaction() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        journal.close();
+        byte[] records = read(file);
+
+        // an incomplete compacted journal is discarded
+        writeFile(compactFile, records, 17, 5);
+        journal = new CaptureJournal(file);
+        assertFalse(compactFile.exists());
+        assertTake("first");
+        journal.close();
+
+        // a complete one replaces the journal
+        writeFile(compactFile, records, 17, records.length - 17);
+        RandomAccessFile raf = new RandomAccessFile(positionFile, "rw");
+        raf.writeLong(0);
+        raf.writeLong(1);
+        raf.close();
+        journal = new CaptureJournal(file);
+        assertFalse(compactFile.exists());
+        assertTake("second");
+        assertNull(journal.take(1));
+    }
+
+    public void testRejectedRecordMovedToFile() throws Exception {
+        journal = new CaptureJournal(file);
+        journal.append("first".getBytes());
+        journal.append("second".getBytes());
+        File failed = journal.reject(journal.take(1));
+        try {
+            assertTrue(failed.getName().startsWith(file.getName()));
+            assertEquals("first".length(), failed.length());
+            assertTake("second");
+        } finally {
+            failed.delete();
+        }
+    }
+
+    /**
+     * Takes the next record, checks its document and removes it.
+     */
+    private void assertTake(String document) throws Exception {
+        CaptureJournal.Record record = journal.take(1);
+        assertNotNull(record);
+        InputStream in = record.openDocument();
+        assertEquals(document.length(), in.available());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            out.write(b);
+        }
+        assertEquals(document, out.toString());
+        journal.remove(record);
+    }
+
+    private static byte[] read(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] bytes = new byte[(int) raf.length()];
+            raf.readFully(bytes);
+            return bytes;
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static void writeFile(File file, byte[] bytes, int offset, int length) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(0);
+            raf.write(bytes, offset, length);
+        } finally {
+            raf.close();
+        }
+    }
+}
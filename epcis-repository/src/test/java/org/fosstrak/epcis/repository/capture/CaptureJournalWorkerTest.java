@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.InternalBusinessException;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Tests the retries of the CaptureJournalWorker.
+ */
+public class CaptureJournalWorkerTest extends TestCase {
+
+    private File file;
+
+    private CaptureJournal journal;
+
+    private CaptureJournalWorker worker;
+
+    /**
+     * The documents passed to the module and the first shard to store them.
+     */
+    private final List<String> attempts = Collections.synchronizedList(new ArrayList<String>());
+
+    protected void setUp() throws IOException {
+        file = File.createTempFile("epcis-journal", ".log");
+        journal = new CaptureJournal(file);
+    }
+
+    protected void tearDown() {
+        worker.stop();
+        file.delete();
+        new File(file.getPath() + ".pos").delete();
+        for (File f : file.getParentFile().listFiles()) {
+            if (f.getName().startsWith(file.getName()) && f.getName().endsWith(".failed")) {
+                f.delete();
+            }
+        }
+    }
+
+    public void testRequestGivenUpAfterRetries() throws Exception {
+        startWorker(2);
+        journal.append("failing".getBytes());
+        journal.append("ok".getBytes());
+        waitForAttempts(4);
+        assertEquals(4, attempts.size());
+        assertEquals("failing@0", attempts.get(2));
+        assertEquals("ok@0", attempts.get(3));
+
+        int failedCount = 0;
+        for (File f : file.getParentFile().listFiles()) {
+            if (f.getName().startsWith(file.getName()) && f.getName().endsWith(".failed")) {
+                assertEquals("failing".length(), f.length());
+                failedCount++;
+            }
+        }
+        assertEquals(1, failedCount);
+    }
+
+    public void testCommittedShardsSkipped() throws Exception {
+        startWorker(2);
+        journal.append("partial".getBytes());
+        journal.append("ok".getBytes());
+        waitForAttempts(3);
+        assertEquals("partial@0", attempts.get(0));
+        assertEquals("partial@1", attempts.get(1));
+        assertEquals("ok@0", attempts.get(2));
+    }
+
+    public void testOnlyInvalidRequestsDropped() throws Exception {
+        startWorker(2);
+        journal.append("invalid".getBytes());
+        journal.append("unreadable".getBytes());
+        journal.append("ok".getBytes());
+        waitForAttempts(4);
+        assertEquals(4, attempts.size());
+        assertEquals("invalid@0", attempts.get(0));
+        assertEquals("unreadable@0", attempts.get(1));
+        assertEquals("unreadable@0", attempts.get(2));
+        assertEquals("ok@0", attempts.get(3));
+    }
+
+    private void startWorker(int maxRetries) {
+        CaptureOperationsModule module = new CaptureOperationsModule() {
+            void doCapture(InputStream in, Principal principal, int firstShard) throws SAXException,
+                    InternalBusinessException, PartialCaptureException {
+                String document;
+                try {
+                    byte[] buf = new byte[in.available()];
+                    in.read(buf);
+                    document = new String(buf);
+                } catch (IOException e) {
+                    throw new InternalBusinessException(e);
+                }
+                attempts.add(document + "@" + firstShard);
+                if (document.equals("failing")) {
+                    throw new InternalBusinessException("database unavailable");
+                } else if (document.equals("invalid")) {
+                    throw new SAXParseException("cvc-complex-type.2.4.a: Invalid content", null);
+                } else if (document.equals("unreadable") && attempts.indexOf("unreadable@0") == attempts.size() - 1) {
+                    // only the first attempt fails
+                    throw new SAXException("Unable to read the capture request: disk full", new IOException(
+                            "disk full"));
+                } else if (document.equals("partial") && firstShard == 0) {
+                    throw new PartialCaptureException(10, 1, new InternalBusinessException("shard unavailable"));
+                }
+            }
+        };
+        worker = new CaptureJournalWorker(journal, module, maxRetries, 10);
+        worker.start();
+    }
+
+    private void waitForAttempts(int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (attempts.size() < count || journal.getPendingBytes() > 0) {
+            assertTrue("timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.sql.Connection;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.TestDatabase;
+import org.hibernate.Transaction;
+
+/**
+ * Tests the upsert methods of the CaptureOperationsBackendSQL class, each
+ * upserting in a short transaction of its own like the CaptureOperationsModule
+ * does. The tables live in an embedded H2 database, which holds the unique keys
+ * the upserts rely on. Concurrent captures are tested by the
+ * CaptureOperationsModuleTest.
+ */
+public class CaptureOperationsBackendSQLTest extends TestCase {
+
+    private static final String READ_POINT = "urn:epc:id:sgln:0614141.00777.0";
+
+    private CaptureOperationsBackendSQL backend = new CaptureOperationsBackendSQL();
+
+    private TestDatabase db;
+
+    private Connection connection;
+
+    private CaptureOperationsSession session;
+
+    protected void setUp() throws Exception {
+        db = new TestDatabase("CREATE TABLE voc_ReadPoint (id bigint PRIMARY KEY auto_increment,"
+                + " uri varchar(1023) NOT NULL, uriHash binary(20) AS UNHEX(SHA1(uri)), UNIQUE INDEX (uriHash))",
+                "CREATE TABLE BizTransaction (id bigint PRIMARY KEY auto_increment, bizTrans bigint NOT NULL,"
+                        + " type bigint, typeKey bigint AS IFNULL(type, 0), UNIQUE INDEX (bizTrans, typeKey))");
+        connection = db.connect();
+        session = new CaptureOperationsSession(connection);
+    }
+
+    protected void tearDown() throws Exception {
+        session.close();
+        assertEquals(0, db.getOpenStatements());
+    }
+
+    public void testVocabularyUpsert() throws Exception {
+        Long id = upsertVocabularyElement(READ_POINT);
+        assertEquals(id, upsertVocabularyElement(READ_POINT));
+        assertFalse(id.equals(upsertVocabularyElement(READ_POINT + "1")));
+        assertEquals(Long.valueOf(2), db.queryForLong("SELECT COUNT(*) FROM voc_ReadPoint"));
+    }
+
+    public void testBusinessTransactionUpsert() throws Exception {
+        Long id = upsertBusinessTransaction(Long.valueOf(1), Long.valueOf(2));
+        assertEquals(id, upsertBusinessTransaction(Long.valueOf(1), Long.valueOf(2)));
+        assertFalse(id.equals(upsertBusinessTransaction(Long.valueOf(1), Long.valueOf(3))));
+        assertEquals(Long.valueOf(2), db.queryForLong("SELECT COUNT(*) FROM BizTransaction"));
+    }
+
+    public void testUntypedBusinessTransactionUpsert() throws Exception {
+        Long id = upsertBusinessTransaction(Long.valueOf(1), null);
+        assertEquals(id, upsertBusinessTransaction(Long.valueOf(1), null));
+        assertFalse(id.equals(upsertBusinessTransaction(Long.valueOf(1), Long.valueOf(2))));
+        assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM BizTransaction WHERE type IS NULL"));
+        assertEquals(Long.valueOf(2), db.queryForLong("SELECT COUNT(*) FROM BizTransaction"));
+    }
+
+    private Long upsertVocabularyElement(String uri) throws Exception {
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        Long id = backend.upsertVocabularyElement(session, EpcisConstants.READ_POINT_ID, uri);
+        tx.commit();
+        return id;
+    }
+
+    private Long upsertBusinessTransaction(Long bizTrans, Long type) throws Exception {
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        Long id = backend.upsertBusinessTransaction(session, bizTrans, type);
+        tx.commit();
+        return id;
+    }
+}
@@ -20,9 +20,24 @@
 
 package org.fosstrak.epcis.repository.capture;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import junit.framework.TestCase;
 
 import org.fosstrak.epcis.repository.InvalidFormatException;
+import org.fosstrak.epcis.repository.TestDatabase;
+import org.hibernate.SessionFactory;
+import org.xml.sax.SAXException;
 
 /**
  * Tests some features of the CaptureOperationsModule class.
@@ -42,6 +57,10 @@ public class CaptureOperationsModuleTest extends TestCase {
     }
     private static CaptureOperationsModule module = new CaptureOperationsModule();
 
+    private static final String EPC = "urn:epc:id:sgtin:0614141.107346.2017";
+    private static final String READ_POINT = "urn:epc:id:sgln:0614141.00777.0";
+    private static final String BIZ_TRANSACTION = "urn:epcglobal:cbv:bt:0614141073467:1152";
+
     public void testCheckEventTimeZoneOffset() throws InvalidFormatException {
         assertEquals(module.checkEventTimeZoneOffset("+05:30"), "+05:30");
         assertEquals(module.checkEventTimeZoneOffset("-00:00"), "-00:00");
@@ -113,4 +132,218 @@ public class CaptureOperationsModuleTest extends TestCase {
         } catch (InvalidFormatException e) {
         }
     }
+
+    public void testCommitIntervalValidatesWholeRequest() throws Exception {
+        CaptureOperationsModule chunked = new CaptureOperationsModule();
+        chunked.setEpcisSchemaFile("/wsdl/EPCglobal-epcis-1_0.xsd");
+        chunked.setCommitInterval(1);
+        chunked.setSessionFactory((SessionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[] { SessionFactory.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        throw new AssertionError("the invalid request must not reach the database");
+                    }
+                }));
+        String event = "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>urn:epc:id:sgtin:0614141.107346.2017</epc>\n        </epcList>\n"
+                + "        <action>%s</action>\n      </ObjectEvent>\n";
+        String doc = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<epcis:EPCISDocument xmlns:epcis=\"urn:epcglobal:epcis:xsd:1\" schemaVersion=\"1.0\""
+                + " creationDate=\"2008-03-16T22:13:16.397+01:00\">\n  <EPCISBody>\n    <EventList>\n"
+                + String.format(event, "OBSERVE") + String.format(event, "BOGUS")
+                + "    </EventList>\n  </EPCISBody>\n</epcis:EPCISDocument>\n";
+        try {
+            chunked.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+            fail("SAXException expected");
+        } catch (SAXException e) {
+        }
+    }
+
+    public void testUntypedBusinessTransaction() throws Exception {
+        TestDatabase db = new TestDatabase();
+        SessionFactory sessionFactory = db.buildSessionFactory();
+        try {
+            CaptureOperationsModule captureModule = new CaptureOperationsModule();
+            captureModule.setEpcisSchemaFile("/wsdl/EPCglobal-epcis-1_0.xsd");
+            captureModule.setSessionFactory(sessionFactory);
+            captureModule.doCapture(document(objectEvent(READ_POINT, BIZ_TRANSACTION, null)), null);
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM event_ObjectEvent_bizTrans"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM BizTransaction WHERE type IS NULL"));
+            assertEquals(Long.valueOf(0), db.queryForLong("SELECT COUNT(*) FROM voc_BizTransType"));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+    /**
+     * Lets a capture request introduce a new read point and a typed and an
+     * untyped business transaction while another capture request of the same
+     * elements is in progress: the second request must neither wait for the
+     * first one to finish nor insert the elements once more.
+     */
+    public void testConcurrentCapturesOfNewElements() throws Exception {
+        final TestDatabase db = new TestDatabase();
+        SessionFactory sessionFactory = db.buildSessionFactory();
+        try {
+            final CaptureOperationsModule captureModule = new CaptureOperationsModule();
+            captureModule.setEpcisSchemaFile("/wsdl/EPCglobal-epcis-1_0.xsd");
+            captureModule.setSessionFactory(sessionFactory);
+            captureModule.setUpsertDataSource(db.getDataSource());
+            captureModule.setVocabularyCacheSize(0);
+            String events = objectEvent(READ_POINT, BIZ_TRANSACTION, null)
+                    + objectEvent(READ_POINT, BIZ_TRANSACTION, "urn:epcglobal:cbv:btt:po");
+            String text = toString(document(events));
+            byte[] doc = text.getBytes("UTF-8");
+
+            // the first request stops in the middle of its second event,
+            // after having stored the elements of the first one
+            int split = text.indexOf("<ObjectEvent>", text.indexOf("</ObjectEvent>")) + "<ObjectEvent>".length();
+            final CountDownLatch blocked = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            InputStream tail = new ByteArrayInputStream(doc, split, doc.length - split) {
+                public synchronized int read(byte[] b, int off, int len) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.read(b, off, len);
+                }
+            };
+            final InputStream first = new SequenceInputStream(new ByteArrayInputStream(doc, 0, split), tail);
+            final Throwable[] error = new Throwable[1];
+            Thread thread = new Thread() {
+                public void run() {
+                    try {
+                        captureModule.doCapture(first, null);
+                    } catch (Throwable e) {
+                        error[0] = e;
+                    }
+                }
+            };
+            thread.start();
+            try {
+                assertTrue(blocked.await(10, TimeUnit.SECONDS));
+                captureModule.doCapture(new ByteArrayInputStream(doc), null);
+            } finally {
+                release.countDown();
+                thread.join();
+            }
+            if (error[0] != null) {
+                fail("first capture failed: " + error[0]);
+            }
+            assertEquals(Long.valueOf(4), db.queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM voc_ReadPoint"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM voc_BizTrans"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM voc_BizTransType"));
+            assertEquals(Long.valueOf(1), db.queryForLong("SELECT COUNT(*) FROM BizTransaction WHERE type IS NULL"));
+            assertEquals(Long.valueOf(2), db.queryForLong("SELECT COUNT(*) FROM BizTransaction"));
+        } finally {
+            sessionFactory.close();
+        }
+    }
+
+    /**
+     * Lets the second of two shards, which commit every event, fail on the
+     * second of its events, and retries the request like the
+     * CaptureJournalWorker does: the retry must store the events of the failed
+     * shard once.
+     */
+    public void testRetryOfFailedShard() throws Exception {
+        TestDatabase[] dbs = { new TestDatabase(), new TestDatabase() };
+        List<SessionFactory> sessionFactories = new ArrayList<SessionFactory>();
+        try {
+            List<CaptureOperationsModule> shards = new ArrayList<CaptureOperationsModule>();
+            for (TestDatabase db : dbs) {
+                SessionFactory sessionFactory = db.buildSessionFactory();
+                sessionFactories.add(sessionFactory);
+                CaptureOperationsModule shard = new CaptureOperationsModule();
+                shard.setEpcisSchemaFile("/wsdl/EPCglobal-epcis-1_0.xsd");
+                shard.setSessionFactory(sessionFactory);
+                shard.setCommitInterval(1);
+                shards.add(shard);
+            }
+            CaptureOperationsModule captureModule = new CaptureOperationsModule();
+            captureModule.setEpcisSchemaFile("/wsdl/EPCglobal-epcis-1_0.xsd");
+            captureModule.setShards(shards);
+            dbs[1].execute("ALTER TABLE event_ObjectEvent ADD CONSTRAINT no_delete CHECK (action <> 'DELETE')");
+
+            String epc0 = epcOnShard(0);
+            String epc1 = epcOnShard(1);
+            String events = objectEvent(epc0, "OBSERVE") + objectEvent(epc1, "OBSERVE") + objectEvent(epc1, "DELETE");
+            int firstShard = 0;
+            try {
+                captureModule.doCapture(document(events), null, firstShard);
+                fail("shard 1 must fail");
+            } catch (PartialCaptureException e) {
+                assertEquals(1, e.getCommittedEventCount());
+                firstShard = e.getCommittedShardCount();
+            }
+            assertEquals(1, firstShard);
+            assertEquals(Long.valueOf(1), dbs[0].queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+            assertEquals(Long.valueOf(0), dbs[1].queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+
+            dbs[1].execute("ALTER TABLE event_ObjectEvent DROP CONSTRAINT no_delete");
+            captureModule.doCapture(document(events), null, firstShard);
+            assertEquals(Long.valueOf(1), dbs[0].queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+            assertEquals(Long.valueOf(2), dbs[1].queryForLong("SELECT COUNT(*) FROM event_ObjectEvent"));
+        } finally {
+            for (SessionFactory sessionFactory : sessionFactories) {
+                sessionFactory.close();
+            }
+        }
+    }
+
+    /**
+     * @return An EPC stored on the given shard of two.
+     */
+    private static String epcOnShard(int shard) {
+        for (int i = 0;; i++) {
+            String epc = "urn:epc:id:sgtin:0614141.107346." + i;
+            if (ShardedCapture.getShard(epc, 2) == shard) {
+                return epc;
+            }
+        }
+    }
+
+    private static String toString(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    private static ByteArrayInputStream document(String events) throws Exception {
+        String doc = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<epcis:EPCISDocument xmlns:epcis=\"urn:epcglobal:epcis:xsd:1\" schemaVersion=\"1.0\""
+                + " creationDate=\"2008-03-16T22:13:16.397+01:00\">\n  <EPCISBody>\n    <EventList>\n" + events
+                + "    </EventList>\n  </EPCISBody>\n</epcis:EPCISDocument>\n";
+        return new ByteArrayInputStream(doc.getBytes("UTF-8"));
+    }
+
+    private static String objectEvent(String epc, String action) {
+        return "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>" + epc + "</epc>\n        </epcList>\n        <action>" + action
+                + "</action>\n      </ObjectEvent>\n";
+    }
+
+    /**
+     * @param type
+     *            The type of the business transaction, or <code>null</code>
+     *            to leave out the optional type attribute.
+     */
+    private static String objectEvent(String readPoint, String bizTransaction, String type) {
+        return "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>" + EPC + "</epc>\n        </epcList>\n        <action>OBSERVE</action>\n"
+                + "        <readPoint>\n          <id>" + readPoint + "</id>\n        </readPoint>\n"
+                + "        <bizTransactionList>\n          <bizTransaction"
+                + (type == null ? "" : " type=\"" + type + "\"") + ">" + bizTransaction
+                + "</bizTransaction>\n        </bizTransactionList>\n      </ObjectEvent>\n";
+    }
 }
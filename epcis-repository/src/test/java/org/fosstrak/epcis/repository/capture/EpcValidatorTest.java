@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.InvalidFormatException;
+
+/**
+ * Tests the EpcValidator class against the regular expressions it replaces.
+ */
+public class EpcValidatorTest extends TestCase {
+
+    private static final String[] TYPES = { "gid", "sgtin", "sgln", "grai", "sscc", "giai", "sgtin2", "gi", "" };
+
+    private static final String ALPHABET = "0123456789000..%AFafGgzZ!()*+-',:;=_#/ .";
+
+    public void testKnownEpcs() throws InvalidFormatException {
+        String[] valid = { "urn:epc:id:sgtin:0652642.800031.400", "urn:epc:id:sscc:0652642.0123456789",
+                "urn:epc:id:sgln:0652642.12345.0", "urn:epc:id:grai:0652642.12345.1234",
+                "urn:epc:id:giai:0652642.123456", "urn:epc:id:gid:0.10.95100000", "urn:epc:id:sgtin:0.0.%AB-+:judihui",
+                "urn:epc:id:giai:0.%af%00" };
+        for (String epc : valid) {
+            assertTrue(epc, isValidRegex(epc));
+            EpcValidator.checkEpc(epc);
+        }
+        String[] invalid = { "urn:epc:id:gid:1652642.800031.400.123", "urn:epc:id:gid:01.2.3",
+                "urn:epc:id:sgtin:0652642.800031.", "urn:epc:id:sgtin:0652642", "urn:epc:id:sgtin:0652642.800A031.400",
+                "urn:epc:id:sgtin:06526420.8000310.400", "urn:epc:id:sgtin:0.0.%AG", "urn:epc:id:sgtin:0.0.%A",
+                "urn:epc:id:sscc:0652642.01234567890", "urn:epc:id:1234:0652642.800031.400",
+                "urn:epc:ident:sgtin:0652642.800031.400", "urn:epc:id:sgtin", "urn:epc:id:" };
+        for (String epc : invalid) {
+            assertFalse(epc, isValidRegex(epc));
+            assertFalse(epc, isValid(epc));
+        }
+    }
+
+    public void testRandomEpcs() {
+        Random random = new Random(4711);
+        int accepted = 0;
+        for (int i = 0; i < 200000; i++) {
+            String epc = randomEpc(random);
+            boolean expected = isValidRegex(epc);
+            assertEquals(epc, expected, isValid(epc));
+            if (expected) {
+                accepted++;
+            }
+        }
+        // make sure both outcomes have been covered
+        assertTrue(accepted > 1000);
+        assertTrue(accepted < 199000);
+    }
+
+    private static String randomEpc(Random random) {
+        StringBuilder sb = new StringBuilder("urn:epc:id:");
+        sb.append(TYPES[random.nextInt(TYPES.length)]).append(':');
+        int fields = 1 + random.nextInt(3);
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                sb.append('.');
+            }
+            int length = random.nextInt(10);
+            boolean digitsOnly = random.nextInt(3) > 0;
+            for (int j = 0; j < length; j++) {
+                if (digitsOnly) {
+                    sb.append((char) ('0' + random.nextInt(10)));
+                } else {
+                    sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isValid(String epc) {
+        try {
+            EpcValidator.checkEpc(epc);
+            return true;
+        } catch (InvalidFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The former implementation of CaptureOperationsModule.checkEpc().
+     */
+    private static boolean isValidRegex(String textContent) {
+        String uri = textContent;
+        if (!uri.startsWith("urn:epc:id:")) {
+            return false;
+        }
+        uri = uri.substring("urn:epc:id:".length());
+        if (uri.indexOf(":") < 0) {
+            // used to fail with a StringIndexOutOfBoundsException
+            return false;
+        }
+
+        // check the patterns for the different EPC types
+        String epcType = uri.substring(0, uri.indexOf(":"));
+        uri = uri.substring(epcType.length() + 1);
+        Pattern p;
+        if ("gid".equals(epcType)) {
+            p = Pattern.compile("((0|[1-9][0-9]*)\\.){2}(0|[1-9][0-9]*)");
+        } else if ("sgtin".equals(epcType) || "sgln".equals(epcType) || "grai".equals(epcType)) {
+            p = Pattern.compile("([0-9]+\\.){2}([0-9]|[A-Z]|[a-z]|[\\!\\(\\)\\*\\+\\-',:;=_]|(%(([0-9]|[A-F])|[a-f]){2}))+");
+        } else if ("sscc".equals(epcType)) {
+            p = Pattern.compile("[0-9]+\\.[0-9]+");
+        } else if ("giai".equals(epcType)) {
+            p = Pattern.compile("[0-9]+\\.([0-9]|[A-Z]|[a-z]|[\\!\\(\\)\\*\\+\\-',:;=_]|(%(([0-9]|[A-F])|[a-f]){2}))+");
+        } else {
+            return false;
+        }
+        if (!p.matcher(uri).matches()) {
+            return false;
+        }
+
+        // check the number of digits for the different EPC types
+        int count1 = uri.indexOf(".");
+        if ("sgtin".equals(epcType)) {
+            int count2 = uri.indexOf(".", count1 + 1) - (count1 + 1);
+            return count1 + count2 <= 13;
+        } else if ("sgln".equals(epcType) || "grai".equals(epcType)) {
+            int count2 = uri.indexOf(".", count1 + 1) - (count1 + 1);
+            return count1 + count2 <= 12;
+        } else if ("sscc".equals(epcType)) {
+            int count2 = uri.length() - (count1 + 1);
+            return count1 + count2 <= 17;
+        } else if ("giai".equals(epcType)) {
+            int count2 = uri.length() - (count1 + 1);
+            return count1 + count2 <= 30;
+        }
+        return true;
+    }
+}
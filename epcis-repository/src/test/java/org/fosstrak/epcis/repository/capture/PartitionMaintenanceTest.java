@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the computation of the monthly partitions of the event tables.
+ */
+public class PartitionMaintenanceTest extends TestCase {
+
+    public void testPartitionsFromStartUpToMonthsAhead() {
+        Map<String, Long> months = PartitionMaintenance.getMonthlyPartitions(utc(2007, 11, 20, 13),
+                utc(2008, 1, 31, 23), 2);
+        assertEquals(Arrays.asList("p200711", "p200712", "p200801", "p200802", "p200803"), new ArrayList<String>(
+                months.keySet()));
+        assertEquals(utc(2007, 12, 1, 0), months.get("p200711").longValue());
+        assertEquals(utc(2008, 3, 1, 0), months.get("p200802").longValue());
+        assertEquals(utc(2008, 4, 1, 0), months.get("p200803").longValue());
+    }
+
+    public void testPartitionsAfterLastBound() {
+        // the last partition ends with April, one month ahead is required
+        Map<String, Long> months = PartitionMaintenance.getMonthlyPartitions(utc(2008, 5, 1, 0), utc(2008, 4, 10, 8),
+                1);
+        assertEquals(Arrays.asList("p200805"), new ArrayList<String>(months.keySet()));
+        assertEquals(utc(2008, 6, 1, 0), months.get("p200805").longValue());
+
+        months = PartitionMaintenance.getMonthlyPartitions(utc(2008, 6, 1, 0), utc(2008, 4, 10, 8), 1);
+        assertTrue(months.isEmpty());
+    }
+
+    public void testStartAfterLastPartition() {
+        long now = utc(2008, 4, 10, 8);
+        List<String[]> partitions = new ArrayList<String[]>();
+        partitions.add(new String[] { "p_start", "0", "eventTimeMs" });
+        partitions.add(new String[] { "p_future", "MAXVALUE", "eventTimeMs" });
+        // no partition holds the past events: start with the current month
+        assertEquals(now, PartitionMaintenance.getStart(partitions, now));
+
+        partitions.add(1, new String[] { "p_history", String.valueOf(utc(2008, 4, 1, 0)), "eventTimeMs" });
+        assertEquals(utc(2008, 4, 1, 0), PartitionMaintenance.getStart(partitions, now));
+        partitions.add(2, new String[] { "p200804", String.valueOf(utc(2008, 5, 1, 0)), "eventTimeMs" });
+        assertEquals(utc(2008, 5, 1, 0), PartitionMaintenance.getStart(partitions, now));
+    }
+
+    private static long utc(int year, int month, int day, int hour) {
+        Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        cal.clear();
+        cal.set(year, month - 1, day, hour, 0, 0);
+        return cal.getTimeInMillis();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the parsing and the precedence of the event retention rules.
+ */
+public class RetentionPolicyTest extends TestCase {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private static final String RECEIVING = "urn:epcglobal:cbv:bizstep:receiving";
+    private static final String SHIPPING = "urn:epcglobal:cbv:bizstep:shipping";
+
+    public void testMostSpecificRuleApplies() {
+        RetentionPolicy policy = RetentionPolicy.parse("*=730, ObjectEvent=365, *:" + RECEIVING + "=90, ObjectEvent:"
+                + SHIPPING + "=forever");
+        assertEquals(365 * DAY, policy.getRetention("ObjectEvent", null));
+        assertEquals(365 * DAY, policy.getRetention("ObjectEvent", "urn:epcglobal:cbv:bizstep:picking"));
+        assertEquals(90 * DAY, policy.getRetention("ObjectEvent", RECEIVING));
+        assertEquals(RetentionPolicy.KEEP, policy.getRetention("ObjectEvent", SHIPPING));
+        assertEquals(730 * DAY, policy.getRetention("QuantityEvent", SHIPPING));
+        assertEquals(90 * DAY, policy.getRetention("QuantityEvent", RECEIVING));
+
+        Map<String, Long> bizSteps = policy.getBizStepRetentions("ObjectEvent");
+        assertEquals(2, bizSteps.size());
+        assertEquals(90 * DAY, bizSteps.get(RECEIVING).longValue());
+        assertEquals(RetentionPolicy.KEEP, bizSteps.get(SHIPPING).longValue());
+        assertEquals(1, policy.getBizStepRetentions("AggregationEvent").size());
+    }
+
+    public void testEventsWithoutRuleAreKept() {
+        RetentionPolicy policy = RetentionPolicy.parse("ObjectEvent:" + RECEIVING + "=30");
+        assertTrue(policy.appliesTo("ObjectEvent"));
+        assertFalse(policy.appliesTo("TransactionEvent"));
+        assertEquals(RetentionPolicy.KEEP, policy.getDefaultRetention("ObjectEvent"));
+        assertEquals(30 * DAY, policy.getRetention("ObjectEvent", RECEIVING));
+        assertEquals("ObjectEvent:" + RECEIVING + "=30", policy.toString());
+
+        assertTrue(RetentionPolicy.parse(null).isEmpty());
+        assertTrue(RetentionPolicy.parse(" ").isEmpty());
+    }
+
+    public void testMalformedRules() {
+        String[] malformed = { "ObjectEvent", "ObjectEvent=-1", "ObjectEvent=a year", "=30", "ObjectEvent:=30" };
+        for (String rule : malformed) {
+            try {
+                RetentionPolicy.parse(rule);
+                fail(rule);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
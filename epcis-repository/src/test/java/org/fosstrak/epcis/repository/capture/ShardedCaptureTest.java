@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.InternalBusinessException;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests how the ShardedCapture splits capture requests and routes their
+ * events to the shards.
+ */
+public class ShardedCaptureTest extends TestCase {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<epcis:EPCISDocument xmlns:epcis=\"urn:epcglobal:epcis:xsd:1\" xmlns:x=\"http://example.com/x\""
+            + " schemaVersion=\"1.0\" creationDate=\"2008-03-16T22:13:16.397+01:00\">\n  <EPCISBody>\n"
+            + "    <EventList>\n";
+
+    private static final String FOOTER = "    </EventList>\n  </EPCISBody>\n</epcis:EPCISDocument>\n";
+
+    private static final String[] EPCS = { "urn:epc:id:sgtin:0614141.107346.2017",
+            "urn:epc:id:sgtin:0614141.107346.2018", "urn:epc:id:sgtin:0614141.107346.2019",
+            "urn:epc:id:sgtin:0614141.107346.2020", "urn:epc:id:sgtin:0614141.107346.2021" };
+
+    public void testEventsGoToTheShardOfTheirKey() throws Exception {
+        String parent = "urn:epc:id:sscc:0614141.1234567890";
+        String doc = HEADER + objectEvent(EPCS[0]) + objectEvent(EPCS[1]) + aggregationEvent(parent, EPCS[0])
+                + objectEvent(EPCS[0]) + FOOTER;
+        ShardedCapture.Parts parts = split(doc, 3);
+
+        int shard0 = ShardedCapture.getShard(EPCS[0], 3);
+        int shard1 = ShardedCapture.getShard(EPCS[1], 3);
+        int shardParent = ShardedCapture.getShard(parent, 3);
+        int[] expected = new int[3];
+        expected[shard0] += 2;
+        expected[shard1]++;
+        expected[shardParent]++;
+        int total = 0;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i], parts.eventCounts[i]);
+            if (expected[i] == 0) {
+                assertNull(parts.documents[i]);
+                continue;
+            }
+            String part = read(parts.documents[i]);
+            assertEquals(expected[i], count(part, "Event>") / 2);
+            assertTrue(part.contains("EPCISBody"));
+            assertTrue(part.contains("schemaVersion=\"1.0\""));
+            total += parts.eventCounts[i];
+        }
+        assertEquals(4, total);
+        String part = read(parts.documents[shard0]);
+        assertTrue(part.contains(EPCS[0]));
+        assertFalse(shard0 != shard1 && part.contains(EPCS[1]));
+        parts.delete();
+        for (int i = 0; i < 3; i++) {
+            assertFalse(parts.documents[i] != null && parts.documents[i].exists());
+        }
+    }
+
+    public void testExtensionFieldsDoNotChooseTheShard() throws Exception {
+        String event = "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>" + EPCS[2] + "</epc>\n        </epcList>\n        <action>OBSERVE</action>\n"
+                + "        <x:parentID>" + EPCS[3] + "</x:parentID>\n      </ObjectEvent>\n";
+        ShardedCapture.Parts parts = split(HEADER + event + FOOTER, 4);
+        assertEquals(1, parts.eventCounts[ShardedCapture.getShard(EPCS[2], 4)]);
+        String part = read(parts.documents[ShardedCapture.getShard(EPCS[2], 4)]);
+        assertTrue(part.contains("xmlns:x=\"http://example.com/x\""));
+        assertTrue(part.contains(EPCS[3]));
+        parts.delete();
+    }
+
+    public void testEventsWithoutKeyGoToTheFirstShard() throws Exception {
+        String event = "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList/>\n"
+                + "        <action>OBSERVE</action>\n      </ObjectEvent>\n";
+        ShardedCapture.Parts parts = split(HEADER + event + FOOTER, 2);
+        assertEquals(1, parts.eventCounts[0]);
+        assertNull(parts.documents[1]);
+        assertEquals(0, ShardedCapture.getShard(null, 2));
+        parts.delete();
+    }
+
+    public void testMasterDataGoesToAllShards() throws Exception {
+        String doc = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<epcismd:EPCISMasterDataDocument xmlns:epcismd=\"urn:epcglobal:epcis-masterdata:xsd:1\">"
+                + "<EPCISBody><VocabularyList/></EPCISBody></epcismd:EPCISMasterDataDocument>";
+        ShardedCapture.Parts parts = split(doc, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(parts.document, parts.documents[i]);
+        }
+        // the document itself is not deleted with its parts
+        parts.delete();
+        assertTrue(parts.document.exists());
+    }
+
+    public void testVocabularyGoesToAllShards() throws Exception {
+        String epc0 = epcOnShard(0);
+        String epc1 = epcOnShard(1);
+        String shipping = "urn:epcglobal:cbv:bizstep:shipping";
+        String receiving = "urn:epcglobal:cbv:bizstep:receiving";
+        String readPoint = "urn:epc:id:sgln:0614141.00777.0";
+        String po = "urn:epcglobal:cbv:bt:0614141073467:1152";
+        String doc = HEADER + objectEvent(epc0, shipping, readPoint, null) + objectEvent(epc1, receiving, readPoint, po)
+                + FOOTER;
+        ShardedCapture.Parts parts = split(doc, 3);
+
+        // each shard is sent the elements used by the events of the others
+        String vocabulary0 = read(parts.vocabularies[0]);
+        assertTrue(vocabulary0.contains("EPCISMasterDataDocument"));
+        assertTrue(vocabulary0.contains("schemaVersion=\"1.0\""));
+        assertTrue(vocabulary0.contains("creationDate=\"2008-03-16T22:13:16.397+01:00\""));
+        assertTrue(vocabulary0.contains(receiving));
+        assertTrue(vocabulary0.contains(po));
+        assertTrue(vocabulary0.contains("urn:epcglobal:cbv:btt:po"));
+        assertFalse(vocabulary0.contains(shipping));
+        assertFalse(vocabulary0.contains(readPoint));
+        String vocabulary1 = read(parts.vocabularies[1]);
+        assertTrue(vocabulary1.contains(shipping));
+        assertFalse(vocabulary1.contains(receiving));
+        assertFalse(vocabulary1.contains(po));
+        // a shard without events is sent all of them
+        assertNull(parts.documents[2]);
+        String vocabulary2 = read(parts.vocabularies[2]);
+        assertTrue(vocabulary2.contains(shipping));
+        assertTrue(vocabulary2.contains(receiving));
+        assertTrue(vocabulary2.contains(readPoint));
+        assertEquals(1, count(vocabulary2, "type=\"" + EpcisConstants.BUSINESS_STEP_ID + "\""));
+        assertEquals(1, count(vocabulary2, readPoint));
+
+        // the vocabulary is valid master data and stored before the events
+        CaptureOperationsModule validator = new CaptureOperationsModule();
+        validator.setEpcisMasterdataSchemaFile("/wsdl/EPCglobal-epcis-masterdata-1_0.xsd");
+        for (int i = 0; i < 3; i++) {
+            InputStream in = new FileInputStream(parts.vocabularies[i]);
+            try {
+                validator.validate(in);
+            } finally {
+                in.close();
+            }
+        }
+        parts.delete();
+        for (int i = 0; i < 3; i++) {
+            assertFalse(parts.vocabularies[i].exists());
+        }
+
+        List<String> captured = new ArrayList<String>();
+        List<CaptureOperationsModule> shards = new ArrayList<CaptureOperationsModule>();
+        shards.add(new FakeShard(captured, false));
+        shards.add(new FakeShard(captured, false));
+        ShardedCapture capture = new ShardedCapture(new CaptureOperationsModule(), shards);
+        capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+        assertEquals(4, captured.size());
+        assertTrue(captured.get(0).contains(receiving) && captured.get(0).contains("EPCISMasterDataDocument"));
+        assertTrue(captured.get(1).contains(epc0));
+        assertTrue(captured.get(2).contains(shipping) && captured.get(2).contains("EPCISMasterDataDocument"));
+        assertTrue(captured.get(3).contains(epc1));
+
+        // a shard using all the vocabulary itself is sent none
+        captured.clear();
+        doc = HEADER + objectEvent(epc0, shipping, readPoint, null) + FOOTER;
+        capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+        assertEquals(2, captured.size());
+        assertTrue(captured.get(0).contains(epc0));
+        assertTrue(captured.get(1).contains(shipping) && captured.get(1).contains("EPCISMasterDataDocument"));
+    }
+
+    public void testFailureAfterCommitIsPartial() throws Exception {
+        List<String> captured = new ArrayList<String>();
+        List<CaptureOperationsModule> shards = new ArrayList<CaptureOperationsModule>();
+        shards.add(new FakeShard(captured, false));
+        shards.add(new FakeShard(captured, true));
+        ShardedCapture capture = new ShardedCapture(new CaptureOperationsModule(), shards);
+
+        // find EPCs stored on either shard
+        String epc0 = epcOnShard(0);
+        String epc1 = epcOnShard(1);
+
+        String doc = HEADER + objectEvent(epc0) + objectEvent(epc0) + FOOTER;
+        capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+        assertEquals(1, captured.size());
+
+        doc = HEADER + objectEvent(epc1) + FOOTER;
+        try {
+            capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+            fail("shard 1 must fail");
+        } catch (InternalBusinessException e) {
+            // nothing committed yet
+        }
+
+        doc = HEADER + objectEvent(epc0) + objectEvent(epc1) + objectEvent(epc0) + FOOTER;
+        try {
+            capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null);
+            fail("shard 1 must fail");
+        } catch (PartialCaptureException e) {
+            assertEquals(2, e.getCommittedEventCount());
+            assertEquals(1, e.getCommittedShardCount());
+            assertTrue(e.getCause() instanceof InternalBusinessException);
+        }
+
+        // a retry skips the shard which has stored its part
+        captured.clear();
+        try {
+            capture.doCapture(new ByteArrayInputStream(doc.getBytes("UTF-8")), null, 1);
+            fail("shard 1 must fail");
+        } catch (InternalBusinessException e) {
+            assertTrue(captured.isEmpty());
+        }
+    }
+
+    /**
+     * Splits the given document, which is written to a temporary file deleted
+     * on exit.
+     */
+    private static ShardedCapture.Parts split(String doc, int shardCount) throws Exception {
+        File file = File.createTempFile("epcis-test", ".xml");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(doc.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return ShardedCapture.split(file, shardCount);
+    }
+
+    /**
+     * @return An EPC stored on the given shard of two (and of three).
+     */
+    private static String epcOnShard(int shard) {
+        for (int i = 0;; i++) {
+            String epc = "urn:epc:id:sgtin:0614141.107346." + i;
+            if (ShardedCapture.getShard(epc, 2) == shard && ShardedCapture.getShard(epc, 3) == shard) {
+                return epc;
+            }
+        }
+    }
+
+    private static String read(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String objectEvent(String epc) {
+        return "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>" + epc + "</epc>\n        </epcList>\n        <action>OBSERVE</action>\n"
+                + "      </ObjectEvent>\n";
+    }
+
+    private static String objectEvent(String epc, String bizStep, String readPoint, String bizTransaction) {
+        return "      <ObjectEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n        <epcList>\n"
+                + "          <epc>" + epc + "</epc>\n        </epcList>\n        <action>OBSERVE</action>\n"
+                + "        <bizStep>" + bizStep + "</bizStep>\n"
+                + "        <readPoint>\n          <id>" + readPoint + "</id>\n        </readPoint>\n"
+                + (bizTransaction == null ? "" : "        <bizTransactionList>\n"
+                        + "          <bizTransaction type=\"urn:epcglobal:cbv:btt:po\">" + bizTransaction
+                        + "</bizTransaction>\n        </bizTransactionList>\n") + "      </ObjectEvent>\n";
+    }
+
+    private static String aggregationEvent(String parentId, String epc) {
+        return "      <AggregationEvent>\n        <eventTime>2008-03-16T22:13:16.397+01:00</eventTime>\n"
+                + "        <eventTimeZoneOffset>+01:00</eventTimeZoneOffset>\n"
+                + "        <parentID>" + parentId + "</parentID>\n        <childEPCs>\n"
+                + "          <epc>" + epc + "</epc>\n        </childEPCs>\n        <action>ADD</action>\n"
+                + "      </AggregationEvent>\n";
+    }
+
+    private static int count(String s, String sub) {
+        int count = 0;
+        for (int i = s.indexOf(sub); i >= 0; i = s.indexOf(sub, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * A shard which records the documents it captured instead of storing them.
+     */
+    private static class FakeShard extends CaptureOperationsModule {
+        private final List<String> captured;
+        private final boolean failing;
+
+        FakeShard(List<String> captured, boolean failing) {
+            this.captured = captured;
+            this.failing = failing;
+        }
+
+        void doCaptureInOneTransaction(InputStream in, Principal principal) throws SAXException,
+                InternalBusinessException {
+            if (failing) {
+                throw new InternalBusinessException("shard unavailable");
+            }
+            try {
+                byte[] buf = new byte[in.available()];
+                in.read(buf);
+                captured.add(new String(buf, "UTF-8"));
+            } catch (IOException e) {
+                throw new InternalBusinessException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.capture;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.TestDatabase;
+import org.hibernate.Transaction;
+
+/**
+ * Tests that the VocabularyCache publishes the updates of a transaction only
+ * once it has been committed, and in the order they were made. The
+ * transactions run on an embedded H2 database.
+ */
+public class VocabularyCacheTest extends TestCase {
+
+    private static final String TYPE = "urn:epcglobal:epcis:vtype:BusinessLocation";
+    private static final String SITE = "urn:epc:id:sgln:0614141.00777.0";
+    private static final String ROOM = SITE + ",room1";
+
+    private VocabularyCache cache = new VocabularyCache(100);
+
+    private TestDatabase db;
+
+    private Connection connection;
+
+    protected void setUp() throws Exception {
+        db = new TestDatabase("CREATE TABLE voc_BizLoc (id bigint PRIMARY KEY auto_increment,"
+                + " uri varchar(1023) NOT NULL)");
+        connection = db.connect();
+    }
+
+    protected void tearDown() throws Exception {
+        connection.close();
+    }
+
+    public void testUpdatesPublishedOnCommit() throws Exception {
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        Long id = insert(SITE);
+        cache.put(tx, TYPE, SITE, id);
+        assertNull(cache.get(TYPE, SITE));
+        assertEquals(Long.valueOf(0), db.queryForLong("SELECT COUNT(*) FROM voc_BizLoc"));
+        tx.commit();
+        assertEquals(id, cache.get(TYPE, SITE));
+        assertEquals(id, db.queryForLong("SELECT id FROM voc_BizLoc WHERE uri='" + SITE + "'"));
+    }
+
+    public void testUpdatesDiscardedOnRollback() throws Exception {
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        cache.put(tx, TYPE, SITE, insert(SITE));
+        tx.rollback();
+        assertNull(cache.get(TYPE, SITE));
+        assertEquals(Long.valueOf(0), db.queryForLong("SELECT COUNT(*) FROM voc_BizLoc"));
+    }
+
+    public void testRemovalAfterPutWins() throws Exception {
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        cache.put(tx, TYPE, SITE, insert(SITE));
+        cache.put(tx, TYPE, ROOM, insert(ROOM));
+        cache.remove(tx, TYPE, SITE, true);
+        tx.commit();
+        assertNull(cache.get(TYPE, SITE));
+        assertNull(cache.get(TYPE, ROOM));
+    }
+
+    public void testPutAfterRemovalWins() throws Exception {
+        cache.put(TYPE, SITE, Long.valueOf(1));
+        Transaction tx = TestDatabase.beginTransaction(connection);
+        cache.remove(tx, TYPE, SITE, false);
+        Long id = insert(SITE);
+        cache.put(tx, TYPE, SITE, id);
+        tx.commit();
+        assertEquals(id, cache.get(TYPE, SITE));
+    }
+
+    public void testLeastRecentlyUsedEvicted() {
+        VocabularyCache small = new VocabularyCache(2);
+        small.put(TYPE, SITE, Long.valueOf(1));
+        small.put(TYPE, ROOM, Long.valueOf(2));
+        // the site is used again, thus the room goes first
+        assertEquals(Long.valueOf(1), small.get(TYPE, SITE));
+        small.put(TYPE, SITE + ",room2", Long.valueOf(3));
+        assertEquals(2, small.size(TYPE));
+        assertEquals(Long.valueOf(1), small.get(TYPE, SITE));
+        assertNull(small.get(TYPE, ROOM));
+        assertNull(small.get(TYPE, null));
+    }
+
+    public void testRemovalsTrackedPerTransaction() throws Exception {
+        // tracked even if the cache is disabled
+        VocabularyCache disabled = new VocabularyCache(0);
+        Connection otherConnection = db.connect();
+        try {
+            Transaction tx = TestDatabase.beginTransaction(connection);
+            Transaction other = TestDatabase.beginTransaction(otherConnection);
+            disabled.remove(tx, TYPE, SITE, true);
+            assertTrue(disabled.isRemoved(tx, TYPE, SITE));
+            assertTrue(disabled.isRemoved(tx, TYPE, ROOM));
+            assertFalse(disabled.isRemoved(tx, TYPE, SITE + "1"));
+            assertFalse(disabled.isRemoved(other, TYPE, SITE));
+            tx.commit();
+            other.commit();
+            assertFalse(disabled.isRemoved(tx, TYPE, SITE));
+        } finally {
+            otherConnection.close();
+        }
+    }
+
+    /**
+     * Inserts the given vocabulary element in the current transaction.
+     * 
+     * @return Its ID.
+     */
+    private Long insert(String uri) throws Exception {
+        PreparedStatement ps = connection.prepareStatement("INSERT INTO voc_BizLoc (uri) VALUES (?)",
+                PreparedStatement.RETURN_GENERATED_KEYS);
+        try {
+            ps.setString(1, uri);
+            ps.executeUpdate();
+            ResultSet rs = ps.getGeneratedKeys();
+            rs.next();
+            return Long.valueOf(rs.getLong(1));
+        } finally {
+            ps.close();
+        }
+    }
+}
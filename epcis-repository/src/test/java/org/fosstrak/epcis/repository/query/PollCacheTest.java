@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.model.ArrayOfString;
+import org.fosstrak.epcis.model.QueryParam;
+import org.fosstrak.epcis.model.QueryParams;
+import org.fosstrak.epcis.model.QueryResults;
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.HighWaterMarks;
+
+/**
+ * Tests the PollCache class.
+ */
+public class PollCacheTest extends TestCase {
+
+    private static final String[] TYPES = { EpcisConstants.OBJECT_EVENT, EpcisConstants.READ_POINT_ID };
+
+    private HighWaterMarks highWaterMarks = new HighWaterMarks();
+
+    public void testKeyIgnoresParameterOrder() {
+        QueryParams params1 = new QueryParams();
+        params1.getParam().add(param("eventType", strings("ObjectEvent", "AggregationEvent")));
+        params1.getParam().add(param("MATCH_epc", strings("urn:epc:id:sgtin:0614141.107346.2017")));
+        QueryParams params2 = new QueryParams();
+        params2.getParam().add(param("MATCH_epc", strings("urn:epc:id:sgtin:0614141.107346.2017")));
+        params2.getParam().add(param("eventType", strings("AggregationEvent", "ObjectEvent")));
+        assertEquals(PollCache.createKey("SimpleEventQuery", params1), PollCache.createKey("SimpleEventQuery",
+                params2));
+
+        params2.getParam().add(param("eventCountLimit", Integer.valueOf(10)));
+        assertFalse(PollCache.createKey("SimpleEventQuery", params1).equals(
+                PollCache.createKey("SimpleEventQuery", params2)));
+    }
+
+    public void testKeyDistinguishesListValues() {
+        QueryParams params1 = new QueryParams();
+        params1.getParam().add(param("MATCH_epc", strings("a, b")));
+        QueryParams params2 = new QueryParams();
+        params2.getParam().add(param("MATCH_epc", strings("a", "b")));
+        QueryParams params3 = new QueryParams();
+        params3.getParam().add(param("MATCH_epc", "[a, b]"));
+        String key1 = PollCache.createKey("SimpleEventQuery", params1);
+        String key2 = PollCache.createKey("SimpleEventQuery", params2);
+        String key3 = PollCache.createKey("SimpleEventQuery", params3);
+        assertFalse(key1.equals(key2));
+        assertFalse(key1.equals(key3));
+        assertFalse(key2.equals(key3));
+    }
+
+    public void testEntriesInvalidatedByCapture() {
+        PollCache cache = new PollCache(10, highWaterMarks);
+        QueryResults results = new QueryResults();
+        cache.put("q", results, TYPES, cache.getMarks(TYPES));
+        assertSame(results, cache.get("q"));
+
+        // a capture of another event type does not affect the entry
+        highWaterMarks.increment(Arrays.asList(new String[] { EpcisConstants.TRANSACTION_EVENT }));
+        assertSame(results, cache.get("q"));
+
+        highWaterMarks.increment(Arrays.asList(new String[] { EpcisConstants.READ_POINT_ID }));
+        assertNull(cache.get("q"));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    public void testEntriesChangedDuringQueryNotReturned() {
+        PollCache cache = new PollCache(10, highWaterMarks);
+        // the marks are read before the query is run
+        long[] marks = cache.getMarks(TYPES);
+        highWaterMarks.increment(Arrays.asList(new String[] { EpcisConstants.OBJECT_EVENT }));
+        cache.put("q", new QueryResults(), TYPES, marks);
+        assertNull(cache.get("q"));
+    }
+
+    public void testLeastRecentlyUsedEntryEvicted() {
+        PollCache cache = new PollCache(2, highWaterMarks);
+        long[] marks = cache.getMarks(TYPES);
+        cache.put("q1", new QueryResults(), TYPES, marks);
+        cache.put("q2", new QueryResults(), TYPES, marks);
+        assertNotNull(cache.get("q1"));
+        cache.put("q3", new QueryResults(), TYPES, marks);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("q1"));
+        assertNull(cache.get("q2"));
+        assertNotNull(cache.get("q3"));
+    }
+
+    private static QueryParam param(String name, Object value) {
+        QueryParam param = new QueryParam();
+        param.setName(name);
+        param.setValue(value);
+        return param;
+    }
+
+    private static ArrayOfString strings(String... values) {
+        ArrayOfString strings = new ArrayOfString();
+        strings.getString().addAll(Arrays.asList(values));
+        return strings;
+    }
+}
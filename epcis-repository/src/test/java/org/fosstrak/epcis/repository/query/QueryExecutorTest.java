@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+
+package org.fosstrak.epcis.repository.query;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.EpcisConstants;
+
+/**
+ * Tests how the QueryOperationsModule runs the queries for the different event
+ * types on the workers of the QueryExecutor.
+ */
+public class QueryExecutorTest extends TestCase {
+
+    private QueryOperationsModule module;
+
+    /**
+     * The work done by the backend for an event query, before it returns the
+     * name of the thread it ran on as its only event.
+     */
+    private interface EventQuery {
+        void run(QueryOperationsSession session, SimpleEventQueryDTO seQuery) throws Exception;
+    }
+
+    protected void tearDown() {
+        if (module != null) {
+            module.destroy();
+        }
+    }
+
+    public void testWorkersBounded() throws Exception {
+        QueryExecutor executor = new QueryExecutor(1);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            Future<String> result = executor.submit(new Callable<String>() {
+                public String call() throws Exception {
+                    release.await();
+                    return Thread.currentThread().getName();
+                }
+            });
+            assertNotNull(result);
+            // the only worker is busy, so the caller has to run the task
+            assertNull(executor.submit(new Callable<String>() {
+                public String call() {
+                    return null;
+                }
+            }));
+            release.countDown();
+            assertTrue(result.get().startsWith("QueryExecutor-"));
+            assertEquals(1, executor.getSubmittedCount());
+            assertEquals(1, executor.getRejectedCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testQueriesRunInParallel() throws Exception {
+        final CountDownLatch firstDone = new CountDownLatch(1);
+        startModule(1, new EventQuery() {
+            public void run(QueryOperationsSession session, SimpleEventQueryDTO seQuery) throws Exception {
+                if (seQuery.getEventType().equals(EpcisConstants.OBJECT_EVENT)) {
+                    firstDone.countDown();
+                } else {
+                    // the worker runs while the caller runs the first query
+                    assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+                }
+            }
+        });
+        List<Object> threads = runQueries(EpcisConstants.OBJECT_EVENT, EpcisConstants.AGGREGATION_EVENT);
+        assertEquals(Thread.currentThread().getName(), threads.get(0));
+        assertTrue(((String) threads.get(1)).startsWith("QueryExecutor-"));
+    }
+
+    public void testCallerRunsQueriesWithoutWorker() throws Exception {
+        final CountDownLatch firstDone = new CountDownLatch(1);
+        startModule(1, new EventQuery() {
+            public void run(QueryOperationsSession session, SimpleEventQueryDTO seQuery) throws Exception {
+                if (seQuery.getEventType().equals(EpcisConstants.OBJECT_EVENT)) {
+                    firstDone.countDown();
+                } else if (seQuery.getEventType().equals(EpcisConstants.AGGREGATION_EVENT)) {
+                    // keep the only worker busy until all queries are submitted
+                    assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+                }
+            }
+        });
+        List<Object> threads = runQueries(EpcisConstants.OBJECT_EVENT, EpcisConstants.AGGREGATION_EVENT,
+                EpcisConstants.QUANTITY_EVENT);
+        assertEquals(Thread.currentThread().getName(), threads.get(0));
+        assertTrue(((String) threads.get(1)).startsWith("QueryExecutor-"));
+        assertEquals(Thread.currentThread().getName(), threads.get(2));
+    }
+
+    public void testFailureCancelsOtherQueries() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        startModule(1, new EventQuery() {
+            public void run(QueryOperationsSession session, SimpleEventQueryDTO seQuery) throws Exception {
+                if (seQuery.getEventType().equals(EpcisConstants.OBJECT_EVENT)) {
+                    assertTrue(started.await(10, TimeUnit.SECONDS));
+                    throw new SQLException("Table 'event_ObjectEvent' doesn't exist");
+                }
+                // a statement which blocks until it is cancelled
+                PreparedStatement stmt = session.prepareStatement("SELECT SLEEP(3600)");
+                started.countDown();
+                try {
+                    stmt.executeQuery();
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        }, cancelled);
+        try {
+            runQueries(EpcisConstants.OBJECT_EVENT, EpcisConstants.AGGREGATION_EVENT);
+            fail("SQLException expected");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("Table"));
+        }
+        // the statement of the worker has been cancelled
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertEquals(0, cancelled.getCount());
+    }
+
+    private void startModule(int workers, EventQuery eventQuery) {
+        startModule(workers, eventQuery, new CountDownLatch(1));
+    }
+
+    /**
+     * Starts a module whose backend runs the given event query on sessions
+     * whose statements block until they are cancelled, which counts down the
+     * given latch.
+     */
+    private void startModule(int workers, final EventQuery eventQuery, final CountDownLatch cancelled) {
+        module = new QueryOperationsModule();
+        module.setQueryWorkers(workers);
+        module.setBackend((QueryOperationsBackend) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { QueryOperationsBackend.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("openSession")) {
+                            return new QueryOperationsSession(connect(cancelled));
+                        } else if (name.equals("runSimpleEventQuery")) {
+                            eventQuery.run((QueryOperationsSession) args[0], (SimpleEventQueryDTO) args[1]);
+                            @SuppressWarnings("unchecked")
+                            List<Object> eventList = (List<Object>) args[2];
+                            eventList.add(Thread.currentThread().getName());
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                }));
+        module.init();
+    }
+
+    private List<Object> runQueries(String... eventTypes) throws Exception {
+        List<SimpleEventQueryDTO> eventQueries = new ArrayList<SimpleEventQueryDTO>();
+        for (String eventType : Arrays.asList(eventTypes)) {
+            eventQueries.add(new SimpleEventQueryDTO(eventType));
+        }
+        QueryOperationsSession session = new QueryOperationsSession(connect(new CountDownLatch(1)));
+        try {
+            List<Object> eventList = new ArrayList<Object>();
+            module.runSimpleEventQueries(session, null, eventQueries, eventList);
+            return eventList;
+        } finally {
+            session.close();
+        }
+    }
+
+    private Connection connect(final CountDownLatch cancelled) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement")) {
+                            return prepare(cancelled);
+                        } else if (name.equals("close")) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+
+    private PreparedStatement prepare(final CountDownLatch cancelled) {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        String name = method.getName();
+                        if (name.equals("executeQuery")) {
+                            if (!cancelled.await(10, TimeUnit.SECONDS)) {
+                                throw new SQLException("Not cancelled");
+                            }
+                            throw new SQLException("Query execution was interrupted");
+                        } else if (name.equals("cancel")) {
+                            cancelled.countDown();
+                            return null;
+                        } else if (name.equals("close")) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.bind.JAXBElement;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.model.BusinessTransactionType;
+import org.fosstrak.epcis.model.EPCISEventType;
+import org.fosstrak.epcis.model.ObjectEventType;
+import org.fosstrak.epcis.model.TransactionEventType;
+import org.fosstrak.epcis.repository.EpcisConstants;
+import org.fosstrak.epcis.repository.TestDatabase;
+import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.Operation;
+import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.OrderDirection;
+import org.fosstrak.epcis.soap.QueryTooLargeExceptionResponse;
+
+/**
+ * Tests the QueryOperationsBackendSQL class with simple event queries on
+ * ObjectEvents and TransactionEvents stored in an embedded H2 database.
+ */
+public class QueryOperationsBackendSQLTest extends TestCase {
+
+    private QueryOperationsBackendSQL backend = new QueryOperationsBackendSQL();
+
+    private TestDatabase db;
+
+    protected void tearDown() throws Exception {
+        // every statement must have been closed
+        assertEquals(0, db.getOpenStatements());
+    }
+
+    public void testEventQueryTextIndependentOfValues() throws Exception {
+        createEvents(10, 0);
+        SimpleEventQueryDTO seQuery = new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT);
+        seQuery.addEventQueryParam("action", Operation.EQ, Arrays.asList(new String[] { "ADD", "OBSERVE" }));
+        seQuery.addEventQueryParam("epcList", Operation.MATCH, Arrays.asList(new String[] { "urn:epc:id:sgtin:*" }));
+        seQuery.setLimit(5);
+        assertEquals(5, runQuery(seQuery).size());
+        String sql = db.getPreparedStatements().get(0);
+
+        seQuery = new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT);
+        seQuery.addEventQueryParam("action", Operation.EQ, Arrays.asList(new String[] { "DELETE", "OBSERVE" }));
+        seQuery.addEventQueryParam("epcList", Operation.MATCH, Arrays.asList(new String[] { "urn:epc:id:sgtin:0614141.*" }));
+        seQuery.setLimit(7);
+        db.getPreparedStatements().clear();
+        assertEquals(7, runQuery(seQuery).size());
+        assertEquals(sql, db.getPreparedStatements().get(0));
+    }
+
+    public void testChildrenFetchedInBatches() throws Exception {
+        createEvents(1000, 0);
+        List<Object> events = runQuery(new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT));
+        assertEquals(1000, events.size());
+        assertEvents(events);
+        // the events plus one query each for business transactions, EPCs and
+        // extensions
+        assertEquals(4, db.getExecutedQueries());
+    }
+
+    public void testChildrenFetchedInPaddedBatches() throws Exception {
+        createEvents(1001, 0);
+        List<Object> events = runQuery(new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT));
+        assertEquals(1001, events.size());
+        assertEvents(events);
+        assertEquals(7, db.getExecutedQueries());
+    }
+
+    public void testMaxEventCountCheckedBeforeEventsCreated() throws Exception {
+        createEvents(5000, 0);
+        SimpleEventQueryDTO seQuery = new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT);
+        seQuery.setMaxEventCount(10);
+        List<Object> events = new ArrayList<Object>();
+        try {
+            QueryOperationsSession session = new QueryOperationsSession(db.connect());
+            try {
+                backend.runSimpleEventQuery(session, seQuery, events);
+            } finally {
+                session.close();
+            }
+            fail("QueryTooLargeExceptionResponse expected");
+        } catch (QueryTooLargeExceptionResponse e) {
+            // expected
+        }
+        // only the limited event query, no children fetched
+        assertEquals(1, db.getExecutedQueries());
+        assertTrue(events.isEmpty());
+
+        seQuery.setMaxEventCount(5000);
+        events = runQuery(seQuery);
+        assertEquals(5000, events.size());
+        assertEvents(events);
+    }
+
+    public void testOrderedEventsMergedAscending() throws Exception {
+        createEvents(30, 30);
+        List<Object> events = runOrderedQueries(OrderDirection.ASC, 10);
+        assertEquals(10, events.size());
+        // the TransactionEvents happened half a second after the ObjectEvents
+        // with the same index
+        for (int i = 0; i < 10; i++) {
+            EPCISEventType event = (EPCISEventType) events.get(i);
+            long eventTime = event.getEventTime().toGregorianCalendar().getTimeInMillis();
+            assertEquals((i / 2 + 1) * 1000 + (i % 2) * 500, eventTime);
+            assertEquals(i % 2 == 0, event instanceof ObjectEventType);
+        }
+        // the events of both types plus their children
+        assertEquals(8, db.getExecutedQueries());
+    }
+
+    public void testOrderedEventsMergedDescending() throws Exception {
+        createEvents(30, 30);
+        List<Object> events = runOrderedQueries(null, 5);
+        assertEquals(5, events.size());
+        for (int i = 0; i < 5; i++) {
+            EPCISEventType event = (EPCISEventType) events.get(i);
+            long eventTime = event.getEventTime().toGregorianCalendar().getTimeInMillis();
+            assertEquals((30 - i / 2) * 1000 + ((i + 1) % 2) * 500, eventTime);
+            assertEquals(i % 2 == 0, event instanceof TransactionEventType);
+        }
+    }
+
+    public void testOrderedEventsOfOneTypeMergedByMilliseconds() throws Exception {
+        createEvents(30, 30);
+        // two ObjectEvents within the same second, the later one first
+        List<Object[]> events = new ArrayList<Object[]>();
+        events.add(new Object[] { Long.valueOf(61), new Timestamp(0), Long.valueOf(900) });
+        events.add(new Object[] { Long.valueOf(62), new Timestamp(0), Long.valueOf(100) });
+        db.insert("INSERT INTO event_ObjectEvent (id, eventTime, eventTimeMs, recordTime, recordTimeMs,"
+                + " eventTimeZoneOffset, action) VALUES (?1, ?2, ?3, ?2, ?3, '+01:00', 'OBSERVE')", events);
+        // each type is limited on its own, which must keep the earlier one
+        List<Object> merged = runOrderedQueries(OrderDirection.ASC, 1);
+        assertEquals(1, merged.size());
+        assertEquals(100, ((EPCISEventType) merged.get(0)).getEventTime().toGregorianCalendar().getTimeInMillis());
+        String sql = db.getPreparedStatements().get(0);
+        assertTrue(sql.contains(" ORDER BY eventTime ASC, eventTimeMs ASC"));
+    }
+
+    public void testEventTypesQueriedAsUnion() throws Exception {
+        createEvents(30, 30);
+        List<Object> events = new ArrayList<Object>();
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        try {
+            backend.runUnionSimpleEventQuery(session, orderedQueries(null, 5), events);
+        } finally {
+            session.close();
+        }
+        assertEquals(5, events.size());
+        for (int i = 0; i < 5; i++) {
+            EPCISEventType event = (EPCISEventType) events.get(i);
+            long eventTime = event.getEventTime().toGregorianCalendar().getTimeInMillis();
+            assertEquals((30 - i / 2) * 1000 + ((i + 1) % 2) * 500, eventTime);
+            assertEquals(i % 2 == 0, event instanceof TransactionEventType);
+        }
+        assertEquals(2, ((TransactionEventType) events.get(0)).getEpcList().getEpc().size());
+        // a single query for the events of both types plus their children
+        assertEquals(7, db.getExecutedQueries());
+        assertTrue(db.getPreparedStatements().get(0).contains(" UNION ALL "));
+    }
+
+    public void testUnionTiesBrokenByMilliseconds() throws Exception {
+        // the events of both types with the same index share their eventTime
+        createEvents(30, 30);
+        List<Object> events = new ArrayList<Object>();
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        try {
+            backend.runUnionSimpleEventQuery(session, orderedQueries(OrderDirection.ASC, 9), events);
+        } finally {
+            session.close();
+        }
+        assertEquals(9, events.size());
+        for (int i = 0; i < 9; i++) {
+            EPCISEventType event = (EPCISEventType) events.get(i);
+            long eventTime = event.getEventTime().toGregorianCalendar().getTimeInMillis();
+            assertEquals((i / 2 + 1) * 1000 + (i % 2) * 500, eventTime);
+            assertEquals(i % 2 == 0, event instanceof ObjectEventType);
+        }
+        // each part is limited on its own, followed by the limit of the union
+        String sql = db.getPreparedStatements().get(0);
+        assertEquals(3, sql.split(" LIMIT \\?", -1).length - 1);
+    }
+
+    public void testStatementsCancelledWithSession() throws Exception {
+        createEvents(100, 0);
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        try {
+            session.setTimeout(60000);
+            List<Object> events = new ArrayList<Object>();
+            backend.runSimpleEventQuery(session, new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT), events);
+            assertEquals(100, events.size());
+            assertEquals(60, db.getQueryTimeout());
+            assertFalse(session.isTimedOut());
+
+            session.cancel();
+            assertTrue(session.isTimedOut());
+            // the statements fetching the children are kept open by the
+            // session, the event query has been closed
+            assertEquals(3, db.getCancelledStatements());
+            try {
+                backend.runSimpleEventQuery(session, new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT), events);
+                fail("SQLException expected");
+            } catch (SQLException e) {
+                // expected
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    public void testPagesContinueAfterToken() throws Exception {
+        createEvents(30, 30);
+        List<Object> events = new ArrayList<Object>();
+        String token = null;
+        int pages = 0;
+        boolean morePages;
+        do {
+            // every page is requested by a new poll
+            List<SimpleEventQueryDTO> seQueries = new ArrayList<SimpleEventQueryDTO>();
+            seQueries.add(new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT));
+            seQueries.add(new SimpleEventQueryDTO(EpcisConstants.TRANSACTION_EVENT));
+            for (SimpleEventQueryDTO seQuery : seQueries) {
+                seQuery.setPageSize(7);
+            }
+            if (token != null) {
+                PageToken.decode(token, seQueries);
+            }
+            int queries = db.getExecutedQueries();
+            QueryOperationsSession session = new QueryOperationsSession(db.connect());
+            try {
+                morePages = backend.runOrderedSimpleEventQueries(session, seQueries, 7, events);
+            } finally {
+                session.close();
+            }
+            // the cost of a page does not depend on its position
+            assertEquals(8, db.getExecutedQueries() - queries);
+            token = PageToken.encode(seQueries);
+            pages++;
+        } while (morePages);
+        assertEquals(9, pages);
+        assertEquals(60, events.size());
+        for (int i = 0; i < 60; i++) {
+            EPCISEventType event = (EPCISEventType) events.get(i);
+            long eventTime = event.getEventTime().toGregorianCalendar().getTimeInMillis();
+            assertEquals((i / 2 + 1) * 1000 + (i % 2) * 500, eventTime);
+            assertEquals(i % 2 == 0, event instanceof ObjectEventType);
+        }
+    }
+
+    public void testEventsStreamedInBatches() throws Exception {
+        createEvents(2500, 0);
+        final List<Object> events = new ArrayList<Object>();
+        final int[] queriesBeforeEvent = new int[2501];
+        QueryEventHandler handler = new QueryEventHandler() {
+            public void handleEvent(Object event) {
+                events.add(event);
+                queriesBeforeEvent[events.size()] = db.getExecutedQueries();
+            }
+        };
+        streamQueries(new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT), handler);
+        assertEquals(2500, events.size());
+        assertEvents(events);
+        // the children of the first batch of events are fetched before the
+        // first event is passed on, those of the second batch not yet
+        assertEquals(4, queriesBeforeEvent[1]);
+        assertEquals(4, queriesBeforeEvent[1000]);
+        assertEquals(7, queriesBeforeEvent[1001]);
+        assertEquals(10, db.getExecutedQueries());
+        // the events are read through a forward-only cursor one batch at a
+        // time
+        assertEquals(0, db.getScrollableStatements());
+        assertEquals(1000, db.getFetchSize());
+    }
+
+    public void testMaxEventCountCheckedBeforeStreaming() throws Exception {
+        createEvents(100, 0);
+        SimpleEventQueryDTO seQuery = new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT);
+        seQuery.setMaxEventCount(99);
+        QueryEventHandler handler = new QueryEventHandler() {
+            public void handleEvent(Object event) {
+                fail("No event must be passed on if the query is too large");
+            }
+        };
+        try {
+            streamQueries(seQuery, handler);
+            fail("QueryTooLargeExceptionResponse expected");
+        } catch (QueryTooLargeExceptionResponse e) {
+            // expected
+        }
+        // only the bounded count of the events has been queried
+        assertEquals(1, db.getExecutedQueries());
+        assertTrue(db.getPreparedStatements().get(0).startsWith("SELECT COUNT(*) FROM ("));
+        assertEquals(0, db.getScrollableStatements());
+
+        seQuery.setMaxEventCount(100);
+        final List<Object> events = new ArrayList<Object>();
+        streamQueries(seQuery, new QueryEventHandler() {
+            public void handleEvent(Object event) {
+                events.add(event);
+            }
+        });
+        assertEquals(100, events.size());
+        assertEquals(0, db.getScrollableStatements());
+    }
+
+    private void streamQueries(SimpleEventQueryDTO seQuery, QueryEventHandler handler) throws Exception {
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        try {
+            backend.runSimpleEventQueries(session, Collections.singletonList(seQuery), handler);
+        } finally {
+            session.close();
+        }
+    }
+
+    private List<SimpleEventQueryDTO> orderedQueries(OrderDirection orderDirection, int limit) {
+        List<SimpleEventQueryDTO> seQueries = new ArrayList<SimpleEventQueryDTO>();
+        seQueries.add(new SimpleEventQueryDTO(EpcisConstants.OBJECT_EVENT));
+        seQueries.add(new SimpleEventQueryDTO(EpcisConstants.TRANSACTION_EVENT));
+        for (SimpleEventQueryDTO seQuery : seQueries) {
+            seQuery.setOrderBy("eventTime");
+            seQuery.setOrderDirection(orderDirection);
+            seQuery.setLimit(limit);
+        }
+        return seQueries;
+    }
+
+    private List<Object> runOrderedQueries(OrderDirection orderDirection, int limit) throws Exception {
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        List<Object> events = new ArrayList<Object>();
+        try {
+            backend.runOrderedSimpleEventQueries(session, orderedQueries(orderDirection, limit), limit, events);
+        } finally {
+            session.close();
+        }
+        return events;
+    }
+
+    private List<Object> runQuery(SimpleEventQueryDTO seQuery) throws Exception {
+        QueryOperationsSession session = new QueryOperationsSession(db.connect());
+        List<Object> events = new ArrayList<Object>();
+        try {
+            backend.runSimpleEventQuery(session, seQuery, events);
+        } finally {
+            session.close();
+        }
+        return events;
+    }
+
+    private void assertEvents(List<Object> events) {
+        for (int i = 0; i < events.size(); i++) {
+            long id = i + 1;
+            ObjectEventType event = (ObjectEventType) events.get(i);
+            assertEquals("urn:epc:id:sgln:0614141.00777." + id, event.getReadPoint().getId());
+            assertEquals(2, event.getEpcList().getEpc().size());
+            assertEquals("urn:epc:id:sgtin:0614141.107346." + id + "0", event.getEpcList().getEpc().get(0).getValue());
+            assertEquals("urn:epc:id:sgtin:0614141.107346." + id + "1", event.getEpcList().getEpc().get(1).getValue());
+            if (id % 2 == 0) {
+                assertEquals(1, event.getBizTransactionList().getBizTransaction().size());
+                BusinessTransactionType bizTrans = event.getBizTransactionList().getBizTransaction().get(0);
+                assertEquals("urn:epcglobal:cbv:bt:0614141073467:" + id, bizTrans.getValue());
+            } else {
+                assertNull(event.getBizTransactionList());
+            }
+            if (id % 3 == 0) {
+                assertEquals(1, event.getAny().size());
+                assertEquals(String.valueOf(id), ((JAXBElement<?>) event.getAny().get(0)).getValue());
+            } else {
+                assertTrue(event.getAny().isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Creates a database holding the given number of ObjectEvents with IDs
+     * starting at 1, followed by the given number of TransactionEvents. The
+     * n-th ObjectEvent happened at n seconds, the n-th TransactionEvent half a
+     * second later (which the eventTime column rounds down, like MySQL's
+     * timestamp does). Each event has two EPCs, every second event has a
+     * business transaction, and every third event has an extension field.
+     */
+    private void createEvents(int eventCount, int transactionEventCount) throws Exception {
+        List<String> ddl = new ArrayList<String>();
+        for (String vocabulary : new String[] { "BizStep", "Disposition", "ReadPoint", "BizLoc", "BizTrans",
+                "BizTransType" }) {
+            ddl.add("CREATE TABLE voc_" + vocabulary + " (id bigint PRIMARY KEY, uri varchar(1023) NOT NULL)");
+        }
+        ddl.add("CREATE TABLE BizTransaction (id bigint PRIMARY KEY, bizTrans bigint NOT NULL, type bigint)");
+        for (String eventType : new String[] { EpcisConstants.OBJECT_EVENT, EpcisConstants.TRANSACTION_EVENT }) {
+            String table = "event_" + eventType;
+            ddl.add("CREATE TABLE " + table + " (id bigint PRIMARY KEY, eventTime timestamp NOT NULL,"
+                    + " eventTimeMs bigint NOT NULL, recordTime timestamp NOT NULL, recordTimeMs bigint NOT NULL,"
+                    + " eventTimeZoneOffset varchar(8) NOT NULL, parentID varchar(1023), action varchar(8) NOT NULL,"
+                    + " bizStep bigint, disposition bigint, readPoint bigint, bizLocation bigint)");
+            ddl.add("CREATE TABLE " + table + "_EPCs (event_id bigint NOT NULL, epc varchar(1023) NOT NULL,"
+                    + " idx int NOT NULL)");
+            ddl.add("CREATE TABLE " + table + "_bizTrans (event_id bigint NOT NULL, bizTrans_id bigint NOT NULL,"
+                    + " idx int NOT NULL)");
+            ddl.add("CREATE TABLE " + table + "_extensions (id bigint PRIMARY KEY auto_increment,"
+                    + " event_id bigint NOT NULL, fieldname varchar(128) NOT NULL, prefix varchar(32) NOT NULL,"
+                    + " intValue integer, floatValue float, dateValue timestamp NULL, strValue varchar(1024))");
+        }
+        db = new TestDatabase(ddl.toArray(new String[ddl.size()]));
+        db.execute("INSERT INTO voc_BizTransType VALUES (1, 'urn:epcglobal:cbv:btt:po')");
+        insertEvents(EpcisConstants.OBJECT_EVENT, 1, eventCount, 0);
+        insertEvents(EpcisConstants.TRANSACTION_EVENT, eventCount + 1, transactionEventCount, 500);
+    }
+
+    private void insertEvents(String eventType, long firstId, int count, long offsetMs) throws Exception {
+        String table = "event_" + eventType;
+        List<Object[]> events = new ArrayList<Object[]>();
+        List<Object[]> readPoints = new ArrayList<Object[]>();
+        List<Object[]> epcs = new ArrayList<Object[]>();
+        List<Object[]> bizTransactions = new ArrayList<Object[]>();
+        List<Object[]> extensions = new ArrayList<Object[]>();
+        for (long n = 1; n <= count; n++) {
+            Long id = Long.valueOf(firstId + n - 1);
+            long eventTimeMs = n * 1000 + offsetMs;
+            boolean transactionEvent = eventType.equals(EpcisConstants.TRANSACTION_EVENT);
+            events.add(new Object[] { id, new Timestamp(n * 1000), Long.valueOf(eventTimeMs),
+                    new Timestamp(n * 1000), Long.valueOf(eventTimeMs + 1), "+01:00",
+                    transactionEvent ? "urn:epc:id:sscc:0614141.1234567890" : null, transactionEvent ? "ADD" : "OBSERVE",
+                    id });
+            readPoints.add(new Object[] { id, "urn:epc:id:sgln:0614141.00777." + id });
+            epcs.add(new Object[] { id, "urn:epc:id:sgtin:0614141.107346." + id + "0", Integer.valueOf(0) });
+            epcs.add(new Object[] { id, "urn:epc:id:sgtin:0614141.107346." + id + "1", Integer.valueOf(1) });
+            if (id.longValue() % 2 == 0) {
+                bizTransactions.add(new Object[] { id });
+            }
+            if (id.longValue() % 3 == 0) {
+                extensions.add(new Object[] { id, String.valueOf(id) });
+            }
+        }
+        db.insert("INSERT INTO " + table + " (id, eventTime, eventTimeMs, recordTime, recordTimeMs,"
+                + " eventTimeZoneOffset, parentID, action, readPoint) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", events);
+        db.insert("INSERT INTO voc_ReadPoint VALUES (?, ?)", readPoints);
+        db.insert("INSERT INTO " + table + "_EPCs VALUES (?, ?, ?)", epcs);
+        db.insert("INSERT INTO voc_BizTrans SELECT ?1, CONCAT('urn:epcglobal:cbv:bt:0614141073467:', ?1)",
+                bizTransactions);
+        db.insert("INSERT INTO BizTransaction VALUES (?1, ?1, 1)", bizTransactions);
+        db.insert("INSERT INTO " + table + "_bizTrans VALUES (?1, ?1, 0)", bizTransactions);
+        db.insert("INSERT INTO " + table + "_extensions (event_id, fieldname, prefix, strValue)"
+                + " VALUES (?, 'http://www.example.com/epcis#field', 'ex', ?)", extensions);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.datatype.DatatypeFactory;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.model.EPCISEventType;
+import org.fosstrak.epcis.model.ObjectEventType;
+import org.fosstrak.epcis.model.QuantityEventType;
+import org.fosstrak.epcis.repository.query.SimpleEventQueryDTO.OrderDirection;
+import org.fosstrak.epcis.soap.QueryTooLargeExceptionResponse;
+
+/**
+ * Tests how the QueryOperationsModule merges the events returned by the shards
+ * of a sharded repository.
+ */
+public class QueryOperationsModuleTest extends TestCase {
+
+    private DatatypeFactory datatypeFactory;
+
+    protected void setUp() throws Exception {
+        datatypeFactory = DatatypeFactory.newInstance();
+    }
+
+    public void testMergeOrderedByEventTimeUpToLimit() throws Exception {
+        List<List<Object>> shardEvents = new ArrayList<List<Object>>();
+        shardEvents.add(events("10:00:00", "10:00:04", "10:00:05"));
+        shardEvents.add(events("10:00:01", "10:00:02", "10:00:06"));
+        shardEvents.add(events());
+
+        List<Object> merged = new ArrayList<Object>();
+        QueryOperationsModule.mergeShardEvents(shardEvents, "eventTime", OrderDirection.ASC, 4, -1, merged);
+        assertEquals(Arrays.asList("10:00:00", "10:00:01", "10:00:02", "10:00:04"), times(merged));
+
+        merged.clear();
+        QueryOperationsModule.mergeShardEvents(shardEvents, "eventTime", OrderDirection.DESC, 2, -1, merged);
+        assertEquals(Arrays.asList("10:00:06", "10:00:05"), times(merged));
+    }
+
+    public void testMergeOrderedByQuantity() throws Exception {
+        List<List<Object>> shardEvents = new ArrayList<List<Object>>();
+        shardEvents.add(Arrays.asList((Object) quantityEvent(5), quantityEvent(1)));
+        shardEvents.add(Arrays.asList((Object) quantityEvent(7), quantityEvent(3)));
+
+        List<Object> merged = new ArrayList<Object>();
+        QueryOperationsModule.mergeShardEvents(shardEvents, "quantity", null, 3, -1, merged);
+        assertEquals(3, merged.size());
+        assertEquals(7, ((QuantityEventType) merged.get(0)).getQuantity());
+        assertEquals(5, ((QuantityEventType) merged.get(1)).getQuantity());
+        assertEquals(3, ((QuantityEventType) merged.get(2)).getQuantity());
+    }
+
+    public void testMaxEventCountAppliesToAllShards() throws Exception {
+        List<List<Object>> shardEvents = new ArrayList<List<Object>>();
+        shardEvents.add(events("10:00:00", "10:00:01"));
+        shardEvents.add(events("10:00:02"));
+        shardEvents.get(1).add(quantityEvent(1));
+
+        List<Object> merged = new ArrayList<Object>();
+        QueryOperationsModule.mergeShardEvents(shardEvents, null, null, -1, 3, merged);
+        assertEquals(4, merged.size());
+        try {
+            QueryOperationsModule.mergeShardEvents(shardEvents, null, null, -1, 2, new ArrayList<Object>());
+            fail("the shards returned 3 ObjectEvents");
+        } catch (QueryTooLargeExceptionResponse e) {
+            // expected
+        }
+    }
+
+    private List<Object> events(String... times) {
+        List<Object> events = new ArrayList<Object>();
+        for (String time : times) {
+            ObjectEventType event = new ObjectEventType();
+            event.setEventTime(datatypeFactory.newXMLGregorianCalendar("2008-03-16T" + time + "Z"));
+            event.setRecordTime(datatypeFactory.newXMLGregorianCalendar("2008-03-17T10:00:00Z"));
+            events.add(event);
+        }
+        return events;
+    }
+
+    private QuantityEventType quantityEvent(int quantity) {
+        QuantityEventType event = new QuantityEventType();
+        event.setEventTime(datatypeFactory.newXMLGregorianCalendar("2008-03-16T10:00:00Z"));
+        event.setQuantity(quantity);
+        return event;
+    }
+
+    private static List<String> times(List<Object> events) {
+        List<String> times = new ArrayList<String>();
+        for (Object event : events) {
+            String time = ((EPCISEventType) event).getEventTime().toXMLFormat();
+            times.add(time.substring(11, 19));
+        }
+        return times;
+    }
+}
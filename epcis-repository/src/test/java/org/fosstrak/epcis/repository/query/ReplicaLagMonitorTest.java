@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2007 ETH Zurich
+ *
+ * This file is part of Fosstrak (www.fosstrak.org).
+ *
+ * Fosstrak is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License version 2.1, as published by the Free Software Foundation.
+ *
+ * Fosstrak is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with Fosstrak; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.fosstrak.epcis.repository.query;
+
+import junit.framework.TestCase;
+
+import org.fosstrak.epcis.repository.TestDatabase;
+
+/**
+ * Tests how the ReplicaLagMonitor follows the replica and routes polls. The
+ * primary and the replica are two H2 databases holding the heartbeat table;
+ * the test replicates the heartbeat row by copying it.
+ */
+public class ReplicaLagMonitorTest extends TestCase {
+
+    private static final long MAX_LAG = 60 * 60 * 1000L;
+
+    private static final long SAFETY_MARGIN = 1000;
+
+    private static final String HEARTBEAT_TABLE = "CREATE TABLE replica_heartbeat (id int PRIMARY KEY,"
+            + " timeMs bigint NOT NULL)";
+
+    private TestDatabase primary;
+    private TestDatabase replica;
+    private ReplicaLagMonitor monitor;
+
+    protected void setUp() throws Exception {
+        primary = new TestDatabase(HEARTBEAT_TABLE);
+        replica = new TestDatabase(HEARTBEAT_TABLE);
+        monitor = new ReplicaLagMonitor(primary.getDataSource(), replica.getDataSource(), MAX_LAG, SAFETY_MARGIN);
+    }
+
+    protected void tearDown() throws Exception {
+        assertEquals(0, primary.getOpenStatements());
+        assertEquals(0, replica.getOpenStatements());
+    }
+
+    public void testReplicaCatchingUp() throws Exception {
+        // nothing is known before the first heartbeat is replicated
+        assertEquals(Long.MAX_VALUE, monitor.getLag());
+        assertFalse(monitor.useReplica(null));
+
+        long before = System.currentTimeMillis();
+        monitor.check();
+        long heartbeat = getHeartbeat(primary);
+        assertTrue(heartbeat >= before);
+        assertEquals(0, monitor.getReplicatedTime());
+
+        // the replica receives the heartbeat
+        replicate();
+        monitor.check();
+        long replicated = monitor.getReplicatedTime();
+        assertEquals(heartbeat - SAFETY_MARGIN, replicated);
+        assertTrue(monitor.useReplica(null));
+        assertTrue(monitor.useReplica(Long.valueOf(replicated)));
+        // events recorded within the safety margin before the heartbeat may
+        // still be committed after it
+        assertFalse(monitor.useReplica(Long.valueOf(replicated + 1)));
+
+        // the replica falls behind: the replicated time stays while the
+        // primary's heartbeat row keeps being updated
+        monitor.check();
+        monitor.check();
+        assertEquals(replicated, monitor.getReplicatedTime());
+        assertTrue(getHeartbeat(primary) >= heartbeat);
+        assertEquals(Long.valueOf(1), primary.queryForLong("SELECT COUNT(*) FROM replica_heartbeat"));
+        assertEquals(2, monitor.getPrimaryPolls());
+        assertEquals(2, monitor.getReplicaPolls());
+    }
+
+    public void testUnreachableReplica() {
+        replica.setFailing(true);
+        monitor.check();
+        assertEquals(0, monitor.getReplicatedTime());
+        assertFalse(monitor.useReplica(null));
+        // subscriptions keep asking the primary for all events up to now
+        assertEquals(5000, monitor.getRecordTimeBound(1000, 5000));
+    }
+
+    public void testRecordTimeBound() throws Exception {
+        monitor.check();
+        replicate();
+        monitor.check();
+        long replicated = monitor.getReplicatedTime();
+        assertEquals(replicated, monitor.getRecordTimeBound(replicated - 10, replicated + 10));
+        // never before the start of the subscription's window
+        assertEquals(replicated + 5, monitor.getRecordTimeBound(replicated + 5, replicated + 10));
+        // never after the current time
+        assertEquals(replicated - 5, monitor.getRecordTimeBound(0, replicated - 5));
+    }
+
+    private long getHeartbeat(TestDatabase db) throws Exception {
+        return db.queryForLong("SELECT timeMs FROM replica_heartbeat WHERE id=1").longValue();
+    }
+
+    /**
+     * Copies the primary's heartbeat row to the replica.
+     */
+    private void replicate() throws Exception {
+        replica.execute("MERGE INTO replica_heartbeat (id, timeMs) KEY (id) VALUES (1, " + getHeartbeat(primary) + ")");
+    }
+}